@@ -0,0 +1,12 @@
+package com.helpdeskturmaa.helpdesk.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas periódicas ({@code @Scheduled}), como a reconciliação dos contadores de chamados.
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
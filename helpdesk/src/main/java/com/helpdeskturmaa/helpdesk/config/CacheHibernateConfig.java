@@ -0,0 +1,92 @@
+package com.helpdeskturmaa.helpdesk.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache com Caffeine, em memória) para {@code Pessoa} e subclasses,
+ * e cache das consultas marcadas como 'org.hibernate.cacheable' (findByEmail e findByCpf de técnicos e clientes,
+ * usadas nas validações de cadastro). A busca por e-mail da autenticação ({@code PessoaRepository}) fica fora:
+ * ela sempre vai ao banco e lê a linha inteira, então senha e perfis nunca vêm de uma cópia expirada.
+ * * As regiões são criadas aqui, limitadas em tamanho e com TTL ('cadastros.hibernate-cache.*'); com
+ * 'hibernate.javax.cache.missing_cache_strategy=fail', uma região não configurada impede a inicialização.
+ * * Escritas feitas por esta instância atualizam ou invalidam as regiões na própria transação. As feitas por
+ * outras instâncias (ou direto no banco) só aparecem depois do TTL, por isso ele é curto; nesse meio tempo,
+ * gravar uma pessoa a partir de uma cópia antiga falha pelo {@code @Version}, sem sobrescrever nada.
+ */
+@Configuration
+public class CacheHibernateConfig {
+
+	/**
+	 * Região das entidades {@code Pessoa}, {@code Tecnico} e {@code Cliente} (a da raiz da hierarquia).
+	 */
+	public static final String REGIAO_PESSOAS = "pessoa";
+
+	/**
+	 * Região dos resultados das consultas em cache (os IDs; as entidades vêm de {@link #REGIAO_PESSOAS}).
+	 */
+	public static final String REGIAO_CONSULTAS = "default-query-results-region";
+
+	/**
+	 * Região com o instante da última escrita em cada tabela, que invalida os resultados de consultas.
+	 * Não expira: uma entrada por tabela, e perdê-la antes das consultas as tornaria válidas indevidamente.
+	 */
+	public static final String REGIAO_TIMESTAMPS = "default-update-timestamps-region";
+
+	@Value("${cadastros.hibernate-cache.max-size:10000}")
+	private long maxSize;
+
+	@Value("${cadastros.hibernate-cache.max-consultas:10000}")
+	private long maxConsultas;
+
+	@Value("${cadastros.hibernate-cache.ttl:5m}")
+	private Duration ttl;
+
+	/**
+	 * O CacheManager do Hibernate, um por contexto (URI própria): contextos distintos no mesmo processo,
+	 * como nos testes, não compartilham regiões.
+	 */
+	@Bean(destroyMethod = "close")
+	public CacheManager cacheManagerHibernate() {
+		CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+		CacheManager cacheManager = provider.getCacheManager(URI.create("helpdesk-hibernate-" + UUID.randomUUID()),
+				getClass().getClassLoader());
+		cacheManager.createCache(REGIAO_PESSOAS, regiao(maxSize, ttl));
+		cacheManager.createCache(REGIAO_CONSULTAS, regiao(maxConsultas, ttl));
+		cacheManager.createCache(REGIAO_TIMESTAMPS, regiao(1000, null));
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer cacheHibernateCustomizer(CacheManager cacheManagerHibernate) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManagerHibernate);
+	}
+
+	private static CaffeineConfiguration<Object, Object> regiao(long tamanho, Duration ttl) {
+		CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+		configuracao.setMaximumSize(OptionalLong.of(tamanho));
+		if (ttl != null) {
+			configuracao.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+		}
+		// o Hibernate já guarda o estado desmontado das entidades: não há o que copiar
+		configuracao.setStoreByValue(false);
+		// estatísticas do próprio Caffeine (acertos, falhas e despejos), lidas em /metricas/hibernate
+		configuracao.setNativeStatisticsEnabled(true);
+		return configuracao;
+	}
+}
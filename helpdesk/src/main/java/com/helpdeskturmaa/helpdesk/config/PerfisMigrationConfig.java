@@ -0,0 +1,52 @@
+package com.helpdeskturmaa.helpdesk.config;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+
+/**
+ * Migração única dos perfis da antiga tabela {@code PERFIS} (ElementCollection)
+ * para a coluna de máscara de bits {@code pessoa.perfis}.
+ * * Executada após o Hibernate atualizar o schema; se a tabela antiga não existir
+ * (banco novo ou já migrado), nada é feito.
+ */
+@Configuration
+@DependsOn("entityManagerFactory")
+public class PerfisMigrationConfig {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PerfisMigrationConfig.class);
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void migrarPerfis() {
+		try {
+			jdbcTemplate.queryForObject("SELECT COUNT(*) FROM perfis", Long.class);
+		} catch (DataAccessException e) {
+			return;
+		}
+
+		// Códigos distintos por pessoa => a soma das máscaras equivale ao OR bit a bit.
+		StringBuilder mascara = new StringBuilder("CASE pf.perfis");
+		for (Perfil p : Perfil.values()) {
+			mascara.append(" WHEN ").append(p.getCodigo()).append(" THEN ").append(p.getMascara());
+		}
+		mascara.append(" ELSE 0 END");
+
+		int migradas = jdbcTemplate.update(
+				"UPDATE pessoa SET perfis = COALESCE((SELECT SUM(DISTINCT " + mascara + ") FROM perfis pf"
+				+ " WHERE pf.pessoa_id = pessoa.id), 0) WHERE perfis IS NULL");
+		jdbcTemplate.execute("DROP TABLE perfis");
+
+		LOG.info("Perfis de {} pessoas migrados da tabela PERFIS para a coluna pessoa.perfis", migradas);
+	}
+}
@@ -3,6 +3,7 @@ package com.helpdeskturmaa.helpdesk.config;
 import java.util.Arrays;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod; 
@@ -14,6 +15,7 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -21,6 +23,11 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import com.helpdeskturmaa.helpdesk.security.JWTAuthenticationFilter;
 import com.helpdeskturmaa.helpdesk.security.JWTUtil;
 import com.helpdeskturmaa.helpdesk.security.JWTAuthorizationFilter;
+import com.helpdeskturmaa.helpdesk.security.JWTRefreshFilter;
+import com.helpdeskturmaa.helpdesk.security.LoginExecutor;
+import com.helpdeskturmaa.helpdesk.security.LoginThrottle;
+import com.helpdeskturmaa.helpdesk.security.PrincipalCache;
+import com.helpdeskturmaa.helpdesk.security.RefreshTokenStore;
 
 /**
  * Classe de configuração de segurança da aplicação, utilizando Spring Security e
@@ -35,7 +42,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     /**
      * Array de endpoints públicos que não exigem autenticação.
      */
-    private static final String[] PUBLIC_MATCHES = { "/h2-console/**" , "/login/**" };
+    private static final String[] PUBLIC_MATCHES = { "/h2-console/**" , "/login/**", "/auth/refresh" };
 
     /**
      * Array de endpoints públicos acessíveis apenas via método GET.
@@ -61,12 +68,42 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    /**
+     * Cache dos usuários autenticados, usado pelo filtro de autorização.
+     */
+    @Autowired
+    private PrincipalCache principalCache;
+
+    /**
+     * Registro dos refresh tokens rotacionados e das sessões revogadas.
+     */
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
+    /**
+     * Pool dedicado e limitado onde o BCrypt do login é executado.
+     */
+    @Autowired
+    private LoginExecutor loginExecutor;
+
+    /**
+     * Limitador de tentativas de login por e-mail e por IP.
+     */
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    /**
+     * Custo (log2 das rodadas) do BCrypt. Senhas com custo menor são recodificadas no login.
+     */
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
     /**
      * Configura as regras de autorização de acesso HTTP e os filtros de segurança.
      * * 1. Habilita o console H2 em perfil de teste.
      * 2. Habilita CORS e desabilita CSRF.
      * 3. Define regras de autorização para os endpoints.
-     * 4. Adiciona os filtros de Autenticação (Login) e Autorização (JWT).
+     * 4. Adiciona os filtros de Autenticação (Login), Refresh e Autorização (JWT).
      * 5. Define a política de sessão como STATELESS.
      *
      * @param http o objeto HttpSecurity para configuração.
@@ -95,14 +132,23 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
             // REGRAS PARA CHAMADOS
             .antMatchers(HttpMethod.POST, "/chamados").hasAnyAuthority("ROLE_CLIENTE", "ROLE_ADMIN", "ROLE_TECNICO")
+            .antMatchers(HttpMethod.POST, "/chamados/next").hasAnyAuthority("ROLE_TECNICO", "ROLE_ADMIN")
+            .antMatchers(HttpMethod.POST, "/chamados/lote/**").hasAuthority("ROLE_ADMIN")
             .antMatchers(HttpMethod.GET, "/chamados/**").hasAnyAuthority("ROLE_CLIENTE", "ROLE_ADMIN", "ROLE_TECNICO")
             .antMatchers(HttpMethod.PUT, "/chamados/**").hasAnyAuthority("ROLE_TECNICO", "ROLE_ADMIN") 
+            // Troca de status (encerrar, reabrir): as mesmas permissões da edição.
+            .antMatchers(HttpMethod.PATCH, "/chamados/**").hasAnyAuthority("ROLE_TECNICO", "ROLE_ADMIN")
             .antMatchers(HttpMethod.DELETE, "/chamados/**").hasAuthority("ROLE_ADMIN") 
 
+            // Métricas internas: apenas ADMIN.
+            .antMatchers("/metricas/**").hasAuthority("ROLE_ADMIN")
+
             .anyRequest().authenticated();
 
-        http.addFilter(new JWTAuthenticationFilter(authenticationManager(), jwtUtil));
-        http.addFilter(new JWTAuthorizationFilter(authenticationManager(), jwtUtil, userDetailsService));
+        http.addFilter(new JWTAuthenticationFilter(authenticationManager(), jwtUtil, loginExecutor, loginThrottle));
+        http.addFilterBefore(new JWTRefreshFilter(authenticationManager(), jwtUtil, refreshTokenStore, userDetailsService),
+                UsernamePasswordAuthenticationFilter.class);
+        http.addFilter(new JWTAuthorizationFilter(authenticationManager(), jwtUtil, userDetailsService, principalCache, refreshTokenStore));
 
         http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
     }
@@ -110,6 +156,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     /**
      * Configura o provedor de autenticação, definindo o UserDetailsService
      * e o codificador de senha a serem utilizados.
+     * * Como o {@link UserDetailsService} também implementa
+     * {@code UserDetailsPasswordService}, hashes com custo abaixo do configurado
+     * são recodificados automaticamente após um login bem-sucedido.
      *
      * @param auth o objeto AuthenticationManagerBuilder para configuração.
      * @throws Exception se ocorrer um erro durante a configuração.
@@ -121,7 +170,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     /**
      * Define a configuração de CORS (Cross-Origin Resource Sharing), permitindo
-     * requisições de diferentes origens e métodos HTTP (POST, GET, PUT, DELETE, OPTIONS).
+     * requisições de diferentes origens e métodos HTTP (POST, GET, PUT, PATCH, DELETE, OPTIONS).
      *
      * @return a fonte de configuração CORS para ser usada pelo Spring Security.
      */
@@ -129,19 +178,20 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     CorsConfigurationSource corsConfigurationSource() {
 
         CorsConfiguration configuration = new CorsConfiguration().applyPermitDefaultValues();
-        configuration.setAllowedMethods(Arrays.asList("POST", "GET", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("POST", "GET", "PUT", "PATCH", "DELETE", "OPTIONS"));
         final UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
 
     /**
-     * Cria e expõe o bean BCryptPasswordEncoder para codificação de senhas.
+     * Cria e expõe o bean BCryptPasswordEncoder para codificação de senhas,
+     * com o custo definido em {@code security.bcrypt.strength}.
      *
      * @return uma instância de BCryptPasswordEncoder.
      */
     @Bean
     public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.helpdeskturmaa.helpdesk.config;
+
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Migração dos IDs de {@code pessoa} e {@code chamado} de IDENTITY (serial) para as sequências
+ * {@code pessoa_seq} e {@code chamado_seq}, com otimizador pooled, e de {@code evento_chamado}
+ * para {@code evento_chamado_seq}, sem reserva de faixas.
+ * * O Hibernate cria as sequências começando em 1; em um banco PostgreSQL que já tem registros,
+ * elas são avançadas para depois do maior ID existente, antes de qualquer INSERT. Depois disso
+ * (ou em um banco novo) nada é feito. A antiga sequência do serial fica sem uso.
+ */
+@Configuration
+@DependsOn("entityManagerFactory")
+public class SequenciasMigrationConfig {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SequenciasMigrationConfig.class);
+
+	// devem ser iguais aos allocationSize dos @SequenceGenerator
+	private static final int ALOCACAO = 50;
+
+	private static final int ALOCACAO_EVENTOS = 1;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void migrarSequencias() {
+		String banco = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+		if (!"PostgreSQL".equals(banco)) {
+			return;
+		}
+		avancar("pessoa", "pessoa_seq", ALOCACAO);
+		avancar("chamado", "chamado_seq", ALOCACAO);
+		avancar("evento_chamado", "evento_chamado_seq", ALOCACAO_EVENTOS);
+	}
+
+	private void avancar(String tabela, String sequencia, int alocacao) {
+		Long maior = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabela, Long.class);
+		// No pooled, o valor da sequência é o fim do bloco: o próximo bloco começa em maior + alocacao + 1.
+		List<Long> avancada = jdbcTemplate.queryForList("SELECT setval('" + sequencia + "', ?) FROM " + sequencia
+				+ " WHERE last_value < ?", Long.class, maior + alocacao, maior + alocacao);
+		if (!avancada.isEmpty()) {
+			LOG.info("Sequência {} avançada para {} (maior ID de {}: {})", sequencia, avancada.get(0), tabela, maior);
+		}
+	}
+}
@@ -1,16 +1,25 @@
 package com.helpdeskturmaa.helpdesk.domain;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 import javax.persistence.Entity;
 import javax.persistence.Enumerated;
+import javax.persistence.Column;
 import javax.persistence.EnumType;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotBlank;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -20,18 +29,26 @@ import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
 import com.sun.istack.NotNull;
 
 @Entity
+@Table(indexes = {
+		@Index(name = "idx_chamado_tecnico_status", columnList = "tecnico_id, status"),
+		@Index(name = "idx_chamado_cliente_status", columnList = "cliente_id, status"),
+		@Index(name = "idx_chamado_status_abertura", columnList = "status, dataAbertura"),
+		@Index(name = "idx_chamado_prazo_sla", columnList = "prazoSla")
+})
 public class Chamado {
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "cliente_id")
 	private Cliente cliente;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "tecnico_id")
 	private Tecnico tecnico;
 
+    // Sequência com otimizador pooled (ver Pessoa): permite INSERTs em lote.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chamado_seq")
+    @SequenceGenerator(name = "chamado_seq", sequenceName = "chamado_seq", allocationSize = 50)
     private Integer id;
 
     @JsonFormat(pattern = "dd/MM/yyyy")
@@ -51,6 +68,18 @@ public class Chamado {
     private String titulo;
     private String observacoes;
 
+    // Prazo de SLA do chamado não encerrado; vigiado pelo SlaAgendador.
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+    private LocalDateTime prazoSla;
+
+    // Incrementada a cada alteração; base do ETag de /chamados/{id}.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long versao;
+
+    // Marcador estritamente crescente da última escrita (ver RelogioAlteracoes); base do ETag de /chamados.
+    private Long ultimaAlteracao;
+
     public Chamado() {
         super();
     }
@@ -150,6 +179,29 @@ public class Chamado {
 		this.tecnico = tecnico;
 	}
 
+	public Long getVersao() {
+		return versao;
+	}
+
+	public Long getUltimaAlteracao() {
+		return ultimaAlteracao;
+	}
+
+	// As escritas em lote (UPDATE ... WHERE) não passam por aqui: gravam o marcador explicitamente.
+	@PrePersist
+	@PreUpdate
+	private void marcarAlteracao() {
+		this.ultimaAlteracao = RelogioAlteracoes.proxima();
+	}
+
+	public LocalDateTime getPrazoSla() {
+		return prazoSla;
+	}
+
+	public void setPrazoSla(LocalDateTime prazoSla) {
+		this.prazoSla = prazoSla;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
@@ -0,0 +1,66 @@
+package com.helpdeskturmaa.helpdesk.domain;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * Concessão (lease) com prazo de validade, gravada no banco, que elege uma única instância
+ * da aplicação para executar uma tarefa (por exemplo, disparar os temporizadores de SLA).
+ * * Quem a detém precisa renová-la antes de {@code expiraEm}; depois disso, outra instância pode assumi-la.
+ */
+@Entity
+public class Concessao {
+
+    @Id
+    private String nome;
+
+    @Column(nullable = false)
+    private String dono;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+
+    public Concessao() {
+        super();
+    }
+
+    public Concessao(String nome, String dono, LocalDateTime expiraEm) {
+        super();
+        this.nome = nome;
+        this.dono = dono;
+        this.expiraEm = expiraEm;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getDono() {
+        return dono;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nome);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        Concessao other = (Concessao) obj;
+        return Objects.equals(nome, other.nome);
+    }
+}
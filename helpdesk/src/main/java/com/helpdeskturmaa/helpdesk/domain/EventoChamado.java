@@ -0,0 +1,126 @@
+package com.helpdeskturmaa.helpdesk.domain;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.TipoEventoChamado;
+
+/**
+ * Evento de domínio de um {@link Chamado} ainda não entregue (transactional outbox).
+ * * É gravado na mesma transação que altera o chamado, depois da escrita da linha do chamado;
+ * como as escritas de um mesmo chamado são serializadas pelo lock da linha, a ordem dos IDs
+ * é a ordem dos eventos de cada chamado. Por isso o ID vem de uma sequência sem reserva de faixas
+ * (allocationSize = 1): o próximo valor é lido no persist, já com o lock da linha, enquanto uma sequência
+ * pooled reservaria faixas por instância e um evento posterior poderia receber um ID menor.
+ * * Ao contrário de IDENTITY, o ID é conhecido antes do INSERT, então os eventos de uma alteração em lote
+ * são gravados em INSERTs em lote (JDBC batch).
+ * * A linha é removida quando o evento é entregue.
+ */
+@Entity
+public class EventoChamado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_chamado_seq")
+    @SequenceGenerator(name = "evento_chamado_seq", sequenceName = "evento_chamado_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer chamado;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TipoEventoChamado tipo;
+
+    // versão do chamado depois da alteração
+    private Long versao;
+
+    // técnico e cliente de antes da alteração, só quando mudaram
+    private Integer tecnicoAnterior;
+
+    private Integer clienteAnterior;
+
+    // o chamado em JSON (ChamadoDTO); na exclusão, o último estado
+    @Column(length = 4000)
+    private String dados;
+
+    @Column(nullable = false)
+    private LocalDateTime dataHora;
+
+    public EventoChamado() {
+        super();
+    }
+
+    public EventoChamado(Integer chamado, TipoEventoChamado tipo, Long versao, String dados, LocalDateTime dataHora) {
+        this(chamado, tipo, versao, null, null, dados, dataHora);
+    }
+
+    public EventoChamado(Integer chamado, TipoEventoChamado tipo, Long versao, Integer tecnicoAnterior,
+            Integer clienteAnterior, String dados, LocalDateTime dataHora) {
+        super();
+        this.chamado = chamado;
+        this.tipo = tipo;
+        this.versao = versao;
+        this.tecnicoAnterior = tecnicoAnterior;
+        this.clienteAnterior = clienteAnterior;
+        this.dados = dados;
+        this.dataHora = dataHora;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getChamado() {
+        return chamado;
+    }
+
+    public TipoEventoChamado getTipo() {
+        return tipo;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public Integer getTecnicoAnterior() {
+        return tecnicoAnterior;
+    }
+
+    public Integer getClienteAnterior() {
+        return clienteAnterior;
+    }
+
+    public String getDados() {
+        return dados;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        EventoChamado other = (EventoChamado) obj;
+        return id != null && Objects.equals(id, other.id);
+    }
+}
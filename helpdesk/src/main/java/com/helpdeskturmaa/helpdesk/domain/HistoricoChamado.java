@@ -0,0 +1,105 @@
+package com.helpdeskturmaa.helpdesk.domain;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+/**
+ * Alteração de um campo de um {@link Chamado}: valor anterior, valor novo, autor e quando.
+ * * O histórico só recebe inclusões. O chamado é referenciado pelo ID, sem chave estrangeira,
+ * para que o histórico sobreviva à exclusão do chamado.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_historico_chamado", columnList = "chamado_id, id"))
+public class HistoricoChamado {
+
+    // Sequência com otimizador pooled (ver Pessoa): permite INSERTs em lote.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historico_chamado_seq")
+    @SequenceGenerator(name = "historico_chamado_seq", sequenceName = "historico_chamado_seq", allocationSize = 50)
+    private Integer id;
+
+    @Column(name = "chamado_id", nullable = false)
+    private Integer chamado;
+
+    @Column(nullable = false, length = 20)
+    private String campo;
+
+    private String valorAnterior;
+
+    private String valorNovo;
+
+    // ID da pessoa que fez a alteração; nulo nas alterações do sistema (escalada de SLA)
+    private Integer autor;
+
+    @Column(nullable = false)
+    private LocalDateTime dataHora;
+
+    public HistoricoChamado() {
+        super();
+    }
+
+    public HistoricoChamado(Integer chamado, String campo, String valorAnterior, String valorNovo, Integer autor,
+            LocalDateTime dataHora) {
+        super();
+        this.chamado = chamado;
+        this.campo = campo;
+        this.valorAnterior = valorAnterior;
+        this.valorNovo = valorNovo;
+        this.autor = autor;
+        this.dataHora = dataHora;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Integer getChamado() {
+        return chamado;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    public String getValorAnterior() {
+        return valorAnterior;
+    }
+
+    public String getValorNovo() {
+        return valorNovo;
+    }
+
+    public Integer getAutor() {
+        return autor;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        HistoricoChamado other = (HistoricoChamado) obj;
+        return id != null && Objects.equals(id, other.id);
+    }
+}
@@ -2,29 +2,41 @@ package com.helpdeskturmaa.helpdesk.domain;
 
 import java.io.Serializable;
 import java.time.LocalDate;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-import javax.persistence.CollectionTable;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
-import javax.persistence.ElementCollection;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.helpdeskturmaa.helpdesk.domain.converters.PerfisConverter;
 import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
 
+// Cache de segundo nível da hierarquia inteira (Tecnico e Cliente usam a região da raiz); ver CacheHibernateConfig.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pessoa")
 public abstract class Pessoa implements Serializable{
 
 	private static final long serialVersionUID = 1L;
 
+	// Sequência com otimizador pooled: um nextval a cada 50 IDs, e os INSERTs podem ir em lote (IDENTITY impede).
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pessoa_seq")
+	@SequenceGenerator(name = "pessoa_seq", sequenceName = "pessoa_seq", allocationSize = 50)
 	protected Integer id;
 	
 	protected String nome;
@@ -37,12 +49,22 @@ public abstract class Pessoa implements Serializable{
 
 	protected String senha;
 	
-	@ElementCollection(fetch = FetchType.EAGER)
-	@CollectionTable(name = "PERFIS")
-	protected Set<Integer> perfis = new HashSet<>();
+	// Máscara de bits numa única coluna (ver PerfisConverter); o Set é imutável e
+	// substituído a cada addPerfil para que o dirty checking perceba a mudança.
+	@Convert(converter = PerfisConverter.class)
+	@Column(name = "perfis")
+	protected Set<Perfil> perfis = Collections.unmodifiableSet(EnumSet.noneOf(Perfil.class));
 	
 	@JsonFormat(pattern = "dd/MM/yyyy")
 	protected LocalDate dataCriacao = LocalDate.now();
+
+	// Incrementada a cada alteração; base dos ETags de /clientes e /tecnicos.
+	@Version
+	@Column(nullable = false, columnDefinition = "bigint default 0")
+	protected Long versao;
+
+	// Marcador estritamente crescente da última escrita (ver RelogioAlteracoes); base dos ETags de /clientes e /tecnicos.
+	protected Long ultimaAlteracao;
 	
 	public Pessoa() {
 		super();
@@ -101,11 +123,14 @@ public abstract class Pessoa implements Serializable{
 	}
 
 	public Set<Perfil> getPerfis() {
-		return perfis.stream().map(x -> Perfil.toEnum(x)).collect(Collectors.toSet());
+		return perfis;
 	}
 
 	public void addPerfil(Perfil perfil) {
-		this.perfis.add(perfil.getCodigo());
+		EnumSet<Perfil> novos = EnumSet.noneOf(Perfil.class);
+		novos.addAll(this.perfis);
+		novos.add(perfil);
+		this.perfis = Collections.unmodifiableSet(novos);
 	}
 
 	public LocalDate getDataCriacao() {
@@ -116,6 +141,20 @@ public abstract class Pessoa implements Serializable{
 		this.dataCriacao = dataCriacao;
 	}
 
+	public Long getVersao() {
+		return versao;
+	}
+
+	public Long getUltimaAlteracao() {
+		return ultimaAlteracao;
+	}
+
+	@PrePersist
+	@PreUpdate
+	private void marcarAlteracao() {
+		this.ultimaAlteracao = RelogioAlteracoes.proxima();
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -0,0 +1,26 @@
+package com.helpdeskturmaa.helpdesk.domain;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Marcador da última escrita de cada registro ({@code ultimaAlteracao} de {@link Chamado} e {@link Pessoa}):
+ * microssegundos desde a época, estritamente crescentes nesta instância.
+ * * Cada escrita leva o registro para depois de todos os já gravados. Assim, em qualquer conjunto
+ * (uma listagem filtrada, o escopo de um técnico), a quantidade ou o maior marcador muda sempre que
+ * um registro entra, sai ou é alterado: é a base das versões de coleção ({@code VersaoColecao}).
+ */
+public final class RelogioAlteracoes {
+
+    private static final AtomicLong ULTIMA = new AtomicLong();
+
+    private RelogioAlteracoes() {
+    }
+
+    /**
+     * @return o marcador da próxima escrita, maior que todos os devolvidos antes.
+     */
+    public static long proxima() {
+        long agora = System.currentTimeMillis() * 1000;
+        return ULTIMA.accumulateAndGet(agora, (ultima, atual) -> Math.max(ultima + 1, atual));
+    }
+}
@@ -1,11 +1,18 @@
 package com.helpdeskturmaa.helpdesk.domain;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 
+import com.helpdeskturmaa.helpdesk.domain.converters.HabilidadesConverter;
+import com.helpdeskturmaa.helpdesk.domain.enums.Habilidade;
 import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
 import com.helpdeskturmaa.helpdesk.dto.TecnicoDTO;
 
@@ -18,6 +25,11 @@ public class Tecnico extends Pessoa{
 	@OneToMany(mappedBy = "tecnico")
 	private List<Chamado> chamados = new ArrayList<>();
 
+	// Máscara de bits, como os perfis; usada na atribuição automática de chamados.
+	@Convert(converter = HabilidadesConverter.class)
+	@Column(name = "habilidades")
+	private Set<Habilidade> habilidades = Collections.unmodifiableSet(EnumSet.noneOf(Habilidade.class));
+
     public Tecnico(TecnicoDTO dto) {
         super(); 
         
@@ -26,6 +38,7 @@ public class Tecnico extends Pessoa{
         this.cpf = dto.getCpf();
         this.email = dto.getEmail();
         this.setSenha(dto.getSenha());
+        this.setHabilidades(dto.getHabilidades());
 
         addPerfil(Perfil.TECNICO);
     }
@@ -47,4 +60,16 @@ public class Tecnico extends Pessoa{
 	public void setChamados(List<Chamado> chamados) {
 		this.chamados = chamados;
 	}
+
+	public Set<Habilidade> getHabilidades() {
+		return habilidades;
+	}
+
+	public void setHabilidades(Set<Habilidade> habilidades) {
+		EnumSet<Habilidade> novas = EnumSet.noneOf(Habilidade.class);
+		if (habilidades != null) {
+			novas.addAll(habilidades);
+		}
+		this.habilidades = Collections.unmodifiableSet(novas);
+	}
 }
\ No newline at end of file
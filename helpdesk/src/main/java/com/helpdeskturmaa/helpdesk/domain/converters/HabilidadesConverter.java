@@ -0,0 +1,27 @@
+package com.helpdeskturmaa.helpdesk.domain.converters;
+
+import java.util.Collections;
+import java.util.Set;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Habilidade;
+
+/**
+ * Converte o conjunto de habilidades de um {@code Tecnico} para uma máscara de bits
+ * ({@link Habilidade#getMascara()}) armazenada em uma única coluna inteira.
+ */
+@Converter
+public class HabilidadesConverter implements AttributeConverter<Set<Habilidade>, Integer> {
+
+	@Override
+	public Integer convertToDatabaseColumn(Set<Habilidade> habilidades) {
+		return Habilidade.toMascara(habilidades);
+	}
+
+	@Override
+	public Set<Habilidade> convertToEntityAttribute(Integer mascara) {
+		return Collections.unmodifiableSet(Habilidade.toEnumSet(mascara == null ? 0 : mascara));
+	}
+}
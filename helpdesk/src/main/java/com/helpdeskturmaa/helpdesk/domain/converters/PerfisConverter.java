@@ -0,0 +1,27 @@
+package com.helpdeskturmaa.helpdesk.domain.converters;
+
+import java.util.Collections;
+import java.util.Set;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+
+/**
+ * Converte o conjunto de perfis de uma {@code Pessoa} para uma máscara de bits
+ * ({@link Perfil#getMascara()}) armazenada em uma única coluna inteira.
+ */
+@Converter
+public class PerfisConverter implements AttributeConverter<Set<Perfil>, Integer> {
+
+	@Override
+	public Integer convertToDatabaseColumn(Set<Perfil> perfis) {
+		return perfis == null ? 0 : Perfil.toMascara(perfis);
+	}
+
+	@Override
+	public Set<Perfil> convertToEntityAttribute(Integer mascara) {
+		return Collections.unmodifiableSet(Perfil.toEnumSet(mascara == null ? 0 : mascara));
+	}
+}
@@ -0,0 +1,61 @@
+package com.helpdeskturmaa.helpdesk.domain.enums;
+
+import java.util.EnumSet;
+
+/**
+ * Áreas de atendimento de um técnico, usadas para casar chamados com técnicos na atribuição automática.
+ */
+public enum Habilidade {
+	REDE(0, "Redes e conectividade"),
+	HARDWARE(1, "Hardware e periféricos"),
+	SOFTWARE(2, "Instalação e suporte de software"),
+	ACESSO(3, "Contas, senhas e permissões"),
+	BANCO_DE_DADOS(4, "Bancos de dados"),
+	EMAIL(5, "E-mail e colaboração");
+	
+	private Integer codigo;
+	private String descricao;
+	private final int mascara;
+	
+	private Habilidade(Integer codigo, String descricao) {
+		this.codigo = codigo;
+		this.descricao = descricao;
+		this.mascara = 1 << codigo;
+	}
+
+	public Integer getCodigo() {
+		return codigo;
+	}
+
+	public String getDescricao() {
+		return descricao;
+	}
+
+	/**
+	 * Bit desta habilidade em uma máscara de habilidades ({@code 1 << codigo}).
+	 */
+	public int getMascara() {
+		return mascara;
+	}
+
+	public static int toMascara(Iterable<Habilidade> habilidades) {
+		int mascara = 0;
+		if(habilidades == null) {
+			return mascara;
+		}
+		for(Habilidade x : habilidades) {
+			mascara |= x.getMascara();
+		}
+		return mascara;
+	}
+
+	public static EnumSet<Habilidade> toEnumSet(int mascara) {
+		EnumSet<Habilidade> habilidades = EnumSet.noneOf(Habilidade.class);
+		for(Habilidade x : Habilidade.values()) {
+			if((mascara & x.getMascara()) != 0) {
+				habilidades.add(x);
+			}
+		}
+		return habilidades;
+	}
+}
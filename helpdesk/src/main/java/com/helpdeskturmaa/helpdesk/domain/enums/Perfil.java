@@ -1,5 +1,7 @@
 package com.helpdeskturmaa.helpdesk.domain.enums;
 
+import java.util.EnumSet;
+
 public enum Perfil {
 	ADMIN(0, "ROLE_ADMIN"),
 	CLIENTE(1, "ROLE_CLIENTE"),
@@ -7,10 +9,12 @@ public enum Perfil {
 	
 	private Integer codigo;
 	private String descricao;
+	private final int mascara;
 	
 	private Perfil(Integer codigo, String descricao) {
 		this.codigo = codigo;
 		this.descricao = descricao;
+		this.mascara = 1 << codigo;
 	}
 
 	public Integer getCodigo() {
@@ -21,6 +25,13 @@ public enum Perfil {
 		return descricao;
 	}
 
+	/**
+	 * Bit deste perfil em uma máscara de perfis ({@code 1 << codigo}).
+	 */
+	public int getMascara() {
+		return mascara;
+	}
+
 	public static Perfil toEnum(Integer codigo) {
 		if(codigo == null) {
 			return null;
@@ -33,4 +44,35 @@ public enum Perfil {
 		}
 		throw new IllegalArgumentException("Perfil Inválido");
 	}
+
+	public static int toMascara(Iterable<Perfil> perfis) {
+		int mascara = 0;
+		for(Perfil x : perfis) {
+			mascara |= x.getMascara();
+		}
+		return mascara;
+	}
+
+	public static EnumSet<Perfil> toEnumSet(int mascara) {
+		EnumSet<Perfil> perfis = EnumSet.noneOf(Perfil.class);
+		for(Perfil x : Perfil.values()) {
+			if((mascara & x.getMascara()) != 0) {
+				perfis.add(x);
+			}
+		}
+		return perfis;
+	}
+
+	public static Perfil toEnumByDescricao(String descricao) {
+		if(descricao == null) {
+			return null;
+		}
+		
+		for(Perfil x : Perfil.values()) {
+			if(descricao.equals(x.getDescricao())) {
+				return x;
+			}
+		}
+		throw new IllegalArgumentException("Perfil Inválido");
+	}
 }
\ No newline at end of file
@@ -7,6 +7,25 @@ public enum Status {
 	ANDAMENTO(1, "Em Andamento"),
 	ENCERRADO(2, "Encerrado");
 	
+	/**
+	 * Tabela de transições permitidas, indexada por [origem][destino] (ordinal):
+	 * ABERTO -> ANDAMENTO -> ENCERRADO, devolução de ANDAMENTO para a fila (ABERTO)
+	 * e reabertura de ENCERRADO (para ABERTO ou ANDAMENTO).
+	 */
+	private static final boolean[][] TRANSICOES = new boolean[values().length][values().length];
+
+	static {
+		permitir(ABERTO, ANDAMENTO);
+		permitir(ANDAMENTO, ENCERRADO);
+		permitir(ANDAMENTO, ABERTO);
+		permitir(ENCERRADO, ABERTO);
+		permitir(ENCERRADO, ANDAMENTO);
+	}
+
+	private static void permitir(Status origem, Status destino) {
+		TRANSICOES[origem.ordinal()][destino.ordinal()] = true;
+	}
+
 	private Integer codigo;
 	private String descricao;
 	
@@ -23,6 +42,16 @@ public enum Status {
 		return descricao;
 	}
 
+	/**
+	 * Indica se um chamado neste status pode passar para o status de destino.
+	 *
+	 * @param destino o novo status.
+	 * @return {@code true} se a transição consta da tabela.
+	 */
+	public boolean podeMudarPara(Status destino) {
+		return TRANSICOES[ordinal()][destino.ordinal()];
+	}
+
 	@JsonCreator 
     public static Status toEnum(Object valor) {
         if (valor == null) {
@@ -0,0 +1,10 @@
+package com.helpdeskturmaa.helpdesk.domain.enums;
+
+/**
+ * Tipo de um evento de domínio de chamado gravado no outbox.
+ */
+public enum TipoEventoChamado {
+	CRIADO,
+	ALTERADO,
+	EXCLUIDO;
+}
@@ -0,0 +1,62 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.io.Serializable;
+
+/**
+ * Estatísticas de um cache em memória desde a inicialização da aplicação.
+ */
+public class CacheEstatisticasDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Consultas atendidas pelo cache.
+     */
+    private final long acertos;
+
+    /**
+     * Consultas que precisaram carregar o valor.
+     */
+    private final long falhas;
+
+    /**
+     * Entradas removidas por tamanho ou por tempo de vida.
+     */
+    private final long despejos;
+
+    /**
+     * Quantidade (aproximada) de entradas no cache.
+     */
+    private final long tamanho;
+
+    public CacheEstatisticasDTO(long acertos, long falhas, long despejos, long tamanho) {
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.despejos = despejos;
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public long getDespejos() {
+        return despejos;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * A fração das consultas atendidas pelo cache (1 se ainda não houve consultas).
+     */
+    public double getTaxaAcerto() {
+        long total = acertos + falhas;
+        return total == 0 ? 1.0 : (double) acertos / total;
+    }
+}
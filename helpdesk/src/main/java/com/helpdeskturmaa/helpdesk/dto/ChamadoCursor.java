@@ -0,0 +1,67 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import com.helpdeskturmaa.helpdesk.resources.exceptions.DataIntegrityViolationException;
+
+/**
+ * Posição (keyset) do último chamado de uma página: prioridade, data de abertura e ID.
+ * * Serializado como uma string opaca (Base64 URL-safe) devolvida ao cliente.
+ */
+public final class ChamadoCursor {
+
+    private final int prioridade;
+
+    private final LocalDate dataAbertura;
+
+    private final int id;
+
+    public ChamadoCursor(int prioridade, LocalDate dataAbertura, int id) {
+        this.prioridade = prioridade;
+        this.dataAbertura = dataAbertura;
+        this.id = id;
+    }
+
+    public static ChamadoCursor de(ChamadoDTO obj) {
+        return new ChamadoCursor(obj.getPrioridade().getCodigo(), obj.getDataAbertura(), obj.getId());
+    }
+
+    /**
+     * Decodifica o cursor recebido do cliente.
+     *
+     * @param cursor o cursor opaco, ou {@code null} para a primeira página.
+     * @return o cursor decodificado, ou {@code null}.
+     * @throws DataIntegrityViolationException se o cursor for inválido.
+     */
+    public static ChamadoCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+            return new ChamadoCursor(Integer.parseInt(partes[0]), LocalDate.ofEpochDay(Long.parseLong(partes[1])),
+                    Integer.parseInt(partes[2]));
+        } catch (RuntimeException e) {
+            throw new DataIntegrityViolationException("Cursor inválido: " + cursor);
+        }
+    }
+
+    public String encode() {
+        String valor = prioridade + "," + dataAbertura.toEpochDay() + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getPrioridade() {
+        return prioridade;
+    }
+
+    public LocalDate getDataAbertura() {
+        return dataAbertura;
+    }
+
+    public int getId() {
+        return id;
+    }
+}
@@ -2,9 +2,14 @@ package com.helpdeskturmaa.helpdesk.dto;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Habilidade;
 import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
 import com.helpdeskturmaa.helpdesk.domain.enums.Status;
 
@@ -70,6 +75,33 @@ public class ChamadoDTO implements Serializable {
      */
     private Integer cliente;
 
+    /**
+     * A versão do chamado, exposta apenas no cabeçalho ETag.
+     */
+    @JsonIgnore
+    private Long versao;
+
+    /**
+     * O marcador da última escrita do chamado, usado apenas na versão da listagem ({@link VersaoColecao}).
+     */
+    @JsonIgnore
+    private Long ultimaAlteracao;
+
+    /**
+     * O prazo de SLA do chamado, definido pela prioridade; calculado pelo sistema, nunca lido da requisição.
+     * Padrão de formatação: dd/MM/yyyy HH:mm.
+     */
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime prazoSla;
+
+    /**
+     * As habilidades exigidas, usadas apenas para escolher o técnico quando ele não é informado
+     * na criação (atribuição automática); não são gravadas nem devolvidas.
+     */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private Set<Habilidade> habilidades;
+
     /**
      * Construtor padrão (vazio) da classe ChamadoDTO.
      */
@@ -100,6 +132,45 @@ public class ChamadoDTO implements Serializable {
         if (obj.getCliente() != null) {
             this.cliente = obj.getCliente().getId();
         }
+        this.versao = obj.getVersao();
+        this.prazoSla = obj.getPrazoSla();
+        this.ultimaAlteracao = obj.getUltimaAlteracao();
+    }
+
+    /**
+     * Construtor usado nas consultas por projeção ({@code SELECT new ChamadoDTO(...)}).
+     * * Recebe apenas as colunas do chamado e as chaves estrangeiras de Técnico e Cliente,
+     * sem carregar essas entidades.
+     *
+     * @param id O ID do chamado.
+     * @param dataAbertura A data de abertura.
+     * @param dataFechamento A data de fechamento.
+     * @param prioridade A prioridade.
+     * @param status O status.
+     * @param titulo O título.
+     * @param observacoes As observações.
+     * @param tecnico O ID do Técnico associado.
+     * @param cliente O ID do Cliente que abriu o chamado.
+     * @param versao A versão do chamado.
+     * @param prazoSla O prazo de SLA.
+     * @param ultimaAlteracao O marcador da última escrita.
+     */
+    public ChamadoDTO(Integer id, LocalDate dataAbertura, LocalDate dataFechamento, Prioridade prioridade,
+                      Status status, String titulo, String observacoes, Integer tecnico, Integer cliente,
+                      Long versao, LocalDateTime prazoSla, Long ultimaAlteracao) {
+        super();
+        this.id = id;
+        this.dataAbertura = dataAbertura;
+        this.dataFechamento = dataFechamento;
+        this.prioridade = prioridade;
+        this.status = status;
+        this.titulo = titulo;
+        this.observacoes = observacoes;
+        this.tecnico = tecnico;
+        this.cliente = cliente;
+        this.versao = versao;
+        this.prazoSla = prazoSla;
+        this.ultimaAlteracao = ultimaAlteracao;
     }
 
     /**
@@ -263,4 +334,49 @@ public class ChamadoDTO implements Serializable {
     public void setCliente(Integer cliente) {
         this.cliente = cliente;
     }
+
+    /**
+     * Retorna a versão do chamado.
+     *
+     * @return a versão.
+     */
+    public Long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Retorna o marcador da última escrita do chamado.
+     *
+     * @return o marcador da última escrita.
+     */
+    public Long getUltimaAlteracao() {
+        return ultimaAlteracao;
+    }
+
+    /**
+     * Retorna o prazo de SLA do chamado.
+     *
+     * @return o prazo de SLA, ou {@code null} se o chamado não tiver prazo.
+     */
+    public LocalDateTime getPrazoSla() {
+        return prazoSla;
+    }
+
+    /**
+     * Retorna as habilidades exigidas pelo chamado.
+     *
+     * @return as habilidades exigidas.
+     */
+    public Set<Habilidade> getHabilidades() {
+        return habilidades;
+    }
+
+    /**
+     * Define as habilidades exigidas pelo chamado.
+     *
+     * @param habilidades as habilidades exigidas.
+     */
+    public void setHabilidades(Set<Habilidade> habilidades) {
+        this.habilidades = habilidades;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+
+/**
+ * Quantidade de chamados visíveis ao usuário, no total, por status e por prioridade.
+ * * Para ADMINs inclui também a quantidade por status de cada técnico (chave: ID do técnico).
+ */
+public class ChamadoEstatisticasDTO implements Serializable {
+
+    /**
+     * Identificador de serialização da classe.
+     */
+    private static final long serialVersionUID = 1L;
+
+    private final long total;
+
+    private final Map<Status, Long> porStatus;
+
+    private final Map<Prioridade, Long> porPrioridade;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Map<Integer, Map<Status, Long>> porTecnico;
+
+    public ChamadoEstatisticasDTO(long total, Map<Status, Long> porStatus, Map<Prioridade, Long> porPrioridade,
+                                  Map<Integer, Map<Status, Long>> porTecnico) {
+        this.total = total;
+        this.porStatus = porStatus;
+        this.porPrioridade = porPrioridade;
+        this.porTecnico = porTecnico;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<Status, Long> getPorStatus() {
+        return porStatus;
+    }
+
+    public Map<Prioridade, Long> getPorPrioridade() {
+        return porPrioridade;
+    }
+
+    public Map<Integer, Map<Status, Long>> getPorTecnico() {
+        return porTecnico;
+    }
+}
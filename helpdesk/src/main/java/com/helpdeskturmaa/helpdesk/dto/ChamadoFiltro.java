@@ -0,0 +1,138 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+
+/**
+ * Critérios de seleção de chamados usados na listagem e na exportação.
+ * * Preenchido a partir dos parâmetros da requisição (datas no formato yyyy-MM-dd).
+ * * Campos {@code null} não restringem o resultado.
+ */
+public class ChamadoFiltro implements Serializable {
+
+    /**
+     * Identificador de serialização da classe.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Restringe aos chamados atribuídos a este técnico.
+     */
+    private Integer tecnico;
+
+    /**
+     * Restringe aos chamados abertos por este cliente.
+     */
+    private Integer cliente;
+
+    /**
+     * Restringe aos chamados com este status.
+     */
+    private Status status;
+
+    /**
+     * Restringe aos chamados com esta prioridade.
+     */
+    private Prioridade prioridade;
+
+    /**
+     * Restringe aos chamados abertos a partir desta data (inclusive).
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate abertoDe;
+
+    /**
+     * Restringe aos chamados abertos até esta data (inclusive).
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate abertoAte;
+
+    /**
+     * Restringe aos chamados encerrados a partir desta data (inclusive).
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate fechadoDe;
+
+    /**
+     * Restringe aos chamados encerrados até esta data (inclusive).
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate fechadoAte;
+
+    public Integer getTecnico() {
+        return tecnico;
+    }
+
+    public void setTecnico(Integer tecnico) {
+        this.tecnico = tecnico;
+    }
+
+    public Integer getCliente() {
+        return cliente;
+    }
+
+    public void setCliente(Integer cliente) {
+        this.cliente = cliente;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Prioridade getPrioridade() {
+        return prioridade;
+    }
+
+    public void setPrioridade(Prioridade prioridade) {
+        this.prioridade = prioridade;
+    }
+
+    public LocalDate getAbertoDe() {
+        return abertoDe;
+    }
+
+    public void setAbertoDe(LocalDate abertoDe) {
+        this.abertoDe = abertoDe;
+    }
+
+    public LocalDate getAbertoAte() {
+        return abertoAte;
+    }
+
+    public void setAbertoAte(LocalDate abertoAte) {
+        this.abertoAte = abertoAte;
+    }
+
+    public LocalDate getFechadoDe() {
+        return fechadoDe;
+    }
+
+    public void setFechadoDe(LocalDate fechadoDe) {
+        this.fechadoDe = fechadoDe;
+    }
+
+    public LocalDate getFechadoAte() {
+        return fechadoAte;
+    }
+
+    public void setFechadoAte(LocalDate fechadoAte) {
+        this.fechadoAte = fechadoAte;
+    }
+
+    /**
+     * Indica se nenhum critério foi informado, isto é, se o filtro seleciona todos os chamados.
+     */
+    public boolean isVazio() {
+        return tecnico == null && cliente == null && status == null && prioridade == null
+                && abertoDe == null && abertoAte == null && fechadoDe == null && fechadoAte == null;
+    }
+}
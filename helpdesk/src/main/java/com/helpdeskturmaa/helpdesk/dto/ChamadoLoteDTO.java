@@ -0,0 +1,63 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+
+/**
+ * Corpo das operações em lote sobre chamados.
+ * * Os chamados são os IDs informados ou, se a lista estiver vazia, os do filtro da requisição.
+ * * Apenas o campo do destino da operação é lido: {@code status} na troca de status
+ * e {@code tecnico} na reatribuição.
+ */
+public class ChamadoLoteDTO implements Serializable {
+
+    /**
+     * Identificador de serialização da classe.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * IDs dos chamados a alterar.
+     */
+    private List<Integer> ids;
+
+    /**
+     * Novo status dos chamados.
+     */
+    private Status status;
+
+    /**
+     * ID do novo técnico dos chamados.
+     */
+    private Integer tecnico;
+
+    public ChamadoLoteDTO() {
+        super();
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Integer> ids) {
+        this.ids = ids;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Integer getTecnico() {
+        return tecnico;
+    }
+
+    public void setTecnico(Integer tecnico) {
+        this.tecnico = tecnico;
+    }
+}
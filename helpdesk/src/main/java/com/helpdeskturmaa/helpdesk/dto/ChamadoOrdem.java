@@ -0,0 +1,52 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import com.helpdeskturmaa.helpdesk.resources.exceptions.DataIntegrityViolationException;
+
+/**
+ * Ordenações suportadas na listagem paginada de chamados (parâmetro {@code sort}).
+ * * Todas terminam pelo ID, o que torna a ordem total e permite paginação por cursor.
+ */
+public enum ChamadoOrdem {
+
+    /**
+     * Pelo ID, crescente (padrão).
+     */
+    ID("id"),
+
+    /**
+     * Mais antigos primeiro (data de abertura crescente).
+     */
+    IDADE("idade"),
+
+    /**
+     * Mais recentes primeiro (data de abertura decrescente).
+     */
+    RECENTES("-idade"),
+
+    /**
+     * Maior prioridade primeiro e, dentro da mesma prioridade, os mais antigos.
+     */
+    PRIORIDADE("prioridade");
+
+    private final String parametro;
+
+    private ChamadoOrdem(String parametro) {
+        this.parametro = parametro;
+    }
+
+    public String getParametro() {
+        return parametro;
+    }
+
+    public static ChamadoOrdem toEnum(String parametro) {
+        if (parametro == null) {
+            return ID;
+        }
+        for (ChamadoOrdem x : ChamadoOrdem.values()) {
+            if (x.parametro.equalsIgnoreCase(parametro)) {
+                return x;
+            }
+        }
+        throw new DataIntegrityViolationException("Ordenação inválida: " + parametro);
+    }
+}
@@ -1,6 +1,8 @@
 package com.helpdeskturmaa.helpdesk.dto;
 
 import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.helpdeskturmaa.helpdesk.domain.Cliente;
 
 /**
@@ -43,6 +45,18 @@ public class ClienteDTO implements Serializable {
      */
     private String senha;
 
+    /**
+     * A versão do cliente, exposta apenas no cabeçalho ETag.
+     */
+    @JsonIgnore
+    private Long versao;
+
+    /**
+     * O marcador da última escrita do cliente, usado apenas na versão da listagem ({@link VersaoColecao}).
+     */
+    @JsonIgnore
+    private Long ultimaAlteracao;
+
     /**
      * Construtor padrão (vazio) da classe ClienteDTO.
      */
@@ -63,6 +77,8 @@ public class ClienteDTO implements Serializable {
         this.nome = obj.getNome();
         this.cpf = obj.getCpf();
         this.email = obj.getEmail();
+        this.versao = obj.getVersao();
+        this.ultimaAlteracao = obj.getUltimaAlteracao();
         // A senha da entidade Cliente não é copiada para o DTO neste construtor,
         // garantindo que ela não seja exposta em consultas GET.
     }
@@ -156,4 +172,22 @@ public class ClienteDTO implements Serializable {
     public void setSenha(String senha) {
         this.senha = senha;
     }
+
+    /**
+     * Retorna a versão do cliente.
+     *
+     * @return a versão do cliente.
+     */
+    public Long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Retorna o marcador da última escrita do cliente.
+     *
+     * @return o marcador da última escrita.
+     */
+    public Long getUltimaAlteracao() {
+        return ultimaAlteracao;
+    }
 }
\ No newline at end of file
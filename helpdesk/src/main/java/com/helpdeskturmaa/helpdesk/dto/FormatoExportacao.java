@@ -0,0 +1,116 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpdeskturmaa.helpdesk.resources.exceptions.DataIntegrityViolationException;
+
+/**
+ * Formatos da exportação de chamados (parâmetro {@code formato}).
+ * * Cada chamado é escrito em uma linha, assim que é lido do banco.
+ */
+public enum FormatoExportacao {
+
+    /**
+     * Um objeto JSON por linha (newline-delimited JSON).
+     */
+    NDJSON("ndjson", "application/x-ndjson") {
+        @Override
+        public void escreverCabecalho(Writer out) {
+        }
+
+        @Override
+        public void escrever(ChamadoDTO obj, ObjectMapper mapper, Writer out) throws IOException {
+            out.write(mapper.writeValueAsString(obj));
+            out.write('\n');
+        }
+    },
+
+    /**
+     * CSV com cabeçalho, separado por vírgulas (RFC 4180).
+     */
+    CSV("csv", "text/csv") {
+        @Override
+        public void escreverCabecalho(Writer out) throws IOException {
+            out.write("id,dataAbertura,dataFechamento,prioridade,status,titulo,observacoes,tecnico,cliente\r\n");
+        }
+
+        @Override
+        public void escrever(ChamadoDTO obj, ObjectMapper mapper, Writer out) throws IOException {
+            out.write(String.valueOf(obj.getId()));
+            out.write(',');
+            out.write(data(obj.getDataAbertura()));
+            out.write(',');
+            out.write(data(obj.getDataFechamento()));
+            out.write(',');
+            out.write(obj.getPrioridade() != null ? obj.getPrioridade().name() : "");
+            out.write(',');
+            out.write(obj.getStatus() != null ? obj.getStatus().name() : "");
+            out.write(',');
+            out.write(texto(obj.getTitulo()));
+            out.write(',');
+            out.write(texto(obj.getObservacoes()));
+            out.write(',');
+            out.write(obj.getTecnico() != null ? obj.getTecnico().toString() : "");
+            out.write(',');
+            out.write(obj.getCliente() != null ? obj.getCliente().toString() : "");
+            out.write("\r\n");
+        }
+    };
+
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final String parametro;
+
+    private final String contentType;
+
+    private FormatoExportacao(String parametro, String contentType) {
+        this.parametro = parametro;
+        this.contentType = contentType;
+    }
+
+    public abstract void escreverCabecalho(Writer out) throws IOException;
+
+    public abstract void escrever(ChamadoDTO obj, ObjectMapper mapper, Writer out) throws IOException;
+
+    public String getParametro() {
+        return parametro;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static FormatoExportacao toEnum(String parametro) {
+        if (parametro == null) {
+            return NDJSON;
+        }
+        for (FormatoExportacao x : FormatoExportacao.values()) {
+            if (x.parametro.equalsIgnoreCase(parametro)) {
+                return x;
+            }
+        }
+        throw new DataIntegrityViolationException("Formato de exportação inválido: " + parametro);
+    }
+
+    private static String data(LocalDate data) {
+        return data != null ? DATA.format(data) : "";
+    }
+
+    // Campos com vírgula, aspas ou quebra de linha vão entre aspas, com as aspas duplicadas.
+    private static String texto(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + valor.replace("\"", "\"\"") + '"';
+            }
+        }
+        return valor;
+    }
+}
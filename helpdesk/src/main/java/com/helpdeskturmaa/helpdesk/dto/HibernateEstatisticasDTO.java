@@ -0,0 +1,75 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import org.hibernate.stat.Statistics;
+
+/**
+ * Idas ao banco feitas pelo Hibernate e estatísticas das regiões do cache de segundo nível,
+ * desde a inicialização da aplicação.
+ */
+public class HibernateEstatisticasDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Transações concluídas.
+     */
+    private final long transacoes;
+
+    /**
+     * Comandos SQL preparados (cada um é uma ida ao banco, ou um lote).
+     */
+    private final long comandos;
+
+    /**
+     * Entidades lidas do banco (as vindas do cache de segundo nível não contam).
+     */
+    private final long entidadesCarregadas;
+
+    /**
+     * Consultas executadas no banco (as atendidas pelo cache de consultas não contam).
+     */
+    private final long consultas;
+
+    /**
+     * Estatísticas de cada região do cache de segundo nível, por nome.
+     */
+    private final Map<String, CacheEstatisticasDTO> regioes;
+
+    public HibernateEstatisticasDTO(Statistics statistics, Map<String, CacheEstatisticasDTO> regioes) {
+        this.transacoes = statistics.getTransactionCount();
+        this.comandos = statistics.getPrepareStatementCount();
+        this.entidadesCarregadas = statistics.getEntityLoadCount();
+        this.consultas = statistics.getQueryExecutionCount();
+        this.regioes = regioes;
+    }
+
+    public long getTransacoes() {
+        return transacoes;
+    }
+
+    public long getComandos() {
+        return comandos;
+    }
+
+    public long getEntidadesCarregadas() {
+        return entidadesCarregadas;
+    }
+
+    public long getConsultas() {
+        return consultas;
+    }
+
+    public Map<String, CacheEstatisticasDTO> getRegioes() {
+        return regioes;
+    }
+
+    /**
+     * A média de comandos SQL por transação (0 se ainda não houve transações).
+     */
+    public double getComandosPorTransacao() {
+        return transacoes == 0 ? 0.0 : (double) comandos / transacoes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.helpdeskturmaa.helpdesk.domain.HistoricoChamado;
+
+/**
+ * Alteração de um campo de um chamado, como exposta em {@code /chamados/{id}/historico}.
+ * * {@code autor} é o ID da pessoa que fez a alteração, ou {@code null} nas alterações do sistema.
+ */
+public class HistoricoChamadoDTO implements Serializable {
+
+    /**
+     * Identificador de serialização da classe.
+     */
+    private static final long serialVersionUID = 1L;
+
+    private final Integer id;
+
+    private final String campo;
+
+    private final String valorAnterior;
+
+    private final String valorNovo;
+
+    private final Integer autor;
+
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private final LocalDateTime dataHora;
+
+    public HistoricoChamadoDTO(HistoricoChamado obj) {
+        this.id = obj.getId();
+        this.campo = obj.getCampo();
+        this.valorAnterior = obj.getValorAnterior();
+        this.valorNovo = obj.getValorNovo();
+        this.autor = obj.getAutor();
+        this.dataHora = obj.getDataHora();
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getCampo() {
+        return campo;
+    }
+
+    public String getValorAnterior() {
+        return valorAnterior;
+    }
+
+    public String getValorNovo() {
+        return valorNovo;
+    }
+
+    public Integer getAutor() {
+        return autor;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+}
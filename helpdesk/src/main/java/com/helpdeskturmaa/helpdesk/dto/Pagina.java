@@ -0,0 +1,73 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Uma página de resultados obtida por paginação por cursor (keyset).
+ * * Os itens são devolvidos no corpo da resposta; o cursor da próxima página e o
+ * total (quando solicitado) seguem nos cabeçalhos {@code X-Next-Cursor} e {@code X-Total-Count}.
+ *
+ * @param <T> o tipo dos itens da página.
+ */
+public class Pagina<T> implements Serializable {
+
+    /**
+     * Identificador de serialização da classe.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Os itens desta página.
+     */
+    private final List<T> itens;
+
+    /**
+     * O cursor para buscar a próxima página, ou {@code null} se esta for a última.
+     */
+    private final String proximoCursor;
+
+    /**
+     * O total de registros do escopo consultado, ou {@code null} se não foi solicitado.
+     */
+    private final Long total;
+
+    public Pagina(List<T> itens, String proximoCursor, Long total) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+        this.total = total;
+    }
+
+    /**
+     * Monta uma página a partir das linhas lidas com um registro a mais que o tamanho
+     * pedido: se esse registro extra existir, há próxima página.
+     *
+     * @param linhas as linhas lidas (até {@code tamanho + 1}).
+     * @param tamanho o tamanho da página.
+     * @param mapper a conversão de cada linha para o item exposto.
+     * @param cursor a extração do cursor a partir da última linha da página.
+     * @param total o total do escopo, ou {@code null}.
+     * @return a página.
+     */
+    public static <E, T> Pagina<T> de(List<E> linhas, int tamanho, Function<E, T> mapper,
+                                      Function<E, String> cursor, Long total) {
+        boolean temProxima = linhas.size() > tamanho;
+        List<E> pagina = temProxima ? linhas.subList(0, tamanho) : linhas;
+        String proximo = temProxima ? cursor.apply(pagina.get(pagina.size() - 1)) : null;
+        return new Pagina<>(pagina.stream().map(mapper).collect(Collectors.toList()), proximo, total);
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+}
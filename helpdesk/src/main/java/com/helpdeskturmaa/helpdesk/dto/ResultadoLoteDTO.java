@@ -0,0 +1,50 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma operação em lote sobre chamados.
+ * * {@code selecionados} conta os chamados encontrados; {@code alterados}, os que de fato mudaram
+ * (os demais já estavam no destino ou não admitiam a transição).
+ * * {@code lotes} traz as linhas alteradas por cada lote, na ordem em que foram aplicados.
+ */
+public class ResultadoLoteDTO implements Serializable {
+
+    /**
+     * Identificador de serialização da classe.
+     */
+    private static final long serialVersionUID = 1L;
+
+    private long selecionados;
+
+    private long alterados;
+
+    private final List<Integer> lotes = new ArrayList<>();
+
+    /**
+     * Registra o resultado de um lote já confirmado.
+     *
+     * @param selecionados os chamados encontrados no lote.
+     * @param alterados as linhas alteradas pelo UPDATE do lote.
+     */
+    public void registrarLote(int selecionados, int alterados) {
+        this.selecionados += selecionados;
+        this.alterados += alterados;
+        this.lotes.add(alterados);
+    }
+
+    public long getSelecionados() {
+        return selecionados;
+    }
+
+    public long getAlterados() {
+        return alterados;
+    }
+
+    public List<Integer> getLotes() {
+        return Collections.unmodifiableList(lotes);
+    }
+}
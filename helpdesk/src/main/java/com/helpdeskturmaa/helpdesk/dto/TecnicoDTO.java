@@ -1,9 +1,12 @@
 package com.helpdeskturmaa.helpdesk.dto;
 
 import java.io.Serializable;
+import java.util.Set;
 	
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.domain.enums.Habilidade;
 
 /**
  * Data Transfer Object (DTO) para a entidade {@link Tecnico}.
@@ -47,6 +50,23 @@ public class TecnicoDTO implements Serializable {
      */
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String senha;
+
+    /**
+     * As áreas de atendimento do técnico, usadas na atribuição automática de chamados.
+     */
+    private Set<Habilidade> habilidades;
+
+    /**
+     * A versão do técnico, exposta apenas no cabeçalho ETag.
+     */
+    @JsonIgnore
+    private Long versao;
+
+    /**
+     * O marcador da última escrita do técnico, usado apenas na versão da listagem ({@link VersaoColecao}).
+     */
+    @JsonIgnore
+    private Long ultimaAlteracao;
     
     /**
      * Construtor padrão (vazio) da classe TecnicoDTO.
@@ -69,6 +89,9 @@ public class TecnicoDTO implements Serializable {
         this.cpf = obj.getCpf();
         this.email = obj.getEmail();
         this.senha = obj.getSenha();
+        this.habilidades = obj.getHabilidades();
+        this.versao = obj.getVersao();
+        this.ultimaAlteracao = obj.getUltimaAlteracao();
     }
     
     /**
@@ -160,4 +183,40 @@ public class TecnicoDTO implements Serializable {
 	public void setSenha(String senha) {
 		this.senha = senha;
 	}
+
+    /**
+     * Retorna as habilidades do técnico.
+     *
+     * @return as habilidades do técnico.
+     */
+    public Set<Habilidade> getHabilidades() {
+        return habilidades;
+    }
+
+    /**
+     * Define as habilidades do técnico.
+     *
+     * @param habilidades as novas habilidades do técnico.
+     */
+    public void setHabilidades(Set<Habilidade> habilidades) {
+        this.habilidades = habilidades;
+    }
+
+    /**
+     * Retorna a versão do técnico.
+     *
+     * @return a versão do técnico.
+     */
+    public Long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Retorna o marcador da última escrita do técnico.
+     *
+     * @return o marcador da última escrita.
+     */
+    public Long getUltimaAlteracao() {
+        return ultimaAlteracao;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.helpdeskturmaa.helpdesk.dto;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.function.Function;
+
+import com.helpdeskturmaa.helpdesk.domain.RelogioAlteracoes;
+
+/**
+ * Versão de um conjunto de registros: quantidade e maior marcador de última escrita ({@code ultimaAlteracao}).
+ * * Como toda escrita dá ao registro um marcador maior que todos os existentes ({@link RelogioAlteracoes}),
+ * qualquer inclusão, exclusão ou alteração no conjunto (inclusive um registro que entra em uma listagem
+ * filtrada enquanto outro sai) muda ao menos um dos dois valores, então serve de ETag para as listagens
+ * sem ler os registros.
+ * * Quando a listagem já leu o conjunto inteiro, a mesma versão sai dos próprios registros ({@link #de}).
+ */
+public class VersaoColecao implements Serializable {
+
+    /**
+     * Identificador de serialização da classe.
+     */
+    private static final long serialVersionUID = 1L;
+
+    private final long total;
+
+    private final Long ultimaAlteracao;
+
+    public VersaoColecao(Long total, Long ultimaAlteracao) {
+        this.total = total != null ? total : 0L;
+        this.ultimaAlteracao = ultimaAlteracao;
+    }
+
+    /**
+     * Calcula a versão a partir dos registros já lidos, sem outra consulta.
+     *
+     * @param registros todos os registros do conjunto.
+     * @param alteracao o marcador de última escrita de um registro.
+     * @return a mesma versão que a consulta agregada (COUNT e MAX) devolveria.
+     */
+    public static <T> VersaoColecao de(Collection<T> registros, Function<T, Long> alteracao) {
+        Long ultimaAlteracao = null;
+        for (T registro : registros) {
+            Long atual = alteracao.apply(registro);
+            if (atual != null && (ultimaAlteracao == null || atual > ultimaAlteracao)) {
+                ultimaAlteracao = atual;
+            }
+        }
+        return new VersaoColecao((long) registros.size(), ultimaAlteracao);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Long getUltimaAlteracao() {
+        return ultimaAlteracao;
+    }
+
+    @Override
+    public String toString() {
+        return total + "-" + (ultimaAlteracao != null ? ultimaAlteracao : 0);
+    }
+}
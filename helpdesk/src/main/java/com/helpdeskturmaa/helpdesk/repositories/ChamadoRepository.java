@@ -1,14 +1,169 @@
 package com.helpdeskturmaa.helpdesk.repositories;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
 
 @Repository
-public interface ChamadoRepository extends JpaRepository<Chamado, Integer>{
+public interface ChamadoRepository extends JpaRepository<Chamado, Integer>, ChamadoRepositoryCustom {
+	@EntityGraph(attributePaths = {"tecnico", "cliente"})
 	List<Chamado> findByClienteId(Integer id); 
+	@EntityGraph(attributePaths = {"tecnico", "cliente"})
 	List<Chamado> findByTecnicoId(Integer id);
+	@EntityGraph(attributePaths = {"tecnico", "cliente"})
+	Optional<Chamado> findComAssociacoesById(Integer id);
+
+	@Query("SELECT new com.helpdeskturmaa.helpdesk.dto.ChamadoDTO(c.id, c.dataAbertura, c.dataFechamento, "
+			+ "c.prioridade, c.status, c.titulo, c.observacoes, c.tecnico.id, c.cliente.id, c.versao, c.prazoSla, "
+			+ "c.ultimaAlteracao) FROM Chamado c WHERE c.id = :id")
+	Optional<ChamadoDTO> findDTOById(@Param("id") Integer id);
+
+	@Query("SELECT new com.helpdeskturmaa.helpdesk.dto.ChamadoDTO(c.id, c.dataAbertura, c.dataFechamento, "
+			+ "c.prioridade, c.status, c.titulo, c.observacoes, c.tecnico.id, c.cliente.id, c.versao, c.prazoSla, "
+			+ "c.ultimaAlteracao) FROM Chamado c WHERE c.id IN :ids")
+	List<ChamadoDTO> findDTOsByIdIn(@Param("ids") Collection<Integer> ids);
+
+	@Query("SELECT c.versao AS versao, c.status AS status, c.cliente.id AS cliente, c.prioridade AS prioridade, "
+			+ "c.prazoSla AS prazoSla FROM Chamado c WHERE c.id = :id")
+	Optional<VersaoChamado> findVersaoById(@Param("id") Integer id);
+
+	/**
+	 * Compare-and-set do status: só altera se o chamado ainda estiver no status lido ({@code atual}).
+	 * * Incrementa a versão e grava o marcador de alteração, como fariam o {@code @Version} e o
+	 * {@code @PreUpdate} em uma gravação pela entidade, e grava o prazo de SLA (que é renovado ao reabrir).
+	 *
+	 * @return 1 se a transição foi aplicada; 0 se o status mudou antes (ou o chamado não existe mais).
+	 */
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Chamado c SET c.status = :novo, c.dataFechamento = :dataFechamento, c.prazoSla = :prazoSla, "
+			+ "c.versao = c.versao + 1, c.ultimaAlteracao = :alteracao WHERE c.id = :id AND c.status = :atual")
+	int alterarStatus(@Param("id") Integer id, @Param("atual") Status atual, @Param("novo") Status novo,
+			@Param("dataFechamento") LocalDate dataFechamento, @Param("prazoSla") LocalDateTime prazoSla,
+			@Param("alteracao") long alteracao);
+
+	/**
+	 * Compare-and-set da retirada da fila de triagem: ABERTO -> ANDAMENTO, apenas se o chamado
+	 * continuar ABERTO e atribuído ao técnico que o retirou.
+	 *
+	 * @return 1 se o técnico ficou com o chamado; 0 se outro o assumiu, reatribuiu ou alterou antes.
+	 */
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Chamado c SET c.status = :andamento, c.versao = c.versao + 1, c.ultimaAlteracao = :alteracao "
+			+ "WHERE c.id = :id AND c.status = :aberto AND c.tecnico.id = :tecnico")
+	int reivindicar(@Param("id") Integer id, @Param("tecnico") Integer tecnico,
+			@Param("aberto") Status aberto, @Param("andamento") Status andamento, @Param("alteracao") long alteracao);
+
+	/**
+	 * Lê os chamados de um lote com lock de escrita (SELECT ... FOR UPDATE), para que o estado
+	 * anterior lido seja exatamente o que o UPDATE em lote vai alterar.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT c FROM Chamado c WHERE c.id IN :ids ORDER BY c.id")
+	List<Chamado> travar(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Troca o status de um lote de chamados em um único UPDATE, apenas nos que estão em um dos
+	 * status de {@code origens} (os que admitem a transição).
+	 * * Incrementa a versão e grava o marcador de alteração; a data de fechamento é a informada (preenchida ao encerrar, limpa nos demais
+	 * casos) e, ao reabrir um chamado ENCERRADO, o prazo de SLA recomeça conforme a sua prioridade.
+	 * * Deve ser executado dentro de uma transação.
+	 *
+	 * @return a quantidade de chamados alterados.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Chamado c SET c.status = :novo, c.dataFechamento = :dataFechamento, "
+			+ "c.prazoSla = CASE WHEN c.status <> :encerrado THEN c.prazoSla "
+			+ "WHEN c.prioridade = :alta THEN :prazoAlta WHEN c.prioridade = :media THEN :prazoMedia "
+			+ "ELSE :prazoBaixa END, c.versao = c.versao + 1, c.ultimaAlteracao = :alteracao "
+			+ "WHERE c.id IN :ids AND c.status IN :origens")
+	int alterarStatusEmLote(@Param("ids") Collection<Integer> ids, @Param("origens") Collection<Status> origens,
+			@Param("novo") Status novo, @Param("dataFechamento") LocalDate dataFechamento,
+			@Param("encerrado") Status encerrado, @Param("alta") Prioridade alta, @Param("media") Prioridade media,
+			@Param("prazoAlta") LocalDateTime prazoAlta, @Param("prazoMedia") LocalDateTime prazoMedia,
+			@Param("prazoBaixa") LocalDateTime prazoBaixa, @Param("alteracao") long alteracao);
+
+	/**
+	 * Reatribui um lote de chamados a um técnico em um único UPDATE, incrementando a versão
+	 * (e gravando o marcador de alteração) apenas dos que ainda não eram dele. Deve ser executado dentro de uma transação.
+	 *
+	 * @return a quantidade de chamados alterados.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Chamado c SET c.tecnico = :tecnico, c.versao = c.versao + 1, c.ultimaAlteracao = :alteracao "
+			+ "WHERE c.id IN :ids AND (c.tecnico IS NULL OR c.tecnico <> :tecnico)")
+	int reatribuirEmLote(@Param("ids") Collection<Integer> ids, @Param("tecnico") Tecnico tecnico,
+			@Param("alteracao") long alteracao);
+
+	@Query("SELECT c.tecnico.id AS tecnico, c.cliente.id AS cliente, c.status AS status, c.prioridade AS prioridade, "
+			+ "COUNT(c) AS total FROM Chamado c GROUP BY c.tecnico.id, c.cliente.id, c.status, c.prioridade")
+	List<ContagemChamados> contarPorGrupo();
+
+	@Query("SELECT c.tecnico.id AS tecnico, c.cliente.id AS cliente, c.status AS status, c.prioridade AS prioridade, "
+			+ "COUNT(c) AS total FROM Chamado c WHERE c.tecnico.id = :tecnico "
+			+ "GROUP BY c.tecnico.id, c.cliente.id, c.status, c.prioridade")
+	List<ContagemChamados> contarPorGrupoDoTecnico(@Param("tecnico") Integer tecnico);
+
+	/**
+	 * Prazos de SLA de todos os chamados não encerrados, lidos em lotes (pelo índice de prazo),
+	 * para reconstruir os temporizadores. Deve ser consumido dentro de uma transação.
+	 */
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("SELECT c.id AS id, c.prazoSla AS prazoSla FROM Chamado c "
+			+ "WHERE c.prazoSla IS NOT NULL AND c.status <> :encerrado")
+	Stream<PrazoSla> streamPrazosSla(@Param("encerrado") Status encerrado);
+
+	/**
+	 * Quantidade de chamados de uma combinação de técnico, cliente, status e prioridade.
+	 */
+	interface ContagemChamados {
+		Integer getTecnico();
+		Integer getCliente();
+		Status getStatus();
+		Prioridade getPrioridade();
+		Long getTotal();
+	}
+
+	/**
+	 * Versão, status, cliente dono, prioridade e prazo de SLA de um chamado, suficientes
+	 * para um GET condicional e para a troca de status.
+	 */
+	interface VersaoChamado {
+		Long getVersao();
+		Status getStatus();
+		Integer getCliente();
+		Prioridade getPrioridade();
+		LocalDateTime getPrazoSla();
+	}
+
+	/**
+	 * Prazo de SLA pendente de um chamado.
+	 */
+	interface PrazoSla {
+		Integer getId();
+		LocalDateTime getPrazoSla();
+	}
 }	
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.helpdeskturmaa.helpdesk.repositories;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoCursor;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoFiltro;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoOrdem;
+import com.helpdeskturmaa.helpdesk.dto.VersaoColecao;
+
+/**
+ * Consultas paginadas por cursor (keyset) de {@link Chamado}, implementadas com a Criteria API.
+ * * A leitura é uma projeção em {@link ChamadoDTO}: apenas as colunas do chamado e as
+ * chaves estrangeiras de Técnico e Cliente, sem carregar essas entidades.
+ */
+public interface ChamadoRepositoryCustom {
+
+    /**
+     * Busca os chamados do filtro que vêm depois do cursor, na ordem pedida.
+     *
+     * @param filtro os critérios de seleção.
+     * @param ordem a ordenação.
+     * @param apos o último chamado da página anterior, ou {@code null} para a primeira página.
+     * @param limite o número máximo de registros.
+     * @return os chamados encontrados.
+     */
+    List<ChamadoDTO> findPagina(ChamadoFiltro filtro, ChamadoOrdem ordem, ChamadoCursor apos, int limite);
+
+    /**
+     * Lê todos os chamados do filtro, em ordem de ID, como um {@link Stream} apoiado em um
+     * cursor do banco ({@code fetchSize} linhas por ida ao banco).
+     * * Precisa ser consumido e fechado dentro de uma transação.
+     *
+     * @param filtro os critérios de seleção.
+     * @param fetchSize o número de linhas trazidas do banco por vez.
+     * @return os chamados encontrados.
+     */
+    Stream<ChamadoDTO> streamAll(ChamadoFiltro filtro, int fetchSize);
+
+    /**
+     * Conta os chamados do filtro.
+     *
+     * @param filtro os critérios de seleção.
+     * @return o total de chamados.
+     */
+    long contar(ChamadoFiltro filtro);
+
+    /**
+     * Calcula a versão do conjunto de chamados do filtro, sem ler as linhas.
+     *
+     * @param filtro os critérios de seleção.
+     * @return a versão da coleção.
+     */
+    VersaoColecao versaoColecao(ChamadoFiltro filtro);
+
+    /**
+     * Busca, em ordem, os IDs dos chamados do filtro maiores que {@code apos}; usado para
+     * percorrer o filtro em lotes (keyset) nas operações em lote.
+     *
+     * @param filtro os critérios de seleção.
+     * @param apos o último ID do lote anterior, ou {@code null} para o primeiro lote.
+     * @param limite o número máximo de IDs.
+     * @return os IDs encontrados.
+     */
+    List<Integer> findIds(ChamadoFiltro filtro, Integer apos, int limite);
+}
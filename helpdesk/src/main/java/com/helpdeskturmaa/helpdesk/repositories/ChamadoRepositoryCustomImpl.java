@@ -0,0 +1,189 @@
+package com.helpdeskturmaa.helpdesk.repositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaBuilder.Case;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.hibernate.jpa.QueryHints;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoCursor;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoFiltro;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoOrdem;
+import com.helpdeskturmaa.helpdesk.dto.VersaoColecao;
+
+/**
+ * Implementação de {@link ChamadoRepositoryCustom}.
+ * * Os filtros de técnico/cliente e status casam com os índices compostos declarados em {@link Chamado}.
+ * * A página seguinte é obtida por um predicado sobre as colunas da ordenação
+ * ({@code WHERE (a, b, id) > (cursor)}) em vez de OFFSET, então o custo de cada
+ * página não cresce com a sua posição.
+ */
+public class ChamadoRepositoryCustomImpl implements ChamadoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<ChamadoDTO> findPagina(ChamadoFiltro filtro, ChamadoOrdem ordem, ChamadoCursor apos, int limite) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ChamadoDTO> query = cb.createQuery(ChamadoDTO.class);
+        Root<Chamado> root = query.from(Chamado.class);
+
+        List<Predicate> where = filtrar(cb, root, filtro);
+        if (apos != null) {
+            where.add(apos(cb, root, ordem, apos));
+        }
+        query.select(projetar(cb, root)).where(where.toArray(new Predicate[0])).orderBy(ordenar(cb, root, ordem));
+
+        return em.createQuery(query).setMaxResults(limite).getResultList();
+    }
+
+    @Override
+    public Stream<ChamadoDTO> streamAll(ChamadoFiltro filtro, int fetchSize) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ChamadoDTO> query = cb.createQuery(ChamadoDTO.class);
+        Root<Chamado> root = query.from(Chamado.class);
+        query.select(projetar(cb, root)).where(filtrar(cb, root, filtro).toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+
+        return em.createQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public long contar(ChamadoFiltro filtro) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Chamado> root = query.from(Chamado.class);
+        query.select(cb.count(root)).where(filtrar(cb, root, filtro).toArray(new Predicate[0]));
+        return em.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public VersaoColecao versaoColecao(ChamadoFiltro filtro) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<VersaoColecao> query = cb.createQuery(VersaoColecao.class);
+        Root<Chamado> root = query.from(Chamado.class);
+        query.select(cb.construct(VersaoColecao.class, cb.count(root), cb.max(root.<Long>get("ultimaAlteracao"))))
+                .where(filtrar(cb, root, filtro).toArray(new Predicate[0]));
+        return em.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<Integer> findIds(ChamadoFiltro filtro, Integer apos, int limite) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Integer> query = cb.createQuery(Integer.class);
+        Root<Chamado> root = query.from(Chamado.class);
+        Path<Integer> id = root.get("id");
+
+        List<Predicate> where = filtrar(cb, root, filtro);
+        if (apos != null) {
+            where.add(cb.greaterThan(id, apos));
+        }
+        query.select(id).where(where.toArray(new Predicate[0])).orderBy(cb.asc(id));
+
+        return em.createQuery(query).setMaxResults(limite).getResultList();
+    }
+
+    private Selection<ChamadoDTO> projetar(CriteriaBuilder cb, Root<Chamado> root) {
+        return cb.construct(ChamadoDTO.class, root.get("id"), root.get("dataAbertura"),
+                root.get("dataFechamento"), root.get("prioridade"), root.get("status"), root.get("titulo"),
+                root.get("observacoes"), root.get("tecnico").get("id"), root.get("cliente").get("id"),
+                root.get("versao"), root.get("prazoSla"), root.get("ultimaAlteracao"));
+    }
+
+    private List<Predicate> filtrar(CriteriaBuilder cb, Root<Chamado> root, ChamadoFiltro filtro) {
+        List<Predicate> where = new ArrayList<>();
+        if (filtro.getTecnico() != null) {
+            where.add(cb.equal(root.get("tecnico").get("id"), filtro.getTecnico()));
+        }
+        if (filtro.getCliente() != null) {
+            where.add(cb.equal(root.get("cliente").get("id"), filtro.getCliente()));
+        }
+        if (filtro.getStatus() != null) {
+            where.add(cb.equal(root.get("status"), filtro.getStatus()));
+        }
+        if (filtro.getPrioridade() != null) {
+            where.add(cb.equal(root.get("prioridade"), filtro.getPrioridade()));
+        }
+        if (filtro.getAbertoDe() != null) {
+            where.add(cb.greaterThanOrEqualTo(root.get("dataAbertura"), filtro.getAbertoDe()));
+        }
+        if (filtro.getAbertoAte() != null) {
+            where.add(cb.lessThanOrEqualTo(root.get("dataAbertura"), filtro.getAbertoAte()));
+        }
+        if (filtro.getFechadoDe() != null) {
+            where.add(cb.greaterThanOrEqualTo(root.get("dataFechamento"), filtro.getFechadoDe()));
+        }
+        if (filtro.getFechadoAte() != null) {
+            where.add(cb.lessThanOrEqualTo(root.get("dataFechamento"), filtro.getFechadoAte()));
+        }
+        return where;
+    }
+
+    private List<Order> ordenar(CriteriaBuilder cb, Root<Chamado> root, ChamadoOrdem ordem) {
+        Path<Integer> id = root.get("id");
+        Path<LocalDate> data = root.get("dataAbertura");
+        switch (ordem) {
+            case IDADE:
+                return Arrays.asList(cb.asc(data), cb.asc(id));
+            case RECENTES:
+                return Arrays.asList(cb.desc(data), cb.desc(id));
+            case PRIORIDADE:
+                return Arrays.asList(cb.desc(prioridade(cb, root)), cb.asc(data), cb.asc(id));
+            default:
+                return Arrays.asList(cb.asc(id));
+        }
+    }
+
+    private Predicate apos(CriteriaBuilder cb, Root<Chamado> root, ChamadoOrdem ordem, ChamadoCursor cursor) {
+        Path<Integer> id = root.get("id");
+        Path<LocalDate> data = root.get("dataAbertura");
+        switch (ordem) {
+            case IDADE:
+                return cb.or(cb.greaterThan(data, cursor.getDataAbertura()),
+                        cb.and(cb.equal(data, cursor.getDataAbertura()), cb.greaterThan(id, cursor.getId())));
+            case RECENTES:
+                return cb.or(cb.lessThan(data, cursor.getDataAbertura()),
+                        cb.and(cb.equal(data, cursor.getDataAbertura()), cb.lessThan(id, cursor.getId())));
+            case PRIORIDADE:
+                Expression<Integer> prioridade = prioridade(cb, root);
+                return cb.or(cb.lessThan(prioridade, cursor.getPrioridade()),
+                        cb.and(cb.equal(prioridade, cursor.getPrioridade()),
+                                cb.or(cb.greaterThan(data, cursor.getDataAbertura()),
+                                        cb.and(cb.equal(data, cursor.getDataAbertura()),
+                                                cb.greaterThan(id, cursor.getId())))));
+            default:
+                return cb.greaterThan(id, cursor.getId());
+        }
+    }
+
+    // A prioridade é gravada como texto; o peso numérico vem do código do enum.
+    private Expression<Integer> prioridade(CriteriaBuilder cb, Root<Chamado> root) {
+        Path<Prioridade> prioridade = root.get("prioridade");
+        Case<Integer> peso = cb.selectCase();
+        for (Prioridade p : Prioridade.values()) {
+            peso = peso.when(cb.equal(prioridade, p), p.getCodigo());
+        }
+        return peso.otherwise(0);
+    }
+}
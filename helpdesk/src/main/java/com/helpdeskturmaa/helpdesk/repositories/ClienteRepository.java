@@ -2,13 +2,31 @@ package com.helpdeskturmaa.helpdesk.repositories;
 
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.helpdeskturmaa.helpdesk.domain.Cliente;
+import com.helpdeskturmaa.helpdesk.dto.VersaoColecao;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Integer>{
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Cliente> findByCpf(String cpf);
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Cliente> findByEmail(String email);
+    Slice<Cliente> findByIdGreaterThan(Integer id, Pageable pageable);
+
+    @Query("SELECT p.versao FROM Cliente p WHERE p.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Integer id);
+
+    @Query("SELECT new com.helpdeskturmaa.helpdesk.dto.VersaoColecao(COUNT(p), MAX(p.ultimaAlteracao)) FROM Cliente p")
+    VersaoColecao versaoColecao();
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.helpdeskturmaa.helpdesk.repositories;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.helpdeskturmaa.helpdesk.domain.Concessao;
+
+public interface ConcessaoRepository extends JpaRepository<Concessao, String> {
+
+    /**
+     * O relógio do banco, o mesmo para todas as instâncias (os relógios locais podem divergir).
+     */
+    @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+    Timestamp agora();
+
+    /**
+     * Renova a concessão para {@code dono}, ou a assume se a do dono anterior já expirou (compare-and-set).
+     * A expiração é comparada com o relógio do banco.
+     *
+     * @param ate a nova expiração, calculada a partir de {@link #agora()}.
+     * @return 1 se {@code dono} detém a concessão até {@code ate}; 0 se outra instância a detém.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Concessao c SET c.dono = :dono, c.expiraEm = :ate "
+            + "WHERE c.nome = :nome AND (c.dono = :dono OR c.expiraEm < CURRENT_TIMESTAMP)")
+    int renovar(@Param("nome") String nome, @Param("dono") String dono, @Param("ate") LocalDateTime ate);
+
+    /**
+     * Devolve a concessão, se ainda for de {@code dono}, para que outra instância a assuma sem esperar o prazo.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Concessao c SET c.expiraEm = CURRENT_TIMESTAMP WHERE c.nome = :nome AND c.dono = :dono")
+    int liberar(@Param("nome") String nome, @Param("dono") String dono);
+}
@@ -0,0 +1,39 @@
+package com.helpdeskturmaa.helpdesk.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.helpdeskturmaa.helpdesk.domain.EventoChamado;
+
+public interface EventoChamadoRepository extends JpaRepository<EventoChamado, Long> {
+
+    /**
+     * Reserva (SELECT ... FOR UPDATE) os próximos eventos de uma partição, em ordem de ID.
+     * * A partição é o resto do ID do chamado por {@code particoes}, então todos os eventos de
+     * um chamado estão na mesma partição. Deve ser executado dentro de uma transação.
+     * * Com lock timeout 0 (FOR UPDATE NOWAIT, onde o banco suporta), falha de imediato se outra
+     * transação já tiver reservado eventos da partição.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "0"))
+    @Query("SELECT e FROM EventoChamado e WHERE MOD(e.chamado, :particoes) = :particao ORDER BY e.id")
+    List<EventoChamado> reservar(@Param("particoes") int particoes, @Param("particao") int particao, Pageable pageable);
+
+    /**
+     * Remove os eventos entregues. Deve ser executado na transação que os reservou.
+     */
+    @Modifying
+    @Query("DELETE FROM EventoChamado e WHERE e.id IN :ids")
+    int removerEntregues(@Param("ids") Collection<Long> ids);
+}
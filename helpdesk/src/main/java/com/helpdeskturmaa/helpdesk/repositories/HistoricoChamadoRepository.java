@@ -0,0 +1,17 @@
+package com.helpdeskturmaa.helpdesk.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.helpdeskturmaa.helpdesk.domain.HistoricoChamado;
+
+public interface HistoricoChamadoRepository extends JpaRepository<HistoricoChamado, Integer> {
+
+    /**
+     * Página do histórico de um chamado, a partir de um ID (pelo índice {@code chamado_id, id}).
+     */
+    Slice<HistoricoChamado> findByChamadoAndIdGreaterThan(Integer chamado, Integer id, Pageable pageable);
+
+    long countByChamado(Integer chamado);
+}
@@ -7,5 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import com.helpdeskturmaa.helpdesk.domain.Pessoa;
 
 public interface PessoaRepository extends JpaRepository<Pessoa, Integer>{
+    // Usada na autenticação: fora do cache de consultas, para que senha e perfis alterados por outra
+    // instância valham no próximo login, e não só depois do TTL (ver CacheHibernateConfig).
     Optional<Pessoa> findByEmail(String email);
 }
\ No newline at end of file
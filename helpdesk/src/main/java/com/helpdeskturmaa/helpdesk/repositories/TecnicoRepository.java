@@ -1,12 +1,46 @@
 package com.helpdeskturmaa.helpdesk.repositories;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.domain.enums.Habilidade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+import com.helpdeskturmaa.helpdesk.dto.VersaoColecao;
 
 public interface TecnicoRepository extends JpaRepository<Tecnico, Integer>{
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Tecnico> findByCpf(String cpf);
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Tecnico> findByEmail(String email);
+    Slice<Tecnico> findByIdGreaterThan(Integer id, Pageable pageable);
+
+    @Query("SELECT p.versao FROM Tecnico p WHERE p.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Integer id);
+
+    @Query("SELECT new com.helpdeskturmaa.helpdesk.dto.VersaoColecao(COUNT(p), MAX(p.ultimaAlteracao)) FROM Tecnico p")
+    VersaoColecao versaoColecao();
+
+    @Query("SELECT t.id AS id, t.perfis AS perfis, t.habilidades AS habilidades FROM Tecnico t")
+    List<HabilidadesTecnico> findHabilidades();
+
+    /**
+     * Perfis e habilidades de um técnico, usados para montar a atribuição automática sem carregar a entidade.
+     */
+    interface HabilidadesTecnico {
+        Integer getId();
+        Set<Perfil> getPerfis();
+        Set<Habilidade> getHabilidades();
+    }
 }
\ No newline at end of file
@@ -1,14 +1,31 @@
 package com.helpdeskturmaa.helpdesk.resources;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import com.helpdeskturmaa.helpdesk.domain.Chamado;
 import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoEstatisticasDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoFiltro;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoLoteDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoOrdem;
+import com.helpdeskturmaa.helpdesk.dto.FormatoExportacao;
+import com.helpdeskturmaa.helpdesk.dto.HistoricoChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.Pagina;
+import com.helpdeskturmaa.helpdesk.dto.ResultadoLoteDTO;
+import com.helpdeskturmaa.helpdesk.resources.util.ETags;
+import com.helpdeskturmaa.helpdesk.resources.util.Paginacao;
 import com.helpdeskturmaa.helpdesk.service.ChamadoService;
 
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -27,27 +44,148 @@ public class ChamadoResource {
     @Autowired
     private ChamadoService service;
 
+    /**
+     * Injeção dos parâmetros e cabeçalhos de paginação.
+     */
+    @Autowired
+    private Paginacao paginacao;
+
     /**
      * Endpoint para buscar um Chamado específico pelo seu ID.
+     * * Com 'If-None-Match', consulta apenas a versão e responde 304 (Not Modified) se ela não mudou.
      *
      * @param id O ID do chamado a ser buscado.
-     * @return {@link ResponseEntity} com o {@link ChamadoDTO} correspondente e status HTTP 200 (OK).
+     * @param request A requisição, usada na comparação do ETag.
+     * @return {@link ResponseEntity} com o {@link ChamadoDTO} correspondente, o ETag e status HTTP 200 (OK).
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ChamadoDTO> findById(@PathVariable Integer id) {
-        Chamado obj = service.findById(id);
-        return ResponseEntity.ok().body(new ChamadoDTO(obj));
+    public ResponseEntity<ChamadoDTO> findById(@PathVariable Integer id, WebRequest request) {
+        if (ETags.condicional(request) && request.checkNotModified(ETags.de(service.findVersaoById(id)))) {
+            return null;
+        }
+        ChamadoDTO dto = service.findDTOById(id);
+        return ResponseEntity.ok().eTag(ETags.de(dto.getVersao())).body(dto);
+    }
+
+    /**
+     * Endpoint para buscar o histórico de alterações de um Chamado (campo, valor anterior, valor novo,
+     * autor e data), paginado por cursor, da alteração mais antiga para a mais recente.
+     * * O histórico é gravado em segundo plano: uma alteração recém-feita pode levar alguns instantes para aparecer.
+     *
+     * @param id O ID do chamado.
+     * @param cursor O cursor devolvido pela página anterior (ausente na primeira página).
+     * @param size O tamanho da página ('pagination.default-size' se ausente), limitado por 'pagination.max-size'.
+     * @param count Se {@code true}, informa o total no cabeçalho 'X-Total-Count'.
+     * @return {@link ResponseEntity} com uma {@link List} de {@link HistoricoChamadoDTO} e status HTTP 200 (OK).
+     */
+    @GetMapping(value = "/{id}/historico")
+    public ResponseEntity<List<HistoricoChamadoDTO>> historico(@PathVariable Integer id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "count", defaultValue = "false") boolean count) {
+        return paginacao.ok(service.historico(id, paginacao.cursorId(cursor), paginacao.tamanho(size), count), null);
     }
 
     /**
-     * Endpoint para buscar todos os Chamados registrados no sistema.
+     * Endpoint para buscar os Chamados visíveis ao usuário, paginados por cursor.
+     * * O cursor da próxima página segue no cabeçalho 'X-Next-Cursor' (e em 'Link').
+     * * O ETag muda a cada inclusão, alteração ou exclusão; com 'If-None-Match' a resposta pode ser 304.
+     * Sem 'If-None-Match', só a resposta que traz a coleção inteira leva o ETag.
+     * * Para ler todos os chamados de uma vez, sem paginação, use {@code /chamados/export}.
      *
+     * * Aceita os filtros status, prioridade, tecnico, cliente, abertoDe, abertoAte, fechadoDe e
+     * fechadoAte (datas yyyy-MM-dd); as páginas seguintes devem repetir os mesmos filtros.
+     *
+     * @param filtro Os critérios de filtro, lidos dos parâmetros da requisição.
+     * @param cursor O cursor devolvido pela página anterior (ausente na primeira página).
+     * @param size O tamanho da página, limitado por 'pagination.max-size'.
+     * @param sort A ordenação: 'id' (padrão), 'idade', '-idade' ou 'prioridade'.
+     * @param count Se {@code true}, informa o total no cabeçalho 'X-Total-Count'.
+     * @param request A requisição, usada na comparação do ETag.
      * @return {@link ResponseEntity} com uma {@link List} de {@link ChamadoDTO} e status HTTP 200 (OK).
      */
     @GetMapping
-    public ResponseEntity<List<ChamadoDTO>> findAll() {
-        List<ChamadoDTO> listDTO = service.findAll();
-        return ResponseEntity.ok().body(listDTO);
+    public ResponseEntity<List<ChamadoDTO>> findAll(ChamadoFiltro filtro,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "count", defaultValue = "false") boolean count,
+            WebRequest request) {
+        String etag = null;
+        if (ETags.condicional(request)) {
+            etag = ETags.de(service.versaoColecao(filtro));
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+        }
+        Pagina<ChamadoDTO> pagina = service.findAll(filtro, ChamadoOrdem.toEnum(sort), cursor, paginacao.tamanho(size), count);
+        if (etag == null && paginacao.completa(cursor, pagina)) {
+            etag = ETags.de(service.versaoColecao(filtro, pagina.getItens()));
+        }
+        return paginacao.ok(pagina, etag);
+    }
+
+    /**
+     * Endpoint para buscar Chamados por palavras do título e das observações.
+     * * Os resultados vêm ordenados por relevância e respeitam as regras de perfil da listagem.
+     *
+     * @param q O texto buscado (sem diferenciar acentos e maiúsculas).
+     * @param size O número máximo de resultados, limitado por 'pagination.max-size'.
+     * @return {@link ResponseEntity} com uma {@link List} de {@link ChamadoDTO} e status HTTP 200 (OK).
+     */
+    @GetMapping(value = "/search")
+    public ResponseEntity<List<ChamadoDTO>> search(
+            @RequestParam(value = "q") String q,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok().body(service.buscar(q, paginacao.tamanho(size)));
+    }
+
+    /**
+     * Endpoint com a quantidade de Chamados visíveis ao usuário, por status e por prioridade
+     * (e, para ADMINs, por técnico), lida de contadores em memória.
+     *
+     * @return {@link ResponseEntity} com as {@link ChamadoEstatisticasDTO} e status HTTP 200 (OK).
+     */
+    @GetMapping(value = "/stats")
+    public ResponseEntity<ChamadoEstatisticasDTO> stats() {
+        return ResponseEntity.ok().body(service.estatisticas());
+    }
+
+    /**
+     * Endpoint para acompanhar, por Server-Sent Events, as alterações dos Chamados visíveis ao usuário,
+     * em vez de consultar a listagem periodicamente.
+     * * Cada evento tem o nome CRIADO, ALTERADO ou EXCLUIDO e, nos dados, o {@link ChamadoDTO} em JSON;
+     * quando o chamado deixa de ser visível ao usuário (troca de técnico ou de cliente), chega um EXCLUIDO
+     * só com o ID e a versão.
+     *
+     * @return O emissor da resposta 'text/event-stream'.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseBodyEmitter stream() {
+        return service.acompanhar();
+    }
+
+    /**
+     * Endpoint para exportar os Chamados visíveis ao usuário em NDJSON ou CSV.
+     * * A resposta é escrita à medida que os chamados são lidos do banco, sem montar a lista em memória.
+     *
+     * * Aceita os mesmos filtros da listagem.
+     *
+     * @param filtro Os critérios de filtro, lidos dos parâmetros da requisição.
+     * @param formato 'ndjson' (padrão) ou 'csv'.
+     * @param response A resposta HTTP, escrita diretamente.
+     * @throws IOException Se a escrita da resposta falhar.
+     */
+    @GetMapping(value = "/export")
+    public void export(ChamadoFiltro filtro,
+            @RequestParam(value = "formato", required = false) String formato,
+            HttpServletResponse response) throws IOException {
+        FormatoExportacao tipo = FormatoExportacao.toEnum(formato);
+
+        response.setContentType(tipo.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"chamados." + tipo.getParametro() + "\"");
+        service.exportar(filtro, tipo, response.getWriter());
     }
 
     /**
@@ -67,14 +205,95 @@ public class ChamadoResource {
     /**
      * Endpoint para atualizar os dados de um Chamado existente.
      *
+     * * Com 'If-Match' (o ETag lido), a atualização só é aplicada se o chamado ainda estiver nessa versão;
+     * caso contrário responde 409 (Conflict), assim como em uma gravação concorrente.
+     *
      * @param id O ID do chamado a ser atualizado.
      * @param dto O {@link ChamadoDTO} com os novos dados.
+     * @param ifMatch O ETag da versão editada (opcional).
      * @return {@link ResponseEntity} com o {@link ChamadoDTO} atualizado e status HTTP 200 (OK).
      */
     @PutMapping(value = "/{id}")
-    public ResponseEntity<ChamadoDTO> update(@PathVariable Integer id, @RequestBody ChamadoDTO dto) {
-        Chamado updatedObj = service.update(id, dto);
-        return ResponseEntity.ok().body(new ChamadoDTO(updatedObj));
+    public ResponseEntity<ChamadoDTO> update(@PathVariable Integer id, @RequestBody ChamadoDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Chamado updatedObj = service.update(id, dto, ETags.versao(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.de(updatedObj.getVersao())).body(new ChamadoDTO(updatedObj));
+    }
+
+    /**
+     * Endpoint para alterar apenas o status de um Chamado (por exemplo, encerrar ou reabrir).
+     * * Transições fora da tabela respondem 400; se outra requisição mudou o status antes, 409 (Conflict).
+     *
+     * @param id O ID do chamado.
+     * @param dto Um {@link ChamadoDTO} do qual só o campo 'status' é lido.
+     * @return {@link ResponseEntity} com o {@link ChamadoDTO} atualizado e status HTTP 200 (OK).
+     */
+    @PatchMapping(value = "/{id}/status")
+    public ResponseEntity<ChamadoDTO> alterarStatus(@PathVariable Integer id, @RequestBody ChamadoDTO dto) {
+        ChamadoDTO atualizado = service.alterarStatus(id, dto.getStatus());
+        return ResponseEntity.ok().eTag(ETags.de(atualizado.getVersao())).body(atualizado);
+    }
+
+    /**
+     * Endpoint para alterar o status de vários Chamados de uma vez (apenas ADMIN).
+     * * Os chamados são os 'ids' do corpo ou, se a lista estiver vazia, os dos filtros da requisição
+     * (os mesmos da listagem). São alterados em lotes, cada um em sua própria transação; chamados
+     * que não admitem a transição são mantidos.
+     *
+     * @param filtro Os critérios de filtro, lidos dos parâmetros da requisição.
+     * @param dto Um {@link ChamadoLoteDTO} com os 'ids' e o novo 'status'.
+     * @return {@link ResponseEntity} com o {@link ResultadoLoteDTO} (linhas alteradas por lote) e status HTTP 200 (OK).
+     */
+    @PostMapping(value = "/lote/status")
+    public ResponseEntity<ResultadoLoteDTO> alterarStatusEmLote(ChamadoFiltro filtro, @RequestBody ChamadoLoteDTO dto) {
+        return ResponseEntity.ok().body(service.alterarStatusEmLote(dto.getIds(), filtro, dto.getStatus()));
+    }
+
+    /**
+     * Endpoint para reatribuir vários Chamados a um técnico de uma vez (apenas ADMIN).
+     * * Os chamados são os 'ids' do corpo ou, se a lista estiver vazia, os dos filtros da requisição
+     * (os mesmos da listagem). São alterados em lotes, cada um em sua própria transação.
+     *
+     * @param filtro Os critérios de filtro, lidos dos parâmetros da requisição.
+     * @param dto Um {@link ChamadoLoteDTO} com os 'ids' e o novo 'tecnico'.
+     * @return {@link ResponseEntity} com o {@link ResultadoLoteDTO} (linhas alteradas por lote) e status HTTP 200 (OK).
+     */
+    @PostMapping(value = "/lote/tecnico")
+    public ResponseEntity<ResultadoLoteDTO> reatribuirEmLote(ChamadoFiltro filtro, @RequestBody ChamadoLoteDTO dto) {
+        return ResponseEntity.ok().body(service.reatribuirEmLote(dto.getIds(), filtro, dto.getTecnico()));
+    }
+
+    /**
+     * Endpoint para consultar, sem assumir, o próximo Chamado ABERTO da fila do técnico.
+     *
+     * @param tecnico O ID do técnico (obrigatório apenas para ADMINs).
+     * @return {@link ResponseEntity} com o {@link ChamadoDTO} e status HTTP 200 (OK),
+     * ou 204 (No Content) se a fila estiver vazia.
+     */
+    @GetMapping(value = "/next")
+    public ResponseEntity<ChamadoDTO> proximo(@RequestParam(value = "tecnico", required = false) Integer tecnico) {
+        ChamadoDTO dto = service.proximo(tecnico);
+        if (dto == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok().eTag(ETags.de(dto.getVersao())).body(dto);
+    }
+
+    /**
+     * Endpoint para assumir o próximo Chamado da fila do técnico (maior prioridade, depois o mais antigo),
+     * que passa de ABERTO para ANDAMENTO. Requisições simultâneas nunca recebem o mesmo chamado.
+     *
+     * @param tecnico O ID do técnico (obrigatório apenas para ADMINs).
+     * @return {@link ResponseEntity} com o {@link ChamadoDTO} assumido e status HTTP 200 (OK),
+     * ou 204 (No Content) se a fila estiver vazia.
+     */
+    @PostMapping(value = "/next")
+    public ResponseEntity<ChamadoDTO> reivindicarProximo(@RequestParam(value = "tecnico", required = false) Integer tecnico) {
+        ChamadoDTO dto = service.reivindicarProximo(tecnico);
+        if (dto == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok().eTag(ETags.de(dto.getVersao())).body(dto);
     }
 
     /**
@@ -0,0 +1,56 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.helpdeskturmaa.helpdesk.dto.CacheEstatisticasDTO;
+import com.helpdeskturmaa.helpdesk.dto.HibernateEstatisticasDTO;
+import com.helpdeskturmaa.helpdesk.service.CacheCadastros;
+import com.helpdeskturmaa.helpdesk.service.EstatisticasHibernate;
+
+/**
+ * Controller REST com métricas internas da aplicação, no endpoint base "/metricas".
+ * * Restrito ao perfil ADMIN.
+ */
+@RestController
+@RequestMapping(value = "/metricas")
+public class MetricasResource {
+
+    /**
+     * Injeção dos caches dos cadastros de técnicos e clientes.
+     */
+    @Autowired
+    private CacheCadastros cacheCadastros;
+
+    /**
+     * Injeção das estatísticas do Hibernate e do cache de segundo nível.
+     */
+    @Autowired
+    private EstatisticasHibernate estatisticasHibernate;
+
+    /**
+     * Endpoint com os acertos, falhas e despejos dos caches em memória desde a inicialização.
+     *
+     * @return {@link ResponseEntity} com as {@link CacheEstatisticasDTO} por nome do cache e status HTTP 200 (OK).
+     */
+    @GetMapping(value = "/caches")
+    public ResponseEntity<Map<String, CacheEstatisticasDTO>> caches() {
+        return ResponseEntity.ok().body(cacheCadastros.estatisticas());
+    }
+
+    /**
+     * Endpoint com os comandos SQL e transações do Hibernate e as regiões do cache de segundo nível.
+     * Duas leituras, antes e depois de uma carga, dão as idas ao banco por operação.
+     *
+     * @return {@link ResponseEntity} com as {@link HibernateEstatisticasDTO} e status HTTP 200 (OK).
+     */
+    @GetMapping(value = "/hibernate")
+    public ResponseEntity<HibernateEstatisticasDTO> hibernate() {
+        return ResponseEntity.ok().body(estatisticasHibernate.coletar());
+    }
+}
@@ -7,9 +7,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.dto.Pagina;
 import com.helpdeskturmaa.helpdesk.dto.TecnicoDTO;
+import com.helpdeskturmaa.helpdesk.resources.util.ETags;
+import com.helpdeskturmaa.helpdesk.resources.util.Paginacao;
 import com.helpdeskturmaa.helpdesk.service.TecnicoService;
 
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -29,27 +33,59 @@ public class TecnicoResource {
     @Autowired
     private TecnicoService service;
 
+    /**
+     * Injeção dos parâmetros e cabeçalhos de paginação.
+     */
+    @Autowired
+    private Paginacao paginacao;
+
     /**
      * Endpoint para buscar um Técnico específico pelo seu ID.
+     * * Com 'If-None-Match', consulta apenas a versão e responde 304 (Not Modified) se ela não mudou.
      *
      * @param id O ID do técnico a ser buscado.
-     * @return {@link ResponseEntity} com o {@link TecnicoDTO} correspondente e status HTTP 200 (OK).
+     * @param request A requisição, usada na comparação do ETag.
+     * @return {@link ResponseEntity} com o {@link TecnicoDTO} correspondente, o ETag e status HTTP 200 (OK).
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<TecnicoDTO> findById(@PathVariable Integer id) {
-        Tecnico obj = service.findById(id);
-        return ResponseEntity.ok().body(new TecnicoDTO(obj));
+    public ResponseEntity<TecnicoDTO> findById(@PathVariable Integer id, WebRequest request) {
+        if (ETags.condicional(request) && request.checkNotModified(ETags.de(service.findVersaoById(id)))) {
+            return null;
+        }
+        TecnicoDTO dto = service.findDTOById(id);
+        return ResponseEntity.ok().eTag(ETags.de(dto.getVersao())).body(dto);
     }
 
     /**
-     * Endpoint para buscar todos os Técnicos registrados no sistema.
+     * Endpoint para buscar os Técnicos registrados no sistema, paginados por cursor em ordem de ID.
+     * * O cursor da próxima página segue no cabeçalho 'X-Next-Cursor' (e em 'Link').
+     * * O ETag muda a cada inclusão, alteração ou exclusão; com 'If-None-Match' a resposta pode ser 304.
+     * Sem 'If-None-Match', só a resposta que traz a coleção inteira leva o ETag.
      *
+     * @param cursor O cursor devolvido pela página anterior (ausente na primeira página).
+     * @param size O tamanho da página ('pagination.default-size' se ausente), limitado por 'pagination.max-size'.
+     * @param count Se {@code true}, informa o total no cabeçalho 'X-Total-Count'.
+     * @param request A requisição, usada na comparação do ETag.
      * @return {@link ResponseEntity} com uma {@link List} de {@link TecnicoDTO} e status HTTP 200 (OK).
      */
     @GetMapping
-    public ResponseEntity<List<TecnicoDTO>> findAll() {
-        List<TecnicoDTO> listDTO = service.findAll();
-        return ResponseEntity.ok().body(listDTO);
+    public ResponseEntity<List<TecnicoDTO>> findAll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "count", defaultValue = "false") boolean count,
+            WebRequest request) {
+        String etag = null;
+        if (ETags.condicional(request)) {
+            etag = ETags.de(service.versaoColecao());
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+        }
+        Pagina<TecnicoDTO> pagina = service.findAll(paginacao.cursorId(cursor), paginacao.tamanho(size), count);
+        if (etag == null && paginacao.completa(cursor, pagina)) {
+            etag = ETags.de(service.versaoColecao(pagina.getItens()));
+        }
+        return paginacao.ok(pagina, etag);
     }
 
     /**
@@ -0,0 +1,14 @@
+package com.helpdeskturmaa.helpdesk.resources.exceptions;
+
+public class ConflictException extends RuntimeException{
+
+	private static final long serialVersionUID = 1L;
+
+	public ConflictException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public ConflictException(String message) {
+		super(message);
+	}
+}
@@ -2,6 +2,7 @@ package com.helpdeskturmaa.helpdesk.resources.exceptions;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -39,6 +40,29 @@ public class ResourceExceptionHandle {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    // ConflictException (409)
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<StandardError> conflictException(ConflictException ex, HttpServletRequest request) {
+
+        StandardError error = new StandardError(
+            System.currentTimeMillis(),
+            HttpStatus.CONFLICT.value(),
+            "Conflito",
+            ex.getMessage(),
+            request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    // Versão (@Version) alterada por outra requisição entre a leitura e a gravação (409)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<StandardError> optimisticLockingFailure(OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        return conflictException(new ConflictException(
+            "O registro foi alterado por outra requisição. Recarregue e tente novamente."), request);
+    }
+
     // AuthorizationException (403) 
     @ExceptionHandler(AuthorizationException.class)
     public ResponseEntity<StandardError> authorizationException(AuthorizationException ex, HttpServletRequest request) {
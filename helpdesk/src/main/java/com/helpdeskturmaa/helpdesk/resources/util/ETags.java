@@ -0,0 +1,61 @@
+package com.helpdeskturmaa.helpdesk.resources.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import com.helpdeskturmaa.helpdesk.resources.exceptions.DataIntegrityViolationException;
+
+/**
+ * Montagem dos ETags (fortes) dos recursos a partir das versões das entidades.
+ * * Com {@code If-None-Match}, os endpoints consultam apenas a versão e respondem 304 (Not Modified)
+ * sem carregar nem serializar o recurso; sem o cabeçalho, o ETag sai junto com a resposta completa.
+ * * Nas listagens, sem o cabeçalho, a versão da coleção não é consultada: ela sai dos próprios itens
+ * quando a resposta traz a coleção inteira, e as páginas parciais seguem sem ETag.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Formata o ETag de uma versão.
+     *
+     * @param versao a versão do recurso ou da coleção.
+     * @return o ETag entre aspas, como exigido pelo cabeçalho.
+     */
+    public static String de(Object versao) {
+        return "\"" + versao + "\"";
+    }
+
+    /**
+     * Lê a versão de um cabeçalho {@code If-Match}, para as gravações condicionadas à versão editada.
+     *
+     * @param ifMatch o valor do cabeçalho, ou {@code null}.
+     * @return a versão, ou {@code null} se o cabeçalho estiver ausente ou for "*".
+     * @throws DataIntegrityViolationException se o valor não for um ETag desta API.
+     */
+    public static Long versao(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        try {
+            return Long.valueOf(valor.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new DataIntegrityViolationException("If-Match inválido: " + ifMatch);
+        }
+    }
+
+    /**
+     * Indica se a requisição é condicional, ou seja, se vale consultar só a versão antes do recurso.
+     *
+     * @param request a requisição.
+     * @return {@code true} se o cliente enviou {@code If-None-Match}.
+     */
+    public static boolean condicional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+}
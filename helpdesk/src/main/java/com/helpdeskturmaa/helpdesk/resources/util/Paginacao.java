@@ -0,0 +1,101 @@
+package com.helpdeskturmaa.helpdesk.resources.util;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.helpdeskturmaa.helpdesk.dto.Pagina;
+import com.helpdeskturmaa.helpdesk.resources.exceptions.DataIntegrityViolationException;
+
+/**
+ * Parâmetros e cabeçalhos comuns às listagens paginadas por cursor.
+ * * O corpo continua sendo a lista de itens; a navegação vai nos cabeçalhos
+ * {@code X-Next-Cursor} e {@code Link} (rel="next") e, quando pedido, o total em {@code X-Total-Count}.
+ * * Sem 'size', a página tem 'pagination.default-size' itens: nenhuma listagem devolve a coleção inteira
+ * de uma vez (para isso, há a exportação em streaming de /chamados/export).
+ */
+@Component
+public class Paginacao {
+
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    public static final String TOTAL_COUNT = "X-Total-Count";
+
+    @Value("${pagination.default-size:20}")
+    private int tamanhoPadrao;
+
+    @Value("${pagination.max-size:100}")
+    private int tamanhoMaximo;
+
+    /**
+     * Normaliza o tamanho de página pedido pelo cliente, limitado a {@code pagination.max-size}.
+     *
+     * @param size o tamanho pedido, ou {@code null}.
+     * @return o tamanho efetivo da página.
+     */
+    public int tamanho(Integer size) {
+        if (size == null || size < 1) {
+            return tamanhoPadrao;
+        }
+        return Math.min(size, tamanhoMaximo);
+    }
+
+    /**
+     * Lê o cursor das listagens ordenadas por ID (o ID do último item da página anterior).
+     *
+     * @param cursor o cursor recebido, ou {@code null} para a primeira página.
+     * @return o ID a partir do qual buscar.
+     * @throws DataIntegrityViolationException se o cursor for inválido.
+     */
+    public Integer cursorId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new DataIntegrityViolationException("Cursor inválido: " + cursor);
+        }
+    }
+
+    /**
+     * Indica se a página trouxe a coleção inteira: é a primeira e não tem próxima.
+     *
+     * @param cursor o cursor recebido, ou {@code null} para a primeira página.
+     * @param pagina a página de resultados.
+     * @return {@code true} se não há outras páginas.
+     */
+    public boolean completa(String cursor, Pagina<?> pagina) {
+        return (cursor == null || cursor.isEmpty()) && pagina.getProximoCursor() == null;
+    }
+
+    /**
+     * Monta a resposta 200 (OK) de uma página.
+     *
+     * @param pagina a página de resultados.
+     * @param etag o ETag da coleção (ver {@link ETags}), ou {@code null} se a coleção não tiver versão.
+     * @return {@link ResponseEntity} com os itens no corpo e a navegação nos cabeçalhos.
+     */
+    public <T> ResponseEntity<List<T>> ok(Pagina<T> pagina, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        if (pagina.getProximoCursor() != null) {
+            String proxima = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", pagina.getProximoCursor()).toUriString();
+            headers.add(NEXT_CURSOR, pagina.getProximoCursor());
+            headers.add(HttpHeaders.LINK, "<" + proxima + ">; rel=\"next\"");
+        }
+        if (pagina.getTotal() != null) {
+            headers.add(TOTAL_COUNT, String.valueOf(pagina.getTotal()));
+        }
+        headers.add(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS,
+                NEXT_CURSOR + ", " + TOTAL_COUNT + ", " + HttpHeaders.LINK + ", " + HttpHeaders.ETAG);
+        return ResponseEntity.ok().headers(headers).body(pagina.getItens());
+    }
+}
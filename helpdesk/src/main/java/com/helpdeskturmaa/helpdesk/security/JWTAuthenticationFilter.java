@@ -4,12 +4,14 @@ package com.helpdeskturmaa.helpdesk.security;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.UUID;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -22,11 +24,16 @@ import com.helpdeskturmaa.helpdesk.dto.CredenciaisDTO;
 public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
     private JWTUtil jwtUtil;
+    private LoginExecutor loginExecutor;
+    private LoginThrottle loginThrottle;
 
-    public JWTAuthenticationFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil) {
+    public JWTAuthenticationFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil,
+                                   LoginExecutor loginExecutor, LoginThrottle loginThrottle) {
         super(); 
         this.setAuthenticationManager(authenticationManager);
         this.jwtUtil = jwtUtil;
+        this.loginExecutor = loginExecutor;
+        this.loginThrottle = loginThrottle;
         
         setFilterProcessesUrl("/login"); 
     }
@@ -34,17 +41,22 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
             throws AuthenticationException {
+        CredenciaisDTO creds;
         try {
-            CredenciaisDTO creds = new ObjectMapper().readValue(request.getInputStream(), CredenciaisDTO.class);
-
-            UsernamePasswordAuthenticationToken authenticationToken =
-                    new UsernamePasswordAuthenticationToken(creds.getEmail(), creds.getSenha(), new ArrayList<>());
-
-            Authentication authentication = this.getAuthenticationManager().authenticate(authenticationToken);
-            return authentication;
-        } catch (Exception e) {
+            creds = new ObjectMapper().readValue(request.getInputStream(), CredenciaisDTO.class);
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
+
+        // Recusa antes de gastar CPU com BCrypt. O endereço remoto já é o do cliente (ver LoginThrottle).
+        if (!loginThrottle.tryAcquire(creds.getEmail(), request.getRemoteAddr())) {
+            throw new LoginRejeitadoException(HttpStatus.TOO_MANY_REQUESTS, "Muitas tentativas de login. Aguarde e tente novamente.");
+        }
+
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken(creds.getEmail(), creds.getSenha(), new ArrayList<>());
+
+        return loginExecutor.authenticate(() -> this.getAuthenticationManager().authenticate(authenticationToken));
     }
 
     @Override
@@ -52,31 +64,42 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
             Authentication auth) throws IOException, ServletException {
 
         UserSS user = (UserSS) auth.getPrincipal();
-        String token = jwtUtil.generateToken(user);
+        String sessao = UUID.randomUUID().toString();
+        String token = jwtUtil.generateToken(user, sessao);
 
         res.addHeader("Authorization", "Bearer " + token);
-        res.addHeader("access-control-expose-headers", "Authorization");
+        res.addHeader("Refresh-Token", jwtUtil.generateRefreshToken(user, sessao));
+        res.addHeader("access-control-expose-headers", "Authorization, Refresh-Token");
     }
 
     @Override
     protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
                                               AuthenticationException failed) throws IOException, ServletException {
 
+        if (failed instanceof LoginRejeitadoException) {
+            HttpStatus status = ((LoginRejeitadoException) failed).getStatus();
+            response.setStatus(status.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.getWriter().append(json(status.value(), status.getReasonPhrase(), failed.getMessage(), "/login"));
+            return;
+        }
+
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
 
         response.setContentType("application/json");
 
-        response.getWriter().append(json());
+        response.getWriter().append(json(401, "Não autorizado", "Email ou senha inválidos", "/login"));
     }
 
-    private CharSequence json() {
+    static CharSequence json(int status, String error, String message, String path) {
         long date = new Date().getTime();
         return "{"
                 + "\"timestamp\": " + date + ", "
-                + "\"status\": 401, "
-                + "\"error\": \"Não autorizado\", "
-                + "\"message\": \"Email ou senha inválidos\", "
-                + "\"path\": \"/login\""
+                + "\"status\": " + status + ", "
+                + "\"error\": \"" + error + "\", "
+                + "\"message\": \"" + message + "\", "
+                + "\"path\": \"" + path + "\""
                 + "}";
     }
 }
\ No newline at end of file
@@ -12,19 +12,26 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails; // 👈 Import necessário
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
     
     private JWTUtil jwtUtil; 
     private UserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
+    private RefreshTokenStore refreshTokenStore;
     
     public JWTAuthorizationFilter(AuthenticationManager authenticationManager,
                                   JWTUtil jwtUtil,
-                                  UserDetailsService userDetailsService) {
+                                  UserDetailsService userDetailsService,
+                                  PrincipalCache principalCache,
+                                  RefreshTokenStore refreshTokenStore) {
         super(authenticationManager);
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.refreshTokenStore = refreshTokenStore;
     }
 
     @Override
@@ -49,14 +56,44 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
     
     private UsernamePasswordAuthenticationToken getAuthentication(String token) {
 
-        if (jwtUtil.tokenValido(token)) {
-            String username = jwtUtil.getUsername(token);
-
-            UserDetails details = userDetailsService.loadUserByUsername(username); 
+        JWTToken jwt = jwtUtil.parse(token);
+        // Refresh tokens não valem como access token; sessões revogadas são recusadas sem ir ao banco.
+        if (jwt != null && !jwt.isRefresh() && !refreshTokenStore.isSessaoRevogada(jwt.getSessao())) {
+            UserDetails details = carregarUsuario(jwt);
+            if (details == null) {
+                return null;
+            }
 
             return new UsernamePasswordAuthenticationToken(
                     details, null, details.getAuthorities());
         }
         return null;
     }
+
+    // Ordem: cache -> claims do token (se o usuário não mudou desde a emissão) -> banco.
+    private UserDetails carregarUsuario(JWTToken jwt) {
+        String username = jwt.getSubject();
+
+        if (principalCache.isEnabled()) {
+            UserSS cached = principalCache.get(username);
+            if (cached != null) {
+                return cached;
+            }
+            if (jwt.getId() != null && principalCache.claimsConfiaveis(username, jwt.getEmitidoEm())) {
+                UserSS user = new UserSS(jwt.getId(), username, null, jwt.getPerfis());
+                principalCache.put(user);
+                return user;
+            }
+        }
+
+        try {
+            UserDetails details = userDetailsService.loadUserByUsername(username);
+            if (principalCache.isEnabled() && details instanceof UserSS) {
+                principalCache.put((UserSS) details);
+            }
+            return details;
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+/**
+ * Emite um novo par access/refresh token a partir de um refresh token válido
+ * (POST /auth/refresh com o cabeçalho "Refresh-Token"), sem passar pelo BCrypt.
+ * * O refresh token apresentado é rotacionado: um segundo uso do mesmo token indica
+ * vazamento e revoga a sessão inteira.
+ * * O usuário é sempre relido do banco: o refresh token vive mais que as invalidações lembradas
+ * pelo {@link PrincipalCache}, então suas claims não servem para montar o novo access token.
+ */
+public class JWTRefreshFilter extends AbstractAuthenticationProcessingFilter {
+
+    private JWTUtil jwtUtil;
+    private RefreshTokenStore refreshTokenStore;
+    private UserDetailsService userDetailsService;
+
+    public JWTRefreshFilter(AuthenticationManager authenticationManager, JWTUtil jwtUtil,
+                            RefreshTokenStore refreshTokenStore, UserDetailsService userDetailsService) {
+        super(new AntPathRequestMatcher("/auth/refresh", "POST"));
+        this.setAuthenticationManager(authenticationManager);
+        this.jwtUtil = jwtUtil;
+        this.refreshTokenStore = refreshTokenStore;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
+            throws AuthenticationException {
+
+        String header = request.getHeader("Refresh-Token");
+        JWTToken refresh = header != null ? jwtUtil.parse(header) : null;
+
+        if (refresh == null || !refresh.isRefresh() || refresh.getJti() == null || refresh.getSessao() == null
+                || refreshTokenStore.isSessaoRevogada(refresh.getSessao())) {
+            throw new BadCredentialsException("Refresh token inválido ou expirado");
+        }
+
+        // Registro cheio: recusa a renovação em vez de esquecer rotações ou revogações.
+        if (!refreshTokenStore.temCapacidade()) {
+            throw new BadCredentialsException("Limite de sessões atingido. Faça login novamente");
+        }
+
+        if (!refreshTokenStore.rotacionar(refresh)) {
+            refreshTokenStore.revogarSessao(refresh.getSessao(), refresh.getExpiraEm());
+            throw new BadCredentialsException("Refresh token já utilizado. Sessão revogada");
+        }
+
+        // Usuário removido: UsernameNotFoundException, respondida com 401.
+        UserSS user = (UserSS) userDetailsService.loadUserByUsername(refresh.getSubject());
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        auth.setDetails(refresh.getSessao());
+        return auth;
+    }
+
+    @Override
+    protected void successfulAuthentication(HttpServletRequest req, HttpServletResponse res, FilterChain chain,
+            Authentication auth) throws IOException, ServletException {
+
+        UserSS user = (UserSS) auth.getPrincipal();
+        String sessao = (String) auth.getDetails();
+
+        res.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(user, sessao));
+        res.addHeader("Refresh-Token", jwtUtil.generateRefreshToken(user, sessao));
+        res.addHeader("access-control-expose-headers", "Authorization, Refresh-Token");
+    }
+
+    @Override
+    protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
+                                              AuthenticationException failed) throws IOException, ServletException {
+
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+        response.getWriter().append(JWTAuthenticationFilter.json(401, "Não autorizado", failed.getMessage(), "/auth/refresh"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+
+/**
+ * Visão imutável de um token JWT já verificado (assinatura e expiração).
+ * * Produzida uma única vez por {@link JWTUtil#parse(String)} e compartilhada entre
+ * requisições que usam o mesmo token.
+ */
+public final class JWTToken {
+
+    private final String subject;
+
+    private final Integer id;
+
+    private final Set<Perfil> perfis;
+
+    private final Long emitidoEm;
+
+    private final long expiraEm;
+
+    private final boolean refresh;
+
+    private final String jti;
+
+    private final String sessao;
+
+    public JWTToken(String subject, Integer id, Set<Perfil> perfis, Long emitidoEm, long expiraEm,
+                    boolean refresh, String jti, String sessao) {
+        this.subject = subject;
+        this.id = id;
+        this.perfis = Collections.unmodifiableSet(perfis.isEmpty() ? EnumSet.noneOf(Perfil.class) : EnumSet.copyOf(perfis));
+        this.emitidoEm = emitidoEm;
+        this.expiraEm = expiraEm;
+        this.refresh = refresh;
+        this.jti = jti;
+        this.sessao = sessao;
+    }
+
+    /**
+     * @return o e-mail do usuário (claim "sub").
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * @return o ID do usuário, ou {@code null} em tokens emitidos antes da claim "id".
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    public Set<Perfil> getPerfis() {
+        return perfis;
+    }
+
+    /**
+     * @return o instante de emissão (epoch millis), ou {@code null} se o token não tiver "iat".
+     */
+    public Long getEmitidoEm() {
+        return emitidoEm;
+    }
+
+    /**
+     * @return o instante de expiração (epoch millis).
+     */
+    public long getExpiraEm() {
+        return expiraEm;
+    }
+
+    /**
+     * @return {@code true} se for um refresh token (claim "typ" = "refresh"), que não vale como access token.
+     */
+    public boolean isRefresh() {
+        return refresh;
+    }
+
+    /**
+     * @return o identificador único do token (claim "jti"), presente em refresh tokens.
+     */
+    public String getJti() {
+        return jti;
+    }
+
+    /**
+     * @return a sessão de login (claim "sid") compartilhada pelos access e refresh tokens, ou {@code null}.
+     */
+    public String getSessao() {
+        return sessao;
+    }
+
+    public boolean isExpirado() {
+        return System.currentTimeMillis() >= expiraEm;
+    }
+}
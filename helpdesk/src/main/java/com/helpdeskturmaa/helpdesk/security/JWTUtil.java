@@ -1,14 +1,32 @@
 package com.helpdeskturmaa.helpdesk.security;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.crypto.spec.SecretKeySpec;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 
@@ -21,50 +39,180 @@ public class JWTUtil {
     @Value("${jwt.secret}")
     private String secret;
 
+    /**
+     * Validade (millis) dos refresh tokens.
+     */
+    @Value("${jwt.refresh-expiration:604800000}")
+    private Long refreshExpiration;
+
+    /**
+     * Quantidade máxima de tokens verificados mantidos em memória.
+     */
+    @Value("${jwt.token-cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    private SecretKeySpec signingKey;
+
+    // Configurado uma única vez; parseClaimsJws apenas lê essa configuração.
+    private JwtParser parser;
+
+    // Tokens já verificados, indexados pelo SHA-256 do token e removidos na expiração de cada um.
+    private Cache<ByteBuffer, JWTToken> tokens;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = new SecretKeySpec(secret.getBytes(), SignatureAlgorithm.HS512.getJcaName());
+        this.parser = Jwts.parser().setSigningKey(signingKey);
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaxSize)
+                .expireAfter(new Expiry<ByteBuffer, JWTToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, JWTToken value, long currentTime) {
+                        long restante = value.getExpiraEm() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restante));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, JWTToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, JWTToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     // NOVO — recebendo o objeto UserSS para extrair as roles
     public String generateToken(UserSS user) {
+        return generateToken(user, null);
+    }
+
+    /**
+     * Gera um access token (vida curta) vinculado a uma sessão de login.
+     *
+     * @param user o usuário autenticado.
+     * @param sessao o identificador da sessão (claim "sid"), ou {@code null}.
+     * @return o access token assinado.
+     */
+    public String generateToken(UserSS user, String sessao) {
+        Map<String, Object> claims = claims(user, sessao);
+        return assinar(claims, user.getUsername(), expiration, null);
+    }
+
+    /**
+     * Gera um refresh token (vida longa, claim "typ" = "refresh") para a sessão.
+     *
+     * @param user o usuário autenticado.
+     * @param sessao o identificador da sessão (claim "sid").
+     * @return o refresh token assinado.
+     */
+    public String generateRefreshToken(UserSS user, String sessao) {
+        Map<String, Object> claims = claims(user, sessao);
+        claims.put("typ", "refresh");
+        return assinar(claims, user.getUsername(), refreshExpiration, UUID.randomUUID().toString());
+    }
+
+    public Long getRefreshExpiration() {
+        return refreshExpiration;
+    }
 
+    private Map<String, Object> claims(UserSS user, String sessao) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("roles", user.getAuthorities()
                 .stream()
                 .map(a -> a.getAuthority())
                 .collect(Collectors.toList()));
+        claims.put("id", user.getId());
+        if (sessao != null) {
+            claims.put("sid", sessao);
+        }
+        return claims;
+    }
 
+    private String assinar(Map<String, Object> claims, String subject, long validade, String jti) {
         return Jwts.builder()
                 .setClaims(claims)
-                .setSubject(user.getUsername())
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(SignatureAlgorithm.HS512, secret.getBytes())
+                .setId(jti)
+                .setSubject(subject)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + validade))
+                .signWith(SignatureAlgorithm.HS512, signingKey)
                 .compact();
     }
 
+    /**
+     * Verifica o token (assinatura, subject e expiração) uma única vez e devolve
+     * sua visão imutável. Tokens já verificados são servidos do cache.
+     *
+     * @param token o token JWT (sem o prefixo "Bearer ").
+     * @return o {@link JWTToken} verificado, ou {@code null} se o token for inválido ou estiver expirado.
+     */
+    public JWTToken parse(String token) {
+        ByteBuffer chave = digest(token);
+        JWTToken jwt = tokens.getIfPresent(chave);
+        if (jwt == null) {
+            jwt = verificar(token);
+            if (jwt == null) {
+                return null;
+            }
+            tokens.put(chave, jwt);
+        }
+        return jwt.isExpirado() ? null : jwt;
+    }
+
     public boolean tokenValido(String token) {
-        Claims claims = getClaims(token);
-        if (claims != null) {
-            String username = claims.getSubject();
-            Date expirationDate = claims.getExpiration();
-            Date now = new Date(System.currentTimeMillis());
-            return (username != null && expirationDate != null && now.before(expirationDate));
+        return parse(token) != null;
+    }
+
+    public String getUsername(String token) {
+        JWTToken jwt = parse(token);
+        if (jwt != null) {
+            return jwt.getSubject();
         }
-        return false;
+        return null;
     }
 
-    private Claims getClaims(String token) {
+    private JWTToken verificar(String token) {
         try {
-            return Jwts.parser()
-                       .setSigningKey(secret.getBytes())
-                       .parseClaimsJws(token)
-                       .getBody();
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            String username = claims.getSubject();
+            Date expirationDate = claims.getExpiration();
+            if (username == null || expirationDate == null) {
+                return null;
+            }
+
+            Object id = claims.get("id");
+            Object roles = claims.get("roles");
+            Set<Perfil> perfis = EnumSet.noneOf(Perfil.class);
+            if (roles instanceof Collection) {
+                for (Object role : (Collection<?>) roles) {
+                    perfis.add(Perfil.toEnumByDescricao(String.valueOf(role)));
+                }
+            }
+            Date issuedAt = claims.getIssuedAt();
+
+            return new JWTToken(
+                    username,
+                    id instanceof Number ? ((Number) id).intValue() : null,
+                    perfis,
+                    issuedAt != null ? issuedAt.getTime() : null,
+                    expirationDate.getTime(),
+                    "refresh".equals(claims.get("typ")),
+                    claims.getId(),
+                    claims.get("sid", String.class));
         } catch (Exception e) {
             return null;
         }
     }
 
-    public String getUsername(String token) {
-        Claims claims = getClaims(token);
-        if (claims != null) {
-            return claims.getSubject();
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        return null;
     }
 }
@@ -0,0 +1,93 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool dedicado e limitado para a verificação de senhas (BCrypt) do login.
+ * * Isola o custo de CPU do BCrypt dos workers do Tomcat: quando o pool e sua fila
+ * estão cheios, o login é recusado imediatamente com 503 em vez de disputar CPU
+ * com o restante da API.
+ */
+@Component
+public class LoginExecutor {
+
+    @Value("${login.executor.threads:0}")
+    private int threads;
+
+    @Value("${login.executor.queue:64}")
+    private int queue;
+
+    @Value("${login.executor.timeout:5s}")
+    private Duration timeout;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        int tamanho = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue),
+                r -> {
+                    Thread t = new Thread(r, "login-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Executa a autenticação no pool dedicado e aguarda o resultado.
+     *
+     * @param tarefa a chamada ao {@code AuthenticationManager}.
+     * @return a autenticação resultante.
+     * @throws LoginRejeitadoException (503) se o pool estiver saturado ou o tempo limite for excedido.
+     * @throws AuthenticationException se as credenciais forem inválidas.
+     */
+    public Authentication authenticate(Callable<Authentication> tarefa) {
+        Future<Authentication> future;
+        try {
+            future = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new LoginRejeitadoException(HttpStatus.SERVICE_UNAVAILABLE, "Serviço de login sobrecarregado. Tente novamente.");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new LoginRejeitadoException(HttpStatus.SERVICE_UNAVAILABLE, "Tempo limite do login excedido. Tente novamente.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoginRejeitadoException(HttpStatus.SERVICE_UNAVAILABLE, "Login interrompido.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AuthenticationException) {
+                throw (AuthenticationException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Login recusado antes da verificação da senha, por limite de tentativas (429)
+ * ou por saturação do pool de login (503).
+ */
+public class LoginRejeitadoException extends AuthenticationException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+
+    public LoginRejeitadoException(HttpStatus status, String msg) {
+        super(msg);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,137 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Limitador de tentativas de login por e-mail e por IP, aplicado antes de qualquer
+ * verificação BCrypt.
+ * * Cada chave possui um token bucket sem locks (uma única {@link AtomicLong}
+ * atualizada por CAS), mantido em um cache limitado que descarta chaves ociosas.
+ * * Uma tentativa só consome dos dois buckets se ambos a aceitam: tentativas recusadas pelo
+ * e-mail não gastam o bucket do IP (e vice-versa).
+ * * O IP é o do cliente, resolvido pelo Tomcat a partir do X-Forwarded-For quando a requisição vem
+ * de um proxy confiável ('server.forward-headers-strategy=native'); atrás do proxy do Render, o
+ * endereço remoto seria o mesmo para todos.
+ */
+@Component
+public class LoginThrottle {
+
+    @Value("${login.rate-limit.email.burst:5}")
+    private int emailBurst;
+
+    @Value("${login.rate-limit.email.refill:12s}")
+    private Duration emailRefill;
+
+    @Value("${login.rate-limit.ip.burst:20}")
+    private int ipBurst;
+
+    @Value("${login.rate-limit.ip.refill:1s}")
+    private Duration ipRefill;
+
+    @Value("${login.rate-limit.max-keys:100000}")
+    private long maxKeys;
+
+    private Cache<String, TokenBucket> porEmail;
+
+    private Cache<String, TokenBucket> porIp;
+
+    @PostConstruct
+    public void init() {
+        this.porEmail = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(emailRefill.multipliedBy(emailBurst))
+                .build();
+        this.porIp = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(ipRefill.multipliedBy(ipBurst))
+                .build();
+    }
+
+    /**
+     * Consome uma tentativa do bucket do IP e do bucket do e-mail, se os dois a aceitam.
+     *
+     * @param email o e-mail informado no login (pode ser {@code null}).
+     * @param ip o endereço do cliente.
+     * @return {@code true} se a tentativa pode seguir para a verificação da senha.
+     */
+    public boolean tryAcquire(String email, String ip) {
+        TokenBucket bucketIp = porIp.get(ip, k -> new TokenBucket(ipBurst, ipRefill));
+        TokenBucket bucketEmail = email == null ? null
+                : porEmail.get(email.toLowerCase(), k -> new TokenBucket(emailBurst, emailRefill));
+
+        if (!bucketIp.disponivel() || (bucketEmail != null && !bucketEmail.disponivel())) {
+            return false;
+        }
+        if (!bucketIp.tryAcquire()) {
+            return false;
+        }
+        // outra tentativa pode ter esgotado o e-mail entre a verificação e o consumo
+        if (bucketEmail != null && !bucketEmail.tryAcquire()) {
+            bucketIp.devolver();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Token bucket na forma GCRA: guarda apenas o "theoretical arrival time" em nanos.
+     * Cada tentativa aceita avança esse instante em {@code intervalo}; a tentativa é
+     * recusada quando ele ultrapassaria o agora em mais de {@code burst} intervalos.
+     */
+    static final class TokenBucket {
+
+        private final long intervalo;
+
+        private final long tolerancia;
+
+        private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+        TokenBucket(int burst, Duration refill) {
+            this.intervalo = refill.toNanos();
+            this.tolerancia = intervalo * burst;
+        }
+
+        boolean tryAcquire() {
+            long agora = System.nanoTime();
+            while (true) {
+                long atual = tat.get();
+                long proximo = proximo(atual, agora);
+                if (proximo - agora > tolerancia) {
+                    return false;
+                }
+                if (tat.compareAndSet(atual, proximo)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Indica se uma tentativa seria aceita agora, sem consumi-la.
+         */
+        boolean disponivel() {
+            long agora = System.nanoTime();
+            return proximo(tat.get(), agora) - agora <= tolerancia;
+        }
+
+        /**
+         * Devolve uma tentativa consumida por {@link #tryAcquire()}.
+         */
+        void devolver() {
+            tat.addAndGet(-intervalo);
+        }
+
+        private long proximo(long atual, long agora) {
+            long base = (atual == Long.MIN_VALUE || atual - agora < 0) ? agora : atual;
+            return base + intervalo;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import java.time.Duration;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache limitado (tamanho e TTL) dos principais {@link UserSS} já autenticados,
+ * indexados pelo e-mail do usuário.
+ * * Evita que o {@link JWTAuthorizationFilter} consulte o banco a cada requisição:
+ * o principal é montado a partir das claims do token e reaproveitado até expirar.
+ * * Quando um Técnico ou Cliente é alterado ou removido, o e-mail é invalidado e
+ * tokens emitidos antes desse instante voltam a ser validados contra o banco.
+ */
+@Component
+public class PrincipalCache {
+
+    /**
+     * Liga/desliga o cache (quando desligado, todo request consulta o banco).
+     */
+    @Value("${jwt.principal-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Quantidade máxima de principais mantidos em memória.
+     */
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    /**
+     * Tempo de vida de cada principal no cache.
+     */
+    @Value("${jwt.principal-cache.ttl:5m}")
+    private Duration ttl;
+
+    /**
+     * Validade dos tokens; após esse prazo uma invalidação não precisa mais ser lembrada.
+     */
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    private Cache<String, UserSS> principais;
+
+    /**
+     * Instante (epoch millis) da última invalidação de cada e-mail.
+     * * Sem limite de tamanho: um registro despejado faria claims antigas voltarem a ser confiáveis.
+     * Cada um sai só quando os tokens emitidos antes dele já expiraram.
+     */
+    private Cache<String, Long> invalidacoes;
+
+    @PostConstruct
+    public void init() {
+        this.principais = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.invalidacoes = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(expiration))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            principais.invalidateAll();
+        }
+    }
+
+    /**
+     * Retorna o principal em cache para o e-mail, ou {@code null} se ausente.
+     */
+    public UserSS get(String email) {
+        return principais.getIfPresent(email);
+    }
+
+    public void put(UserSS user) {
+        principais.put(user.getUsername(), user);
+    }
+
+    /**
+     * Indica se as claims de um token emitido em {@code emitidoEm} ainda podem ser
+     * usadas, ou seja, se não houve alteração do usuário depois da emissão.
+     *
+     * @param email o e-mail (subject) do token.
+     * @param emitidoEm o instante de emissão (iat, epoch millis) do token; {@code null} para tokens antigos.
+     * @return {@code true} se as claims continuam confiáveis.
+     */
+    public boolean claimsConfiaveis(String email, Long emitidoEm) {
+        if (emitidoEm == null) {
+            return false;
+        }
+        Long invalidadoEm = invalidacoes.getIfPresent(email);
+        return invalidadoEm == null || emitidoEm > invalidadoEm;
+    }
+
+    /**
+     * Remove os principais dos e-mails informados e registra o instante da invalidação.
+     *
+     * @param emails os e-mails afetados (ex.: e-mail antigo e novo numa atualização).
+     */
+    public void invalidar(String... emails) {
+        long agora = System.currentTimeMillis();
+        for (String email : emails) {
+            if (email != null) {
+                principais.invalidate(email);
+                invalidacoes.put(email, agora);
+            }
+        }
+    }
+}
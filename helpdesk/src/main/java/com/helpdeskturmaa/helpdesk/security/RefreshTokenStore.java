@@ -0,0 +1,74 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registro em memória dos refresh tokens já rotacionados (por "jti") e das sessões
+ * revogadas (por "sid").
+ * * Cada entrada guarda apenas o instante de expiração do token correspondente e só sai
+ * do registro depois dele (ver {@link #podar()}), pois depois disso o próprio JWT já é rejeitado.
+ * Nada é removido por tamanho: esquecer um "jti" permitiria reutilizar um refresh token antigo,
+ * e esquecer um "sid" traria de volta uma sessão revogada.
+ * * O limite 'jwt.refresh-store.max-size' vale só para os "jti": atingido, novas rotações são
+ * recusadas (o usuário faz login de novo) em vez de descartar entradas. Revogações são sempre aceitas.
+ */
+@Component
+public class RefreshTokenStore {
+
+    @Value("${jwt.refresh-store.max-size:100000}")
+    private long maxSize;
+
+    private final Map<String, Long> rotacionados = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> revogadas = new ConcurrentHashMap<>();
+
+    /**
+     * Marca o refresh token como utilizado (rotacionado).
+     *
+     * @param refresh o refresh token verificado.
+     * @return {@code true} se for o primeiro uso; {@code false} se o token já tinha sido rotacionado.
+     */
+    public boolean rotacionar(JWTToken refresh) {
+        return rotacionados.putIfAbsent(refresh.getJti(), refresh.getExpiraEm()) == null;
+    }
+
+    /**
+     * Indica se ainda há espaço para registrar uma rotação, descartando antes as entradas expiradas se preciso.
+     */
+    public boolean temCapacidade() {
+        if (rotacionados.size() < maxSize) {
+            return true;
+        }
+        podar();
+        return rotacionados.size() < maxSize;
+    }
+
+    /**
+     * Revoga a sessão inteira: refresh tokens e access tokens que carregam o mesmo "sid".
+     *
+     * @param sessao o identificador da sessão.
+     * @param expiraEm até quando a revogação precisa ser lembrada (epoch millis).
+     */
+    public void revogarSessao(String sessao, long expiraEm) {
+        revogadas.merge(sessao, expiraEm, Math::max);
+    }
+
+    public boolean isSessaoRevogada(String sessao) {
+        return sessao != null && revogadas.containsKey(sessao);
+    }
+
+    /**
+     * Descarta as entradas cujos tokens já expiraram.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-store.poda-ms:60000}")
+    public void podar() {
+        long agora = System.currentTimeMillis();
+        rotacionados.values().removeIf(expiraEm -> expiraEm <= agora);
+        revogadas.values().removeIf(expiraEm -> expiraEm <= agora);
+    }
+}
@@ -1,8 +1,10 @@
 package com.helpdeskturmaa.helpdesk.security;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -14,22 +16,46 @@ public class UserSS implements UserDetails {
 
     private static final long serialVersionUID = 1L;
 
+    private static final Perfil[] PERFIS = Perfil.values();
+
+    // Uma coleção imutável de authorities para cada combinação possível de perfis,
+    // indexada pela máscara; as authorities são singletons por Perfil.
+    private static final List<List<GrantedAuthority>> AUTHORITIES_POR_MASCARA = new ArrayList<>();
+
+    static {
+        int combinacoes = 0;
+        for (Perfil p : PERFIS) {
+            combinacoes |= p.getMascara();
+        }
+        GrantedAuthority[] porPerfil = new GrantedAuthority[PERFIS.length];
+        for (int i = 0; i < PERFIS.length; i++) {
+            porPerfil[i] = new SimpleGrantedAuthority(PERFIS[i].getDescricao());
+        }
+        for (int mascara = 0; mascara <= combinacoes; mascara++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (int i = 0; i < PERFIS.length; i++) {
+                if ((mascara & PERFIS[i].getMascara()) != 0) {
+                    authorities.add(porPerfil[i]);
+                }
+            }
+            AUTHORITIES_POR_MASCARA.add(Collections.unmodifiableList(authorities));
+        }
+    }
+
     private final Integer id;
 
     private final String email;
 
     private final String senha;
 
-    private final Collection<? extends GrantedAuthority> authorities;
+    private final int perfis;
 
     public UserSS(Integer id, String email, String senha, Set<Perfil> perfis) {
         super();
         this.id = id;
         this.email = email;
         this.senha = senha;
-        this.authorities = perfis.stream()
-                .map(x -> new SimpleGrantedAuthority(x.getDescricao()))
-                .collect(Collectors.toSet());
+        this.perfis = Perfil.toMascara(perfis);
     }
 
     public Integer getId() {
@@ -38,7 +64,11 @@ public class UserSS implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return authorities;
+        return AUTHORITIES_POR_MASCARA.get(perfis);
+    }
+
+    public Set<Perfil> getPerfis() {
+        return Perfil.toEnumSet(perfis);
     }
 
     @Override
@@ -71,10 +101,7 @@ public class UserSS implements UserDetails {
         return true;
     }
     
-    public boolean hasRole(String role) {
-        String fullAuthority = "ROLE_" + role; 
-        
-        return getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals(fullAuthority));
+    public boolean hasPerfil(Perfil perfil) {
+        return (perfis & perfil.getMascara()) != 0;
     }
 }
\ No newline at end of file
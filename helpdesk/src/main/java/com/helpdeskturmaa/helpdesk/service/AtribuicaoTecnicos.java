@@ -0,0 +1,454 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.domain.enums.Habilidade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+import com.helpdeskturmaa.helpdesk.repositories.TecnicoRepository;
+import com.helpdeskturmaa.helpdesk.resources.exceptions.ObjectNotFoundException;
+
+/**
+ * Atribuição automática de {@link Chamado}s ao {@link Tecnico} com menor carga de trabalho.
+ * * A carga de um técnico é a soma dos pesos, por {@link Prioridade}, dos seus chamados não encerrados.
+ * Os técnicos ficam em um min-heap indexado por carga, e um {@link BitSet} por {@link Habilidade}
+ * marca quem a possui: a escolha não consulta o banco.
+ * * O estado é reconstruído na inicialização, mantido pelo {@link ChamadoService} e pelo
+ * {@link TecnicoService} e reconciliado periodicamente com o banco; todas as operações são curtas e
+ * serializadas por um único lock. As consultas da reconstrução e da reconciliação rodam fora dele: o que
+ * for registrado enquanto isso é reaplicado sobre o resultado antes da troca. Uma escrita confirmada
+ * durante a consulta pode ficar contada a mais (ou a menos) até a reconciliação seguinte.
+ * Administradores não recebem chamados automaticamente.
+ */
+@Component
+public class AtribuicaoTecnicos {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AtribuicaoTecnicos.class);
+
+    private static final Habilidade[] HABILIDADES = Habilidade.values();
+
+    @Autowired
+    private TecnicoRepository tecnicoRepository;
+
+    @Autowired
+    private ChamadoRepository chamadoRepository;
+
+    private Pool pool = new Pool();
+
+    // Serializa reconstrução e reconciliação.
+    private final Object leitura = new Object();
+
+    // Durante uma leitura do banco (null fora dela): variação de carga por técnico e técnicos
+    // incluídos (máscara de habilidades) ou retirados (null), para reaplicar sobre o que foi lido.
+    private Map<Integer, Long> cargasNaLeitura;
+
+    private Map<Integer, Integer> tecnicosNaLeitura;
+
+    /**
+     * Reconstrói técnicos, habilidades e cargas a partir do banco, ao final da inicialização do contexto.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void reconstruir() {
+        synchronized (leitura) {
+            iniciarLeitura();
+            Pool novo = new Pool();
+            Map<Integer, Long> doBanco = null;
+            try {
+                for (TecnicoRepository.HabilidadesTecnico tecnico : tecnicoRepository.findHabilidades()) {
+                    if (!tecnico.getPerfis().contains(Perfil.ADMIN)) {
+                        novo.registrarTecnico(tecnico.getId(), Habilidade.toMascara(tecnico.getHabilidades()));
+                    }
+                }
+                doBanco = cargas(chamadoRepository.contarPorGrupo());
+            } finally {
+                synchronized (this) {
+                    if (doBanco != null) {
+                        tecnicosNaLeitura.forEach((id, mascara) -> {
+                            if (mascara == null) {
+                                novo.removerTecnico(id);
+                            } else {
+                                novo.registrarTecnico(id, mascara);
+                            }
+                        });
+                        doBanco.forEach(novo::somar);
+                        cargasNaLeitura.forEach(novo::somar);
+                        pool = novo;
+                    }
+                    cargasNaLeitura = null;
+                    tecnicosNaLeitura = null;
+                }
+            }
+            LOG.info("Atribuição automática: {} técnicos disponíveis", novo.tamanho);
+        }
+    }
+
+    /**
+     * Recalcula as cargas no banco e substitui as em memória, corrigindo eventuais desvios
+     * (por exemplo, alterações feitas fora da aplicação ou escritas concorrentes com uma leitura anterior).
+     */
+    @Scheduled(fixedDelayString = "${chamados.atribuicao.reconciliacao-ms:300000}",
+            initialDelayString = "${chamados.atribuicao.reconciliacao-ms:300000}")
+    public void reconciliar() {
+        synchronized (leitura) {
+            iniciarLeitura();
+            Map<Integer, Long> doBanco = null;
+            int divergentes = 0;
+            try {
+                doBanco = cargas(chamadoRepository.contarPorGrupo());
+            } finally {
+                synchronized (this) {
+                    if (doBanco != null) {
+                        for (Integer id : pool.slots.keySet()) {
+                            long carga = doBanco.getOrDefault(id, 0L) + cargasNaLeitura.getOrDefault(id, 0L);
+                            if (pool.definir(id, carga)) {
+                                divergentes++;
+                            }
+                        }
+                    }
+                    cargasNaLeitura = null;
+                    tecnicosNaLeitura = null;
+                }
+            }
+            if (divergentes > 0) {
+                LOG.warn("Atribuição automática reconciliada: {} técnicos com carga divergente do banco", divergentes);
+            }
+        }
+    }
+
+    /**
+     * Escolhe o técnico para um chamado novo e já reserva a carga correspondente.
+     * * Entre os técnicos com todas as habilidades exigidas, vence o de menor carga (empate: menor ID).
+     * Se nenhum as tiver, o chamado vai para o técnico de menor carga geral.
+     * * Se o chamado não chegar a ser gravado, a reserva deve ser desfeita com
+     * {@code registrar(dto, null)}.
+     *
+     * @param dto o chamado a ser criado; recebe o ID do técnico escolhido.
+     * @return o ID do técnico escolhido.
+     * @throws ObjectNotFoundException se não houver técnicos disponíveis.
+     */
+    public synchronized Integer atribuir(ChamadoDTO dto) {
+        int slot = pool.escolher(Habilidade.toMascara(dto.getHabilidades()));
+        if (slot < 0) {
+            throw new ObjectNotFoundException("Nenhum técnico disponível para atribuição automática.");
+        }
+        Integer tecnico = pool.ids[slot];
+        dto.setTecnico(tecnico);
+        if (dto.getStatus() != Status.ENCERRADO) {
+            somar(tecnico, peso(dto.getPrioridade()));
+        }
+        return tecnico;
+    }
+
+    /**
+     * Registra a criação, alteração ou exclusão de um chamado, ajustando a carga dos técnicos envolvidos.
+     *
+     * @param antes o chamado antes da operação, ou {@code null} na criação.
+     * @param depois o chamado depois da operação, ou {@code null} na exclusão.
+     */
+    public synchronized void registrar(ChamadoDTO antes, ChamadoDTO depois) {
+        if (antes != null && antes.getStatus() != Status.ENCERRADO) {
+            somar(antes.getTecnico(), -peso(antes.getPrioridade()));
+        }
+        if (depois != null && depois.getStatus() != Status.ENCERRADO) {
+            somar(depois.getTecnico(), peso(depois.getPrioridade()));
+        }
+    }
+
+    /**
+     * Registra uma troca de status isolada (encerrar ou reabrir muda a carga do técnico).
+     *
+     * @param chamado o chamado já com o novo status.
+     * @param anterior o status anterior.
+     */
+    public synchronized void registrarStatus(ChamadoDTO chamado, Status anterior) {
+        boolean estavaAberto = anterior != Status.ENCERRADO;
+        boolean estaAberto = chamado.getStatus() != Status.ENCERRADO;
+        if (estavaAberto != estaAberto) {
+            somar(chamado.getTecnico(), estaAberto ? peso(chamado.getPrioridade()) : -peso(chamado.getPrioridade()));
+        }
+    }
+
+    /**
+     * Inclui um técnico (ou atualiza suas habilidades), preservando a carga já registrada.
+     * * Um técnico que volta à atribuição (por exemplo, ao deixar de ser ADMIN) começa com a carga
+     * dos seus chamados no banco, já que as escritas feitas enquanto estava fora não foram somadas.
+     * * Técnicos com perfil ADMIN são retirados da atribuição automática.
+     *
+     * @param id o ID do técnico.
+     * @param perfis os perfis do técnico.
+     * @param habilidades as habilidades do técnico.
+     */
+    public synchronized void registrarTecnico(Integer id, Set<Perfil> perfis, Set<Habilidade> habilidades) {
+        if (perfis.contains(Perfil.ADMIN)) {
+            removerTecnico(id);
+            return;
+        }
+        int mascara = Habilidade.toMascara(habilidades);
+        if (tecnicosNaLeitura != null) {
+            tecnicosNaLeitura.put(id, mascara);
+        }
+        if (!pool.slots.containsKey(id)) {
+            pool.registrarTecnico(id, mascara);
+            // consulta curta (índice por técnico) e rara; a carga lida do banco não é uma variação a reaplicar
+            cargas(chamadoRepository.contarPorGrupoDoTecnico(id)).forEach(pool::somar);
+        } else {
+            pool.registrarTecnico(id, mascara);
+        }
+    }
+
+    /**
+     * Retira um técnico da atribuição automática.
+     *
+     * @param id o ID do técnico.
+     */
+    public synchronized void removerTecnico(Integer id) {
+        if (tecnicosNaLeitura != null) {
+            tecnicosNaLeitura.put(id, null);
+        }
+        pool.removerTecnico(id);
+    }
+
+    /**
+     * Carga atual de um técnico.
+     *
+     * @param id o ID do técnico.
+     * @return a soma dos pesos dos chamados não encerrados, ou 0 se ele não participa da atribuição.
+     */
+    public synchronized long carga(Integer id) {
+        Integer slot = pool.slots.get(id);
+        return slot == null ? 0 : pool.cargas[slot];
+    }
+
+    private void iniciarLeitura() {
+        synchronized (this) {
+            cargasNaLeitura = new HashMap<>();
+            tecnicosNaLeitura = new LinkedHashMap<>();
+        }
+    }
+
+    // Chamado sob o lock: aplica a variação e a registra para a leitura em curso, se houver.
+    private void somar(Integer tecnico, long delta) {
+        if (cargasNaLeitura != null && tecnico != null) {
+            cargasNaLeitura.merge(tecnico, delta, Long::sum);
+        }
+        pool.somar(tecnico, delta);
+    }
+
+    /**
+     * Soma, por técnico, os pesos dos chamados não encerrados de uma contagem agrupada.
+     */
+    private static Map<Integer, Long> cargas(List<ChamadoRepository.ContagemChamados> grupos) {
+        Map<Integer, Long> cargas = new HashMap<>();
+        for (ChamadoRepository.ContagemChamados grupo : grupos) {
+            if (grupo.getTecnico() != null && grupo.getStatus() != Status.ENCERRADO) {
+                cargas.merge(grupo.getTecnico(), peso(grupo.getPrioridade()) * grupo.getTotal(), Long::sum);
+            }
+        }
+        return cargas;
+    }
+
+    /**
+     * Peso de um chamado não encerrado na carga do técnico.
+     */
+    static int peso(Prioridade prioridade) {
+        if (prioridade == null) {
+            return 1;
+        }
+        switch (prioridade) {
+            case ALTA:
+                return 4;
+            case MEDIA:
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Técnicos em posições ({@code slot}) fixas: carga por posição, um min-heap indexado
+     * de posições ordenado por (carga, ID) e um {@link BitSet} de posições por habilidade.
+     */
+    private static final class Pool {
+
+        private final Map<Integer, Integer> slots = new HashMap<>();
+
+        private Integer[] ids = new Integer[16];
+
+        private long[] cargas = new long[16];
+
+        // posição de cada slot no heap, ou -1 se o slot está livre
+        private int[] posicoes = new int[16];
+
+        private int[] heap = new int[16];
+
+        private int tamanho;
+
+        private int proximoSlot;
+
+        private final BitSet[] porHabilidade = new BitSet[HABILIDADES.length];
+
+        Pool() {
+            for (int i = 0; i < porHabilidade.length; i++) {
+                porHabilidade[i] = new BitSet();
+            }
+            Arrays.fill(posicoes, -1);
+        }
+
+        int escolher(int requisitos) {
+            if (tamanho == 0) {
+                return -1;
+            }
+            if (requisitos == 0) {
+                return heap[0];
+            }
+            BitSet candidatos = null;
+            for (Habilidade h : HABILIDADES) {
+                if ((requisitos & h.getMascara()) != 0) {
+                    if (candidatos == null) {
+                        candidatos = (BitSet) porHabilidade[h.ordinal()].clone();
+                    } else {
+                        candidatos.and(porHabilidade[h.ordinal()]);
+                    }
+                }
+            }
+            int melhor = -1;
+            for (int s = candidatos.nextSetBit(0); s >= 0; s = candidatos.nextSetBit(s + 1)) {
+                if (melhor < 0 || menor(s, melhor)) {
+                    melhor = s;
+                }
+            }
+            return melhor >= 0 ? melhor : heap[0];
+        }
+
+        void registrarTecnico(Integer id, int mascara) {
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                slot = novoSlot(id);
+            }
+            for (Habilidade h : HABILIDADES) {
+                porHabilidade[h.ordinal()].set(slot, (mascara & h.getMascara()) != 0);
+            }
+        }
+
+        void removerTecnico(Integer id) {
+            Integer slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            for (BitSet bits : porHabilidade) {
+                bits.clear(slot);
+            }
+            int posicao = posicoes[slot];
+            int ultimo = heap[--tamanho];
+            posicoes[slot] = -1;
+            if (posicao != tamanho) {
+                heap[posicao] = ultimo;
+                posicoes[ultimo] = posicao;
+                subir(posicao);
+                descer(posicoes[ultimo]);
+            }
+        }
+
+        // Define a carga de um técnico; indica se ela mudou.
+        boolean definir(Integer id, long carga) {
+            Integer slot = slots.get(id);
+            if (slot == null || cargas[slot] == Math.max(0, carga)) {
+                return false;
+            }
+            cargas[slot] = Math.max(0, carga);
+            subir(posicoes[slot]);
+            descer(posicoes[slot]);
+            return true;
+        }
+
+        void somar(Integer id, long delta) {
+            Integer slot = id == null ? null : slots.get(id);
+            if (slot == null || delta == 0) {
+                return;
+            }
+            cargas[slot] = Math.max(0, cargas[slot] + delta);
+            if (delta > 0) {
+                descer(posicoes[slot]);
+            } else {
+                subir(posicoes[slot]);
+            }
+        }
+
+        private int novoSlot(Integer id) {
+            int slot = proximoSlot++;
+            if (slot == ids.length) {
+                int n = ids.length * 2;
+                ids = Arrays.copyOf(ids, n);
+                cargas = Arrays.copyOf(cargas, n);
+                heap = Arrays.copyOf(heap, n);
+                posicoes = Arrays.copyOf(posicoes, n);
+                Arrays.fill(posicoes, slot, n, -1);
+            }
+            ids[slot] = id;
+            cargas[slot] = 0;
+            slots.put(id, slot);
+            heap[tamanho] = slot;
+            posicoes[slot] = tamanho;
+            subir(tamanho++);
+            return slot;
+        }
+
+        private boolean menor(int a, int b) {
+            return cargas[a] < cargas[b] || (cargas[a] == cargas[b] && ids[a] < ids[b]);
+        }
+
+        private void subir(int i) {
+            while (i > 0) {
+                int pai = (i - 1) / 2;
+                if (!menor(heap[i], heap[pai])) {
+                    return;
+                }
+                trocar(i, pai);
+                i = pai;
+            }
+        }
+
+        private void descer(int i) {
+            while (true) {
+                int esquerda = 2 * i + 1;
+                if (esquerda >= tamanho) {
+                    return;
+                }
+                int filho = esquerda + 1 < tamanho && menor(heap[esquerda + 1], heap[esquerda]) ? esquerda + 1 : esquerda;
+                if (!menor(heap[filho], heap[i])) {
+                    return;
+                }
+                trocar(i, filho);
+                i = filho;
+            }
+        }
+
+        private void trocar(int i, int j) {
+            int a = heap[i];
+            int b = heap[j];
+            heap[i] = b;
+            heap[j] = a;
+            posicoes[b] = i;
+            posicoes[a] = j;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.helpdeskturmaa.helpdesk.domain.Cliente;
+import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.dto.CacheEstatisticasDTO;
+import com.helpdeskturmaa.helpdesk.dto.ClienteDTO;
+import com.helpdeskturmaa.helpdesk.dto.Pagina;
+import com.helpdeskturmaa.helpdesk.dto.TecnicoDTO;
+
+/**
+ * Caches limitados (tamanho e TTL) dos cadastros de {@link Tecnico}s e {@link Cliente}s: os DTOs
+ * por ID e as páginas da listagem, que alimentam os formulários de chamado e mudam raramente.
+ * * Guardam apenas DTOs sem a senha, compartilhados entre as requisições (não devem ser alterados).
+ * * O {@link TecnicoService} e o {@link ClienteService} invalidam o ID e as páginas a cada criação,
+ * alteração ou exclusão; escritas feitas por outras instâncias só aparecem aqui depois do TTL.
+ */
+@Component
+public class CacheCadastros {
+
+    /**
+     * Quantidade máxima de DTOs por ID, em cada cadastro.
+     */
+    @Value("${cadastros.cache.max-size:10000}")
+    private long maxSize;
+
+    /**
+     * Quantidade máxima de páginas da listagem, em cada cadastro.
+     */
+    @Value("${cadastros.cache.max-paginas:200}")
+    private long maxPaginas;
+
+    /**
+     * Tempo de vida de cada entrada.
+     */
+    @Value("${cadastros.cache.ttl:10m}")
+    private Duration ttl;
+
+    private Cadastro<TecnicoDTO> tecnicos;
+
+    private Cadastro<ClienteDTO> clientes;
+
+    @PostConstruct
+    public void init() {
+        this.tecnicos = new Cadastro<>(maxSize, maxPaginas, ttl);
+        this.clientes = new Cadastro<>(maxSize, maxPaginas, ttl);
+    }
+
+    public Cadastro<TecnicoDTO> getTecnicos() {
+        return tecnicos;
+    }
+
+    public Cadastro<ClienteDTO> getClientes() {
+        return clientes;
+    }
+
+    /**
+     * Invalida uma pessoa nos dois cadastros, quando não se sabe se é técnico ou cliente.
+     *
+     * @param id o ID da pessoa.
+     */
+    public void invalidar(Integer id) {
+        tecnicos.invalidar(id);
+        clientes.invalidar(id);
+    }
+
+    /**
+     * Acertos, falhas e despejos de cada cache desde a inicialização.
+     *
+     * @return as estatísticas, por nome do cache.
+     */
+    public Map<String, CacheEstatisticasDTO> estatisticas() {
+        Map<String, CacheEstatisticasDTO> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("tecnicos", estatisticas(tecnicos.porId));
+        estatisticas.put("tecnicos.paginas", estatisticas(tecnicos.paginas));
+        estatisticas.put("clientes", estatisticas(clientes.porId));
+        estatisticas.put("clientes.paginas", estatisticas(clientes.paginas));
+        return estatisticas;
+    }
+
+    private static CacheEstatisticasDTO estatisticas(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheEstatisticasDTO(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+    }
+
+    /**
+     * O cache de um cadastro: DTOs por ID e páginas da listagem.
+     */
+    public static final class Cadastro<D> {
+
+        private final Cache<Integer, D> porId;
+
+        private final Cache<String, Pagina<D>> paginas;
+
+        // muda a cada escrita: uma página carregada antes dela fica em uma chave que não é mais consultada
+        private final AtomicLong geracao = new AtomicLong();
+
+        Cadastro(long maxSize, long maxPaginas, Duration ttl) {
+            this.porId = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            this.paginas = Caffeine.newBuilder()
+                    .maximumSize(maxPaginas)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+        }
+
+        /**
+         * Retorna o DTO em cache ou o carrega (uma única carga por ID, mesmo com requisições simultâneas).
+         *
+         * @param id o ID.
+         * @param carregar a carga do DTO, sem a senha; suas exceções são repassadas e nada fica em cache.
+         * @return o DTO.
+         */
+        public D buscar(Integer id, Function<Integer, D> carregar) {
+            return porId.get(id, carregar);
+        }
+
+        /**
+         * Retorna a página em cache ou a carrega.
+         *
+         * @param apos o ID do último item da página anterior.
+         * @param tamanho o tamanho da página.
+         * @param contarTotal se a página traz o total.
+         * @param carregar a carga da página, com DTOs sem a senha.
+         * @return a página.
+         */
+        public Pagina<D> pagina(Integer apos, int tamanho, boolean contarTotal, Supplier<Pagina<D>> carregar) {
+            String chave = geracao.get() + ":" + apos + ":" + tamanho + ":" + contarTotal;
+            return paginas.get(chave, k -> carregar.get());
+        }
+
+        /**
+         * Invalida um ID e todas as páginas (uma criação ou exclusão desloca as páginas seguintes).
+         * Deve ser chamado depois de confirmada a escrita.
+         *
+         * @param id o ID escrito.
+         */
+        public void invalidar(Integer id) {
+            geracao.incrementAndGet();
+            // espera uma carga em andamento do mesmo ID, que pode ter lido o valor anterior
+            porId.invalidate(id);
+            paginas.invalidateAll();
+        }
+    }
+}
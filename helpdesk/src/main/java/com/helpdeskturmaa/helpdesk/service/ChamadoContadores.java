@@ -0,0 +1,360 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoEstatisticasDTO;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Contadores em memória dos {@link Chamado}s por status e prioridade, no total, por técnico e por cliente.
+ * * Cada célula (status x prioridade) é um {@link LongAdder}, que distribui as escritas concorrentes
+ * entre células internas em vez de disputar um único valor.
+ * * São carregados na inicialização por uma única consulta agrupada, mantidos pelo {@link ChamadoService}
+ * a cada criação, alteração e exclusão e reconciliados periodicamente com o banco.
+ * * A reconciliação troca a contagem pela do banco sem que nenhuma escrita se perca nem seja contada duas
+ * vezes: cada escrita roda em {@link #escrita}, da transação ao registro aqui, e a reconciliação só marca o
+ * início e troca a contagem entre escritas, em dois trechos exclusivos curtos. A consulta agrupada roda entre
+ * eles, em paralelo com as escritas, que marcam as células que alteram; essas células podem ou não estar na
+ * consulta, então mantêm o valor em memória (e são reconciliadas numa próxima vez), e as demais recebem o
+ * do banco. Cada trecho exclusivo espera até 'chamados.stats.reconciliacao-espera' pelas escritas em curso
+ * (que, enquanto isso, seguram as novas) e, se não houver uma brecha, a reconciliação fica para a próxima.
+ */
+@Component
+public class ChamadoContadores {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChamadoContadores.class);
+
+    private static final Status[] STATUS = Status.values();
+
+    private static final Prioridade[] PRIORIDADES = Prioridade.values();
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    @Value("${chamados.stats.reconciliacao-espera:1s}")
+    private Duration espera;
+
+    // escritas (compartilhado) x carga e reconciliação (exclusivo)
+    private final ReentrantReadWriteLock barreira = new ReentrantReadWriteLock();
+
+    private volatile Contagem contagem = new Contagem();
+
+    // Células alteradas desde o início de uma reconciliação (valor diferente de zero), ou null fora dela.
+    private volatile Contagem tocadas;
+
+    /**
+     * Carrega os contadores a partir do banco, ao final da inicialização do contexto.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void carregar() {
+        barreira.writeLock().lock();
+        try {
+            contagem = contarNoBanco();
+        } finally {
+            barreira.writeLock().unlock();
+        }
+        LOG.info("Contadores de chamados carregados: {} chamados", contagem.geral.total());
+    }
+
+    /**
+     * Recalcula os contadores no banco e substitui os em memória, corrigindo eventuais desvios
+     * (por exemplo, alterações feitas fora da aplicação).
+     */
+    @Scheduled(fixedDelayString = "${chamados.stats.reconciliacao-ms:300000}",
+            initialDelayString = "${chamados.stats.reconciliacao-ms:300000}")
+    public void reconciliar() {
+        // sem escritas em curso: nenhuma confirmada no banco e ainda não registrada aqui
+        if (!exclusivo()) {
+            return;
+        }
+        try {
+            tocadas = new Contagem();
+        } finally {
+            barreira.writeLock().unlock();
+        }
+
+        Contagem doBanco = null;
+        int divergentes = 0;
+        try {
+            doBanco = contarNoBanco();
+        } finally {
+            if (doBanco == null || !exclusivo()) {
+                tocadas = null;
+            } else {
+                try {
+                    doBanco.manter(contagem, tocadas);
+                    divergentes = contagem.geral.divergencias(doBanco.geral);
+                    contagem = doBanco;
+                } finally {
+                    tocadas = null;
+                    barreira.writeLock().unlock();
+                }
+            }
+        }
+        if (divergentes > 0) {
+            LOG.warn("Contadores de chamados reconciliados: {} células divergiam do banco", divergentes);
+        }
+    }
+
+    /**
+     * Obtém a barreira exclusiva, esperando até 'chamados.stats.reconciliacao-espera' pelas escritas em curso.
+     *
+     * @return se a obteve; se não, a reconciliação fica para a próxima.
+     */
+    private boolean exclusivo() {
+        try {
+            if (barreira.writeLock().tryLock(espera.toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            LOG.debug("Contadores de chamados: reconciliação adiada, escritas em curso");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Executa uma escrita de chamado, da transação ao seu registro nos contadores, sem que a
+     * reconciliação comece ou troque a contagem no meio.
+     *
+     * @param escrita a transação e o registro da escrita.
+     * @return o resultado da escrita.
+     */
+    public <T> T escrita(Supplier<T> escrita) {
+        barreira.readLock().lock();
+        try {
+            return escrita.get();
+        } finally {
+            barreira.readLock().unlock();
+        }
+    }
+
+    /**
+     * Executa uma escrita de chamado sem resultado (ver {@link #escrita(Supplier)}).
+     *
+     * @param escrita a transação e o registro da escrita.
+     */
+    public void escrita(Runnable escrita) {
+        barreira.readLock().lock();
+        try {
+            escrita.run();
+        } finally {
+            barreira.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registra a criação, alteração ou exclusão de um chamado.
+     *
+     * @param antes o chamado antes da operação, ou {@code null} na criação.
+     * @param depois o chamado depois da operação, ou {@code null} na exclusão.
+     */
+    public void registrar(ChamadoDTO antes, ChamadoDTO depois) {
+        if (antes != null && depois != null && mesmaCelula(antes, depois)) {
+            return;
+        }
+        Contagem atual = contagem;
+        Contagem marcadas = tocadas;
+        if (antes != null) {
+            atual.somar(antes.getTecnico(), antes.getCliente(), antes.getStatus(), antes.getPrioridade(), -1);
+            marcar(marcadas, antes.getTecnico(), antes.getCliente(), antes.getStatus(), antes.getPrioridade());
+        }
+        if (depois != null) {
+            atual.somar(depois.getTecnico(), depois.getCliente(), depois.getStatus(), depois.getPrioridade(), 1);
+            marcar(marcadas, depois.getTecnico(), depois.getCliente(), depois.getStatus(), depois.getPrioridade());
+        }
+    }
+
+    /**
+     * Registra uma troca de status isolada.
+     *
+     * @param chamado o chamado já com o novo status.
+     * @param anterior o status anterior.
+     */
+    public void registrarStatus(ChamadoDTO chamado, Status anterior) {
+        if (anterior == chamado.getStatus()) {
+            return;
+        }
+        Contagem atual = contagem;
+        Contagem marcadas = tocadas;
+        atual.somar(chamado.getTecnico(), chamado.getCliente(), anterior, chamado.getPrioridade(), -1);
+        atual.somar(chamado.getTecnico(), chamado.getCliente(), chamado.getStatus(), chamado.getPrioridade(), 1);
+        marcar(marcadas, chamado.getTecnico(), chamado.getCliente(), anterior, chamado.getPrioridade());
+        marcar(marcadas, chamado.getTecnico(), chamado.getCliente(), chamado.getStatus(), chamado.getPrioridade());
+    }
+
+    private static void marcar(Contagem marcadas, Integer tecnico, Integer cliente, Status status, Prioridade prioridade) {
+        if (marcadas != null) {
+            marcadas.somar(tecnico, cliente, status, prioridade, 1);
+        }
+    }
+
+    /**
+     * Lê os contadores de um escopo, sem consultar o banco.
+     * * Sem técnico nem cliente, devolve o total geral com a divisão por técnico.
+     *
+     * @param tecnico restringe aos chamados do técnico, ou {@code null}.
+     * @param cliente restringe aos chamados do cliente, ou {@code null}.
+     * @return as estatísticas do escopo.
+     */
+    public ChamadoEstatisticasDTO estatisticas(Integer tecnico, Integer cliente) {
+        Contagem atual = contagem;
+        if (tecnico != null) {
+            return atual.porTecnico.getOrDefault(tecnico, Celulas.VAZIA).estatisticas(null);
+        }
+        if (cliente != null) {
+            return atual.porCliente.getOrDefault(cliente, Celulas.VAZIA).estatisticas(null);
+        }
+        Map<Integer, Map<Status, Long>> porTecnico = new TreeMap<>();
+        atual.porTecnico.forEach((id, celulas) -> porTecnico.put(id, celulas.porStatus()));
+        return atual.geral.estatisticas(porTecnico);
+    }
+
+    private static boolean mesmaCelula(ChamadoDTO a, ChamadoDTO b) {
+        return a.getStatus() == b.getStatus() && a.getPrioridade() == b.getPrioridade()
+                && Objects.equals(a.getTecnico(), b.getTecnico()) && Objects.equals(a.getCliente(), b.getCliente());
+    }
+
+    private Contagem contarNoBanco() {
+        Contagem nova = new Contagem();
+        for (ChamadoRepository.ContagemChamados grupo : repository.contarPorGrupo()) {
+            nova.somar(grupo.getTecnico(), grupo.getCliente(), grupo.getStatus(), grupo.getPrioridade(), grupo.getTotal());
+        }
+        return nova;
+    }
+
+    private static int indice(Status status, Prioridade prioridade) {
+        return status.ordinal() * PRIORIDADES.length + prioridade.ordinal();
+    }
+
+    /**
+     * Conjunto completo dos contadores; substituído inteiro na reconciliação.
+     */
+    private static final class Contagem {
+
+        private final Celulas geral = new Celulas();
+
+        private final ConcurrentHashMap<Integer, Celulas> porTecnico = new ConcurrentHashMap<>();
+
+        private final ConcurrentHashMap<Integer, Celulas> porCliente = new ConcurrentHashMap<>();
+
+        void somar(Integer tecnico, Integer cliente, Status status, Prioridade prioridade, long delta) {
+            int i = indice(status, prioridade);
+            geral.somar(i, delta);
+            if (tecnico != null) {
+                porTecnico.computeIfAbsent(tecnico, k -> new Celulas()).somar(i, delta);
+            }
+            if (cliente != null) {
+                porCliente.computeIfAbsent(cliente, k -> new Celulas()).somar(i, delta);
+            }
+        }
+
+        /**
+         * Mantém, nesta contagem lida do banco, o valor em memória das células alteradas durante a leitura.
+         */
+        void manter(Contagem atual, Contagem tocadas) {
+            geral.manter(atual.geral, tocadas.geral);
+            tocadas.porTecnico.forEach((id, celulas) -> porTecnico.computeIfAbsent(id, k -> new Celulas())
+                    .manter(atual.porTecnico.getOrDefault(id, Celulas.VAZIA), celulas));
+            tocadas.porCliente.forEach((id, celulas) -> porCliente.computeIfAbsent(id, k -> new Celulas())
+                    .manter(atual.porCliente.getOrDefault(id, Celulas.VAZIA), celulas));
+        }
+    }
+
+    /**
+     * Contadores de um escopo, uma célula por combinação de status e prioridade.
+     */
+    private static final class Celulas {
+
+        static final Celulas VAZIA = new Celulas();
+
+        private final LongAdder[] valores = new LongAdder[STATUS.length * PRIORIDADES.length];
+
+        Celulas() {
+            for (int i = 0; i < valores.length; i++) {
+                valores[i] = new LongAdder();
+            }
+        }
+
+        void somar(int indice, long delta) {
+            valores[indice].add(delta);
+        }
+
+        long total() {
+            long total = 0;
+            for (LongAdder valor : valores) {
+                total += valor.sum();
+            }
+            return total;
+        }
+
+        Map<Status, Long> porStatus() {
+            Map<Status, Long> porStatus = new EnumMap<>(Status.class);
+            for (Status s : STATUS) {
+                long soma = 0;
+                for (Prioridade p : PRIORIDADES) {
+                    soma += valores[indice(s, p)].sum();
+                }
+                porStatus.put(s, soma);
+            }
+            return porStatus;
+        }
+
+        Map<Prioridade, Long> porPrioridade() {
+            Map<Prioridade, Long> porPrioridade = new EnumMap<>(Prioridade.class);
+            for (Prioridade p : PRIORIDADES) {
+                long soma = 0;
+                for (Status s : STATUS) {
+                    soma += valores[indice(s, p)].sum();
+                }
+                porPrioridade.put(p, soma);
+            }
+            return porPrioridade;
+        }
+
+        void manter(Celulas atuais, Celulas tocadas) {
+            for (int i = 0; i < valores.length; i++) {
+                if (tocadas.valores[i].sum() != 0) {
+                    valores[i].reset();
+                    valores[i].add(atuais.valores[i].sum());
+                }
+            }
+        }
+
+        int divergencias(Celulas outras) {
+            int divergentes = 0;
+            for (int i = 0; i < valores.length; i++) {
+                if (valores[i].sum() != outras.valores[i].sum()) {
+                    divergentes++;
+                }
+            }
+            return divergentes;
+        }
+
+        ChamadoEstatisticasDTO estatisticas(Map<Integer, Map<Status, Long>> porTecnico) {
+            return new ChamadoEstatisticasDTO(total(), porStatus(), porPrioridade(), porTecnico);
+        }
+    }
+}
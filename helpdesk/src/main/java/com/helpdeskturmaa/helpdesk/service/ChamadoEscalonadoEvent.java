@@ -0,0 +1,40 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+
+/**
+ * Evento publicado quando o prazo de SLA de um {@link Chamado} vence e ele é escalado.
+ * * Se o chamado já estava na prioridade mais alta, não há nova prioridade nem novo prazo
+ * ({@link #isEsgotado()}): cabe aos ouvintes avisar os responsáveis.
+ */
+public class ChamadoEscalonadoEvent {
+
+    private final ChamadoDTO chamado;
+
+    private final Prioridade prioridadeAnterior;
+
+    public ChamadoEscalonadoEvent(ChamadoDTO chamado, Prioridade prioridadeAnterior) {
+        this.chamado = chamado;
+        this.prioridadeAnterior = prioridadeAnterior;
+    }
+
+    /**
+     * O chamado já escalado (nova prioridade e novo prazo, se houver).
+     */
+    public ChamadoDTO getChamado() {
+        return chamado;
+    }
+
+    public Prioridade getPrioridadeAnterior() {
+        return prioridadeAnterior;
+    }
+
+    /**
+     * Indica que o chamado venceu o SLA na prioridade mais alta e não tem mais prazo.
+     */
+    public boolean isEsgotado() {
+        return chamado.getPrioridade() == prioridadeAnterior;
+    }
+}
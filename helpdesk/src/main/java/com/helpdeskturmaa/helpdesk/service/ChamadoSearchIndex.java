@@ -0,0 +1,395 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoFiltro;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Índice invertido em memória sobre o título e as observações dos {@link Chamado}s.
+ * * Os termos são normalizados sem acentos e sem caixa, com remoção de stopwords e
+ * normalização leve de plural do português. Cada termo aponta para uma lista ordenada
+ * de IDs ({@code int[]}); cada chamado guarda seus termos para ser removido ou reindexado.
+ * * É reconstruído na inicialização e mantido pelo {@link ChamadoService} a cada
+ * criação, atualização e exclusão.
+ * * As atualizações chegam depois do commit, em qualquer ordem: cada chamado guarda a versão
+ * indexada, e uma versão mais antiga não substitui a mais nova.
+ */
+@Component
+public class ChamadoSearchIndex implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChamadoSearchIndex.class);
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Set<String> STOPWORDS = new HashSet<>(Arrays.asList(
+            "a", "ao", "aos", "as", "com", "como", "da", "das", "de", "do", "dos", "e", "em", "na", "nas",
+            "nao", "no", "nos", "o", "os", "ou", "para", "pela", "pelo", "por", "que", "se", "sem", "um", "uma"));
+
+    // Ocorrências no título contam mais que nas observações.
+    private static final int PESO_TITULO = 2;
+
+    // Antes do servidor web (WebServerStartStopLifecycle, fase Integer.MAX_VALUE - 1).
+    private static final int FASE = Integer.MAX_VALUE - 2;
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${chamados.export.fetch-size:500}")
+    private int fetchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, Postings> postings = new HashMap<>();
+
+    private Map<Integer, Documento> documentos = new HashMap<>();
+
+    // Escritas recebidas durante uma reconstrução, reaplicadas ao índice novo; null fora dela.
+    private List<ChamadoDTO> indexadosNaReconstrucao;
+
+    private Set<Integer> removidosNaReconstrucao;
+
+    private volatile boolean rodando;
+
+    /**
+     * Constrói o índice na inicialização, antes de o servidor web aceitar requisições
+     * (e antes das tarefas agendadas, que começam no ContextRefreshedEvent).
+     */
+    @Override
+    public void start() {
+        reconstruir();
+        rodando = true;
+    }
+
+    @Override
+    public void stop() {
+        rodando = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return rodando;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    /**
+     * Reconstrói o índice a partir de uma leitura em stream da tabela de chamados.
+     * * Indexações e remoções feitas durante a leitura valem também no índice antigo e são
+     * reaplicadas ao novo antes da troca, então nenhuma se perde.
+     */
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        Map<String, Postings> novosPostings = new HashMap<>();
+        Map<Integer, Documento> novosDocumentos = new HashMap<>();
+
+        lock.writeLock().lock();
+        try {
+            indexadosNaReconstrucao = new ArrayList<>();
+            removidosNaReconstrucao = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean lido = false;
+        try {
+            new TransactionTemplate(transactionManager).execute(status -> {
+                try (Stream<ChamadoDTO> stream = repository.streamAll(new ChamadoFiltro(), fetchSize)) {
+                    stream.forEach(obj -> indexar(novosPostings, novosDocumentos, obj));
+                }
+                return null;
+            });
+            lido = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (lido) {
+                    for (ChamadoDTO obj : indexadosNaReconstrucao) {
+                        indexar(novosPostings, novosDocumentos, obj);
+                    }
+                    // IDs não são reaproveitados: uma exclusão é definitiva.
+                    for (Integer id : removidosNaReconstrucao) {
+                        remover(novosPostings, novosDocumentos, id);
+                    }
+                    postings = novosPostings;
+                    documentos = novosDocumentos;
+                }
+                indexadosNaReconstrucao = null;
+                removidosNaReconstrucao = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        LOG.info("Índice de busca de chamados: {} chamados, {} termos em {} ms",
+                novosDocumentos.size(), novosPostings.size(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Indexa (ou reindexa) um chamado, a menos que já esteja indexada uma versão mais nova dele.
+     *
+     * @param obj o chamado criado ou atualizado.
+     */
+    public void indexar(ChamadoDTO obj) {
+        lock.writeLock().lock();
+        try {
+            if (indexadosNaReconstrucao != null) {
+                indexadosNaReconstrucao.add(obj);
+            }
+            indexar(postings, documentos, obj);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um chamado do índice.
+     *
+     * @param id o ID do chamado excluído.
+     */
+    public void remover(Integer id) {
+        lock.writeLock().lock();
+        try {
+            if (removidosNaReconstrucao != null) {
+                removidosNaReconstrucao.add(id);
+            }
+            remover(postings, documentos, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os chamados que contêm algum termo da consulta, ordenados por relevância
+     * (TF-IDF, com peso maior para o título).
+     *
+     * @param consulta o texto buscado.
+     * @param tecnico restringe aos chamados deste técnico, ou {@code null}.
+     * @param cliente restringe aos chamados deste cliente, ou {@code null}.
+     * @param limite o número máximo de resultados.
+     * @return os IDs encontrados, do mais para o menos relevante.
+     */
+    public List<Integer> buscar(String consulta, Integer tecnico, Integer cliente, int limite) {
+        Set<String> termos = new LinkedHashSet<>(tokenizar(consulta));
+        if (termos.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, Double> pontuacao = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            double total = documentos.size();
+            for (String termo : termos) {
+                Postings lista = postings.get(termo);
+                if (lista == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + total / lista.tamanho);
+                for (int i = 0; i < lista.tamanho; i++) {
+                    Documento doc = documentos.get(lista.ids[i]);
+                    if (doc.visivel(tecnico, cliente)) {
+                        double tf = 1.0 + Math.log(doc.frequencia(termo));
+                        pontuacao.merge(lista.ids[i], tf * idf, Double::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Top-k por min-heap: o menos relevante dos k melhores fica no topo.
+        PriorityQueue<Map.Entry<Integer, Double>> melhores = new PriorityQueue<>(limite + 1,
+                (a, b) -> a.getValue().equals(b.getValue()) ? Integer.compare(a.getKey(), b.getKey()) : Double.compare(a.getValue(), b.getValue()));
+        for (Map.Entry<Integer, Double> e : pontuacao.entrySet()) {
+            melhores.add(e);
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+        List<Integer> ids = new ArrayList<>(melhores.size());
+        while (!melhores.isEmpty()) {
+            ids.add(melhores.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    /**
+     * Quebra o texto em termos normalizados: sem acentos, em minúsculas, sem stopwords
+     * e com o plural reduzido ao singular ("impressoras" → "impressora", "conexões" → "conexao").
+     *
+     * @param texto o texto original (pode ser {@code null}).
+     * @return os termos, na ordem em que aparecem.
+     */
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> termos = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (token.length() > 1 && !STOPWORDS.contains(token)) {
+                termos.add(singular(token));
+            }
+        }
+        return termos;
+    }
+
+    private static String singular(String termo) {
+        if (termo.length() <= 3 || !termo.endsWith("s") || termo.endsWith("ss")) {
+            return termo;
+        }
+        if (termo.endsWith("oes") || termo.endsWith("aes")) {
+            return termo.substring(0, termo.length() - 3) + "ao";
+        }
+        if (termo.endsWith("ais")) {
+            return termo.substring(0, termo.length() - 3) + "al";
+        }
+        if (termo.endsWith("eis")) {
+            return termo.substring(0, termo.length() - 3) + "el";
+        }
+        if (termo.endsWith("ores")) {
+            return termo.substring(0, termo.length() - 2);
+        }
+        return termo.substring(0, termo.length() - 1);
+    }
+
+    private static void indexar(Map<String, Postings> postings, Map<Integer, Documento> documentos, ChamadoDTO obj) {
+        Documento atual = documentos.get(obj.getId());
+        if (atual != null && atual.versao != null && obj.getVersao() != null && obj.getVersao() < atual.versao) {
+            return;
+        }
+        remover(postings, documentos, obj.getId());
+        adicionar(postings, documentos, obj);
+    }
+
+    private static void adicionar(Map<String, Postings> postings, Map<Integer, Documento> documentos, ChamadoDTO obj) {
+        Map<String, Integer> frequencias = new TreeMap<>();
+        for (String termo : tokenizar(obj.getTitulo())) {
+            frequencias.merge(termo, PESO_TITULO, Integer::sum);
+        }
+        for (String termo : tokenizar(obj.getObservacoes())) {
+            frequencias.merge(termo, 1, Integer::sum);
+        }
+        Documento doc = new Documento(frequencias, obj.getTecnico(), obj.getCliente(), obj.getVersao());
+        documentos.put(obj.getId(), doc);
+        for (String termo : doc.termos) {
+            postings.computeIfAbsent(termo, k -> new Postings()).adicionar(obj.getId());
+        }
+    }
+
+    private static void remover(Map<String, Postings> postings, Map<Integer, Documento> documentos, Integer id) {
+        Documento doc = documentos.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String termo : doc.termos) {
+            Postings lista = postings.get(termo);
+            if (lista != null && lista.remover(id) == 0) {
+                postings.remove(termo);
+            }
+        }
+    }
+
+    /**
+     * Lista ordenada de IDs de chamados que contêm um termo.
+     */
+    static final class Postings {
+
+        private int[] ids = new int[4];
+
+        private int tamanho;
+
+        void adicionar(int id) {
+            int pos = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, tamanho - pos);
+            ids[pos] = id;
+            tamanho++;
+        }
+
+        int remover(int id) {
+            int pos = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, tamanho - pos - 1);
+                tamanho--;
+            }
+            return tamanho;
+        }
+    }
+
+    /**
+     * Termos (ordenados) e frequências de um chamado, com o técnico e o cliente para o escopo da busca
+     * e a versão indexada.
+     */
+    static final class Documento {
+
+        private final String[] termos;
+
+        private final int[] frequencias;
+
+        private final Integer tecnico;
+
+        private final Integer cliente;
+
+        private final Long versao;
+
+        Documento(Map<String, Integer> frequencias, Integer tecnico, Integer cliente, Long versao) {
+            this.termos = frequencias.keySet().toArray(new String[0]);
+            this.frequencias = frequencias.values().stream().mapToInt(Integer::intValue).toArray();
+            this.tecnico = tecnico;
+            this.cliente = cliente;
+            this.versao = versao;
+        }
+
+        int frequencia(String termo) {
+            int pos = Arrays.binarySearch(termos, termo);
+            return pos >= 0 ? frequencias[pos] : 0;
+        }
+
+        boolean visivel(Integer tecnico, Integer cliente) {
+            return (tecnico == null || tecnico.equals(this.tecnico)) && (cliente == null || cliente.equals(this.cliente));
+        }
+    }
+}
@@ -1,21 +1,62 @@
 package com.helpdeskturmaa.helpdesk.service;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.helpdeskturmaa.helpdesk.domain.Chamado;
 import com.helpdeskturmaa.helpdesk.domain.Cliente;
+import com.helpdeskturmaa.helpdesk.domain.HistoricoChamado;
+import com.helpdeskturmaa.helpdesk.domain.RelogioAlteracoes;
 import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
 import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.domain.enums.TipoEventoChamado;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoCursor;
 import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoEstatisticasDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoFiltro;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoOrdem;
+import com.helpdeskturmaa.helpdesk.dto.FormatoExportacao;
+import com.helpdeskturmaa.helpdesk.dto.HistoricoChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.Pagina;
+import com.helpdeskturmaa.helpdesk.dto.ResultadoLoteDTO;
+import com.helpdeskturmaa.helpdesk.dto.VersaoColecao;
 import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
 import com.helpdeskturmaa.helpdesk.repositories.ClienteRepository;
+import com.helpdeskturmaa.helpdesk.repositories.HistoricoChamadoRepository;
 import com.helpdeskturmaa.helpdesk.repositories.TecnicoRepository;
+import com.helpdeskturmaa.helpdesk.resources.exceptions.ConflictException;
+import com.helpdeskturmaa.helpdesk.resources.exceptions.DataIntegrityViolationException;
 import com.helpdeskturmaa.helpdesk.resources.exceptions.ObjectNotFoundException;
 import com.helpdeskturmaa.helpdesk.resources.exceptions.AuthorizationException; 
 import com.helpdeskturmaa.helpdesk.security.UserSS; 
@@ -45,26 +86,116 @@ public class ChamadoService {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    /**
+     * Injeção do repositório para leitura do histórico de alterações dos chamados.
+     */
+    @Autowired
+    private HistoricoChamadoRepository historicoRepository;
+
+    /**
+     * Índice de busca textual dos chamados, mantido a cada escrita.
+     */
+    @Autowired
+    private ChamadoSearchIndex searchIndex;
+
+    /**
+     * Injeção dos contadores de chamados por status, prioridade e técnico.
+     */
+    @Autowired
+    private ChamadoContadores contadores;
+
+    /**
+     * Injeção da atribuição automática de técnicos por carga e habilidades.
+     */
+    @Autowired
+    private AtribuicaoTecnicos atribuicao;
+
+    /**
+     * Injeção da fila de triagem dos chamados abertos de cada técnico.
+     */
+    @Autowired
+    private FilaTriagem fila;
+
+    /**
+     * Injeção do histórico de alterações dos chamados, gravado em segundo plano.
+     */
+    @Autowired
+    private HistoricoChamados historico;
+
+    /**
+     * Injeção do outbox dos eventos de domínio dos chamados.
+     */
+    @Autowired
+    private OutboxChamados outbox;
+
+    /**
+     * Injeção do difusor das alterações de chamados por Server-Sent Events.
+     */
+    @Autowired
+    private DifusorChamados difusor;
+
+    /**
+     * Injeção das metas de SLA por prioridade.
+     */
+    @Autowired
+    private PrazosSla prazosSla;
+
+    /**
+     * Injeção dos temporizadores de SLA dos chamados não encerrados.
+     */
+    @Autowired
+    private SlaAgendador slaAgendador;
+
+    /**
+     * Publicador dos eventos de escalada por SLA.
+     */
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    /**
+     * Gerenciador de transações, usado para confirmar cada lote das operações em lote separadamente.
+     */
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Serializador JSON da aplicação, usado na exportação NDJSON.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Linhas trazidas do banco por vez durante a exportação.
+     */
+    @Value("${chamados.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    /**
+     * Chamados alterados por transação nas operações em lote.
+     */
+    @Value("${chamados.lote.tamanho:500}")
+    private int tamanhoLote;
+
 
     /**
      * Realiza a validação de propriedade do chamado, garantindo que apenas
      * o cliente que abriu, o técnico relacionado ou um ADMIN possam visualizá-lo.
      *
-     * @param chamado O objeto Chamado a ser validado.
+     * @param cliente O ID do cliente que abriu o chamado.
      * @throws AuthorizationException Se o usuário não estiver autenticado ou não tiver permissão para acessar o chamado.
      */
-    private void validarPropriedade(Chamado chamado) {
+    private void validarPropriedade(Integer cliente) {
     	UserSS usuarioLogado = UserService.authenticated();
         
         if (usuarioLogado == null) {
             throw new AuthorizationException("Usuário não autenticado.");
         }
         
-        if (usuarioLogado.hasRole("ADMIN") || usuarioLogado.hasRole("TECNICO")) {
+        if (usuarioLogado.hasPerfil(Perfil.ADMIN) || usuarioLogado.hasPerfil(Perfil.TECNICO)) {
             return;
         }
 
-        if (!chamado.getCliente().getId().equals(usuarioLogado.getId())) {
+        if (!usuarioLogado.getId().equals(cliente)) {
             throw new AuthorizationException("Acesso negado! Você só pode visualizar seus próprios chamados.");
         }
     }
@@ -72,6 +203,7 @@ public class ChamadoService {
 
     /**
      * Busca um chamado pelo seu ID e valida se o usuário logado tem permissão para acessá-lo.
+     * * Técnico e Cliente vêm na mesma consulta (entity graph), pois a atualização os reutiliza.
      *
      * @param id O ID do chamado a ser buscado.
      * @return O objeto {@link Chamado} encontrado.
@@ -79,50 +211,251 @@ public class ChamadoService {
      * @throws AuthorizationException Se o usuário não tiver permissão para acessar o chamado.
      */
     public Chamado findById(Integer id) {
-        Optional<Chamado> obj = repository.findById(id);
+        Optional<Chamado> obj = repository.findComAssociacoesById(id);
         Chamado chamado = obj.orElseThrow(() -> new ObjectNotFoundException("Chamado não encontrado! ID: " + id));
         
-        validarPropriedade(chamado); 
+        validarPropriedade(chamado.getCliente().getId()); 
         
         return chamado;
     }
 
     /**
-     * Busca todos os chamados, aplicando regras de filtro baseadas no perfil do usuário logado.
+     * Busca um chamado pelo seu ID para leitura, já projetado em {@link ChamadoDTO}
+     * (sem carregar as entidades de Técnico e Cliente), e valida o acesso do usuário logado.
+     *
+     * @param id O ID do chamado a ser buscado.
+     * @return O {@link ChamadoDTO} encontrado.
+     * @throws ObjectNotFoundException Se o chamado não for encontrado.
+     * @throws AuthorizationException Se o usuário não tiver permissão para acessar o chamado.
+     */
+    public ChamadoDTO findDTOById(Integer id) {
+        ChamadoDTO dto = repository.findDTOById(id)
+                .orElseThrow(() -> new ObjectNotFoundException("Chamado não encontrado! ID: " + id));
+
+        validarPropriedade(dto.getCliente());
+
+        return dto;
+    }
+
+    /**
+     * Busca apenas a versão de um chamado, para responder GETs condicionais sem carregá-lo.
+     *
+     * @param id O ID do chamado.
+     * @return A versão atual do chamado.
+     * @throws ObjectNotFoundException Se o chamado não for encontrado.
+     * @throws AuthorizationException Se o usuário não tiver permissão para acessar o chamado.
+     */
+    public Long findVersaoById(Integer id) {
+        ChamadoRepository.VersaoChamado versao = repository.findVersaoById(id)
+                .orElseThrow(() -> new ObjectNotFoundException("Chamado não encontrado! ID: " + id));
+
+        validarPropriedade(versao.getCliente());
+
+        return versao.getVersao();
+    }
+
+    /**
+     * Retorna uma página do histórico de alterações de um chamado, da mais antiga para a mais recente.
+     * * O histórico é gravado em segundo plano (ver {@link HistoricoChamados}), então uma alteração
+     * recém-feita pode levar alguns instantes para aparecer.
+     * * O histórico de um chamado excluído continua disponível, apenas para ADMINs.
+     *
+     * @param id O ID do chamado.
+     * @param apos O ID da última alteração da página anterior (0 para a primeira página).
+     * @param tamanho O número máximo de alterações da página.
+     * @param contarTotal Se o total de alterações do chamado deve ser calculado.
+     * @return A {@link Pagina} de {@link HistoricoChamadoDTO}.
+     * @throws ObjectNotFoundException Se o chamado não for encontrado (e o usuário não for ADMIN).
+     * @throws AuthorizationException Se o usuário não tiver permissão para acessar o chamado.
+     */
+    public Pagina<HistoricoChamadoDTO> historico(Integer id, Integer apos, int tamanho, boolean contarTotal) {
+        Optional<ChamadoRepository.VersaoChamado> chamado = repository.findVersaoById(id);
+        if (chamado.isPresent()) {
+            validarPropriedade(chamado.get().getCliente());
+        } else {
+            UserSS usuarioLogado = UserService.authenticated();
+            if (usuarioLogado == null || !usuarioLogado.hasPerfil(Perfil.ADMIN)) {
+                throw new ObjectNotFoundException("Chamado não encontrado! ID: " + id);
+            }
+        }
+        Slice<HistoricoChamado> slice = historicoRepository.findByChamadoAndIdGreaterThan(id, apos,
+                PageRequest.of(0, tamanho, Sort.by("id")));
+        List<HistoricoChamadoDTO> list = slice.stream().map(HistoricoChamadoDTO::new).collect(Collectors.toList());
+        String proximo = slice.hasNext() ? String.valueOf(list.get(list.size() - 1).getId()) : null;
+        return new Pagina<>(list, proximo, contarTotal ? historicoRepository.countByChamado(id) : null);
+    }
+
+    /**
+     * Calcula a versão do conjunto de chamados visíveis ao usuário logado dentro do filtro,
+     * usada como ETag da listagem.
+     * * O escopo do perfil entra na versão, pois a mesma URL lista chamados diferentes para cada usuário.
+     *
+     * @param filtro Os critérios de status, prioridade, técnico, cliente e datas.
+     * @return A versão da coleção.
+     * @throws AuthorizationException Se o usuário não estiver autenticado.
+     */
+    public String versaoColecao(ChamadoFiltro filtro) {
+        aplicarEscopo(filtro);
+
+        return versaoColecao(filtro, repository.versaoColecao(filtro));
+    }
+
+    /**
+     * Calcula a versão da listagem a partir dos chamados já lidos por {@link #findAll}, quando
+     * a página trouxe todos os chamados do filtro: o mesmo valor de {@link #versaoColecao(ChamadoFiltro)},
+     * sem consultar o banco.
+     *
+     * @param filtro O filtro usado na busca, já com o escopo do perfil.
+     * @param chamados Todos os chamados do filtro.
+     * @return A versão da coleção.
+     */
+    public String versaoColecao(ChamadoFiltro filtro, List<ChamadoDTO> chamados) {
+        return versaoColecao(filtro, VersaoColecao.de(chamados, ChamadoDTO::getUltimaAlteracao));
+    }
+
+    private static String versaoColecao(ChamadoFiltro filtro, VersaoColecao versao) {
+        return "t" + Objects.toString(filtro.getTecnico(), "") + "c" + Objects.toString(filtro.getCliente(), "")
+                + "-" + versao;
+    }
+
+    /**
+     * Busca uma página de chamados, aplicando regras de filtro baseadas no perfil do usuário logado.
      * * ADMIN: Retorna todos os chamados.
      * * TÉCNICO: Retorna apenas os chamados atribuídos a ele.
      * * CLIENTE: Retorna apenas os chamados abertos por ele.
      *
-     * @return Uma {@link List} de {@link ChamadoDTO} contendo os chamados permitidos.
+     * @param filtro Os critérios de status, prioridade, técnico, cliente e datas.
+     * @param ordem A ordenação da listagem.
+     * @param cursor O cursor devolvido pela página anterior, ou {@code null} para a primeira página.
+     * @param tamanho O número máximo de chamados da página.
+     * @param contarTotal Se o total de chamados do escopo deve ser calculado.
+     * @return A {@link Pagina} de {@link ChamadoDTO} contendo os chamados permitidos.
+     * @throws AuthorizationException Se o usuário não estiver autenticado.
+     */
+    public Pagina<ChamadoDTO> findAll(ChamadoFiltro filtro, ChamadoOrdem ordem, String cursor, int tamanho,
+                                      boolean contarTotal) {
+        aplicarEscopo(filtro);
+
+        // Um registro a mais indica se existe próxima página, sem precisar contar.
+        List<ChamadoDTO> list = repository.findPagina(filtro, ordem, ChamadoCursor.decode(cursor), tamanho + 1);
+        Long total = contarTotal ? repository.contar(filtro) : null;
+
+        return Pagina.de(list, tamanho, x -> x, x -> ChamadoCursor.de(x).encode(), total);
+    }
+
+    /**
+     * Retorna a quantidade de chamados visíveis ao usuário logado, por status e por prioridade,
+     * a partir dos contadores em memória (sem consultar o banco).
+     * * ADMIN: todos os chamados, com a divisão por técnico.
+     * * TÉCNICO: apenas os chamados atribuídos a ele.
+     * * CLIENTE: apenas os chamados abertos por ele.
+     *
+     * @return As {@link ChamadoEstatisticasDTO} do escopo do usuário.
+     * @throws AuthorizationException Se o usuário não estiver autenticado.
+     */
+    public ChamadoEstatisticasDTO estatisticas() {
+        ChamadoFiltro escopo = aplicarEscopo(new ChamadoFiltro());
+        return contadores.estatisticas(escopo.getTecnico(), escopo.getCliente());
+    }
+
+    /**
+     * Abre uma assinatura (Server-Sent Events) das criações, alterações e exclusões dos chamados
+     * visíveis ao usuário logado, com as mesmas regras de {@link #findAll}.
+     *
+     * @return O emissor da resposta 'text/event-stream' (ver {@link DifusorChamados}).
+     * @throws AuthorizationException Se o usuário não estiver autenticado.
+     */
+    public ResponseBodyEmitter acompanhar() {
+        ChamadoFiltro escopo = aplicarEscopo(new ChamadoFiltro());
+        return difusor.assinar(escopo.getTecnico(), escopo.getCliente());
+    }
+
+    /**
+     * Busca chamados por palavras do título e das observações, do mais para o menos relevante.
+     * * A busca não diferencia acentos nem maiúsculas e aplica as mesmas regras de perfil de {@link #findAll}.
+     *
+     * @param consulta O texto buscado.
+     * @param limite O número máximo de chamados retornados.
+     * @return Uma {@link List} de {@link ChamadoDTO} ordenada por relevância.
+     * @throws AuthorizationException Se o usuário não estiver autenticado.
+     */
+    public List<ChamadoDTO> buscar(String consulta, int limite) {
+        ChamadoFiltro escopo = aplicarEscopo(new ChamadoFiltro());
+
+        List<Integer> ids = searchIndex.buscar(consulta, escopo.getTecnico(), escopo.getCliente(), limite);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, ChamadoDTO> porId = repository.findDTOsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ChamadoDTO::getId, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Exporta os chamados do filtro, em ordem de ID, escrevendo cada um assim que é lido do banco.
+     * * Aplica as mesmas regras de perfil de {@link #findAll}; a memória usada não depende
+     * do número de chamados exportados.
+     *
+     * @param filtro Os critérios de status, prioridade, técnico, cliente e datas.
+     * @param formato O formato de saída (NDJSON ou CSV).
+     * @param out O destino da exportação.
+     * @throws IOException Se a escrita falhar (por exemplo, o cliente desconectou).
+     * @throws AuthorizationException Se o usuário não estiver autenticado.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(ChamadoFiltro filtro, FormatoExportacao formato, Writer out) throws IOException {
+        aplicarEscopo(filtro);
+
+        try (Stream<ChamadoDTO> stream = repository.streamAll(filtro, exportFetchSize)) {
+            formato.escreverCabecalho(out);
+            Iterator<ChamadoDTO> it = stream.iterator();
+            if (it.hasNext()) {
+                // O primeiro registro sai imediatamente; os demais seguem pelo buffer da resposta.
+                formato.escrever(it.next(), objectMapper, out);
+                out.flush();
+            }
+            while (it.hasNext()) {
+                formato.escrever(it.next(), objectMapper, out);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Restringe o filtro aos chamados visíveis ao usuário logado.
+     * * ADMIN: todos os chamados (pode filtrar por qualquer técnico ou cliente).
+     * * TÉCNICO: apenas os chamados atribuídos a ele.
+     * * CLIENTE: apenas os chamados abertos por ele.
+     *
+     * @param filtro O filtro a ser restringido.
+     * @return O próprio filtro.
      * @throws AuthorizationException Se o usuário não estiver autenticado.
      */
-    public List<ChamadoDTO> findAll() {
+    private ChamadoFiltro aplicarEscopo(ChamadoFiltro filtro) {
         UserSS usuarioLogado = UserService.authenticated();
 
         if (usuarioLogado == null) {
             throw new AuthorizationException("Usuário não autenticado.");
         }
 
-        List<Chamado> list;
-
-        if (usuarioLogado.hasRole("ADMIN")) {
-            list = repository.findAll();
+        if (usuarioLogado.hasPerfil(Perfil.TECNICO) && !usuarioLogado.hasPerfil(Perfil.ADMIN)) {
+            filtro.setTecnico(usuarioLogado.getId());
         } 
-        else if (usuarioLogado.hasRole("TECNICO")) {
-            list = repository.findByTecnicoId(usuarioLogado.getId());
-        } 
-        else {
-            list = repository.findByClienteId(usuarioLogado.getId());
+        else if (!usuarioLogado.hasPerfil(Perfil.ADMIN)) {
+            filtro.setCliente(usuarioLogado.getId());
         }
-
-        return list.stream().map(ChamadoDTO::new).collect(Collectors.toList());
+        return filtro;
     }
 
 
     /**
      * Cria um novo chamado a partir de um DTO.
      * * Garante que o ID do DTO seja nulo para forçar a criação de um novo registro.
+     * * Sem técnico informado, escolhe o de menor carga entre os que têm as habilidades exigidas
+     * (ver {@link AtribuicaoTecnicos}).
      * * Valida a existência do Técnico e do Cliente referenciados no DTO.
+     * * Grava o evento CRIADO no outbox na mesma transação (ver {@link OutboxChamados}).
      *
      * @param dto O {@link ChamadoDTO} com os dados para criação.
      * @return O objeto {@link Chamado} recém-criado e persistido.
@@ -132,6 +465,29 @@ public class ChamadoService {
         dto.setId(null);
         UserSS usuarioLogado = UserService.authenticated();
 
+        if (dto.getTecnico() != null) {
+            Chamado newObj = criar(dto);
+            atribuicao.registrar(null, new ChamadoDTO(newObj));
+            return newObj;
+        }
+        // A carga fica reservada desde a escolha, para que criações simultâneas não escolham todas o mesmo técnico.
+        atribuicao.atribuir(dto);
+        try {
+            return criar(dto);
+        } catch (RuntimeException e) {
+            atribuicao.registrar(dto, null);
+            throw e;
+        }
+    }
+
+    /**
+     * Método auxiliar que valida as referências, grava o chamado e atualiza o índice de busca e os contadores.
+     *
+     * @param dto O {@link ChamadoDTO} com o técnico já definido.
+     * @return O objeto {@link Chamado} recém-criado e persistido.
+     * @throws ObjectNotFoundException Se o Técnico ou Cliente referenciado não for encontrado.
+     */
+    private Chamado criar(ChamadoDTO dto) {
         Tecnico tecnico = tecnicoRepository.findById(dto.getTecnico())
                 .orElseThrow(() -> new ObjectNotFoundException("Tecnico não encontrado! ID: " + dto.getTecnico()));
 
@@ -146,8 +502,23 @@ public class ChamadoService {
              throw new ObjectNotFoundException("ID " + dto.getCliente() + " não representa um Cliente válido (Erro de Mapeamento).");
         }
 
-        Chamado newObj = new Chamado(dto, tecnico, cliente);
-        return repository.save(newObj);
+        Chamado chamado = new Chamado(dto, tecnico, cliente);
+        if (chamado.getStatus() != Status.ENCERRADO) {
+            chamado.setPrazoSla(prazosSla.prazo(chamado.getPrioridade(), LocalDateTime.now()));
+        }
+        return contadores.escrita(() -> {
+            Chamado newObj = new TransactionTemplate(transactionManager).execute(status -> {
+                Chamado salvo = repository.save(chamado);
+                outbox.registrar(TipoEventoChamado.CRIADO, new ChamadoDTO(salvo));
+                return salvo;
+            });
+            ChamadoDTO criado = new ChamadoDTO(newObj);
+            searchIndex.indexar(criado);
+            contadores.registrar(null, criado);
+            fila.registrar(null, criado);
+            slaAgendador.agendar(criado);
+            return newObj;
+        });
     }
 
     /**
@@ -155,17 +526,29 @@ public class ChamadoService {
      * * Busca o chamado existente pelo ID e o valida para acesso (via {@code findById}).
      * * Atualiza a data de fechamento se o status for alterado para ENCERRADO.
      * * Valida a existência das referências de Técnico e Cliente.
+     * * A gravação é condicionada à versão lida ({@code @Version}): se outra requisição alterar o
+     * chamado nesse meio tempo, nada é sobrescrito e a atualização falha com conflito.
+     * * Grava o evento ALTERADO no outbox na mesma transação (ver {@link OutboxChamados}).
      *
      * @param id O ID do chamado a ser atualizado.
      * @param dto O {@link ChamadoDTO} com os dados de atualização.
+     * @param versaoEsperada A versão que o cliente editou (do 'If-Match'), ou {@code null} para não verificar.
      * @return O objeto {@link Chamado} atualizado.
      * @throws ObjectNotFoundException Se o chamado, Técnico ou Cliente não for encontrado.
+     * @throws ConflictException Se o chamado não estiver mais na versão esperada.
+     * @throws DataIntegrityViolationException Se a mudança de status não for permitida.
      */
-    public Chamado update(Integer id, ChamadoDTO dto) {
+    public Chamado update(Integer id, ChamadoDTO dto, Long versaoEsperada) {
         Chamado existing = findById(id);
+        ChamadoDTO anterior = new ChamadoDTO(existing);
         UserSS usuarioLogado = UserService.authenticated();
+
+        if (versaoEsperada != null && !versaoEsperada.equals(existing.getVersao())) {
+            throw new ConflictException("O chamado foi alterado por outra requisição. Recarregue e tente novamente.");
+        }
         
         if (dto.getStatus() != null && !dto.getStatus().equals(existing.getStatus())) {
+            validarTransicao(existing.getStatus(), dto.getStatus());
             
             if (dto.getStatus() == Status.ENCERRADO) { 
                 existing.setDataFechamento(LocalDate.now()); 
@@ -194,12 +577,421 @@ public class ChamadoService {
         existing.setTecnico(tecnico);
         existing.setCliente(cliente);
 
-        return repository.save(existing);
+        // o prazo de SLA recomeça ao mudar a prioridade ou ao reabrir
+        if (existing.getStatus() != Status.ENCERRADO
+                && (anterior.getStatus() == Status.ENCERRADO || anterior.getPrioridade() != existing.getPrioridade())) {
+            existing.setPrazoSla(prazosSla.prazo(existing.getPrioridade(), LocalDateTime.now()));
+        }
+
+        // grava já incrementando a versão, para o evento e a resposta
+        return contadores.escrita(() -> {
+            Chamado updatedObj = new TransactionTemplate(transactionManager).execute(status -> {
+                Chamado salvo = repository.saveAndFlush(existing);
+                outbox.registrar(TipoEventoChamado.ALTERADO, anterior, new ChamadoDTO(salvo));
+                return salvo;
+            });
+            ChamadoDTO atualizado = new ChamadoDTO(updatedObj);
+            searchIndex.indexar(atualizado);
+            registrarAlteracao(anterior, atualizado);
+            return updatedObj;
+        });
+    }
+
+    /**
+     * Altera apenas o status de um chamado, seguindo a tabela de transições de {@link Status}.
+     * * A troca é um único UPDATE condicionado ao status lido (compare-and-set), sem lock de linha:
+     * se outra requisição mudar o status antes, nenhuma linha é alterada e a troca falha com conflito.
+     * * A data de fechamento é preenchida ao encerrar e limpa ao reabrir; ao reabrir, o prazo de SLA recomeça.
+     *
+     * @param id O ID do chamado.
+     * @param novo O novo status.
+     * @return O {@link ChamadoDTO} atualizado.
+     * @throws ObjectNotFoundException Se o chamado não for encontrado.
+     * @throws AuthorizationException Se o usuário não tiver permissão para acessar o chamado.
+     * @throws DataIntegrityViolationException Se a transição não for permitida.
+     * @throws ConflictException Se o status tiver sido alterado por outra requisição.
+     */
+    public ChamadoDTO alterarStatus(Integer id, Status novo) {
+        if (novo == null) {
+            throw new DataIntegrityViolationException("O novo status é obrigatório.");
+        }
+        ChamadoRepository.VersaoChamado atual = repository.findVersaoById(id)
+                .orElseThrow(() -> new ObjectNotFoundException("Chamado não encontrado! ID: " + id));
+
+        validarPropriedade(atual.getCliente());
+
+        if (atual.getStatus() == novo) {
+            throw new ConflictException("O chamado já está com o status " + novo.getDescricao() + ".");
+        }
+        validarTransicao(atual.getStatus(), novo);
+
+        LocalDate dataFechamento = novo == Status.ENCERRADO ? LocalDate.now() : null;
+        LocalDateTime prazoSla = atual.getStatus() == Status.ENCERRADO
+                ? prazosSla.prazo(atual.getPrioridade(), LocalDateTime.now())
+                : atual.getPrazoSla();
+        return contadores.escrita(() -> {
+            ChamadoDTO atualizado = new TransactionTemplate(transactionManager).execute(status -> {
+                if (repository.alterarStatus(id, atual.getStatus(), novo, dataFechamento, prazoSla,
+                        RelogioAlteracoes.proxima()) == 0) {
+                    throw new ConflictException("O status do chamado foi alterado por outra requisição. Recarregue e tente novamente.");
+                }
+                ChamadoDTO dto = repository.findDTOById(id)
+                        .orElseThrow(() -> new ObjectNotFoundException("Chamado não encontrado! ID: " + id));
+                outbox.registrar(TipoEventoChamado.ALTERADO, dto);
+                return dto;
+            });
+            registrarStatus(atualizado, atual.getStatus());
+            return atualizado;
+        });
+    }
+
+    /**
+     * Altera o status de vários chamados de uma vez (apenas ADMIN), seguindo a tabela de transições de {@link Status}.
+     * * Os chamados são os IDs informados ou, se não houver IDs, os do filtro. São alterados em lotes de
+     * 'chamados.lote.tamanho', cada um com um único UPDATE em sua própria transação; chamados que não admitem
+     * a transição (ou já estão no status) são mantidos. Assim como em {@link #alterarStatus}, a data de fechamento
+     * é preenchida ao encerrar e limpa nos demais casos, e o prazo de SLA recomeça ao reabrir.
+     *
+     * @param ids Os IDs dos chamados (opcional se houver filtro).
+     * @param filtro Os critérios de seleção, usados quando não há IDs.
+     * @param novo O novo status.
+     * @return O {@link ResultadoLoteDTO} com as linhas alteradas em cada lote.
+     * @throws AuthorizationException Se o usuário não for um ADMIN.
+     * @throws DataIntegrityViolationException Se o status não for informado, ou se não houver IDs nem filtro.
+     */
+    public ResultadoLoteDTO alterarStatusEmLote(List<Integer> ids, ChamadoFiltro filtro, Status novo) {
+        validarAdmin("Acesso negado. Apenas administradores alteram chamados em lote.");
+        if (novo == null) {
+            throw new DataIntegrityViolationException("O novo status é obrigatório.");
+        }
+        List<Status> origens = Arrays.stream(Status.values())
+                .filter(s -> s.podeMudarPara(novo))
+                .collect(Collectors.toList());
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDate dataFechamento = novo == Status.ENCERRADO ? agora.toLocalDate() : null;
+        LocalDateTime prazoAlta = prazosSla.prazo(Prioridade.ALTA, agora);
+        LocalDateTime prazoMedia = prazosSla.prazo(Prioridade.MEDIA, agora);
+        LocalDateTime prazoBaixa = prazosSla.prazo(Prioridade.BAIXA, agora);
+
+        return emLotes(ids, filtro, lote -> repository.alterarStatusEmLote(lote, origens, novo, dataFechamento,
+                Status.ENCERRADO, Prioridade.ALTA, Prioridade.MEDIA, prazoAlta, prazoMedia, prazoBaixa,
+                RelogioAlteracoes.proxima()));
+    }
+
+    /**
+     * Reatribui vários chamados a um técnico de uma vez (apenas ADMIN).
+     * * Os chamados são os IDs informados ou, se não houver IDs, os do filtro. São alterados em lotes de
+     * 'chamados.lote.tamanho', cada um com um único UPDATE em sua própria transação; os que já eram do técnico
+     * são mantidos.
+     *
+     * @param ids Os IDs dos chamados (opcional se houver filtro).
+     * @param filtro Os critérios de seleção, usados quando não há IDs.
+     * @param tecnico O ID do novo técnico.
+     * @return O {@link ResultadoLoteDTO} com as linhas alteradas em cada lote.
+     * @throws AuthorizationException Se o usuário não for um ADMIN.
+     * @throws DataIntegrityViolationException Se o técnico não for informado, ou se não houver IDs nem filtro.
+     * @throws ObjectNotFoundException Se o técnico não for encontrado.
+     */
+    public ResultadoLoteDTO reatribuirEmLote(List<Integer> ids, ChamadoFiltro filtro, Integer tecnico) {
+        validarAdmin("Acesso negado. Apenas administradores alteram chamados em lote.");
+        if (tecnico == null) {
+            throw new DataIntegrityViolationException("O técnico é obrigatório.");
+        }
+        if (!tecnicoRepository.existsById(tecnico)) {
+            throw new ObjectNotFoundException("Tecnico não encontrado! ID: " + tecnico);
+        }
+        Tecnico novo = tecnicoRepository.getOne(tecnico);
+
+        return emLotes(ids, filtro, lote -> repository.reatribuirEmLote(lote, novo, RelogioAlteracoes.proxima()));
+    }
+
+    /**
+     * Método auxiliar que percorre os chamados de uma operação em lote, de 'chamados.lote.tamanho' em
+     * 'chamados.lote.tamanho' e em ordem de ID: da lista informada ou, sem lista, do filtro (por keyset,
+     * sem OFFSET). Cada lote é confirmado antes do próximo, então uma falha só desfaz o lote corrente.
+     *
+     * @param ids Os IDs dos chamados, ou {@code null}/vazio para usar o filtro.
+     * @param filtro Os critérios de seleção.
+     * @param alteracao O UPDATE de um lote, que devolve as linhas alteradas.
+     * @return O resultado acumulado dos lotes.
+     * @throws DataIntegrityViolationException Se não houver IDs nem filtro.
+     */
+    private ResultadoLoteDTO emLotes(List<Integer> ids, ChamadoFiltro filtro, ToIntFunction<List<Integer>> alteracao) {
+        boolean porIds = ids != null && !ids.isEmpty();
+        if (!porIds && (filtro == null || filtro.isVazio())) {
+            throw new DataIntegrityViolationException("Informe os IDs dos chamados ou ao menos um filtro.");
+        }
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        if (porIds) {
+            // em ordem de ID, como no filtro: os locks de linha são sempre tomados na mesma ordem
+            List<Integer> distintos = ids.stream().filter(Objects::nonNull).distinct().sorted().collect(Collectors.toList());
+            for (int i = 0; i < distintos.size(); i += tamanhoLote) {
+                aplicarLote(distintos.subList(i, Math.min(i + tamanhoLote, distintos.size())), alteracao, transacao, resultado);
+            }
+        } else {
+            List<Integer> lote = repository.findIds(filtro, null, tamanhoLote);
+            while (!lote.isEmpty()) {
+                aplicarLote(lote, alteracao, transacao, resultado);
+                lote = repository.findIds(filtro, lote.get(lote.size() - 1), tamanhoLote);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Método auxiliar que aplica o UPDATE de um lote em uma transação: trava e lê os chamados,
+     * executa o UPDATE, relê os alterados e grava os seus eventos no outbox. Depois da confirmação, repassa cada alteração
+     * ao índice de busca, aos contadores, à atribuição, à fila e aos temporizadores de SLA.
+     *
+     * @param lote Os IDs do lote.
+     * @param alteracao O UPDATE do lote.
+     * @param transacao O modelo da transação do lote.
+     * @param resultado O resultado acumulado, que recebe as linhas alteradas pelo lote.
+     */
+    private void aplicarLote(List<Integer> lote, ToIntFunction<List<Integer>> alteracao, TransactionTemplate transacao,
+            ResultadoLoteDTO resultado) {
+        contadores.escrita(() -> {
+            Map<Integer, ChamadoDTO> antes = new HashMap<>();
+            int[] alterados = new int[1];
+            List<ChamadoDTO> depois = transacao.execute(status -> {
+                repository.travar(lote).forEach(c -> antes.put(c.getId(), new ChamadoDTO(c)));
+                alterados[0] = antes.isEmpty() ? 0 : alteracao.applyAsInt(lote);
+                if (alterados[0] == 0) {
+                    return Collections.<ChamadoDTO>emptyList();
+                }
+                List<ChamadoDTO> relidos = repository.findDTOsByIdIn(lote).stream()
+                        .filter(x -> antes.containsKey(x.getId())
+                                && !Objects.equals(antes.get(x.getId()).getVersao(), x.getVersao()))
+                        .sorted(Comparator.comparing(ChamadoDTO::getId))
+                        .collect(Collectors.toList());
+                relidos.forEach(x -> outbox.registrar(TipoEventoChamado.ALTERADO, antes.get(x.getId()), x));
+                return relidos;
+            });
+            resultado.registrarLote(antes.size(), alterados[0]);
+
+            for (ChamadoDTO atualizado : depois) {
+                ChamadoDTO anterior = antes.get(atualizado.getId());
+                if (!Objects.equals(anterior.getTecnico(), atualizado.getTecnico())) {
+                    searchIndex.indexar(atualizado);
+                }
+                registrarAlteracao(anterior, atualizado);
+            }
+        });
+    }
+
+    /**
+     * Consulta, sem assumir, o próximo chamado ABERTO da fila de um técnico: maior prioridade,
+     * depois o mais antigo (ver {@link FilaTriagem}).
+     *
+     * @param tecnico O ID do técnico; obrigatório apenas para ADMINs (técnicos consultam a própria fila).
+     * @return O {@link ChamadoDTO} do próximo chamado, ou {@code null} se a fila estiver vazia.
+     * @throws AuthorizationException Se o usuário não for técnico ou ADMIN.
+     */
+    public ChamadoDTO proximo(Integer tecnico) {
+        Integer id = fila.proximo(tecnicoDaFila(tecnico));
+        return id == null ? null : repository.findDTOById(id).orElse(null);
+    }
+
+    /**
+     * Assume o próximo chamado da fila de um técnico, passando-o de ABERTO para ANDAMENTO.
+     * * A retirada da fila é atômica e a troca de status é um compare-and-set no banco: dois técnicos
+     * (ou duas requisições do mesmo técnico) nunca assumem o mesmo chamado. Entradas que deixaram
+     * de valer (chamado alterado por outra requisição) são descartadas e a próxima é tentada.
+     *
+     * @param tecnico O ID do técnico; obrigatório apenas para ADMINs (técnicos assumem da própria fila).
+     * @return O {@link ChamadoDTO} assumido, ou {@code null} se a fila estiver vazia.
+     * @throws AuthorizationException Se o usuário não for técnico ou ADMIN.
+     */
+    public ChamadoDTO reivindicarProximo(Integer tecnico) {
+        Integer dono = tecnicoDaFila(tecnico);
+        Integer id;
+        while ((id = fila.retirar(dono)) != null) {
+            Integer candidato = id;
+            ChamadoDTO assumido = contadores.escrita(() -> {
+                ChamadoDTO dto = new TransactionTemplate(transactionManager).execute(status -> {
+                    if (repository.reivindicar(candidato, dono, Status.ABERTO, Status.ANDAMENTO,
+                            RelogioAlteracoes.proxima()) == 0) {
+                        return null;
+                    }
+                    ChamadoDTO relido = repository.findDTOById(candidato).orElse(null);
+                    if (relido != null) {
+                        outbox.registrar(TipoEventoChamado.ALTERADO, relido);
+                    }
+                    return relido;
+                });
+                if (dto != null) {
+                    registrarStatus(dto, Status.ABERTO);
+                }
+                return dto;
+            });
+            if (assumido != null) {
+                return assumido;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Escala um chamado cujo prazo de SLA venceu (chamado pelo {@link SlaAgendador}).
+     * * Abaixo da prioridade mais alta, sobe um nível de prioridade e recebe o prazo correspondente.
+     * * Já na prioridade mais alta, fica sem prazo e é redistribuído para o técnico de menor carga
+     * (ver {@link AtribuicaoTecnicos}; as habilidades exigidas não são gravadas e não entram na escolha).
+     * * Em ambos os casos publica um {@link ChamadoEscalonadoEvent}. Chamados encerrados ou cujo prazo
+     * foi renovado nesse meio tempo são ignorados (ou reagendados).
+     *
+     * @param id O ID do chamado.
+     * @throws org.springframework.dao.OptimisticLockingFailureException Se o chamado for alterado durante a escalada.
+     */
+    public void escalarSla(Integer id) {
+        Chamado chamado = repository.findById(id).orElse(null);
+        if (chamado == null || chamado.getStatus() == Status.ENCERRADO || chamado.getPrazoSla() == null) {
+            return;
+        }
+        ChamadoDTO anterior = new ChamadoDTO(chamado);
+        LocalDateTime agora = LocalDateTime.now();
+        if (chamado.getPrazoSla().isAfter(agora)) {
+            slaAgendador.agendar(anterior);
+            return;
+        }
+
+        Prioridade prioridade = PrazosSla.escalar(chamado.getPrioridade());
+        if (prioridade != null) {
+            chamado.setPrioridade(prioridade);
+            chamado.setPrazoSla(prazosSla.prazo(prioridade, agora));
+        } else {
+            chamado.setPrazoSla(null);
+            Integer tecnico = tecnicoComMenorCarga(anterior);
+            if (tecnico != null && !tecnico.equals(anterior.getTecnico())) {
+                chamado.setTecnico(tecnicoRepository.getOne(tecnico));
+            }
+        }
+
+        ChamadoDTO escalado = contadores.escrita(() -> {
+            ChamadoDTO dto = new TransactionTemplate(transactionManager).execute(status -> {
+                ChamadoDTO salvo = new ChamadoDTO(repository.saveAndFlush(chamado));
+                outbox.registrar(TipoEventoChamado.ALTERADO, anterior, salvo);
+                return salvo;
+            });
+            if (!Objects.equals(anterior.getTecnico(), dto.getTecnico())) {
+                searchIndex.indexar(dto);
+            }
+            registrarAlteracao(anterior, dto);
+            return dto;
+        });
+        eventos.publishEvent(new ChamadoEscalonadoEvent(escalado, anterior.getPrioridade()));
+    }
+
+    /**
+     * Método auxiliar que consulta o técnico de menor carga, sem deixar carga reservada.
+     *
+     * @param chamado O chamado a redistribuir.
+     * @return O ID do técnico, ou {@code null} se não houver técnicos disponíveis.
+     */
+    private Integer tecnicoComMenorCarga(ChamadoDTO chamado) {
+        ChamadoDTO reserva = new ChamadoDTO();
+        reserva.setPrioridade(chamado.getPrioridade());
+        reserva.setStatus(chamado.getStatus());
+        try {
+            Integer tecnico = atribuicao.atribuir(reserva);
+            atribuicao.registrar(reserva, null);
+            return tecnico;
+        } catch (ObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Método auxiliar que define de qual fila o usuário logado pode consultar ou assumir chamados.
+     *
+     * @param tecnico O técnico pedido (ignorado para técnicos, que só usam a própria fila).
+     * @return O ID do técnico dono da fila.
+     * @throws AuthorizationException Se o usuário não for técnico ou ADMIN.
+     * @throws DataIntegrityViolationException Se um ADMIN não informar o técnico.
+     */
+    private Integer tecnicoDaFila(Integer tecnico) {
+        UserSS usuarioLogado = UserService.authenticated();
+
+        if (usuarioLogado == null) {
+            throw new AuthorizationException("Usuário não autenticado.");
+        }
+        if (usuarioLogado.hasPerfil(Perfil.ADMIN)) {
+            if (tecnico == null) {
+                throw new DataIntegrityViolationException("Informe o técnico da fila.");
+            }
+            return tecnico;
+        }
+        if (!usuarioLogado.hasPerfil(Perfil.TECNICO)) {
+            throw new AuthorizationException("Acesso negado! Apenas técnicos assumem chamados da fila.");
+        }
+        return usuarioLogado.getId();
+    }
+
+    /**
+     * Método auxiliar que repassa uma alteração gravada ao histórico, aos contadores, à atribuição,
+     * à fila de triagem e aos temporizadores de SLA (o índice de busca fica a cargo de quem altera).
+     *
+     * @param anterior O chamado antes da alteração.
+     * @param atualizado O chamado depois da alteração.
+     */
+    private void registrarAlteracao(ChamadoDTO anterior, ChamadoDTO atualizado) {
+        historico.registrar(anterior, atualizado);
+        contadores.registrar(anterior, atualizado);
+        atribuicao.registrar(anterior, atualizado);
+        fila.registrar(anterior, atualizado);
+        slaAgendador.agendar(atualizado);
+    }
+
+    /**
+     * Método auxiliar que repassa uma troca de status ao histórico, aos contadores, à atribuição e à fila de triagem.
+     *
+     * @param chamado O chamado já com o novo status.
+     * @param anterior O status anterior.
+     */
+    private void registrarStatus(ChamadoDTO chamado, Status anterior) {
+        historico.registrarStatus(chamado, anterior);
+        contadores.registrarStatus(chamado, anterior);
+        atribuicao.registrarStatus(chamado, anterior);
+        fila.registrarStatus(chamado);
+        slaAgendador.agendar(chamado);
+    }
+
+    /**
+     * Método auxiliar que exige um ADMIN logado.
+     *
+     * @param mensagem A mensagem do erro para usuários que não são ADMIN.
+     * @throws AuthorizationException Se o usuário não for um ADMIN ou não estiver autenticado.
+     */
+    private void validarAdmin(String mensagem) {
+        UserSS usuarioLogado = UserService.authenticated();
+
+        if (usuarioLogado == null) {
+            throw new AuthorizationException("Usuário não autenticado.");
+        }
+        if (!usuarioLogado.hasPerfil(Perfil.ADMIN)) {
+            throw new AuthorizationException(mensagem);
+        }
+    }
+
+    /**
+     * Método auxiliar que valida a mudança de status contra a tabela de transições.
+     *
+     * @param atual O status atual do chamado.
+     * @param novo O status pedido.
+     * @throws DataIntegrityViolationException Se a transição não for permitida.
+     */
+    private void validarTransicao(Status atual, Status novo) {
+        if (!atual.podeMudarPara(novo)) {
+            throw new DataIntegrityViolationException("Transição de status inválida: "
+                    + atual.getDescricao() + " -> " + novo.getDescricao() + ".");
+        }
     }
 
     /**
      * Deleta um chamado pelo seu ID.
      * * Requer que o usuário logado seja um ADMIN para executar a exclusão.
+     * * Grava o evento EXCLUIDO no outbox na mesma transação (ver {@link OutboxChamados}).
      *
      * @param id O ID do chamado a ser deletado.
      * @throws ObjectNotFoundException Se o chamado não for encontrado.
@@ -212,9 +1004,21 @@ public class ChamadoService {
         if (usuarioLogado == null) {
             throw new AuthorizationException("Usuário não autenticado.");
         }
-        if (!usuarioLogado.hasRole("ADMIN")) {
+        if (!usuarioLogado.hasPerfil(Perfil.ADMIN)) {
             throw new AuthorizationException("Acesso negado. Apenas administradores podem excluir chamados.");
         }
-        repository.delete(obj);
+        ChamadoDTO removido = new ChamadoDTO(obj);
+        contadores.escrita(() -> {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                repository.delete(obj);
+                repository.flush();
+                outbox.registrar(TipoEventoChamado.EXCLUIDO, removido);
+            });
+            searchIndex.remover(obj.getId());
+            contadores.registrar(removido, null);
+            atribuicao.registrar(removido, null);
+            fila.registrar(removido, null);
+            slaAgendador.cancelar(obj.getId());
+        });
     }
 }
\ No newline at end of file
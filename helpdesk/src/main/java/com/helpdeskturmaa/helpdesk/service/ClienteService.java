@@ -6,15 +6,22 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder; 
 import org.springframework.stereotype.Service;
 
 import com.helpdeskturmaa.helpdesk.domain.Cliente;
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
 import com.helpdeskturmaa.helpdesk.dto.ClienteDTO;
+import com.helpdeskturmaa.helpdesk.dto.Pagina;
+import com.helpdeskturmaa.helpdesk.dto.VersaoColecao;
 import com.helpdeskturmaa.helpdesk.repositories.ClienteRepository;
 import com.helpdeskturmaa.helpdesk.resources.exceptions.AuthorizationException;
 import com.helpdeskturmaa.helpdesk.resources.exceptions.DataIntegrityViolationException;
 import com.helpdeskturmaa.helpdesk.resources.exceptions.ObjectNotFoundException;
+import com.helpdeskturmaa.helpdesk.security.PrincipalCache;
 import com.helpdeskturmaa.helpdesk.security.UserSS;
 
 /**
@@ -42,6 +49,18 @@ public class ClienteService {
     @Autowired 
     private UserService userService; 
 
+    /**
+     * Cache dos usuários autenticados, invalidado quando o cliente muda.
+     */
+    @Autowired
+    private PrincipalCache principalCache;
+
+    /**
+     * Cache dos clientes por ID e das páginas da listagem, invalidado a cada escrita.
+     */
+    @Autowired
+    private CacheCadastros cache;
+
     /**
      * Busca um cliente pelo seu ID.
      * * Aplica regras de autorização:
@@ -54,45 +73,111 @@ public class ClienteService {
      * @throws AuthorizationException Se o usuário logado não tiver permissão para acessar os dados.
      */
     public Cliente findById(Integer id) {
+        validarAcesso(id);
+
+        Optional<Cliente> obj = repository.findById(id);
+        return obj.orElseThrow(() -> new ObjectNotFoundException("Cliente não encontrado! ID: " + id));
+    }
+
+    /**
+     * Busca um cliente pelo seu ID, pelo cache de cadastros (ver {@link CacheCadastros}).
+     * * Aplica as mesmas regras de autorização de {@link #findById}.
+     *
+     * @param id O ID do cliente a ser buscado.
+     * @return O {@link ClienteDTO} do cliente, sem a senha; compartilhado, não deve ser alterado.
+     * @throws ObjectNotFoundException Se o cliente não for encontrado.
+     * @throws AuthorizationException Se o usuário logado não tiver permissão para acessar os dados.
+     */
+    public ClienteDTO findDTOById(Integer id) {
+        validarAcesso(id);
+
+        return cache.getClientes().buscar(id, k -> new ClienteDTO(findById(k)));
+    }
+
+    /**
+     * Busca apenas a versão de um cliente, para responder GETs condicionais sem carregá-lo.
+     * * Aplica as mesmas regras de autorização de {@link #findById}.
+     *
+     * @param id O ID do cliente.
+     * @return A versão atual do cliente.
+     * @throws ObjectNotFoundException Se o cliente não for encontrado.
+     * @throws AuthorizationException Se o usuário logado não tiver permissão para acessar os dados.
+     */
+    public Long findVersaoById(Integer id) {
+        validarAcesso(id);
+
+        return repository.findVersaoById(id)
+                .orElseThrow(() -> new ObjectNotFoundException("Cliente não encontrado! ID: " + id));
+    }
+
+    /**
+     * Calcula a versão da listagem de clientes visível ao usuário logado, usada como ETag.
+     * * Clientes comuns veem apenas o próprio cadastro, então a versão é a dele.
+     *
+     * @return A versão da coleção.
+     * @throws AuthorizationException Se o usuário não estiver autenticado.
+     */
+    public String versaoColecao() {
         UserSS usuarioLogado = UserService.authenticated();
+
         if (usuarioLogado == null) {
             throw new AuthorizationException("Usuário não autenticado.");
         }
-        if (usuarioLogado.hasRole("CLIENTE") && 
-            !usuarioLogado.hasRole("ADMIN") && 
-            !usuarioLogado.hasRole("TECNICO") && 
-            !usuarioLogado.getId().equals(id)) {
-            
-            throw new AuthorizationException("Acesso negado! Cliente só pode ver seus próprios dados.");
+        if (isApenasCliente(usuarioLogado)) {
+            return "c" + usuarioLogado.getId() + "-" + findVersaoById(usuarioLogado.getId());
         }
+        return repository.versaoColecao().toString();
+    }
 
-        Optional<Cliente> obj = repository.findById(id);
-        return obj.orElseThrow(() -> new ObjectNotFoundException("Cliente não encontrado! ID: " + id));
+    /**
+     * Calcula a versão da listagem a partir dos clientes já lidos por {@link #findAll}, quando
+     * a página trouxe todos os clientes visíveis: o mesmo valor de {@link #versaoColecao()}, sem consultar o banco.
+     *
+     * @param clientes Todos os clientes visíveis ao usuário logado.
+     * @return A versão da coleção.
+     * @throws AuthorizationException Se o usuário não estiver autenticado.
+     */
+    public String versaoColecao(List<ClienteDTO> clientes) {
+        UserSS usuarioLogado = UserService.authenticated();
+
+        if (usuarioLogado == null) {
+            throw new AuthorizationException("Usuário não autenticado.");
+        }
+        if (isApenasCliente(usuarioLogado)) {
+            return "c" + usuarioLogado.getId() + "-" + clientes.get(0).getVersao();
+        }
+        return VersaoColecao.de(clientes, ClienteDTO::getUltimaAlteracao).toString();
     }
 
     /**
-     * Retorna uma lista de todos os clientes.
+     * Retorna uma página de clientes, em ordem de ID, pelo cache de cadastros.
      * * Aplica regras de autorização:
      * * ADMINs e TÉCNICOs retornam todos os clientes.
      * * Clientes comuns retornam apenas seus próprios dados em uma lista.
      *
-     * @return Uma {@link List} de {@link ClienteDTO} contendo os clientes permitidos.
+     * @param apos O ID do último cliente da página anterior (0 para a primeira página).
+     * @param tamanho O número máximo de clientes da página.
+     * @param contarTotal Se o total de clientes deve ser calculado.
+     * @return A {@link Pagina} de {@link ClienteDTO} contendo os clientes permitidos.
      * @throws AuthorizationException Se o usuário não estiver autenticado.
      */
-    public List<ClienteDTO> findAll() {
+    public Pagina<ClienteDTO> findAll(Integer apos, int tamanho, boolean contarTotal) {
         UserSS usuarioLogado = UserService.authenticated();
 
         if (usuarioLogado == null) {
             throw new AuthorizationException("Usuário não autenticado.");
         }
-        if (usuarioLogado.hasRole("CLIENTE") && 
-            !usuarioLogado.hasRole("ADMIN") && 
-            !usuarioLogado.hasRole("TECNICO")) {
-            Cliente cliente = findById(usuarioLogado.getId());
-            return Arrays.asList(new ClienteDTO(cliente));
+        if (isApenasCliente(usuarioLogado)) {
+            ClienteDTO cliente = findDTOById(usuarioLogado.getId());
+            return new Pagina<>(Arrays.asList(cliente), null, contarTotal ? 1L : null);
         }
-        List<Cliente> list = repository.findAll();
-        return list.stream().map(ClienteDTO::new).collect(Collectors.toList());
+        // o ClienteDTO já não copia a senha
+        return cache.getClientes().pagina(apos, tamanho, contarTotal, () -> {
+            Slice<Cliente> slice = repository.findByIdGreaterThan(apos, PageRequest.of(0, tamanho, Sort.by("id")));
+            List<ClienteDTO> list = slice.stream().map(ClienteDTO::new).collect(Collectors.toList());
+            String proximo = slice.hasNext() ? String.valueOf(list.get(list.size() - 1).getId()) : null;
+            return new Pagina<>(list, proximo, contarTotal ? repository.count() : null);
+        });
     }
 
     /**
@@ -110,7 +195,9 @@ public class ClienteService {
         validarCPFEEmail(objDTO, null); 
         
         Cliente newObj = new Cliente(objDTO.getId(), objDTO.getNome(), objDTO.getCpf(), objDTO.getEmail(), encoder.encode(objDTO.getSenha()));
-        return repository.save(newObj);
+        newObj = repository.save(newObj);
+        cache.getClientes().invalidar(newObj.getId());
+        return newObj;
     }
 
     /**
@@ -128,6 +215,7 @@ public class ClienteService {
     public Cliente update(Integer id, ClienteDTO dto) {
         dto.setId(id);
         Cliente existing = findById(id);
+        String emailAnterior = existing.getEmail();
         
         if (!dto.getCpf().equals(existing.getCpf()) || !dto.getEmail().equals(existing.getEmail())) {
             validarCPFEEmail(dto, id); 
@@ -144,7 +232,10 @@ public class ClienteService {
         existing.setEmail(dto.getEmail());
         
         try {
-            return repository.save(existing);
+            Cliente updated = repository.save(existing);
+            principalCache.invalidar(emailAnterior, updated.getEmail());
+            cache.getClientes().invalidar(id);
+            return updated;
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
              throw new DataIntegrityViolationException("CPF ou Email já cadastrados no sistema.");
         }
@@ -159,10 +250,35 @@ public class ClienteService {
      * @throws AuthorizationException Se o usuário logado não tiver permissão para a busca inicial.
      */
     public void delete(Integer id) {
-        findById(id);
+        Cliente obj = findById(id);
         repository.deleteById(id);
+        principalCache.invalidar(obj.getEmail());
+        cache.getClientes().invalidar(id);
     }
     
+    /**
+     * Método auxiliar que garante que clientes comuns só acessem seus próprios dados.
+     * * ADMINs e TÉCNICOs podem acessar qualquer cliente.
+     *
+     * @param id O ID do cliente acessado.
+     * @throws AuthorizationException Se o usuário não estiver autenticado ou não tiver permissão.
+     */
+    private void validarAcesso(Integer id) {
+        UserSS usuarioLogado = UserService.authenticated();
+        if (usuarioLogado == null) {
+            throw new AuthorizationException("Usuário não autenticado.");
+        }
+        if (isApenasCliente(usuarioLogado) && !usuarioLogado.getId().equals(id)) {
+            throw new AuthorizationException("Acesso negado! Cliente só pode ver seus próprios dados.");
+        }
+    }
+
+    private boolean isApenasCliente(UserSS usuarioLogado) {
+        return usuarioLogado.hasPerfil(Perfil.CLIENTE) &&
+               !usuarioLogado.hasPerfil(Perfil.ADMIN) &&
+               !usuarioLogado.hasPerfil(Perfil.TECNICO);
+    }
+
     /**
      * Método auxiliar para validar se o CPF e o E-mail de um DTO já existem no sistema.
      *
@@ -0,0 +1,77 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.helpdeskturmaa.helpdesk.domain.Concessao;
+import com.helpdeskturmaa.helpdesk.repositories.ConcessaoRepository;
+
+/**
+ * Concessões (leases) no banco que garantem que, com várias instâncias da aplicação,
+ * apenas uma execute determinada tarefa por vez.
+ * * Cada instância se identifica por um nome único gerado na inicialização. A concessão é renovada
+ * por um UPDATE condicionado ao dono (ou à expiração do dono anterior), sem lock de linha.
+ * * Expirações são calculadas e comparadas pelo relógio do banco: a diferença entre os relógios das
+ * instâncias não permite que duas detenham a concessão ao mesmo tempo. Localmente, quem a obtém só
+ * deve contar a duração a partir de antes da chamada (ver {@link #adquirir}).
+ */
+@Component
+public class Concessoes {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Concessoes.class);
+
+    private final String instancia = ManagementFactory.getRuntimeMXBean().getName() + "-"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    @Autowired
+    private ConcessaoRepository repository;
+
+    /**
+     * Tenta obter (ou renovar) a concessão para esta instância.
+     *
+     * @param nome o nome da concessão.
+     * @param duracao por quanto tempo ela vale a partir de agora.
+     * @return {@code true} se esta instância detém a concessão por {@code duracao}, contada de antes da chamada.
+     */
+    public boolean adquirir(String nome, Duration duracao) {
+        LocalDateTime agora = repository.agora().toLocalDateTime();
+        if (repository.renovar(nome, instancia, agora.plus(duracao)) == 1) {
+            return true;
+        }
+        if (repository.existsById(nome)) {
+            return false;
+        }
+        try {
+            repository.saveAndFlush(new Concessao(nome, instancia, agora.plus(duracao)));
+            LOG.info("Concessão '{}' criada por {}", nome, instancia);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // outra instância criou a concessão ao mesmo tempo
+            return false;
+        }
+    }
+
+    /**
+     * Devolve a concessão, se for desta instância.
+     *
+     * @param nome o nome da concessão.
+     */
+    public void liberar(String nome) {
+        repository.liberar(nome, instancia);
+    }
+
+    /**
+     * Identificador desta instância nas concessões.
+     */
+    public String getInstancia() {
+        return instancia;
+    }
+}
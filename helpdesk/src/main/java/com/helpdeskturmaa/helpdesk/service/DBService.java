@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import com.helpdeskturmaa.helpdesk.domain.Chamado;
 import com.helpdeskturmaa.helpdesk.domain.Cliente;
 import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.domain.enums.Habilidade;
 import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
 import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
 import com.helpdeskturmaa.helpdesk.domain.enums.Status;
@@ -15,6 +16,7 @@ import com.helpdeskturmaa.helpdesk.repositories.ClienteRepository;
 import com.helpdeskturmaa.helpdesk.repositories.TecnicoRepository;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 
 /**
  * Serviço responsável por instanciar e popular o banco de dados com dados iniciais (seeding)
@@ -48,15 +50,19 @@ public class DBService {
 
         Tecnico tec1 = new Tecnico(null, "Bill Gates", "76045777093", "bill@mail.com", senhaCriptografada);
         tec1.addPerfil(Perfil.TECNICO);
+        tec1.setHabilidades(EnumSet.of(Habilidade.REDE, Habilidade.ACESSO));
 
         Tecnico tec2 = new Tecnico(null, "Arisio", "7184712141243", "arisio@mail.com", senhaCriptografada);
         tec2.addPerfil(Perfil.TECNICO);
+        tec2.setHabilidades(EnumSet.of(Habilidade.SOFTWARE, Habilidade.EMAIL));
 
         Tecnico tec3 = new Tecnico(null, "Steve Jobs", "12345678901", "steve@mail.com", senhaCriptografada);
         tec3.addPerfil(Perfil.TECNICO);
+        tec3.setHabilidades(EnumSet.of(Habilidade.HARDWARE, Habilidade.BANCO_DE_DADOS));
 
         Tecnico tec4 = new Tecnico(null, "Ada Lovelace", "98765432100", "ada@mail.com", senhaCriptografada);
         tec4.addPerfil(Perfil.TECNICO);
+        tec4.setHabilidades(EnumSet.of(Habilidade.REDE, Habilidade.SOFTWARE, Habilidade.ACESSO));
 
         // Clientes
         Cliente cli1 = new Cliente(null, "Linus Torvalds", "70511744013", "linus@mail.com", senhaCriptografada);
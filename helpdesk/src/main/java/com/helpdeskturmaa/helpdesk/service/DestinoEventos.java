@@ -0,0 +1,23 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.util.List;
+
+import com.helpdeskturmaa.helpdesk.domain.EventoChamado;
+
+/**
+ * Destino dos eventos de domínio de chamados retransmitidos pelo {@link RetransmissorEventos}
+ * (notificações, relatórios, painéis). Todo bean que implementa esta interface recebe todos os eventos.
+ * * A entrega é "pelo menos uma vez": se um destino falhar, o lote inteiro é reenviado a todos os
+ * destinos no ciclo seguinte. Os destinos devem, portanto, ser idempotentes (pelo ID do evento,
+ * ou descartando versões do chamado já vistas).
+ * * Os eventos de um mesmo chamado chegam na ordem em que foram gravados.
+ */
+public interface DestinoEventos {
+
+    /**
+     * Entrega um lote de eventos. Uma exceção faz o lote ser reenviado depois.
+     *
+     * @param eventos os eventos, em ordem de gravação.
+     */
+    void entregar(List<EventoChamado> eventos);
+}
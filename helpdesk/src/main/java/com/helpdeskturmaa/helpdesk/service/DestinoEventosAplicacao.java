@@ -0,0 +1,26 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.helpdeskturmaa.helpdesk.domain.EventoChamado;
+
+/**
+ * Destino padrão dos eventos de chamados: republica cada {@link EventoChamado} como evento da aplicação,
+ * para ouvintes no próprio processo ({@code @EventListener(EventoChamado.class)}).
+ * * Os ouvintes rodam na thread do {@link RetransmissorEventos}; uma exceção em um deles faz o lote ser reenviado.
+ */
+@Component
+public class DestinoEventosAplicacao implements DestinoEventos {
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Override
+    public void entregar(List<EventoChamado> lote) {
+        lote.forEach(eventos::publishEvent);
+    }
+}
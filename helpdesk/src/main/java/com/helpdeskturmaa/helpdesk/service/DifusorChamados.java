@@ -0,0 +1,378 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpdeskturmaa.helpdesk.domain.EventoChamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.TipoEventoChamado;
+
+/**
+ * Difusão (fan-out) das alterações de chamados por Server-Sent Events: cada {@link EventoChamado}
+ * entregue pelo {@link RetransmissorEventos} é enviado às assinaturas abertas que podem ver o chamado.
+ * * As assinaturas ficam indexadas por técnico e por cliente (mais as de ADMIN, que veem tudo): um evento
+ * só percorre quem o recebe. O quadro SSE é montado uma vez por evento e compartilhado por todas elas.
+ * * Nenhuma thread fica presa a uma conexão: o Tomcat mantém as conexões ociosas em modo assíncrono, e cada
+ * assinatura tem um buffer limitado ('chamados.stream.buffer') escoado por um pool pequeno
+ * ('chamados.stream.threads'), no máximo uma tarefa por assinatura. Quem não consome no ritmo dos eventos
+ * enche o buffer e é desconectado (o cliente reconecta e relê a listagem), sem atrasar os demais.
+ * * O envio de um quadro bloqueia a thread até o cliente ler. Uma escrita que passa de
+ * 'chamados.stream.escrita-timeout' desconecta a assinatura, e a thread presa nela é substituída no pool
+ * (até dobrar o pool) até a escrita retornar: clientes que param de ler não ocupam todas as threads.
+ * * Um heartbeat ('chamados.stream.heartbeat-ms') mantém as conexões abertas em proxies e detecta as que caíram.
+ * * Cada instância difunde os eventos que o próprio retransmissor entrega; com várias instâncias, os eventos
+ * precisam passar por um {@link DestinoEventos} compartilhado (um broker) para chegar a todas.
+ */
+@Component
+public class DifusorChamados {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DifusorChamados.class);
+
+    private static final MediaType TEXTO = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
+    // comentário SSE: ignorado pelo EventSource, só mantém a conexão viva
+    private static final String HEARTBEAT = ":\n\n";
+
+    // estados da escrita de uma assinatura
+    private static final int LIVRE = 0;
+    private static final int ESCREVENDO = 1;
+    private static final int EXPIRADA = 2;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${chamados.stream.buffer:256}")
+    private int capacidade;
+
+    @Value("${chamados.stream.threads:4}")
+    private int threads;
+
+    @Value("${chamados.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${chamados.stream.escrita-timeout:10s}")
+    private Duration escritaTimeout;
+
+    private final Set<Assinante> todos = ConcurrentHashMap.newKeySet();
+
+    private final Set<Assinante> admins = ConcurrentHashMap.newKeySet();
+
+    private final Map<Integer, Set<Assinante>> porTecnico = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Set<Assinante>> porCliente = new ConcurrentHashMap<>();
+
+    // assinaturas com uma escrita em andamento
+    private final Set<Assinante> escrevendo = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor executor;
+
+    // threads presas em escritas expiradas, substituídas no pool
+    private int substituidas;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger contador = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "difusor-chamados-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Encerra as assinaturas abertas e o pool de envio.
+     */
+    @PreDestroy
+    public void encerrar() {
+        new ArrayList<>(todos).forEach(this::desconectar);
+        executor.shutdown();
+    }
+
+    /**
+     * Abre uma assinatura. Sem técnico nem cliente, recebe os eventos de todos os chamados.
+     *
+     * @param tecnico o técnico cujos chamados a assinatura recebe, ou {@code null}.
+     * @param cliente o cliente cujos chamados a assinatura recebe, ou {@code null}.
+     * @return o emissor da resposta 'text/event-stream'.
+     */
+    public ResponseBodyEmitter assinar(Integer tecnico, Integer cliente) {
+        return registrar(new Assinante(timeout.toMillis(), capacidade, tecnico, cliente));
+    }
+
+    Assinante registrar(Assinante assinante) {
+        assinante.onCompletion(() -> {
+            assinante.finalizado.set(true);
+            desconectar(assinante);
+        });
+        assinante.onError(e -> desconectar(assinante));
+        assinante.onTimeout(() -> {
+            desconectar(assinante);
+            if (assinante.finalizado.compareAndSet(false, true)) {
+                assinante.complete();
+            }
+        });
+        todos.add(assinante);
+        if (assinante.tecnico != null) {
+            porTecnico.computeIfAbsent(assinante.tecnico, k -> ConcurrentHashMap.newKeySet()).add(assinante);
+        } else if (assinante.cliente != null) {
+            porCliente.computeIfAbsent(assinante.cliente, k -> ConcurrentHashMap.newKeySet()).add(assinante);
+        } else {
+            admins.add(assinante);
+        }
+        // os cabeçalhos só são enviados com o primeiro quadro: este sai na própria requisição, quando o
+        // emissor é inicializado, e não no pool, que poderia escrever enquanto a resposta ainda é montada
+        try {
+            assinante.send(HEARTBEAT, TEXTO);
+        } catch (IOException | IllegalStateException e) {
+            desconectar(assinante);
+        }
+        return assinante;
+    }
+
+    /**
+     * Quantidade de assinaturas abertas.
+     */
+    public int assinantes() {
+        return todos.size();
+    }
+
+    /**
+     * Envia um evento às assinaturas que veem o chamado: ADMINs, o técnico e o cliente atuais.
+     * Se o técnico ou o cliente mudou, o anterior recebe um EXCLUIDO só com o ID e a versão,
+     * pois o chamado saiu da sua listagem.
+     * * Roda na thread do retransmissor e só enfileira: o envio fica com o pool do difusor.
+     *
+     * @param evento o evento entregue pelo outbox.
+     */
+    @EventListener(EventoChamado.class)
+    public void publicar(EventoChamado evento) {
+        if (todos.isEmpty()) {
+            return;
+        }
+        JsonNode dados;
+        try {
+            dados = objectMapper.readTree(evento.getDados());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            LOG.warn("Difusor de chamados: evento {} ignorado, dados inválidos", evento.getId(), e);
+            return;
+        }
+        String quadro = quadro(evento.getId(), evento.getTipo().name(), evento.getDados());
+        admins.forEach(a -> enfileirar(a, quadro));
+        enfileirar(porTecnico, inteiro(dados.get("tecnico")), quadro);
+        enfileirar(porCliente, inteiro(dados.get("cliente")), quadro);
+
+        if (evento.getTecnicoAnterior() != null || evento.getClienteAnterior() != null) {
+            String removido = quadro(evento.getId(), TipoEventoChamado.EXCLUIDO.name(), objectMapper.createObjectNode()
+                    .put("id", evento.getChamado()).put("versao", evento.getVersao()).toString());
+            enfileirar(porTecnico, evento.getTecnicoAnterior(), removido);
+            enfileirar(porCliente, evento.getClienteAnterior(), removido);
+        }
+    }
+
+    /**
+     * Desconecta as assinaturas com escritas expiradas e envia o heartbeat às demais.
+     */
+    @Scheduled(fixedDelayString = "${chamados.stream.heartbeat-ms:15000}",
+            initialDelayString = "${chamados.stream.heartbeat-ms:15000}")
+    public void pulsar() {
+        long agora = System.nanoTime();
+        long limite = escritaTimeout.toNanos();
+        escrevendo.forEach(a -> {
+            if (agora - a.inicioEscrita > limite && a.escrita.compareAndSet(ESCREVENDO, EXPIRADA)) {
+                LOG.debug("Difusor de chamados: assinatura desconectada, escrita expirada");
+                redimensionar(1);
+                desconectar(a);
+            }
+        });
+        todos.forEach(a -> enfileirar(a, HEARTBEAT));
+    }
+
+    private void enfileirar(Map<Integer, Set<Assinante>> indice, Integer chave, String quadro) {
+        Set<Assinante> assinantes = chave == null ? null : indice.get(chave);
+        if (assinantes != null) {
+            assinantes.forEach(a -> enfileirar(a, quadro));
+        }
+    }
+
+    private void enfileirar(Assinante assinante, String quadro) {
+        if (assinante.encerrado) {
+            return;
+        }
+        if (!assinante.buffer.offer(quadro)) {
+            LOG.debug("Difusor de chamados: assinatura desconectada, buffer cheio");
+            desconectar(assinante);
+            return;
+        }
+        agendar(assinante);
+    }
+
+    // tira a assinatura dos índices e agenda o encerramento no pool, que pode estar bloqueado escrevendo nela
+    private void desconectar(Assinante assinante) {
+        assinante.encerrado = true;
+        remover(assinante);
+        assinante.buffer.clear();
+        agendar(assinante);
+    }
+
+    private void agendar(Assinante assinante) {
+        if (assinante.agendado.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> escoar(assinante));
+            } catch (RuntimeException e) {
+                assinante.agendado.set(false);
+            }
+        }
+    }
+
+    private void escoar(Assinante assinante) {
+        try {
+            String quadro;
+            while (!assinante.encerrado && (quadro = assinante.buffer.poll()) != null) {
+                escrever(assinante, quadro);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // conexão fechada pelo cliente
+            assinante.encerrado = true;
+            remover(assinante);
+        } finally {
+            assinante.agendado.set(false);
+        }
+
+        if (assinante.encerrado) {
+            if (assinante.finalizado.compareAndSet(false, true)) {
+                try {
+                    assinante.complete();
+                } catch (RuntimeException e) {
+                    LOG.debug("Difusor de chamados: falha ao encerrar a assinatura", e);
+                }
+            }
+        } else if (!assinante.buffer.isEmpty()) {
+            agendar(assinante);
+        }
+    }
+
+    private void escrever(Assinante assinante, String quadro) throws IOException {
+        assinante.inicioEscrita = System.nanoTime();
+        assinante.escrita.set(ESCREVENDO);
+        escrevendo.add(assinante);
+        try {
+            assinante.enviar(quadro);
+        } finally {
+            escrevendo.remove(assinante);
+            if (assinante.escrita.getAndSet(LIVRE) == EXPIRADA) {
+                // a thread substituída voltou: o pool volta ao tamanho anterior
+                redimensionar(-1);
+            }
+        }
+    }
+
+    // substitui (+1) ou devolve (-1) uma thread presa; o pool não passa do dobro
+    private synchronized void redimensionar(int delta) {
+        substituidas += delta;
+        int tamanho = threads + Math.min(substituidas, threads);
+        if (tamanho > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(tamanho);
+            executor.setCorePoolSize(tamanho);
+        } else if (tamanho < executor.getMaximumPoolSize()) {
+            executor.setCorePoolSize(tamanho);
+            executor.setMaximumPoolSize(tamanho);
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        if (!todos.remove(assinante)) {
+            return;
+        }
+        admins.remove(assinante);
+        retirar(porTecnico, assinante.tecnico, assinante);
+        retirar(porCliente, assinante.cliente, assinante);
+    }
+
+    private static void retirar(Map<Integer, Set<Assinante>> indice, Integer chave, Assinante assinante) {
+        if (chave != null) {
+            indice.computeIfPresent(chave, (k, assinantes) -> assinantes.remove(assinante) && assinantes.isEmpty() ? null : assinantes);
+        }
+    }
+
+    private static Integer inteiro(JsonNode valor) {
+        return valor == null || !valor.canConvertToInt() ? null : valor.intValue();
+    }
+
+    private static String quadro(Long id, String evento, String dados) {
+        return "id:" + id + "\nevent:" + evento + "\ndata:" + dados.replace("\n", "\ndata:") + "\n\n";
+    }
+
+    /**
+     * Uma assinatura: a resposta 'text/event-stream' e o seu buffer de quadros ainda não enviados.
+     * * Os quadros já vêm formatados; por isso estende {@link ResponseBodyEmitter} e não {@code SseEmitter}.
+     */
+    static class Assinante extends ResponseBodyEmitter {
+
+        final Integer tecnico;
+
+        final Integer cliente;
+
+        final BlockingQueue<String> buffer;
+
+        // há uma tarefa de envio no pool (no máximo uma por assinatura)
+        final AtomicBoolean agendado = new AtomicBoolean();
+
+        final AtomicBoolean finalizado = new AtomicBoolean();
+
+        // LIVRE, ESCREVENDO ou EXPIRADA (a thread presa na escrita já foi substituída no pool)
+        final AtomicInteger escrita = new AtomicInteger(LIVRE);
+
+        volatile long inicioEscrita;
+
+        volatile boolean encerrado;
+
+        Assinante(long timeout, int capacidade, Integer tecnico, Integer cliente) {
+            super(timeout);
+            this.tecnico = tecnico;
+            this.cliente = cliente;
+            // os nós só são alocados quando há quadros pendentes: assinaturas ociosas não ocupam o buffer
+            this.buffer = new LinkedBlockingQueue<>(capacidade);
+        }
+
+        void enviar(String quadro) throws IOException {
+            send(quadro, TEXTO);
+        }
+
+        @Override
+        protected void extendResponse(ServerHttpResponse outputMessage) {
+            super.extendResponse(outputMessage);
+            HttpHeaders headers = outputMessage.getHeaders();
+            if (headers.getContentType() == null) {
+                headers.setContentType(MediaType.TEXT_EVENT_STREAM);
+            }
+        }
+    }
+}
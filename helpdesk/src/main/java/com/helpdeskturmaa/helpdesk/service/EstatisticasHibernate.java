@@ -0,0 +1,46 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.helpdeskturmaa.helpdesk.dto.CacheEstatisticasDTO;
+import com.helpdeskturmaa.helpdesk.dto.HibernateEstatisticasDTO;
+
+/**
+ * Leitura das estatísticas do Hibernate ('hibernate.generate_statistics') e das regiões do cache de
+ * segundo nível (ver {@code CacheHibernateConfig}).
+ */
+@Component
+public class EstatisticasHibernate {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManagerHibernate;
+
+    /**
+     * Comandos, transações e cargas desde a inicialização, e acertos, falhas e despejos de cada região.
+     *
+     * @return as estatísticas.
+     */
+    public HibernateEstatisticasDTO coletar() {
+        Map<String, CacheEstatisticasDTO> regioes = new LinkedHashMap<>();
+        for (String nome : cacheManagerHibernate.getCacheNames()) {
+            Cache<?, ?> cache = cacheManagerHibernate.getCache(nome).unwrap(Cache.class);
+            CacheStats stats = cache.stats();
+            regioes.put(nome, new CacheEstatisticasDTO(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                    cache.estimatedSize()));
+        }
+        return new HibernateEstatisticasDTO(entityManagerFactory.unwrap(SessionFactory.class).getStatistics(), regioes);
+    }
+}
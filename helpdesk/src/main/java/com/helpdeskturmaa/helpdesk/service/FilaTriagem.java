@@ -0,0 +1,188 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoFiltro;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Fila de triagem dos {@link Chamado}s ABERTOS de cada técnico, na ordem em que devem ser atendidos:
+ * maior {@link Prioridade}, depois o mais antigo, depois o menor ID.
+ * * Cada técnico tem um {@link ConcurrentSkipListSet}; retirar o primeiro é atômico, então duas
+ * requisições nunca recebem a mesma entrada. A troca para ANDAMENTO ainda é confirmada no banco
+ * pelo {@link ChamadoService}, que descarta entradas que deixaram de estar ABERTAS.
+ * * É reconstruída na inicialização (e periodicamente) e mantida pelo {@link ChamadoService} a cada escrita.
+ */
+@Component
+public class FilaTriagem {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FilaTriagem.class);
+
+    private static final Comparator<Entrada> ORDEM = Comparator
+            .comparing((Entrada e) -> e.prioridade.ordinal(), Comparator.reverseOrder())
+            .thenComparing(e -> e.dataAbertura)
+            .thenComparing(e -> e.id);
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${chamados.export.fetch-size:500}")
+    private int fetchSize;
+
+    private volatile Map<Integer, ConcurrentSkipListSet<Entrada>> porTecnico = new ConcurrentHashMap<>();
+
+    private volatile Map<Integer, Entrada> porChamado = new ConcurrentHashMap<>();
+
+    /**
+     * Reconstrói as filas a partir dos chamados ABERTOS do banco (pelo índice de status).
+     * * Executa ao final da inicialização do contexto e periodicamente, corrigindo entradas
+     * perdidas em escritas concorrentes.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    @Scheduled(fixedDelayString = "${chamados.fila.reconstrucao-ms:300000}",
+            initialDelayString = "${chamados.fila.reconstrucao-ms:300000}")
+    public void reconstruir() {
+        Map<Integer, ConcurrentSkipListSet<Entrada>> novasFilas = new ConcurrentHashMap<>();
+        Map<Integer, Entrada> novasEntradas = new ConcurrentHashMap<>();
+        ChamadoFiltro abertos = new ChamadoFiltro();
+        abertos.setStatus(Status.ABERTO);
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            try (Stream<ChamadoDTO> stream = repository.streamAll(abertos, fetchSize)) {
+                stream.filter(x -> x.getTecnico() != null).forEach(x -> {
+                    Entrada entrada = new Entrada(x);
+                    novasEntradas.put(entrada.id, entrada);
+                    novasFilas.computeIfAbsent(entrada.tecnico, k -> new ConcurrentSkipListSet<>(ORDEM)).add(entrada);
+                });
+            }
+            return null;
+        });
+
+        synchronized (this) {
+            porTecnico = novasFilas;
+            porChamado = novasEntradas;
+        }
+        LOG.debug("Fila de triagem: {} chamados abertos", novasEntradas.size());
+    }
+
+    /**
+     * Registra a criação, alteração ou exclusão de um chamado.
+     *
+     * @param antes o chamado antes da operação, ou {@code null} na criação.
+     * @param depois o chamado depois da operação, ou {@code null} na exclusão.
+     */
+    public void registrar(ChamadoDTO antes, ChamadoDTO depois) {
+        if (antes != null) {
+            remover(antes.getId());
+        }
+        if (depois != null) {
+            adicionar(depois);
+        }
+    }
+
+    /**
+     * Registra uma troca de status isolada: o chamado entra na fila ao voltar para ABERTO e sai dela nos demais casos.
+     *
+     * @param chamado o chamado já com o novo status.
+     */
+    public void registrarStatus(ChamadoDTO chamado) {
+        remover(chamado.getId());
+        adicionar(chamado);
+    }
+
+    /**
+     * Consulta, sem retirar, o próximo chamado da fila de um técnico.
+     *
+     * @param tecnico o ID do técnico.
+     * @return o ID do chamado, ou {@code null} se a fila estiver vazia.
+     */
+    public Integer proximo(Integer tecnico) {
+        ConcurrentSkipListSet<Entrada> fila = porTecnico.get(tecnico);
+        Iterator<Entrada> it = fila == null ? null : fila.iterator();
+        return it != null && it.hasNext() ? it.next().id : null;
+    }
+
+    /**
+     * Retira atomicamente o próximo chamado da fila de um técnico.
+     *
+     * @param tecnico o ID do técnico.
+     * @return o ID do chamado retirado, ou {@code null} se a fila estiver vazia.
+     */
+    public Integer retirar(Integer tecnico) {
+        ConcurrentSkipListSet<Entrada> fila = porTecnico.get(tecnico);
+        Entrada primeira = fila == null ? null : fila.pollFirst();
+        if (primeira == null) {
+            return null;
+        }
+        porChamado.remove(primeira.id, primeira);
+        return primeira.id;
+    }
+
+    private void adicionar(ChamadoDTO chamado) {
+        if (chamado.getStatus() != Status.ABERTO || chamado.getTecnico() == null) {
+            return;
+        }
+        Entrada entrada = new Entrada(chamado);
+        Entrada anterior = porChamado.put(entrada.id, entrada);
+        if (anterior != null) {
+            filaDe(anterior.tecnico).remove(anterior);
+        }
+        filaDe(entrada.tecnico).add(entrada);
+    }
+
+    private void remover(Integer id) {
+        Entrada entrada = id == null ? null : porChamado.remove(id);
+        if (entrada != null) {
+            filaDe(entrada.tecnico).remove(entrada);
+        }
+    }
+
+    private ConcurrentSkipListSet<Entrada> filaDe(Integer tecnico) {
+        return porTecnico.computeIfAbsent(tecnico, k -> new ConcurrentSkipListSet<>(ORDEM));
+    }
+
+    /**
+     * Posição de um chamado na fila; imutável, para ser comparada sem locks.
+     */
+    private static final class Entrada {
+
+        final Integer id;
+
+        final Integer tecnico;
+
+        final Prioridade prioridade;
+
+        final LocalDate dataAbertura;
+
+        Entrada(ChamadoDTO chamado) {
+            this.id = chamado.getId();
+            this.tecnico = chamado.getTecnico();
+            this.prioridade = chamado.getPrioridade() != null ? chamado.getPrioridade() : Prioridade.BAIXA;
+            this.dataAbertura = chamado.getDataAbertura() != null ? chamado.getDataAbertura() : LocalDate.MIN;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.HistoricoChamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.repositories.HistoricoChamadoRepository;
+import com.helpdeskturmaa.helpdesk.security.UserSS;
+
+/**
+ * Histórico de alterações dos {@link Chamado}s: uma linha de {@link HistoricoChamado} por campo alterado.
+ * * As linhas não são gravadas na requisição que alterou o chamado: vão para uma fila limitada em memória
+ * ('chamados.historico.capacidade') e uma thread dedicada as grava em lotes de até 'chamados.historico.lote',
+ * um INSERT em lote (JDBC batch) por transação.
+ * * Com a fila cheia, quem registra espera até 'chamados.historico.espera' por espaço e, se ainda assim não
+ * houver, grava a própria alteração: a requisição fica mais lenta, mas nada é descartado.
+ * * Se a gravação de um lote falhar, a thread tenta o mesmo lote de novo, com pausas que dobram a cada falha
+ * até 'chamados.historico.espera-maxima', antes de passar para as próximas alterações da fila.
+ * * No encerramento da aplicação, a thread para e o lote pendente e o que restou na fila são gravados antes do
+ * banco ser fechado.
+ */
+@Component
+public class HistoricoChamados {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HistoricoChamados.class);
+
+    /**
+     * Nome da thread de gravação.
+     */
+    public static final String THREAD = "historico-chamados";
+
+    // intervalo em que a thread de gravação confere se deve parar
+    private static final long ESPERA_GRAVADOR_MS = 200;
+
+    @Autowired
+    private HistoricoChamadoRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${chamados.historico.capacidade:10000}")
+    private int capacidade;
+
+    @Value("${chamados.historico.lote:50}")
+    private int tamanhoLote;
+
+    @Value("${chamados.historico.espera:2s}")
+    private Duration espera;
+
+    @Value("${chamados.historico.espera-maxima:30s}")
+    private Duration esperaMaxima;
+
+    private BlockingQueue<HistoricoChamado> fila;
+
+    // lote da thread de gravação; só é lido por encerrar() depois que a thread termina
+    private final List<HistoricoChamado> lote = new ArrayList<>();
+
+    private Thread gravador;
+
+    private volatile boolean ativo;
+
+    @PostConstruct
+    public void init() {
+        fila = new ArrayBlockingQueue<>(capacidade);
+        ativo = true;
+        gravador = new Thread(this::executar, THREAD);
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    /**
+     * Para a thread de gravação e grava o lote pendente e o que restou na fila.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        gravador.join(espera.toMillis() + ESPERA_GRAVADOR_MS);
+        List<HistoricoChamado> restantes = new ArrayList<>();
+        if (!gravador.isAlive()) {
+            restantes.addAll(lote);
+            lote.clear();
+        }
+        fila.drainTo(restantes);
+        if (restantes.isEmpty()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < restantes.size(); i += tamanhoLote) {
+                gravar(restantes.subList(i, Math.min(i + tamanhoLote, restantes.size())));
+            }
+            LOG.info("Histórico de chamados: {} alterações gravadas no encerramento", restantes.size());
+        } catch (RuntimeException e) {
+            LOG.error("Histórico de chamados: falha ao gravar {} alterações no encerramento", restantes.size(), e);
+        }
+    }
+
+    /**
+     * Registra os campos que mudaram em uma alteração de chamado. O autor é o usuário logado
+     * ({@code null} nas alterações do sistema, como a escalada de SLA).
+     *
+     * @param antes o chamado antes da alteração.
+     * @param depois o chamado depois da alteração.
+     */
+    public void registrar(ChamadoDTO antes, ChamadoDTO depois) {
+        Integer autor = autor();
+        LocalDateTime agora = LocalDateTime.now();
+
+        comparar(antes, depois, "status", ChamadoDTO::getStatus, autor, agora);
+        comparar(antes, depois, "prioridade", ChamadoDTO::getPrioridade, autor, agora);
+        comparar(antes, depois, "tecnico", ChamadoDTO::getTecnico, autor, agora);
+        comparar(antes, depois, "cliente", ChamadoDTO::getCliente, autor, agora);
+        comparar(antes, depois, "titulo", ChamadoDTO::getTitulo, autor, agora);
+        comparar(antes, depois, "observacoes", ChamadoDTO::getObservacoes, autor, agora);
+    }
+
+    /**
+     * Registra uma troca de status isolada.
+     *
+     * @param chamado o chamado já com o novo status.
+     * @param anterior o status anterior.
+     */
+    public void registrarStatus(ChamadoDTO chamado, Status anterior) {
+        if (anterior != chamado.getStatus()) {
+            enfileirar(new HistoricoChamado(chamado.getId(), "status", texto(anterior), texto(chamado.getStatus()),
+                    autor(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Quantidade de alterações na fila, ainda não gravadas (sem contar o lote em gravação).
+     */
+    public int pendentes() {
+        return fila.size();
+    }
+
+    private void comparar(ChamadoDTO antes, ChamadoDTO depois, String campo, Function<ChamadoDTO, Object> valor,
+            Integer autor, LocalDateTime agora) {
+        Object anterior = valor.apply(antes);
+        Object novo = valor.apply(depois);
+        if (!Objects.equals(anterior, novo)) {
+            enfileirar(new HistoricoChamado(depois.getId(), campo, texto(anterior), texto(novo), autor, agora));
+        }
+    }
+
+    private void enfileirar(HistoricoChamado alteracao) {
+        try {
+            if (ativo && fila.offer(alteracao, espera.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // fila cheia (ou aplicação encerrando): grava aqui mesmo
+        LOG.warn("Histórico de chamados: fila cheia, gravando a alteração do chamado {} na requisição", alteracao.getChamado());
+        try {
+            gravar(Collections.singletonList(alteracao));
+        } catch (RuntimeException e) {
+            LOG.error("Histórico de chamados: falha ao gravar a alteração do chamado {}", alteracao.getChamado(), e);
+        }
+    }
+
+    private void executar() {
+        long pausa = 0;
+        while (ativo) {
+            try {
+                if (lote.isEmpty()) {
+                    HistoricoChamado primeira = fila.poll(ESPERA_GRAVADOR_MS, TimeUnit.MILLISECONDS);
+                    if (primeira == null) {
+                        continue;
+                    }
+                    lote.add(primeira);
+                    fila.drainTo(lote, tamanhoLote - 1);
+                } else if (!aguardar(pausa)) {
+                    // encerrando: o lote que falhou fica para encerrar()
+                    return;
+                }
+                gravar(lote);
+                lote.clear();
+                pausa = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                pausa = pausa == 0 ? ESPERA_GRAVADOR_MS : Math.min(pausa * 2, esperaMaxima.toMillis());
+                LOG.error("Histórico de chamados: falha ao gravar {} alterações, nova tentativa em {} ms",
+                        lote.size(), pausa, e);
+            }
+        }
+    }
+
+    // espera a pausa antes de repetir um lote; false se a aplicação começou a encerrar
+    private boolean aguardar(long pausa) throws InterruptedException {
+        long fim = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pausa);
+        long restante;
+        while (ativo && (restante = TimeUnit.NANOSECONDS.toMillis(fim - System.nanoTime())) > 0) {
+            Thread.sleep(Math.min(restante, ESPERA_GRAVADOR_MS));
+        }
+        return ativo;
+    }
+
+    private void gravar(List<HistoricoChamado> lote) {
+        new TransactionTemplate(transactionManager).execute(status -> repository.saveAll(lote));
+    }
+
+    private static Integer autor() {
+        UserSS usuarioLogado = UserService.authenticated();
+        return usuarioLogado != null ? usuarioLogado.getId() : null;
+    }
+
+    private static String texto(Object valor) {
+        return valor != null ? valor.toString() : null;
+    }
+}
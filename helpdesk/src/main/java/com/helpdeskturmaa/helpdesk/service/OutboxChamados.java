@@ -0,0 +1,72 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.EventoChamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.TipoEventoChamado;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.repositories.EventoChamadoRepository;
+
+/**
+ * Outbox dos eventos de domínio de {@link Chamado}: cada criação, alteração ou exclusão grava um
+ * {@link EventoChamado} na mesma transação da escrita do chamado, de modo que o evento existe se,
+ * e somente se, a escrita foi confirmada. A entrega fica com o {@link RetransmissorEventos}.
+ */
+@Component
+public class OutboxChamados {
+
+    @Autowired
+    private EventoChamadoRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Grava o evento de uma escrita de chamado. Precisa ser chamado dentro da transação da escrita,
+     * depois de a linha do chamado ter sido gravada (ver {@link EventoChamado}).
+     *
+     * @param tipo o tipo do evento.
+     * @param chamado o chamado depois da escrita (na exclusão, o último estado).
+     * @throws org.springframework.transaction.IllegalTransactionStateException Se não houver transação em curso.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEventoChamado tipo, ChamadoDTO chamado) {
+        registrar(tipo, null, chamado);
+    }
+
+    /**
+     * Grava o evento de uma alteração que pode ter trocado o técnico ou o cliente do chamado; o evento
+     * leva os anteriores, para que quem deixou de ver o chamado também seja avisado.
+     *
+     * @param tipo o tipo do evento.
+     * @param anterior o chamado antes da escrita, ou {@code null}.
+     * @param chamado o chamado depois da escrita.
+     * @throws org.springframework.transaction.IllegalTransactionStateException Se não houver transação em curso.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEventoChamado tipo, ChamadoDTO anterior, ChamadoDTO chamado) {
+        Integer tecnicoAnterior = anterior != null && !Objects.equals(anterior.getTecnico(), chamado.getTecnico())
+                ? anterior.getTecnico() : null;
+        Integer clienteAnterior = anterior != null && !Objects.equals(anterior.getCliente(), chamado.getCliente())
+                ? anterior.getCliente() : null;
+        repository.save(new EventoChamado(chamado.getId(), tipo, chamado.getVersao(), tecnicoAnterior, clienteAnterior,
+                json(chamado), LocalDateTime.now()));
+    }
+
+    private String json(ChamadoDTO chamado) {
+        try {
+            return objectMapper.writeValueAsString(chamado);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o chamado " + chamado.getId(), e);
+        }
+    }
+}
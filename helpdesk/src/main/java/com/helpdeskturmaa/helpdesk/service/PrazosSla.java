@@ -0,0 +1,91 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+
+/**
+ * Metas de SLA por {@link Prioridade} e cálculo do prazo de um {@link Chamado}.
+ * * Com {@code chamados.sla.dias-uteis}, sábados e domingos não contam: 1 dia aberto
+ * na sexta às 10h vence na segunda às 10h.
+ */
+@Component
+public class PrazosSla {
+
+    @Value("${chamados.sla.alta:4h}")
+    private Duration alta;
+
+    @Value("${chamados.sla.media:1d}")
+    private Duration media;
+
+    @Value("${chamados.sla.baixa:3d}")
+    private Duration baixa;
+
+    @Value("${chamados.sla.dias-uteis:true}")
+    private boolean diasUteis;
+
+    /**
+     * Calcula o prazo de SLA de um chamado da prioridade informada, contado a partir de {@code inicio}.
+     *
+     * @param prioridade a prioridade do chamado ({@code null} é tratada como BAIXA).
+     * @param inicio o início da contagem.
+     * @return o prazo.
+     */
+    public LocalDateTime prazo(Prioridade prioridade, LocalDateTime inicio) {
+        Duration meta = meta(prioridade);
+        if (!diasUteis) {
+            return inicio.plus(meta);
+        }
+        LocalDateTime t = proximoDiaUtil(inicio);
+        while (true) {
+            LocalDateTime fimDoDia = t.toLocalDate().plusDays(1).atStartOfDay();
+            Duration restoDoDia = Duration.between(t, fimDoDia);
+            if (meta.compareTo(restoDoDia) < 0) {
+                return t.plus(meta);
+            }
+            meta = meta.minus(restoDoDia);
+            t = proximoDiaUtil(fimDoDia);
+        }
+    }
+
+    /**
+     * Prioridade seguinte na escalada por SLA vencido.
+     *
+     * @param prioridade a prioridade atual.
+     * @return a prioridade imediatamente acima, ou {@code null} se já for a mais alta.
+     */
+    public static Prioridade escalar(Prioridade prioridade) {
+        if (prioridade == null) {
+            return Prioridade.MEDIA;
+        }
+        Prioridade[] todas = Prioridade.values();
+        return prioridade.ordinal() + 1 < todas.length ? todas[prioridade.ordinal() + 1] : null;
+    }
+
+    private Duration meta(Prioridade prioridade) {
+        if (prioridade == null) {
+            return baixa;
+        }
+        switch (prioridade) {
+            case ALTA:
+                return alta;
+            case MEDIA:
+                return media;
+            default:
+                return baixa;
+        }
+    }
+
+    private static LocalDateTime proximoDiaUtil(LocalDateTime t) {
+        while (t.getDayOfWeek() == DayOfWeek.SATURDAY || t.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            t = t.toLocalDate().plusDays(1).atStartOfDay();
+        }
+        return t;
+    }
+}
@@ -0,0 +1,100 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.helpdeskturmaa.helpdesk.domain.EventoChamado;
+import com.helpdeskturmaa.helpdesk.repositories.EventoChamadoRepository;
+
+/**
+ * Retransmissor do outbox de chamados (ver {@link OutboxChamados}): entrega os eventos pendentes,
+ * em lotes, a todos os {@link DestinoEventos} e os remove.
+ * * Os eventos são divididos em 'chamados.outbox.particoes' partições pelo ID do chamado. Cada lote é
+ * reservado com SELECT ... FOR UPDATE (NOWAIT, onde o banco suporta), entregue e removido na mesma
+ * transação: enquanto uma instância drena uma partição, as demais passam para as outras partições
+ * em vez de processar os mesmos eventos. Assim várias instâncias drenam ao mesmo tempo, nenhum
+ * evento é entregue por duas delas, e os eventos de um chamado saem em ordem.
+ * * Se um destino falhar, a transação é desfeita e o lote é reenviado no ciclo seguinte (pelo menos uma vez).
+ */
+@Component
+public class RetransmissorEventos {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RetransmissorEventos.class);
+
+    @Autowired
+    private EventoChamadoRepository repository;
+
+    @Autowired
+    private List<DestinoEventos> destinos;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${chamados.outbox.particoes:4}")
+    private int particoes;
+
+    @Value("${chamados.outbox.lote:100}")
+    private int tamanhoLote;
+
+    /**
+     * A cada ciclo, drena as partições (a partir de uma sorteada, para que as instâncias
+     * não comecem todas pela mesma), lote a lote, até esvaziá-las.
+     */
+    @Scheduled(fixedDelayString = "${chamados.outbox.intervalo-ms:1000}",
+            initialDelayString = "${chamados.outbox.intervalo-ms:1000}")
+    public void retransmitir() {
+        int inicio = ThreadLocalRandom.current().nextInt(particoes);
+        for (int i = 0; i < particoes; i++) {
+            int particao = (inicio + i) % particoes;
+            try {
+                int entregues;
+                do {
+                    entregues = drenar(particao);
+                } while (entregues == tamanhoLote);
+            } catch (ConcurrencyFailureException e) {
+                LOG.debug("Outbox: partição {} reservada por outra instância", particao);
+            } catch (RuntimeException e) {
+                LOG.warn("Outbox: falha ao entregar os eventos da partição {}; nova tentativa no próximo ciclo", particao, e);
+            }
+        }
+    }
+
+    /**
+     * Reserva, entrega e remove um lote de eventos de uma partição, em uma transação.
+     *
+     * @param particao a partição (de 0 a 'chamados.outbox.particoes' - 1).
+     * @return a quantidade de eventos entregues.
+     * @throws ConcurrencyFailureException Se a partição estiver reservada por outra transação.
+     */
+    public int drenar(int particao) {
+        Integer entregues = new TransactionTemplate(transactionManager).execute(status -> {
+            List<EventoChamado> lote = repository.reservar(particoes, particao, PageRequest.of(0, tamanhoLote));
+            if (lote.isEmpty()) {
+                return 0;
+            }
+            destinos.forEach(destino -> destino.entregar(lote));
+            repository.removerEntregues(lote.stream().map(EventoChamado::getId).collect(Collectors.toList()));
+            return lote.size();
+        });
+        return entregues != null ? entregues : 0;
+    }
+
+    /**
+     * Quantidade de partições do outbox.
+     */
+    public int getParticoes() {
+        return particoes;
+    }
+}
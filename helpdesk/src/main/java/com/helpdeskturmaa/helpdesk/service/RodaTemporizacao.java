@@ -0,0 +1,173 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roda de temporização hierárquica (hierarchical timing wheel): guarda prazos por ID e devolve
+ * os que venceram à medida que o tempo avança.
+ * * São {@value #NIVEIS} níveis de {@value #POSICOES} posições; cada posição do nível {@code n} cobre
+ * {@code 64^n} ticks. Agendar e cancelar custam O(1), e avançar um tick só percorre as entradas
+ * que vencem nele (mais, a cada 64 ticks, o rebaixamento das entradas de uma posição do nível acima).
+ * Com tick de 1s, os níveis cobrem cerca de 34 anos; prazos além disso ficam na última posição e são
+ * reavaliados quando ela é alcançada.
+ * * Não é um componente: é usada pelo {@link SlaAgendador}. Todas as operações são serializadas por um único lock.
+ */
+public class RodaTemporizacao {
+
+    static final int NIVEIS = 5;
+
+    static final int POSICOES = 64;
+
+    private static final int BITS = 6;
+
+    private static final int MASCARA = POSICOES - 1;
+
+    private final long tickMs;
+
+    private final Entrada[][] posicoes = new Entrada[NIVEIS][POSICOES];
+
+    private final Map<Integer, Entrada> porId = new HashMap<>();
+
+    // próximo tick a ser processado; todos os anteriores já venceram
+    private long atual;
+
+    /**
+     * @param tickMs a resolução da roda, em milissegundos.
+     * @param agoraMs o instante inicial (epoch em milissegundos).
+     */
+    public RodaTemporizacao(long tickMs, long agoraMs) {
+        this.tickMs = tickMs;
+        this.atual = agoraMs / tickMs;
+    }
+
+    /**
+     * Agenda (ou reagenda) o prazo de um ID. Prazos já vencidos vencem no próximo avanço.
+     *
+     * @param id o ID.
+     * @param prazoMs o prazo (epoch em milissegundos).
+     */
+    public synchronized void agendar(Integer id, long prazoMs) {
+        remover(porId.get(id));
+        // arredonda para cima: nunca vence antes do prazo
+        Entrada entrada = new Entrada(id, Math.max((prazoMs + tickMs - 1) / tickMs, atual));
+        porId.put(id, entrada);
+        inserir(entrada);
+    }
+
+    /**
+     * Cancela o prazo de um ID, se houver.
+     *
+     * @param id o ID.
+     */
+    public synchronized void cancelar(Integer id) {
+        remover(porId.get(id));
+    }
+
+    /**
+     * Avança a roda até {@code agoraMs}, retirando os prazos vencidos.
+     *
+     * @param agoraMs o instante atual (epoch em milissegundos).
+     * @return os IDs vencidos, em ordem de prazo.
+     */
+    public synchronized List<Integer> avancar(long agoraMs) {
+        long alvo = agoraMs / tickMs;
+        List<Integer> vencidos = new ArrayList<>();
+        while (atual <= alvo) {
+            int posicao = (int) (atual & MASCARA);
+            // ao completar uma volta de um nível, rebaixa a posição correspondente do nível acima
+            for (int nivel = 1; nivel < NIVEIS && (atual >>> (BITS * (nivel - 1)) & MASCARA) == 0; nivel++) {
+                rebaixar(nivel, (int) (atual >>> (BITS * nivel) & MASCARA));
+            }
+            Entrada entrada = posicoes[0][posicao];
+            posicoes[0][posicao] = null;
+            while (entrada != null) {
+                Entrada proxima = entrada.proxima;
+                porId.remove(entrada.id);
+                entrada.anterior = entrada.proxima = null;
+                vencidos.add(entrada.id);
+                entrada = proxima;
+            }
+            atual++;
+        }
+        return vencidos;
+    }
+
+    /**
+     * Quantidade de prazos pendentes.
+     */
+    public synchronized int tamanho() {
+        return porId.size();
+    }
+
+    private void rebaixar(int nivel, int posicao) {
+        Entrada entrada = posicoes[nivel][posicao];
+        posicoes[nivel][posicao] = null;
+        while (entrada != null) {
+            Entrada proxima = entrada.proxima;
+            entrada.anterior = entrada.proxima = null;
+            inserir(entrada);
+            entrada = proxima;
+        }
+    }
+
+    private void inserir(Entrada entrada) {
+        long delta = entrada.tick - atual;
+        int nivel = 0;
+        while (nivel < NIVEIS - 1 && delta >= 1L << (BITS * (nivel + 1))) {
+            nivel++;
+        }
+        long tick = delta >= 1L << (BITS * NIVEIS) ? atual + (1L << (BITS * NIVEIS)) - 1 : entrada.tick;
+        int posicao = (int) (tick >>> (BITS * nivel) & MASCARA);
+
+        entrada.nivel = nivel;
+        entrada.posicao = posicao;
+        Entrada primeira = posicoes[nivel][posicao];
+        entrada.proxima = primeira;
+        if (primeira != null) {
+            primeira.anterior = entrada;
+        }
+        posicoes[nivel][posicao] = entrada;
+    }
+
+    private void remover(Entrada entrada) {
+        if (entrada == null) {
+            return;
+        }
+        porId.remove(entrada.id);
+        if (entrada.anterior != null) {
+            entrada.anterior.proxima = entrada.proxima;
+        } else {
+            posicoes[entrada.nivel][entrada.posicao] = entrada.proxima;
+        }
+        if (entrada.proxima != null) {
+            entrada.proxima.anterior = entrada.anterior;
+        }
+        entrada.anterior = entrada.proxima = null;
+    }
+
+    /**
+     * Prazo de um ID, encadeado (lista duplamente ligada) na sua posição da roda.
+     */
+    private static final class Entrada {
+
+        final Integer id;
+
+        final long tick;
+
+        int nivel;
+
+        int posicao;
+
+        Entrada anterior;
+
+        Entrada proxima;
+
+        Entrada(Integer id, long tick) {
+            this.id = id;
+            this.tick = tick;
+        }
+    }
+}
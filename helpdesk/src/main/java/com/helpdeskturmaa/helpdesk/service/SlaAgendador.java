@@ -0,0 +1,293 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Temporizadores de SLA dos {@link Chamado}s não encerrados, em uma {@link RodaTemporizacao}:
+ * quando um prazo vence, o {@link ChamadoService} escala o chamado.
+ * * A roda é reconstruída do banco na inicialização e mantida pelo {@link ChamadoService} a cada escrita,
+ * em todas as instâncias; mas só a que detém a concessão {@value #CONCESSAO} (ver {@link Concessoes})
+ * dispara os prazos. Ao assumir a concessão, a instância reconstrói a roda, pois as escritas feitas
+ * nas outras instâncias não passaram por ela. As escritas que chegam durante a leitura do banco são
+ * gravadas na roda atual e também reaplicadas à nova antes da troca, para não se perderem com a roda antiga.
+ * * O tick roda em uma thread própria ({@value #THREAD}), e não no agendador padrão do Spring, que é uma
+ * única thread compartilhada com o outbox, o heartbeat e as reconciliações: um ciclo lento de qualquer um
+ * deles atrasaria a renovação da concessão. Antes de cada escala, a instância confere (e renova, se preciso)
+ * a concessão; se a perdeu, devolve os prazos restantes à roda em vez de escalar em paralelo com outra.
+ */
+@Component
+public class SlaAgendador {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlaAgendador.class);
+
+    static final String CONCESSAO = "sla";
+
+    static final String THREAD = "sla-agendador";
+
+    private static final ZoneId ZONA = ZoneId.systemDefault();
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    @Autowired
+    private ChamadoService chamadoService;
+
+    @Autowired
+    private Concessoes concessoes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${chamados.sla.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${chamados.sla.concessao:30s}")
+    private Duration duracaoConcessao;
+
+    private volatile RodaTemporizacao roda = new RodaTemporizacao(1000, System.currentTimeMillis());
+
+    // Guarda a troca da roda e o registro abaixo.
+    private final Lock lock = new ReentrantLock();
+
+    // Prazos agendados (ou cancelados: null) durante uma reconstrução, por chamado, para reaplicar na
+    // roda nova; null fora de uma reconstrução.
+    private Map<Integer, Long> alteradosNaReconstrucao;
+
+    private ScheduledExecutorService executor;
+
+    // se esta instância detém a concessão, e até quando (em System.nanoTime(), contado de antes da renovação)
+    private volatile boolean detem;
+
+    private volatile long concessaoAte;
+
+    /**
+     * Reconstrói a roda com os prazos de todos os chamados não encerrados.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void reconstruir() {
+        RodaTemporizacao nova = new RodaTemporizacao(tickMs, System.currentTimeMillis());
+
+        lock.lock();
+        try {
+            alteradosNaReconstrucao = new LinkedHashMap<>();
+        } finally {
+            lock.unlock();
+        }
+
+        boolean lido = false;
+        try {
+            new TransactionTemplate(transactionManager).execute(status -> {
+                try (Stream<ChamadoRepository.PrazoSla> stream = repository.streamPrazosSla(Status.ENCERRADO)) {
+                    stream.forEach(x -> nova.agendar(x.getId(), epoch(x.getPrazoSla())));
+                }
+                return null;
+            });
+            lido = true;
+        } finally {
+            lock.lock();
+            try {
+                if (lido) {
+                    // vale a escrita mais recente de cada chamado, que pode ser posterior à lida do banco
+                    alteradosNaReconstrucao.forEach((id, prazo) -> aplicar(nova, id, prazo));
+                    roda = nova;
+                }
+                alteradosNaReconstrucao = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+        LOG.info("SLA: {} prazos pendentes", nova.tamanho());
+    }
+
+    /**
+     * Agenda, reagenda ou cancela o temporizador de um chamado conforme seu status e prazo atuais.
+     *
+     * @param chamado o chamado já gravado.
+     */
+    public void agendar(ChamadoDTO chamado) {
+        if (chamado.getStatus() == Status.ENCERRADO || chamado.getPrazoSla() == null) {
+            alterar(chamado.getId(), null);
+        } else {
+            alterar(chamado.getId(), epoch(chamado.getPrazoSla()));
+        }
+    }
+
+    /**
+     * Cancela o temporizador de um chamado (por exemplo, excluído).
+     *
+     * @param id o ID do chamado.
+     */
+    public void cancelar(Integer id) {
+        alterar(id, null);
+    }
+
+    private void alterar(Integer id, Long prazo) {
+        lock.lock();
+        try {
+            if (alteradosNaReconstrucao != null) {
+                alteradosNaReconstrucao.put(id, prazo);
+            }
+            aplicar(roda, id, prazo);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void aplicar(RodaTemporizacao roda, Integer id, Long prazo) {
+        if (prazo == null) {
+            roda.cancelar(id);
+        } else {
+            roda.agendar(id, prazo);
+        }
+    }
+
+    /**
+     * Quantidade de prazos pendentes nesta instância.
+     */
+    public int pendentes() {
+        return roda.tamanho();
+    }
+
+    /**
+     * Inicia o tick ('chamados.sla.tick-ms') na thread do agendador de SLA.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void iniciar() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, THREAD);
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                disparar();
+            } catch (RuntimeException e) {
+                // uma exceção cancelaria os ticks seguintes
+                LOG.warn("SLA: falha no tick", e);
+            }
+        }, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A cada tick, se esta instância detém a concessão, escala os chamados com prazo vencido,
+     * conferindo a concessão antes de cada um.
+     */
+    public void disparar() {
+        if (!deterConcessao()) {
+            return;
+        }
+        long agora = System.currentTimeMillis();
+        List<Integer> vencidos = roda.avancar(agora);
+        for (int i = 0; i < vencidos.size(); i++) {
+            if (!deterConcessao()) {
+                // quem assumiu escala os restantes (reconstrói a roda do banco); aqui voltam para a próxima vez
+                LOG.warn("SLA: concessão perdida com {} prazos vencidos pendentes", vencidos.size() - i);
+                vencidos.subList(i, vencidos.size()).forEach(id -> roda.agendar(id, agora));
+                return;
+            }
+            Integer id = vencidos.get(i);
+            try {
+                chamadoService.escalarSla(id);
+            } catch (RuntimeException e) {
+                LOG.warn("SLA: falha ao escalar o chamado {}; nova tentativa em 1 minuto", id, e);
+                roda.agendar(id, agora + 60_000);
+            }
+        }
+    }
+
+    /**
+     * Indica se esta instância detém a concessão agora, renovando-a a partir da metade do prazo.
+     * Ao assumi-la, reconstrói a roda.
+     */
+    private boolean deterConcessao() {
+        long agora = System.nanoTime();
+        long duracao = duracaoConcessao.toNanos();
+        boolean valida = detem && agora - concessaoAte < 0;
+        if (valida && agora - (concessaoAte - duracao / 2) < 0) {
+            return true;
+        }
+        boolean adquirida;
+        try {
+            adquirida = concessoes.adquirir(CONCESSAO, duracaoConcessao);
+        } catch (RuntimeException e) {
+            // banco indisponível: vale o que já foi concedido
+            LOG.warn("SLA: falha ao renovar a concessão", e);
+            return valida;
+        }
+        if (!adquirida) {
+            detem = false;
+            return false;
+        }
+        concessaoAte = agora + duracao;
+        detem = true;
+        if (!valida) {
+            LOG.info("SLA: instância {} assumiu os temporizadores", concessoes.getInstancia());
+            reconstruir();
+        }
+        return true;
+    }
+
+    /**
+     * Para o tick e devolve a concessão, se for desta instância, para que outra a assuma sem esperar o prazo.
+     * Roda no fechamento do contexto, antes de o banco (e o schema, nos testes) ser descartado.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void liberar() {
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = this.executor;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    LOG.warn("SLA: tick ainda em andamento no encerramento");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (detem && System.nanoTime() - concessaoAte < 0) {
+            detem = false;
+            try {
+                concessoes.liberar(CONCESSAO);
+            } catch (RuntimeException e) {
+                LOG.warn("SLA: falha ao devolver a concessão; ela expira no prazo", e);
+            }
+        }
+    }
+
+    private static long epoch(LocalDateTime instante) {
+        return instante.atZone(ZONA).toInstant().toEpochMilli();
+    }
+}
@@ -1,20 +1,28 @@
 package com.helpdeskturmaa.helpdesk.service;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+import com.helpdeskturmaa.helpdesk.dto.Pagina;
 import com.helpdeskturmaa.helpdesk.dto.TecnicoDTO;
+import com.helpdeskturmaa.helpdesk.dto.VersaoColecao;
 import com.helpdeskturmaa.helpdesk.repositories.TecnicoRepository;
 import com.helpdeskturmaa.helpdesk.resources.exceptions.AuthorizationException;
 import com.helpdeskturmaa.helpdesk.resources.exceptions.DataIntegrityViolationException;
 import com.helpdeskturmaa.helpdesk.resources.exceptions.ObjectNotFoundException;
+import com.helpdeskturmaa.helpdesk.security.PrincipalCache;
 import com.helpdeskturmaa.helpdesk.security.UserSS;
 
 /**
@@ -36,6 +44,24 @@ public class TecnicoService {
     @Autowired
     private PasswordEncoder encoder;
 
+    /**
+     * Cache dos usuários autenticados, invalidado quando o técnico muda.
+     */
+    @Autowired
+    private PrincipalCache principalCache;
+
+    /**
+     * Atribuição automática de chamados, que acompanha as habilidades dos técnicos.
+     */
+    @Autowired
+    private AtribuicaoTecnicos atribuicao;
+
+    /**
+     * Cache dos técnicos por ID e das páginas da listagem, invalidado a cada escrita.
+     */
+    @Autowired
+    private CacheCadastros cache;
+
     /**
      * Busca um técnico pelo seu ID.
      *
@@ -49,13 +75,63 @@ public class TecnicoService {
     }
 
     /**
-     * Retorna uma lista de todos os técnicos registrados no sistema.
+     * Busca um técnico pelo seu ID, pelo cache de cadastros (ver {@link CacheCadastros}).
+     *
+     * @param id O ID do técnico a ser buscado.
+     * @return O {@link TecnicoDTO} do técnico, sem a senha; compartilhado, não deve ser alterado.
+     * @throws ObjectNotFoundException Se o técnico não for encontrado.
+     */
+    public TecnicoDTO findDTOById(Integer id) {
+        return cache.getTecnicos().buscar(id, k -> paraCache(findById(k)));
+    }
+
+    /**
+     * Busca apenas a versão de um técnico, para responder GETs condicionais sem carregá-lo.
      *
-     * @return Uma {@link List} de {@link TecnicoDTO} contendo todos os técnicos.
+     * @param id O ID do técnico.
+     * @return A versão atual do técnico.
+     * @throws ObjectNotFoundException Se o técnico não for encontrado.
      */
-    public List<TecnicoDTO> findAll() {
-        List<Tecnico> list = repository.findAll();
-        return list.stream().map(TecnicoDTO::new).collect(Collectors.toList());
+    public Long findVersaoById(Integer id) {
+        return repository.findVersaoById(id)
+                .orElseThrow(() -> new ObjectNotFoundException("Técnico não encontrado! ID: " + id));
+    }
+
+    /**
+     * Calcula a versão da listagem de técnicos, usada como ETag.
+     *
+     * @return A versão da coleção.
+     */
+    public String versaoColecao() {
+        return repository.versaoColecao().toString();
+    }
+
+    /**
+     * Calcula a versão da listagem a partir dos técnicos já lidos, quando a página trouxe todos:
+     * o mesmo valor de {@link #versaoColecao()}, sem consultar o banco.
+     *
+     * @param tecnicos Todos os técnicos.
+     * @return A versão da coleção.
+     */
+    public String versaoColecao(List<TecnicoDTO> tecnicos) {
+        return VersaoColecao.de(tecnicos, TecnicoDTO::getUltimaAlteracao).toString();
+    }
+
+    /**
+     * Retorna uma página dos técnicos registrados no sistema, em ordem de ID, pelo cache de cadastros.
+     *
+     * @param apos O ID do último técnico da página anterior (0 para a primeira página).
+     * @param tamanho O número máximo de técnicos da página.
+     * @param contarTotal Se o total de técnicos deve ser calculado.
+     * @return A {@link Pagina} de {@link TecnicoDTO} contendo os técnicos.
+     */
+    public Pagina<TecnicoDTO> findAll(Integer apos, int tamanho, boolean contarTotal) {
+        return cache.getTecnicos().pagina(apos, tamanho, contarTotal, () -> {
+            Slice<Tecnico> slice = repository.findByIdGreaterThan(apos, PageRequest.of(0, tamanho, Sort.by("id")));
+            List<TecnicoDTO> list = slice.stream().map(TecnicoService::paraCache).collect(Collectors.toList());
+            String proximo = slice.hasNext() ? String.valueOf(list.get(list.size() - 1).getId()) : null;
+            return new Pagina<>(list, proximo, contarTotal ? repository.count() : null);
+        });
     }
 
     /**
@@ -74,8 +150,10 @@ public class TecnicoService {
         
         dto.setSenha(encoder.encode(dto.getSenha())); 
         
-        Tecnico newObj = new Tecnico(dto);
-        return repository.save(newObj);
+        Tecnico newObj = repository.save(new Tecnico(dto));
+        atribuicao.registrarTecnico(newObj.getId(), newObj.getPerfis(), newObj.getHabilidades());
+        cache.getTecnicos().invalidar(newObj.getId());
+        return newObj;
     }
 
     /**
@@ -92,6 +170,7 @@ public class TecnicoService {
      */
     public Tecnico update(Integer id, TecnicoDTO dto) {
         Tecnico existing = findById(id);
+        String emailAnterior = existing.getEmail();
         
         if (!dto.getCpf().equals(existing.getCpf()) || !dto.getEmail().equals(existing.getEmail())) {
             validarDados(dto); //se for alterado, eu consigo validar
@@ -100,7 +179,14 @@ public class TecnicoService {
         existing.setNome(dto.getNome());
         existing.setCpf(dto.getCpf());
         existing.setEmail(dto.getEmail());
-        return repository.save(existing);
+        if (dto.getHabilidades() != null) {
+            existing.setHabilidades(dto.getHabilidades());
+        }
+        Tecnico updated = repository.save(existing);
+        atribuicao.registrarTecnico(updated.getId(), updated.getPerfis(), updated.getHabilidades());
+        principalCache.invalidar(emailAnterior, updated.getEmail());
+        cache.getTecnicos().invalidar(id);
+        return updated;
     }
 
     /**
@@ -114,14 +200,30 @@ public class TecnicoService {
     public void delete(Integer id) {
         UserSS usuarioLogado = UserService.authenticated();
 
-        if (usuarioLogado == null || !usuarioLogado.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
+        if (usuarioLogado == null || !usuarioLogado.hasPerfil(Perfil.ADMIN)) {
             throw new AuthorizationException("Acesso negado! Apenas administradores podem deletar técnicos.");
        }
 
-        findById(id); 
+        Tecnico obj = findById(id); 
         repository.deleteById(id);
+        principalCache.invalidar(obj.getEmail());
+        cache.getTecnicos().invalidar(id);
+        atribuicao.removerTecnico(id);
     }
     
+    /**
+     * Monta o DTO guardado no cache: sem a senha e com uma cópia imutável das habilidades,
+     * que não depende da sessão do Hibernate.
+     */
+    private static TecnicoDTO paraCache(Tecnico obj) {
+        TecnicoDTO dto = new TecnicoDTO(obj);
+        dto.setSenha(null);
+        if (dto.getHabilidades() != null) {
+            dto.setHabilidades(Collections.unmodifiableSet(new HashSet<>(dto.getHabilidades())));
+        }
+        return dto;
+    }
+
     /**
      * Método auxiliar para validar se o CPF e o E-mail de um DTO já existem no sistema
      * (e não pertencem ao mesmo usuário, no caso de uma atualização).
@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,15 +18,23 @@ import com.helpdeskturmaa.helpdesk.security.UserSS;
  * * Responsável por carregar um usuário ({@link Pessoa}) pelo seu nome de usuário (e-mail)
  * e retornar um objeto {@link UserDetails} (aqui representado por {@link UserSS})
  * para o processo de autenticação.
+ * * Também implementa {@link UserDetailsPasswordService}, permitindo que o Spring Security
+ * grave o hash recodificado quando o custo do BCrypt é aumentado (rehash no login).
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
 	/**
 	 * Injeção do repositório genérico para a entidade Pessoa, utilizada para buscar o usuário.
 	 */
 	@Autowired
 	private PessoaRepository pessoaRepository;
+
+	/**
+	 * Cache dos cadastros de técnicos e clientes, invalidado quando o hash da senha é refeito.
+	 */
+	@Autowired
+	private CacheCadastros cacheCadastros;
 	
     /**
      * Carrega os dados de um usuário pelo seu nome de usuário (e-mail) para autenticação.
@@ -49,4 +58,24 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         throw new UsernameNotFoundException(email);
     }
+
+    /**
+     * Persiste o novo hash da senha de um usuário após um login bem-sucedido
+     * cujo hash armazenado usava um custo de BCrypt menor que o configurado.
+     *
+     * @param user O usuário autenticado.
+     * @param newPassword O novo hash da senha.
+     * @return O {@link UserDetails} atualizado com o novo hash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Pessoa pessoa = pessoaRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(user.getUsername()));
+        pessoa.setSenha(newPassword);
+        pessoaRepository.save(pessoa);
+        // a versão muda com o novo hash: o ETag em cache precisa acompanhar
+        cacheCadastros.invalidar(pessoa.getId());
+
+        return new UserSS(pessoa.getId(), pessoa.getEmail(), pessoa.getSenha(), pessoa.getPerfis());
+    }
 }
\ No newline at end of file
@@ -1,10 +1,8 @@
 package com.helpdeskturmaa.helpdesk;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class HelpdeskturmaaApplicationTests {
+class HelpdeskturmaaApplicationTests extends IntegracaoBase {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,66 @@
+package com.helpdeskturmaa.helpdesk;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.ObjectUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Base dos testes de integração pela API: um contexto Spring (e um banco H2 em memória) compartilhado
+ * por todas as subclasses que não redeclaram a configuração. Os testes que dependem dos dados iniciais
+ * intactos, de outras propriedades ou de beans próprios (como um DataSource instrumentado) redeclaram o
+ * {@code @SpringBootTest}, com um banco próprio; o {@link #token(String)} vale para elas também.
+ * * Como o banco é compartilhado, os testes não devem contar com alterações de outras classes:
+ * comparam com o estado lido antes ou usam registros que só eles alteram.
+ */
+// Os temporizadores de SLA, o retransmissor do outbox e o heartbeat não disparam sozinhos: os testes os acionam.
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:integracao", "chamados.sla.tick-ms=3600000",
+		"chamados.outbox.intervalo-ms=3600000", "chamados.stream.heartbeat-ms=3600000" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class IntegracaoBase {
+
+	// Um login por e-mail e contexto: o limite de tentativas por e-mail vale também nos testes.
+	private static final Map<String, String> TOKENS = new ConcurrentHashMap<>();
+
+	@Autowired
+	protected MockMvc mvc;
+
+	@Autowired
+	protected ObjectMapper mapper;
+
+	@Autowired
+	private ApplicationContext context;
+
+	/**
+	 * O header 'Authorization' de um usuário dos dados iniciais (senha "123").
+	 *
+	 * @param email o e-mail do usuário.
+	 * @return o "Bearer ..." do access token.
+	 */
+	protected String token(String email) throws Exception {
+		String chave = ObjectUtils.identityToString(context) + ":" + email;
+		String token = TOKENS.get(chave);
+		if (token == null) {
+			token = mvc.perform(post("/login")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("{\"email\":\"" + email + "\",\"senha\":\"123\"}"))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getHeader("Authorization");
+			TOKENS.put(chave, token);
+		}
+		return token;
+	}
+}
@@ -0,0 +1,99 @@
+package com.helpdeskturmaa.helpdesk.benchmark;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Habilidade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.service.AtribuicaoTecnicos;
+
+/**
+ * Mede (JMH) o custo de uma decisão de {@link AtribuicaoTecnicos} com 500 técnicos de habilidades
+ * aleatórias: escolha e reserva, seguidas do encerramento que devolve a carga.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtribuicaoBenchmarkTests {
+
+	private static final int TECNICOS = 500;
+
+	private AtribuicaoTecnicos atribuicao;
+
+	private ChamadoDTO semHabilidades;
+
+	private ChamadoDTO comHabilidades;
+
+	@Setup
+	public void setup() {
+		atribuicao = new AtribuicaoTecnicos();
+		Random random = new Random(42);
+		Habilidade[] todas = Habilidade.values();
+		for (int id = 1; id <= TECNICOS; id++) {
+			EnumSet<Habilidade> habilidades = EnumSet.noneOf(Habilidade.class);
+			for (Habilidade h : todas) {
+				if (random.nextInt(3) == 0) {
+					habilidades.add(h);
+				}
+			}
+			atribuicao.registrarTecnico(id, EnumSet.of(Perfil.TECNICO), habilidades);
+		}
+		semHabilidades = chamado(EnumSet.noneOf(Habilidade.class));
+		comHabilidades = chamado(EnumSet.of(Habilidade.REDE, Habilidade.ACESSO));
+	}
+
+	@Benchmark
+	public Integer semExigencia() {
+		return atribuirEEncerrar(semHabilidades);
+	}
+
+	@Benchmark
+	public Integer comHabilidades() {
+		return atribuirEEncerrar(comHabilidades);
+	}
+
+	private Integer atribuirEEncerrar(ChamadoDTO dto) {
+		Integer tecnico = atribuicao.atribuir(dto);
+		atribuicao.registrar(dto, null);
+		return tecnico;
+	}
+
+	private static ChamadoDTO chamado(EnumSet<Habilidade> habilidades) {
+		ChamadoDTO dto = new ChamadoDTO();
+		dto.setPrioridade(Prioridade.MEDIA);
+		dto.setStatus(Status.ABERTO);
+		dto.setHabilidades(habilidades);
+		return dto;
+	}
+
+	@Test
+	void executar() throws Exception {
+		new Runner(new OptionsBuilder()
+				.include(AtribuicaoBenchmarkTests.class.getSimpleName())
+				.build()).run();
+	}
+}
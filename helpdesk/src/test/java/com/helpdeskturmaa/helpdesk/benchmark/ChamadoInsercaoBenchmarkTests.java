@@ -0,0 +1,99 @@
+package com.helpdeskturmaa.helpdesk.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.Cliente;
+import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+import com.helpdeskturmaa.helpdesk.repositories.ClienteRepository;
+import com.helpdeskturmaa.helpdesk.repositories.TecnicoRepository;
+
+/**
+ * Vazão da inserção de 100 mil chamados, em transações de 1000, com um INSERT por ida ao banco
+ * (o que o IDENTITY impunha, pois o ID só existe depois do INSERT) e com os INSERTs em lotes de
+ * {@code hibernate.jdbc.batch_size}, possíveis com a sequência pooled.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:insercao", "spring.jpa.show-sql=false" })
+@ActiveProfiles("test")
+class ChamadoInsercaoBenchmarkTests {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ChamadoInsercaoBenchmarkTests.class);
+
+	private static final int CHAMADOS = 100_000;
+	private static final int TRANSACAO = 1_000;
+	private static final int LOTE = 50;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	@Autowired
+	private ChamadoRepository chamadoRepository;
+
+	@Autowired
+	private TecnicoRepository tecnicoRepository;
+
+	@Autowired
+	private ClienteRepository clienteRepository;
+
+	@Test
+	void inserirChamados() {
+		List<Tecnico> tecnicos = tecnicoRepository.findAll();
+		List<Cliente> clientes = clienteRepository.findAll();
+
+		// aquecimento
+		inserir(tecnicos, clientes, 10 * TRANSACAO, 1);
+		inserir(tecnicos, clientes, 10 * TRANSACAO, LOTE);
+
+		long antes = chamadoRepository.count();
+		long inicio = System.nanoTime();
+		inserir(tecnicos, clientes, CHAMADOS, 1);
+		double segundosUmAUm = (System.nanoTime() - inicio) / 1e9;
+
+		inicio = System.nanoTime();
+		inserir(tecnicos, clientes, CHAMADOS, LOTE);
+		double segundosEmLote = (System.nanoTime() - inicio) / 1e9;
+
+		LOG.info(String.format("%d chamados | um INSERT por vez: %.0f chamados/s (%.2f s) | em lotes de %d: %.0f chamados/s (%.2f s)",
+				CHAMADOS, CHAMADOS / segundosUmAUm, segundosUmAUm, LOTE, CHAMADOS / segundosEmLote, segundosEmLote));
+
+		assertEquals(antes + 2 * CHAMADOS, chamadoRepository.count());
+	}
+
+	private void inserir(List<Tecnico> tecnicos, List<Cliente> clientes, int total, int lote) {
+		Random random = new Random(42);
+		for (int i = 0; i < total; i += TRANSACAO) {
+			EntityManager em = emf.createEntityManager();
+			try {
+				em.unwrap(Session.class).setJdbcBatchSize(lote);
+				em.getTransaction().begin();
+				for (int j = i; j < Math.min(i + TRANSACAO, total); j++) {
+					em.persist(new Chamado(null, Prioridade.values()[random.nextInt(3)], Status.ABERTO, "Chamado " + j, null,
+							tecnicos.get(random.nextInt(tecnicos.size())), clientes.get(random.nextInt(clientes.size()))));
+				}
+				em.getTransaction().commit();
+			} finally {
+				em.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package com.helpdeskturmaa.helpdesk.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.Cliente;
+import com.helpdeskturmaa.helpdesk.domain.Tecnico;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoCursor;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoFiltro;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoOrdem;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+import com.helpdeskturmaa.helpdesk.repositories.ClienteRepository;
+import com.helpdeskturmaa.helpdesk.repositories.TecnicoRepository;
+
+/**
+ * Compara a leitura de páginas de chamados carregando as entidades (e, conforme o
+ * plano de fetch de Técnico e Cliente, suas associações) com a projeção em {@link ChamadoDTO} de
+ * {@link ChamadoRepository#findPagina}, em número de comandos SQL e tempo por página.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class ChamadoProjecaoBenchmarkTests {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ChamadoProjecaoBenchmarkTests.class);
+
+	private static final int CLIENTES = 300;
+	private static final int CHAMADOS = 10000;
+	private static final int PAGINA = 100;
+	private static final int PAGINAS = 50;
+
+	@Autowired
+	private ChamadoRepository chamadoRepository;
+
+	@Autowired
+	private ClienteRepository clienteRepository;
+
+	@Autowired
+	private TecnicoRepository tecnicoRepository;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	@Test
+	void paginaDeChamados() {
+		popular();
+		Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+		stats.setStatisticsEnabled(true);
+
+		// aquecimento
+		lerEntidades();
+		lerProjecao();
+
+		stats.clear();
+		long inicio = System.nanoTime();
+		lerEntidades();
+		double tempoEntidades = (System.nanoTime() - inicio) / 1e6 / PAGINAS;
+		double sqlEntidades = (double) stats.getPrepareStatementCount() / PAGINAS;
+
+		stats.clear();
+		inicio = System.nanoTime();
+		lerProjecao();
+		double tempoProjecao = (System.nanoTime() - inicio) / 1e6 / PAGINAS;
+		double sqlProjecao = (double) stats.getPrepareStatementCount() / PAGINAS;
+
+		stats.setStatisticsEnabled(false);
+		LOG.info(String.format("página de %d chamados | entidades: %.1f SQL, %.2f ms | projeção: %.1f SQL, %.2f ms",
+				PAGINA, sqlEntidades, tempoEntidades, sqlProjecao, tempoProjecao));
+
+		assertEquals(1.0, sqlProjecao);
+	}
+
+	// Caminho anterior: entidades Chamado convertidas com new ChamadoDTO(Chamado).
+	private void lerEntidades() {
+		int apos = 0;
+		for (int i = 0; i < PAGINAS; i++) {
+			EntityManager em = emf.createEntityManager();
+			try {
+				List<ChamadoDTO> pagina = em.createQuery("SELECT c FROM Chamado c WHERE c.id > :id ORDER BY c.id", Chamado.class)
+						.setParameter("id", apos)
+						.setMaxResults(PAGINA)
+						.getResultList()
+						.stream().map(ChamadoDTO::new).collect(Collectors.toList());
+				apos = pagina.get(pagina.size() - 1).getId();
+			} finally {
+				em.close();
+			}
+		}
+	}
+
+	private void lerProjecao() {
+		ChamadoCursor cursor = null;
+		for (int i = 0; i < PAGINAS; i++) {
+			List<ChamadoDTO> pagina = chamadoRepository.findPagina(new ChamadoFiltro(), ChamadoOrdem.ID, cursor, PAGINA);
+			cursor = ChamadoCursor.de(pagina.get(pagina.size() - 1));
+		}
+	}
+
+	private void popular() {
+		if (chamadoRepository.count() >= CHAMADOS) {
+			return;
+		}
+		List<Cliente> clientes = new ArrayList<>();
+		for (int i = 0; i < CLIENTES; i++) {
+			clientes.add(new Cliente(null, "Cliente " + i, String.format("9%010d", i), "cliente" + i + "@bench.com", "x"));
+		}
+		clientes = clienteRepository.saveAll(clientes);
+		List<Tecnico> tecnicos = tecnicoRepository.findAll();
+
+		Random random = new Random(42);
+		List<Chamado> chamados = new ArrayList<>();
+		for (int i = 0; i < CHAMADOS; i++) {
+			chamados.add(new Chamado(null, Prioridade.values()[random.nextInt(3)], Status.ABERTO, "Chamado " + i, null,
+					tecnicos.get(random.nextInt(tecnicos.size())), clientes.get(random.nextInt(CLIENTES))));
+		}
+		chamadoRepository.saveAll(chamados);
+	}
+}
@@ -0,0 +1,84 @@
+package com.helpdeskturmaa.helpdesk.benchmark;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+import com.helpdeskturmaa.helpdesk.security.UserSS;
+
+/**
+ * Compara (JMH) a checagem de perfil antiga, por string e stream sobre as authorities,
+ * com {@link UserSS#hasPerfil(Perfil)} sobre a máscara de bits.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerfilCheckBenchmarkTests {
+
+	private UserSS user;
+
+	private Collection<? extends GrantedAuthority> authorities;
+
+	@Setup
+	public void setup() {
+		user = new UserSS(1, "tec@mail.com", null, EnumSet.of(Perfil.CLIENTE, Perfil.TECNICO));
+		Set<GrantedAuthority> set = user.getPerfis().stream()
+				.map(x -> new SimpleGrantedAuthority(x.getDescricao()))
+				.collect(Collectors.toSet());
+		authorities = set;
+	}
+
+	// Caminho anterior: UserSS.hasRole("ADMIN") + hasRole("TECNICO"), como em ChamadoService.validarPropriedade.
+	@Benchmark
+	public boolean hasRoleString() {
+		return hasRole("ADMIN") || hasRole("TECNICO");
+	}
+
+	// Caminho anterior de TecnicoService.delete.
+	@Benchmark
+	public boolean containsNovaAuthority() {
+		return authorities.contains(new SimpleGrantedAuthority("ROLE_ADMIN"));
+	}
+
+	@Benchmark
+	public boolean hasPerfil() {
+		return user.hasPerfil(Perfil.ADMIN) || user.hasPerfil(Perfil.TECNICO);
+	}
+
+	private boolean hasRole(String role) {
+		String fullAuthority = "ROLE_" + role;
+		return authorities.stream().anyMatch(auth -> auth.getAuthority().equals(fullAuthority));
+	}
+
+	@Test
+	void executar() throws Exception {
+		new Runner(new OptionsBuilder()
+				.include(PerfilCheckBenchmarkTests.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,60 @@
+package com.helpdeskturmaa.helpdesk.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.security.PrincipalCache;
+
+/**
+ * Mede requisições autenticadas por segundo com e sem o {@link PrincipalCache}.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "chamados.sla.tick-ms=3600000",
+		"chamados.outbox.intervalo-ms=3600000", "chamados.stream.heartbeat-ms=3600000" })
+class PrincipalCacheBenchmarkTests extends IntegracaoBase {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PrincipalCacheBenchmarkTests.class);
+
+	private static final int AQUECIMENTO = 500;
+	private static final int REQUISICOES = 5000;
+
+	@Autowired
+	private PrincipalCache principalCache;
+
+	@Test
+	void requisicoesPorSegundo() throws Exception {
+		String token = token("admin@mail.com");
+
+		principalCache.setEnabled(false);
+		double semCache = medir(token);
+
+		principalCache.setEnabled(true);
+		double comCache = medir(token);
+
+		LOG.info(String.format("GET /tecnicos/1 sem cache: %.0f req/s | com cache: %.0f req/s", semCache, comCache));
+	}
+
+	private double medir(String token) throws Exception {
+		for (int i = 0; i < AQUECIMENTO; i++) {
+			requisicao(token);
+		}
+		long inicio = System.nanoTime();
+		for (int i = 0; i < REQUISICOES; i++) {
+			requisicao(token);
+		}
+		return REQUISICOES / ((System.nanoTime() - inicio) / 1e9);
+	}
+
+	private void requisicao(String token) throws Exception {
+		mvc.perform(get("/tecnicos/1").header("Authorization", token)).andExpect(status().isOk());
+	}
+}
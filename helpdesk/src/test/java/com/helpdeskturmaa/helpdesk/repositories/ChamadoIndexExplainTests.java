@@ -0,0 +1,126 @@
+package com.helpdeskturmaa.helpdesk.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoFiltro;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoOrdem;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Verifica, pelo plano de execução (EXPLAIN) do H2, que as consultas geradas pelo filtro de
+ * chamados usam os índices compostos declarados em {@code Chamado}.
+ * * O SQL e os parâmetros são capturados da execução real de {@link ChamadoRepository#findPagina}.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:explain")
+@ActiveProfiles("test")
+class ChamadoIndexExplainTests {
+
+	private static volatile QueryInfo ultimaConsulta;
+
+	@TestConfiguration
+	static class CapturaDeConsultas {
+
+		@Bean
+		static BeanPostProcessor dataSourceCaptura() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (!(bean instanceof DataSource)) {
+						return bean;
+					}
+					return ProxyDataSourceBuilder.create((DataSource) bean).listener(new QueryExecutionListener() {
+						@Override
+						public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+						}
+
+						@Override
+						public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+							ultimaConsulta = queryInfoList.get(queryInfoList.size() - 1);
+						}
+					}).build();
+				}
+			};
+		}
+	}
+
+	@Autowired
+	private ChamadoRepository repository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void tecnicoEStatus_usaIndiceTecnicoStatus() throws Exception {
+		// "meus chamados abertos de alta prioridade"
+		ChamadoFiltro filtro = new ChamadoFiltro();
+		filtro.setTecnico(2);
+		filtro.setStatus(Status.ABERTO);
+		filtro.setPrioridade(Prioridade.ALTA);
+
+		assertUsaIndice(filtro, "IDX_CHAMADO_TECNICO_STATUS");
+	}
+
+	@Test
+	void clienteEStatus_usaIndiceClienteStatus() throws Exception {
+		ChamadoFiltro filtro = new ChamadoFiltro();
+		filtro.setCliente(6);
+		filtro.setStatus(Status.ANDAMENTO);
+
+		assertUsaIndice(filtro, "IDX_CHAMADO_CLIENTE_STATUS");
+	}
+
+	@Test
+	void statusEPeriodo_usaIndiceStatusAbertura() throws Exception {
+		ChamadoFiltro filtro = new ChamadoFiltro();
+		filtro.setStatus(Status.ABERTO);
+		filtro.setAbertoDe(LocalDate.now().minusDays(30));
+		filtro.setAbertoAte(LocalDate.now());
+
+		assertUsaIndice(filtro, "IDX_CHAMADO_STATUS_ABERTURA");
+	}
+
+	private void assertUsaIndice(ChamadoFiltro filtro, String indice) throws Exception {
+		repository.findPagina(filtro, ChamadoOrdem.ID, null, 20);
+		String plano = explain(ultimaConsulta);
+		assertTrue(plano.toUpperCase().contains(indice), "Plano sem o índice " + indice + ":\n" + plano);
+	}
+
+	private String explain(QueryInfo consulta) throws Exception {
+		try (Connection con = dataSource.getConnection();
+				PreparedStatement ps = con.prepareStatement("EXPLAIN " + consulta.getQuery())) {
+			for (List<ParameterSetOperation> parametros : consulta.getParametersList()) {
+				for (ParameterSetOperation parametro : parametros) {
+					Object[] args = parametro.getArgs();
+					ps.setObject((Integer) args[0], args[1]);
+				}
+			}
+			try (ResultSet rs = ps.executeQuery()) {
+				rs.next();
+				return rs.getString(1);
+			}
+		}
+	}
+}
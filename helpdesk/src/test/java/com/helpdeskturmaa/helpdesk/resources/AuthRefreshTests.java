@@ -0,0 +1,53 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.security.PrincipalCache;
+
+/**
+ * Renovação em {@code /auth/refresh}: o usuário é relido do banco, então um refresh token de um
+ * usuário removido é recusado mesmo depois de a invalidação sair do {@link PrincipalCache}.
+ */
+class AuthRefreshTests extends IntegracaoBase {
+
+	private static final String CLIENTE = "{\"nome\":\"Ken Thompson\",\"cpf\":\"70511744099\","
+			+ "\"email\":\"ken@mail.com\",\"senha\":\"123\"}";
+
+	@Autowired
+	private PrincipalCache principalCache;
+
+	@Test
+	void usuarioRemovido_naoRenova() throws Exception {
+		String location = mvc.perform(post("/clientes")
+				.header("Authorization", token("admin@mail.com"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(CLIENTE))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getHeader("Location");
+		String refresh = mvc.perform(post("/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"ken@mail.com\",\"senha\":\"123\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("Refresh-Token");
+		assertNotNull(refresh);
+
+		mvc.perform(delete(location).header("Authorization", token("admin@mail.com")))
+				.andExpect(status().is2xxSuccessful());
+
+		// passado 'jwt.expiration', o PrincipalCache já não lembra a invalidação
+		((Cache<?, ?>) ReflectionTestUtils.getField(principalCache, "invalidacoes")).invalidateAll();
+
+		mvc.perform(post("/auth/refresh").header("Refresh-Token", refresh))
+				.andExpect(status().isUnauthorized());
+	}
+}
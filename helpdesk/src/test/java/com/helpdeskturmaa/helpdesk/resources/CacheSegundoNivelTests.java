@@ -0,0 +1,93 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.config.CacheHibernateConfig;
+import com.helpdeskturmaa.helpdesk.repositories.ClienteRepository;
+import com.helpdeskturmaa.helpdesk.repositories.PessoaRepository;
+
+/**
+ * Cache de segundo nível de {@code Pessoa}: gravar um chamado não relê o técnico nem o cliente do banco,
+ * as consultas por e-mail dos cadastros vêm do cache até uma escrita em 'pessoa' (a da autenticação sempre vai ao banco),
+ * e tudo aparece em {@code /metricas/hibernate}.
+ */
+class CacheSegundoNivelTests extends IntegracaoBase {
+
+	private static final String CHAMADO = "{\"prioridade\":\"BAIXA\",\"status\":\"ABERTO\",\"titulo\":\"Monitor piscando\","
+			+ "\"observacoes\":\"segundo nível\",\"tecnico\":3,\"cliente\":8}";
+
+	@Autowired
+	private ClienteRepository clienteRepository;
+
+	@Autowired
+	private PessoaRepository pessoaRepository;
+
+	@Test
+	void gravarChamado_leTecnicoEClienteDoCache() throws Exception {
+		criarChamado();
+		JsonNode antes = metricas();
+		criarChamado();
+		JsonNode depois = metricas();
+
+		JsonNode pessoasAntes = antes.get("regioes").get(CacheHibernateConfig.REGIAO_PESSOAS);
+		JsonNode pessoasDepois = depois.get("regioes").get(CacheHibernateConfig.REGIAO_PESSOAS);
+		assertEquals(pessoasAntes.get("acertos").asLong() + 2, pessoasDepois.get("acertos").asLong());
+		assertEquals(pessoasAntes.get("falhas").asLong(), pessoasDepois.get("falhas").asLong());
+		// técnico e cliente não são lidos do banco
+		assertEquals(antes.get("entidadesCarregadas").asLong(), depois.get("entidadesCarregadas").asLong());
+	}
+
+	@Test
+	void consultaPorEmail_emCacheAteUmaEscrita() throws Exception {
+		clienteRepository.findByEmail("guido@mail.com");
+		long consultas = metricas().get("consultas").asLong();
+		assertEquals("Guido van Rossum", clienteRepository.findByEmail("guido@mail.com").get().getNome());
+		assertEquals(consultas, metricas().get("consultas").asLong());
+
+		mvc.perform(put("/clientes/7")
+				.header("Authorization", token("admin@mail.com"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"Guido Rossum\",\"cpf\":\"70511744014\",\"email\":\"guido@mail.com\"}"))
+				.andExpect(status().isOk());
+
+		assertEquals("Guido Rossum", clienteRepository.findByEmail("guido@mail.com").get().getNome());
+		assertEquals(consultas + 1, metricas().get("consultas").asLong());
+	}
+
+	@Test
+	void consultaPorEmailDaAutenticacao_sempreNoBanco() throws Exception {
+		pessoaRepository.findByEmail("dennis@mail.com");
+		long consultas = metricas().get("consultas").asLong();
+		pessoaRepository.findByEmail("dennis@mail.com");
+		pessoaRepository.findByEmail("dennis@mail.com");
+		assertEquals(consultas + 2, metricas().get("consultas").asLong());
+	}
+
+	@Test
+	void metricas_apenasAdmin() throws Exception {
+		mvc.perform(get("/metricas/hibernate").header("Authorization", token("linus@mail.com"))).andExpect(status().isForbidden());
+	}
+
+	private void criarChamado() throws Exception {
+		mvc.perform(post("/chamados")
+				.header("Authorization", token("admin@mail.com"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(CHAMADO))
+				.andExpect(status().isCreated());
+	}
+
+	private JsonNode metricas() throws Exception {
+		return mapper.readTree(mvc.perform(get("/metricas/hibernate").header("Authorization", token("admin@mail.com")))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+	}
+}
@@ -0,0 +1,85 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.service.CacheCadastros;
+
+/**
+ * Cache dos cadastros de técnicos e clientes: leituras repetidas são atendidas pelo cache, as escritas
+ * o invalidam, nada em cache guarda a senha e as estatísticas ficam em {@code /metricas/caches}.
+ */
+class CadastroCacheTests extends IntegracaoBase {
+
+	@Autowired
+	private CacheCadastros cache;
+
+	@Test
+	void alteracao_invalidaOTecnicoEAListagem() throws Exception {
+		String admin = token("admin@mail.com");
+		MockHttpServletResponse antes = mvc.perform(get("/tecnicos/2").header("Authorization", admin))
+				.andExpect(status().isOk()).andReturn().getResponse();
+		mvc.perform(get("/tecnicos/2").header("Authorization", admin)).andExpect(status().isOk());
+		String nome = mapper.readTree(antes.getContentAsString()).get("nome").asText();
+		assertEquals(nome, nomeNaListagem(2));
+		assertEquals(nome, nomeNaListagem(2));
+
+		mvc.perform(put("/tecnicos/2")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"nome\":\"William Gates\",\"cpf\":\"76045777093\",\"email\":\"bill@mail.com\"}"))
+				.andExpect(status().isOk());
+
+		MockHttpServletResponse depois = mvc.perform(get("/tecnicos/2").header("Authorization", admin))
+				.andExpect(status().isOk()).andReturn().getResponse();
+		assertEquals("William Gates", mapper.readTree(depois.getContentAsString()).get("nome").asText());
+		assertNotEquals(antes.getHeader("ETag"), depois.getHeader("ETag"));
+		assertEquals("William Gates", nomeNaListagem(2));
+
+		// nenhuma carga: o DTO já está em cache, sem a senha
+		assertNull(cache.getTecnicos().buscar(2, id -> null).getSenha());
+
+		JsonNode estatisticas = mapper.readTree(mvc.perform(get("/metricas/caches").header("Authorization", admin))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+		assertTrue(estatisticas.get("tecnicos").get("acertos").asLong() >= 2);
+		assertTrue(estatisticas.get("tecnicos.paginas").get("acertos").asLong() >= 1);
+		assertTrue(estatisticas.get("tecnicos.paginas").get("falhas").asLong() >= 2);
+	}
+
+	@Test
+	void cliente_veOProprioCadastroEmCache() throws Exception {
+		String cliente = token("linus@mail.com");
+		mvc.perform(get("/clientes/6").header("Authorization", cliente)).andExpect(status().isOk());
+		mvc.perform(get("/clientes/7").header("Authorization", cliente)).andExpect(status().isForbidden());
+		JsonNode lista = mapper.readTree(mvc.perform(get("/clientes").header("Authorization", cliente))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+		assertEquals(1, lista.size());
+		assertEquals(6, lista.get(0).get("id").asInt());
+		assertNull(cache.getClientes().buscar(6, id -> null).getSenha());
+
+		mvc.perform(get("/metricas/caches").header("Authorization", cliente)).andExpect(status().isForbidden());
+	}
+
+	private String nomeNaListagem(int id) throws Exception {
+		JsonNode lista = mapper.readTree(mvc.perform(get("/tecnicos?size=100").header("Authorization", token("admin@mail.com")))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+		for (JsonNode tecnico : lista) {
+			if (tecnico.get("id").asInt() == id) {
+				return tecnico.get("nome").asText();
+			}
+		}
+		return null;
+	}
+}
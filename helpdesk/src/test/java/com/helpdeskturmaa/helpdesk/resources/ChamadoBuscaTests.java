@@ -0,0 +1,31 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+
+/**
+ * Busca de {@code /chamados/search}: os resultados seguem as regras de perfil da listagem.
+ */
+class ChamadoBuscaTests extends IntegracaoBase {
+
+	@Test
+	void busca_clienteSoVeOsProprios() throws Exception {
+		// "Solicitação de ..." nos chamados 3 (cliente 6, linus) e 8 (cliente 7, guido)
+		mvc.perform(get("/chamados/search").param("q", "solicitacoes").header("Authorization", token("admin@mail.com")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].id", containsInAnyOrder(3, 8)));
+		mvc.perform(get("/chamados/search").param("q", "solicitacoes").header("Authorization", token("linus@mail.com")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].id", contains(3)));
+		mvc.perform(get("/chamados/search").param("q", "solicitacoes").header("Authorization", token("guido@mail.com")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].id", contains(8)));
+	}
+}
@@ -0,0 +1,75 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+
+/**
+ * ETag de uma listagem filtrada: muda quando um chamado sai do filtro e outro entra, mesmo que a
+ * quantidade, o maior ID e a soma das versões do conjunto continuem iguais.
+ */
+class ChamadoColecaoEtagTests extends IntegracaoBase {
+
+	private static final String LISTAGEM = "/chamados?status=ABERTO&cliente=8";
+
+	@Test
+	void umSaiOutroEntra_mudaOEtag() throws Exception {
+		int sai = criar("Sai do filtro");
+		int entra = criar("Entra no filtro");
+		int ultimo = criar("Maior ID");
+		// 'sai' fica ABERTO na versão 2; 'entra' fica em ANDAMENTO na versão 1
+		alterarStatus(sai, "ANDAMENTO");
+		alterarStatus(sai, "ABERTO");
+		alterarStatus(entra, "ANDAMENTO");
+
+		String etag = mvc.perform(get(LISTAGEM).header("Authorization", token("admin@mail.com")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mvc.perform(get(LISTAGEM).header("Authorization", token("admin@mail.com")).header("If-None-Match", etag))
+				.andExpect(status().isNotModified());
+
+		// um sai na versão 2 e o outro entra na versão 2: quantidade, maior ID e soma das versões não mudam
+		alterarStatus(sai, "ANDAMENTO");
+		alterarStatus(entra, "ABERTO");
+
+		mvc.perform(get(LISTAGEM).header("Authorization", token("admin@mail.com")).header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].id", hasItem(entra)))
+				.andExpect(jsonPath("$[*].id", not(hasItem(sai))));
+
+		for (int id : new int[] { sai, entra, ultimo }) {
+			mvc.perform(delete("/chamados/" + id).header("Authorization", token("admin@mail.com")))
+					.andExpect(status().is2xxSuccessful());
+		}
+	}
+
+	private int criar(String titulo) throws Exception {
+		String location = mvc.perform(post("/chamados")
+				.header("Authorization", token("admin@mail.com"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"prioridade\":\"BAIXA\",\"status\":\"ABERTO\",\"titulo\":\"" + titulo + "\","
+						+ "\"observacoes\":\"etag da listagem\",\"tecnico\":4,\"cliente\":8}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getHeader("Location");
+		return Integer.parseInt(location.substring(location.lastIndexOf('/') + 1));
+	}
+
+	private void alterarStatus(int id, String status) throws Exception {
+		mvc.perform(patch("/chamados/" + id + "/status")
+				.header("Authorization", token("admin@mail.com"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"" + status + "\"}"))
+				.andExpect(status().isOk());
+	}
+}
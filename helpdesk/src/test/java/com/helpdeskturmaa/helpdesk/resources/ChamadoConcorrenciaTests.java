@@ -0,0 +1,209 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Alterações concorrentes de um mesmo chamado: a troca de status por compare-and-set
+ * e a edição condicionada à versão ({@code @Version} / If-Match) não podem perder atualizações,
+ * e a fila de triagem ({@code /chamados/next}) não entrega o mesmo chamado duas vezes.
+ */
+// Banco próprio: as verificações partem dos dados iniciais (chamados 4 e 5, técnico 5 sem chamados ABERTOS).
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:concorrencia", "chamados.sla.tick-ms=3600000",
+		"chamados.outbox.intervalo-ms=3600000", "chamados.stream.heartbeat-ms=3600000" })
+class ChamadoConcorrenciaTests extends IntegracaoBase {
+
+	private static final int THREADS = 8;
+
+	private String admin;
+
+	@Autowired
+	private ChamadoRepository repository;
+
+	@BeforeEach
+	void login() throws Exception {
+		admin = token("admin@mail.com");
+	}
+
+	@Test
+	void trocaDeStatusConcorrente_apenasUmaVence() throws Exception {
+		// chamado 5 está ENCERRADO; todos tentam reabrir ao mesmo tempo
+		long versaoInicial = repository.findById(5).get().getVersao();
+
+		List<Integer> respostas = emParalelo(() -> mvc.perform(patch("/chamados/5/status")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"ANDAMENTO\"}"))
+				.andReturn().getResponse().getStatus());
+
+		assertEquals(1, respostas.stream().filter(s -> s == 200).count(), respostas.toString());
+		assertEquals(THREADS - 1, respostas.stream().filter(s -> s == 409).count(), respostas.toString());
+
+		Chamado chamado = repository.findById(5).get();
+		assertEquals(Status.ANDAMENTO, chamado.getStatus());
+		assertEquals(null, chamado.getDataFechamento());
+		assertEquals(versaoInicial + 1, chamado.getVersao());
+	}
+
+	@Test
+	void edicoesConcorrentes_nenhumaSePerde() throws Exception {
+		long versaoInicial = repository.findById(2).get().getVersao();
+
+		List<Integer> tentativas = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			tentativas.add(i);
+		}
+		emParalelo(tentativas, i -> {
+			while (true) {
+				MockHttpServletResponse lido = mvc.perform(get("/chamados/2").header("Authorization", admin))
+						.andReturn().getResponse();
+				ObjectNode body = (ObjectNode) mapper.readTree(lido.getContentAsString());
+				body.put("observacoes", body.get("observacoes").asText() + " [t" + i + "]");
+
+				int status = mvc.perform(put("/chamados/2")
+						.header("Authorization", admin)
+						.header("If-Match", lido.getHeader("ETag"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body.toString()))
+						.andReturn().getResponse().getStatus();
+				if (status == 200) {
+					return status;
+				}
+				// versão mudou entre a leitura e a gravação: relê e tenta de novo
+				assertEquals(409, status);
+			}
+		});
+
+		Chamado chamado = repository.findById(2).get();
+		for (int i = 0; i < THREADS; i++) {
+			assertTrue(chamado.getObservacoes().contains("[t" + i + "]"), chamado.getObservacoes());
+		}
+		assertEquals(versaoInicial + THREADS, chamado.getVersao());
+	}
+
+	@Test
+	void transicaoForaDaTabela_badRequest() throws Exception {
+		// chamado 4 está ABERTO: precisa passar por ANDAMENTO antes de ENCERRADO
+		mvc.perform(patch("/chamados/4/status")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"ENCERRADO\"}"))
+				.andExpect(status().isBadRequest());
+		assertEquals(Status.ABERTO, repository.findById(4).get().getStatus());
+	}
+
+	@Test
+	void filaDeTriagemConcorrente_cadaChamadoAssumidoUmaVez() throws Exception {
+		// técnico 5 não tem chamados ABERTOS na carga inicial
+		String[] prioridades = { "BAIXA", "ALTA", "MEDIA" };
+		Set<Integer> criados = new HashSet<>();
+		Integer primeiroAlta = null;
+		for (int i = 0; i < 24; i++) {
+			String prioridade = prioridades[i % prioridades.length];
+			String body = "{\"titulo\":\"Fila " + i + "\",\"observacoes\":\"fila\",\"prioridade\":\"" + prioridade
+					+ "\",\"status\":\"ABERTO\",\"tecnico\":5,\"cliente\":6}";
+			Integer id = mapper.readTree(mvc.perform(post("/chamados")
+					.header("Authorization", admin)
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(body))
+					.andExpect(status().isCreated())
+					.andReturn().getResponse().getContentAsString()).get("id").asInt();
+			criados.add(id);
+			if (primeiroAlta == null && prioridade.equals("ALTA")) {
+				primeiroAlta = id;
+			}
+		}
+
+		// maior prioridade primeiro; entre iguais, o mais antigo (menor ID)
+		String proximo = mvc.perform(get("/chamados/next?tecnico=5").header("Authorization", admin))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertEquals(primeiroAlta.intValue(), mapper.readTree(proximo).get("id").asInt());
+
+		Queue<Integer> assumidos = new ConcurrentLinkedQueue<>();
+		emParalelo(() -> {
+			while (true) {
+				MockHttpServletResponse resposta = mvc.perform(post("/chamados/next?tecnico=5")
+						.header("Authorization", admin))
+						.andReturn().getResponse();
+				if (resposta.getStatus() == 204) {
+					return 204;
+				}
+				assertEquals(200, resposta.getStatus());
+				assumidos.add(mapper.readTree(resposta.getContentAsString()).get("id").asInt());
+			}
+		});
+
+		assertEquals(criados.size(), assumidos.size(), assumidos.toString());
+		assertEquals(criados, new HashSet<>(assumidos));
+		for (Integer id : criados) {
+			assertEquals(Status.ANDAMENTO, repository.findById(id).get().getStatus());
+		}
+	}
+
+	private List<Integer> emParalelo(Callable<Integer> tarefa) throws Exception {
+		List<Integer> nenhum = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			nenhum.add(i);
+		}
+		return emParalelo(nenhum, i -> tarefa.call());
+	}
+
+	private List<Integer> emParalelo(List<Integer> entradas, Tarefa tarefa) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(entradas.size());
+		CountDownLatch largada = new CountDownLatch(1);
+		try {
+			List<Future<Integer>> futuros = new ArrayList<>();
+			for (Integer entrada : entradas) {
+				futuros.add(pool.submit(() -> {
+					largada.await();
+					return tarefa.executar(entrada);
+				}));
+			}
+			largada.countDown();
+			List<Integer> resultados = new ArrayList<>();
+			for (Future<Integer> futuro : futuros) {
+				resultados.add(futuro.get(30, TimeUnit.SECONDS));
+			}
+			return resultados;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@FunctionalInterface
+	private interface Tarefa {
+		Integer executar(Integer entrada) throws Exception;
+	}
+}
@@ -0,0 +1,86 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.service.ChamadoContadores;
+
+/**
+ * Contadores de {@code /chamados/stats}: acompanham criação, alteração e exclusão, e continuam
+ * batendo com o banco (a reconciliação não muda nada).
+ */
+class ChamadoEstatisticasTests extends IntegracaoBase {
+
+	private static final String NOVO = "{\"prioridade\":\"BAIXA\",\"status\":\"ABERTO\",\"titulo\":\"Mouse sem fio\","
+			+ "\"observacoes\":\"estatísticas\",\"tecnico\":4,\"cliente\":8}";
+
+	@Autowired
+	private ChamadoContadores contadores;
+
+	@Test
+	void criacaoAlteracaoExclusao_atualizamOsContadores() throws Exception {
+		JsonNode antes = estatisticas();
+
+		String id = criar();
+		JsonNode criado = estatisticas();
+		assertEquals(antes.get("total").asLong() + 1, criado.get("total").asLong());
+		assertEquals(contagem(antes, "porStatus", "ABERTO") + 1, contagem(criado, "porStatus", "ABERTO"));
+		assertEquals(contagem(antes, "porPrioridade", "BAIXA") + 1, contagem(criado, "porPrioridade", "BAIXA"));
+		assertEquals(antes.get("porTecnico").get("4").get("ABERTO").asLong() + 1,
+				criado.get("porTecnico").get("4").get("ABERTO").asLong());
+
+		mvc.perform(put("/chamados/" + id)
+				.header("Authorization", token("admin@mail.com"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(NOVO.replace("BAIXA", "ALTA").replace("\"ABERTO\"", "\"ANDAMENTO\"")))
+				.andExpect(status().isOk());
+		JsonNode alterado = estatisticas();
+		assertEquals(criado.get("total").asLong(), alterado.get("total").asLong());
+		assertEquals(contagem(antes, "porStatus", "ABERTO"), contagem(alterado, "porStatus", "ABERTO"));
+		assertEquals(contagem(antes, "porStatus", "ANDAMENTO") + 1, contagem(alterado, "porStatus", "ANDAMENTO"));
+		assertEquals(contagem(antes, "porPrioridade", "BAIXA"), contagem(alterado, "porPrioridade", "BAIXA"));
+		assertEquals(contagem(antes, "porPrioridade", "ALTA") + 1, contagem(alterado, "porPrioridade", "ALTA"));
+
+		excluir(id);
+		assertEquals(antes, estatisticas());
+
+		// a memória já batia com o banco: a reconciliação não muda nada
+		contadores.reconciliar();
+		assertEquals(antes, estatisticas());
+	}
+
+	private String criar() throws Exception {
+		String location = mvc.perform(post("/chamados")
+				.header("Authorization", token("admin@mail.com"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(NOVO))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getHeader("Location");
+		return location.substring(location.lastIndexOf('/') + 1);
+	}
+
+	private void excluir(String id) throws Exception {
+		mvc.perform(delete("/chamados/" + id).header("Authorization", token("admin@mail.com")))
+				.andExpect(status().is2xxSuccessful());
+	}
+
+	private JsonNode estatisticas() throws Exception {
+		return mapper.readTree(mvc.perform(get("/chamados/stats").header("Authorization", token("admin@mail.com")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+	}
+
+	private static long contagem(JsonNode estatisticas, String grupo, String chave) {
+		return estatisticas.get(grupo).get(chave).asLong();
+	}
+}
@@ -0,0 +1,110 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.resources.util.Paginacao;
+
+/**
+ * Histórico de alterações ({@code /chamados/{id}/historico}): cada campo alterado por um PUT
+ * ou por uma troca de status vira uma linha, com o autor, gravada em segundo plano.
+ */
+// Só estes testes alteram o chamado 3 no banco compartilhado.
+class ChamadoHistoricoTests extends IntegracaoBase {
+
+	private String admin;
+
+	@BeforeEach
+	void login() throws Exception {
+		admin = token("admin@mail.com");
+	}
+
+	@Test
+	void alteracoesDeCampos_aparecemNoHistorico() throws Exception {
+		// chamado 3: BAIXA, ANDAMENTO, técnico 3; passa a ALTA com o técnico 2 e depois é encerrado
+		mvc.perform(put("/chamados/3")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"prioridade\":\"ALTA\",\"status\":\"ANDAMENTO\",\"titulo\":\"Solicitação de instalação de software\","
+						+ "\"observacoes\":\"terceiro chamado\",\"tecnico\":2,\"cliente\":6}"))
+				.andExpect(status().isOk());
+		mvc.perform(patch("/chamados/3/status")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"ENCERRADO\"}"))
+				.andExpect(status().isOk());
+
+		JsonNode historico = aguardarHistorico("/chamados/3/historico", 3);
+		assertAlteracao(historico.get(0), "prioridade", "BAIXA", "ALTA");
+		assertAlteracao(historico.get(1), "tecnico", "3", "2");
+		assertAlteracao(historico.get(2), "status", "ANDAMENTO", "ENCERRADO");
+
+		// paginado por cursor, em ordem de gravação
+		MockHttpServletResponse primeira = mvc.perform(get("/chamados/3/historico?size=2&count=true")
+				.header("Authorization", admin))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		assertEquals(2, mapper.readTree(primeira.getContentAsString()).size());
+		assertEquals("3", primeira.getHeader(Paginacao.TOTAL_COUNT));
+		String cursor = primeira.getHeader(Paginacao.NEXT_CURSOR);
+		assertNotNull(cursor);
+
+		MockHttpServletResponse segunda = mvc.perform(get("/chamados/3/historico?size=2&cursor=" + cursor)
+				.header("Authorization", admin))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		JsonNode itens = mapper.readTree(segunda.getContentAsString());
+		assertEquals(1, itens.size());
+		assertEquals("status", itens.get(0).get("campo").asText());
+		assertNull(segunda.getHeader(Paginacao.NEXT_CURSOR));
+	}
+
+	@Test
+	void chamadoInexistente_soParaAdmin() throws Exception {
+		String cliente = token("linus@mail.com");
+
+		// excluído ou nunca criado: para ADMINs, o histórico (vazio aqui) continua acessível
+		mvc.perform(get("/chamados/999/historico").header("Authorization", admin))
+				.andExpect(status().isOk());
+		mvc.perform(get("/chamados/999/historico").header("Authorization", cliente))
+				.andExpect(status().isNotFound());
+		// chamado 3 é do cliente 6
+		mvc.perform(get("/chamados/3/historico").header("Authorization", cliente))
+				.andExpect(status().isOk());
+	}
+
+	private JsonNode aguardarHistorico(String url, int esperado) throws Exception {
+		long limite = System.currentTimeMillis() + 5_000;
+		while (true) {
+			JsonNode historico = mapper.readTree(mvc.perform(get(url).header("Authorization", admin))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString());
+			if (historico.size() >= esperado || System.currentTimeMillis() > limite) {
+				assertEquals(esperado, historico.size(), historico.toString());
+				return historico;
+			}
+			Thread.sleep(50);
+		}
+	}
+
+	private static void assertAlteracao(JsonNode alteracao, String campo, String anterior, String novo) {
+		assertEquals(campo, alteracao.get("campo").asText());
+		assertEquals(anterior, alteracao.get("valorAnterior").asText());
+		assertEquals(novo, alteracao.get("valorNovo").asText());
+		// admin
+		assertEquals(1, alteracao.get("autor").asInt());
+		assertNotNull(alteracao.get("dataHora").asText());
+	}
+}
@@ -0,0 +1,127 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.domain.Chamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Operações em lote ({@code /chamados/lote/...}): aplicadas em lotes de 'chamados.lote.tamanho'
+ * (aqui 2), por lista de IDs ou por filtro, respeitando a tabela de transições de status
+ * e refletidas na fila de triagem e nos contadores.
+ */
+// Banco próprio: as verificações partem dos dados iniciais (status e técnicos dos chamados 1 a 9).
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:lote", "chamados.lote.tamanho=2" })
+class ChamadoLoteTests extends IntegracaoBase {
+
+	private String admin;
+
+	private String cliente;
+
+	@Autowired
+	private ChamadoRepository repository;
+
+	@BeforeEach
+	void login() throws Exception {
+		admin = token("admin@mail.com");
+		cliente = token("linus@mail.com");
+	}
+
+	@Test
+	void encerrarPorIds_eReabrirPorFiltro() throws Exception {
+		// chamado 4 está ABERTO e não pode ser encerrado; 99 não existe
+		mvc.perform(post("/chamados/lote/status")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\":[4,3,2,1,99,1],\"status\":\"ENCERRADO\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.selecionados").value(4))
+				.andExpect(jsonPath("$.alterados").value(3))
+				.andExpect(jsonPath("$.lotes").value(org.hamcrest.Matchers.contains(2, 1, 0)));
+
+		for (Integer id : Arrays.asList(1, 2, 3)) {
+			Chamado chamado = repository.findById(id).get();
+			assertEquals(Status.ENCERRADO, chamado.getStatus());
+			assertEquals(LocalDate.now(), chamado.getDataFechamento());
+		}
+		assertEquals(Status.ABERTO, repository.findById(4).get().getStatus());
+
+		// reabre os chamados encerrados do técnico 2 (chamados 1 e 2)
+		mvc.perform(post("/chamados/lote/status")
+				.param("status", "ENCERRADO")
+				.param("tecnico", "2")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"ABERTO\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.alterados").value(2))
+				.andExpect(jsonPath("$.lotes").value(org.hamcrest.Matchers.contains(2)));
+
+		for (Integer id : Arrays.asList(1, 2)) {
+			Chamado chamado = repository.findById(id).get();
+			assertEquals(Status.ABERTO, chamado.getStatus());
+			assertNull(chamado.getDataFechamento());
+			assertNotNull(chamado.getPrazoSla());
+		}
+		// reabertos, entram na fila de triagem: o ALTA primeiro
+		mvc.perform(get("/chamados/next").param("tecnico", "2").header("Authorization", admin))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(2));
+	}
+
+	@Test
+	void reatribuirPorFiltro() throws Exception {
+		// chamados 5, 8 e 9 são do técnico 5
+		mvc.perform(post("/chamados/lote/tecnico")
+				.param("tecnico", "5")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"tecnico\":4}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.selecionados").value(3))
+				.andExpect(jsonPath("$.alterados").value(3))
+				.andExpect(jsonPath("$.lotes").value(org.hamcrest.Matchers.contains(2, 1)));
+
+		for (Integer id : Arrays.asList(5, 8, 9)) {
+			assertEquals(4, repository.findById(id).get().getTecnico().getId());
+		}
+		mvc.perform(get("/chamados/stats").header("Authorization", admin))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.porTecnico.5.ANDAMENTO").value(0))
+				.andExpect(jsonPath("$.porTecnico.5.ENCERRADO").value(0))
+				.andExpect(jsonPath("$.porTecnico.4.ANDAMENTO").value(3))
+				.andExpect(jsonPath("$.porTecnico.4.ENCERRADO").value(1));
+	}
+
+	@Test
+	void semIdsNemFiltro_ouSemSerAdmin_recusa() throws Exception {
+		mvc.perform(post("/chamados/lote/tecnico")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"tecnico\":4}"))
+				.andExpect(status().isBadRequest());
+
+		mvc.perform(post("/chamados/lote/status")
+				.header("Authorization", cliente)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\":[1],\"status\":\"ENCERRADO\"}"))
+				.andExpect(status().isForbidden());
+	}
+}
@@ -0,0 +1,44 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+
+/**
+ * Permissões de escrita em chamados: o cliente abre e acompanha os seus, mas não os edita nem troca o status.
+ */
+class ChamadoPermissoesTests extends IntegracaoBase {
+
+	@Test
+	void trocaDeStatus_clienteDonoRecusado() throws Exception {
+		// chamado 1 é do cliente 6 (linus) e está em ANDAMENTO
+		mvc.perform(patch("/chamados/1/status")
+				.header("Authorization", token("linus@mail.com"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"ENCERRADO\"}"))
+				.andExpect(status().isForbidden());
+
+		mvc.perform(get("/chamados/1").header("Authorization", token("admin@mail.com")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("ANDAMENTO"));
+	}
+
+	@Test
+	void preflight_aceitaPatch() throws Exception {
+		mvc.perform(options("/chamados/1/status")
+				.header(HttpHeaders.ORIGIN, "http://localhost:4200")
+				.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PATCH"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, containsString("PATCH")));
+	}
+}
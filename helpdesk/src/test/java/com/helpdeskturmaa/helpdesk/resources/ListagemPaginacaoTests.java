@@ -0,0 +1,70 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.resources.util.Paginacao;
+
+/**
+ * Listagens sem 'size': a página tem 'pagination.default-size' itens, com o cursor da próxima,
+ * e seguir os cursores traz os mesmos itens que páginas de outro tamanho.
+ */
+class ListagemPaginacaoTests extends IntegracaoBase {
+
+	@Autowired
+	private Paginacao paginacao;
+
+	@Test
+	void semSize_limitaAoTamanhoPadrao() throws Exception {
+		Object tamanhoPadrao = ReflectionTestUtils.getField(paginacao, "tamanhoPadrao");
+		// menor que qualquer uma das listagens da carga inicial
+		ReflectionTestUtils.setField(paginacao, "tamanhoPadrao", 2);
+		try {
+			for (String listagem : new String[] { "/chamados", "/clientes", "/tecnicos" }) {
+				MockHttpServletResponse primeira = listar(listagem);
+				assertEquals(2, ids(primeira).size(), listagem);
+				assertNotNull(primeira.getHeader(Paginacao.NEXT_CURSOR), listagem);
+				assertEquals(paginado(listagem, ""), paginado(listagem, "size=3&"), listagem);
+			}
+		} finally {
+			ReflectionTestUtils.setField(paginacao, "tamanhoPadrao", tamanhoPadrao);
+		}
+	}
+
+	private List<Integer> paginado(String listagem, String size) throws Exception {
+		List<Integer> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			MockHttpServletResponse pagina = listar(listagem + "?" + size + (cursor == null ? "" : "cursor=" + cursor));
+			ids.addAll(ids(pagina));
+			cursor = pagina.getHeader(Paginacao.NEXT_CURSOR);
+		} while (cursor != null);
+		return ids;
+	}
+
+	private MockHttpServletResponse listar(String url) throws Exception {
+		return mvc.perform(get(url).header("Authorization", token("admin@mail.com")))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+	}
+
+	private List<Integer> ids(MockHttpServletResponse resposta) throws Exception {
+		List<Integer> ids = new ArrayList<>();
+		for (JsonNode item : mapper.readTree(resposta.getContentAsString())) {
+			ids.add(item.get("id").asInt());
+		}
+		return ids;
+	}
+}
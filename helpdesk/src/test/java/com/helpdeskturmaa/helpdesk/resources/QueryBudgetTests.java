@@ -0,0 +1,189 @@
+package com.helpdeskturmaa.helpdesk.resources;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.service.HistoricoChamados;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Orçamento de comandos SQL por endpoint REST. O DataSource é envolvido por um proxy
+ * que conta cada comando executado (em qualquer thread, inclusive no pool de login),
+ * de modo que um N+1 introduzido em um endpoint quebra o build.
+ * * Só a thread de gravação do histórico fica de fora: ela grava em segundo plano, fora do tempo das requisições.
+ */
+// Contexto próprio: o DataSource com o contador de comandos não pode ser o do contexto compartilhado.
+// Os temporizadores de SLA e o retransmissor do outbox não disparam aqui: seus comandos entrariam na contagem.
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:querybudget", "chamados.sla.tick-ms=3600000",
+		"chamados.outbox.intervalo-ms=3600000", "chamados.stream.heartbeat-ms=3600000" })
+class QueryBudgetTests extends IntegracaoBase {
+
+	private static final AtomicInteger COMANDOS = new AtomicInteger();
+
+	@TestConfiguration
+	static class ContadorDeComandos {
+
+		@Bean
+		static BeanPostProcessor dataSourceContador() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (!(bean instanceof DataSource)) {
+						return bean;
+					}
+					return ProxyDataSourceBuilder.create((DataSource) bean).listener(new QueryExecutionListener() {
+						@Override
+						public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+						}
+
+						@Override
+						public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+							if (!HistoricoChamados.THREAD.equals(Thread.currentThread().getName())) {
+								COMANDOS.addAndGet(queryInfoList.size());
+							}
+						}
+					}).build();
+				}
+			};
+		}
+	}
+
+	private String admin;
+
+	private String cliente;
+
+	// Fora da contagem: o login de cada e-mail acontece uma vez por contexto (ver IntegracaoBase).
+	@BeforeEach
+	void login() throws Exception {
+		admin = token("admin@mail.com");
+		cliente = token("linus@mail.com");
+	}
+
+	@Test
+	void login_umaConsulta() throws Exception {
+		orcamento(1, () -> mvc.perform(post("/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"bill@mail.com\",\"senha\":\"123\"}")));
+	}
+
+	@Test
+	void chamados() throws Exception {
+		// listagens: só a página; o ETag da coleção inteira sai dos próprios itens
+		orcamento(1, () -> mvc.perform(get("/chamados").header("Authorization", admin)));
+		orcamento(2, () -> mvc.perform(get("/chamados?sort=prioridade&count=true").header("Authorization", admin)));
+		orcamento(1, () -> mvc.perform(get("/chamados").header("Authorization", cliente)));
+		orcamento(1, () -> mvc.perform(get("/chamados/1").header("Authorization", admin)));
+		orcamento(1, () -> mvc.perform(get("/chamados/export?formato=csv").header("Authorization", admin)));
+		// contadores em memória
+		orcamento(0, () -> mvc.perform(get("/chamados/stats").header("Authorization", admin)));
+		orcamento(0, () -> mvc.perform(get("/chamados/stats").header("Authorization", cliente)));
+	}
+
+	@Test
+	void chamados_update() throws Exception {
+		String body = "{\"prioridade\":\"ALTA\",\"status\":\"ANDAMENTO\",\"titulo\":\"Erro ao acessar VPN\","
+				+ "\"observacoes\":\"primeiro chamado\",\"tecnico\":2,\"cliente\":6}";
+		// chamado (com técnico e cliente), o UPDATE, e o ID (sequência) e o INSERT do evento no outbox
+		orcamento(4, () -> mvc.perform(put("/chamados/1").header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON).content(body)));
+	}
+
+	@Test
+	void chamados_create() throws Exception {
+		String body = "{\"prioridade\":\"BAIXA\",\"status\":\"ABERTO\",\"titulo\":\"Teclado falhando\","
+				+ "\"observacoes\":\"orçamento\",\"tecnico\":4,\"cliente\":8}";
+		mvc.perform(post("/chamados").header("Authorization", admin).contentType(MediaType.APPLICATION_JSON).content(body));
+		// técnico e cliente no cache de segundo nível: só o INSERT do chamado, e o ID e o INSERT do evento no outbox
+		orcamento(3, () -> mvc.perform(post("/chamados").header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON).content(body)));
+	}
+
+	@Test
+	void chamados_lote() throws Exception {
+		// técnico, e no lote o SELECT ... FOR UPDATE e o UPDATE (nenhuma linha muda: não há releitura)
+		orcamento(3, () -> mvc.perform(post("/chamados/lote/tecnico").header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[1,2],\"tecnico\":2}")));
+		// chamados 5 e 6 já estão ENCERRADOS
+		orcamento(2, () -> mvc.perform(post("/chamados/lote/status").header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[5,6],\"status\":\"ENCERRADO\"}")));
+	}
+
+	@Test
+	void clientes() throws Exception {
+		orcamento(1, () -> mvc.perform(get("/clientes").header("Authorization", admin)));
+		orcamento(2, () -> mvc.perform(get("/clientes?count=true").header("Authorization", admin)));
+		orcamento(1, () -> mvc.perform(get("/clientes/6").header("Authorization", admin)));
+	}
+
+	@Test
+	void tecnicos() throws Exception {
+		orcamento(1, () -> mvc.perform(get("/tecnicos").header("Authorization", admin)));
+		orcamento(1, () -> mvc.perform(get("/tecnicos/2").header("Authorization", admin)));
+		// em cache: nenhum comando, nem para o ETag
+		orcamento(0, () -> mvc.perform(get("/tecnicos").header("Authorization", admin)));
+		orcamento(0, () -> mvc.perform(get("/tecnicos/2").header("Authorization", admin)));
+	}
+
+	@Test
+	void getCondicional_respondeNaoModificadoSoComAVersao() throws Exception {
+		for (String url : new String[] { "/chamados/1", "/clientes/6", "/tecnicos/2" }) {
+			String etag = etag(url);
+			orcamento(1, status().isNotModified(), () -> mvc.perform(get(url).header("Authorization", admin)
+					.header("If-None-Match", etag)));
+		}
+		// o ETag calculado dos itens é o mesmo da versão consultada no GET condicional
+		for (String url : new String[] { "/chamados", "/clientes", "/tecnicos" }) {
+			String etag = etag(url);
+			orcamento(1, status().isNotModified(), () -> mvc.perform(get(url).header("Authorization", admin)
+					.header("If-None-Match", etag)));
+		}
+	}
+
+	private void orcamento(int maximo, Requisicao requisicao) throws Exception {
+		orcamento(maximo, status().is2xxSuccessful(), requisicao);
+	}
+
+	private void orcamento(int maximo, ResultMatcher esperado, Requisicao requisicao) throws Exception {
+		COMANDOS.set(0);
+		requisicao.executar().andExpect(esperado);
+		int executados = COMANDOS.get();
+		assertTrue(executados <= maximo, "Esperado no máximo " + maximo + " comando(s) SQL, executados: " + executados);
+	}
+
+	private String etag(String url) throws Exception {
+		String etag = mvc.perform(get(url).header("Authorization", admin))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+		assertNotNull(etag, url);
+		return etag;
+	}
+
+	@FunctionalInterface
+	private interface Requisicao {
+		ResultActions executar() throws Exception;
+	}
+}
@@ -0,0 +1,118 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+
+/**
+ * Verificação dos tokens pelo {@link JWTUtil}: um token já verificado sai do cache como a mesma visão,
+ * tokens adulterados, de outra chave ou expirados são recusados (mesmo os que estavam no cache), e
+ * cada entrada do cache expira no 'exp' do seu token.
+ */
+class JWTUtilTests {
+
+	private static final String SEGREDO = "helpdesk-test-secret-helpdesk-test-secret-helpdesk-test-secret";
+
+	private static final UserSS BILL = new UserSS(2, "bill@mail.com", null, EnumSet.of(Perfil.TECNICO));
+
+	@Test
+	void tokenJaVerificado_saiDoCacheComoAMesmaVisao() {
+		JWTUtil jwt = jwt(3_600_000L);
+		String token = jwt.generateToken(BILL, "sessao-1");
+
+		JWTToken primeiro = jwt.parse(token);
+		assertNotNull(primeiro);
+		assertEquals("bill@mail.com", primeiro.getSubject());
+		assertEquals(2, primeiro.getId());
+		assertEquals(EnumSet.of(Perfil.TECNICO), primeiro.getPerfis());
+		assertEquals("sessao-1", primeiro.getSessao());
+		assertSame(primeiro, jwt.parse(token));
+		assertEquals(1, tokens(jwt).estimatedSize());
+	}
+
+	@Test
+	void tokenAdulteradoOuDeOutraChave_recusado() {
+		JWTUtil jwt = jwt(3_600_000L);
+		String token = jwt.generateToken(BILL);
+		assertNotNull(jwt.parse(token));
+
+		String[] partes = token.split("\\.");
+		// outro usuário no corpo, com a assinatura do original
+		String corpo = new String(Base64.getUrlDecoder().decode(partes[1]), StandardCharsets.UTF_8)
+				.replace("bill@mail.com", "admin@mail.com");
+		String outroCorpo = partes[0] + "." + Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(corpo.getBytes(StandardCharsets.UTF_8)) + "." + partes[2];
+		assertNull(jwt.parse(outroCorpo));
+		// assinatura alterada (no meio: o último caractere base64 tem bits de preenchimento)
+		char[] assinatura = partes[2].toCharArray();
+		assinatura[10] = assinatura[10] == 'A' ? 'B' : 'A';
+		assertNull(jwt.parse(partes[0] + "." + partes[1] + "." + new String(assinatura)));
+		// assinado com outra chave
+		JWTUtil outro = jwt(3_600_000L);
+		ReflectionTestUtils.setField(outro, "secret", SEGREDO.replace("test", "prod"));
+		outro.init();
+		assertNull(jwt.parse(outro.generateToken(BILL)));
+		assertNull(jwt.getUsername("nem-e-um-jwt"));
+
+		// o original, já no cache, continua valendo; os recusados não entram nele
+		assertNotNull(jwt.parse(token));
+		assertEquals(1, tokens(jwt).estimatedSize());
+	}
+
+	@Test
+	void tokenExpirado_recusado() {
+		JWTUtil jwt = jwt(-1_000L);
+		String token = jwt.generateToken(BILL);
+
+		assertNull(jwt.parse(token));
+		assertEquals(0, tokens(jwt).estimatedSize());
+	}
+
+	@Test
+	void entradaDoCache_expiraNoExpDoToken() throws Exception {
+		// 'exp' tem resolução de segundos: vence entre 1 e 2 segundos a partir de agora
+		JWTUtil jwt = jwt(2_000L);
+		String token = jwt.generateToken(BILL);
+		JWTToken verificado = jwt.parse(token);
+		assertNotNull(verificado);
+
+		long restante = verificado.getExpiraEm() - System.currentTimeMillis();
+		long noCache = tokens(jwt).policy().expireVariably().get()
+				.getExpiresAfter(tokens(jwt).asMap().keySet().iterator().next(), TimeUnit.MILLISECONDS).getAsLong();
+		assertTrue(noCache <= restante && noCache > restante - 1_000, noCache + " ms no cache, " + restante + " ms até o exp");
+
+		Thread.sleep(Math.max(0, verificado.getExpiraEm() - System.currentTimeMillis()) + 50);
+		// já no cache, mas expirado
+		assertNull(jwt.parse(token));
+		tokens(jwt).cleanUp();
+		assertEquals(0, tokens(jwt).estimatedSize());
+	}
+
+	private static JWTUtil jwt(long expiration) {
+		JWTUtil jwt = new JWTUtil();
+		ReflectionTestUtils.setField(jwt, "expiration", expiration);
+		ReflectionTestUtils.setField(jwt, "secret", SEGREDO);
+		ReflectionTestUtils.setField(jwt, "refreshExpiration", 604_800_000L);
+		ReflectionTestUtils.setField(jwt, "tokenCacheMaxSize", 100L);
+		jwt.init();
+		return jwt;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Cache<Object, JWTToken> tokens(JWTUtil jwt) {
+		return (Cache<Object, JWTToken>) ReflectionTestUtils.getField(jwt, "tokens");
+	}
+}
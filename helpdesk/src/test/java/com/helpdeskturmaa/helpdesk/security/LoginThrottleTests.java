@@ -0,0 +1,54 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Limitador de login: tentativas recusadas por um bucket não consomem o outro.
+ */
+class LoginThrottleTests {
+
+	private static final String IP = "203.0.113.7";
+
+	@Test
+	void emailEsgotado_naoGastaOBucketDoIp() {
+		LoginThrottle throttle = throttle(1, 3);
+
+		assertTrue(throttle.tryAcquire("bill@mail.com", IP));
+		for (int i = 0; i < 10; i++) {
+			assertFalse(throttle.tryAcquire("bill@mail.com", IP));
+		}
+		// o IP ainda tem 2 das 3 tentativas
+		assertTrue(throttle.tryAcquire("steve@mail.com", IP));
+		assertTrue(throttle.tryAcquire("ada@mail.com", IP));
+		assertFalse(throttle.tryAcquire("linus@mail.com", IP));
+	}
+
+	@Test
+	void ipEsgotado_naoGastaOBucketDoEmail() {
+		LoginThrottle throttle = throttle(2, 1);
+
+		assertTrue(throttle.tryAcquire("guido@mail.com", IP));
+		assertFalse(throttle.tryAcquire("bill@mail.com", IP));
+		// de outro IP, o e-mail ainda tem as 2 tentativas
+		assertTrue(throttle.tryAcquire("bill@mail.com", "198.51.100.1"));
+		assertTrue(throttle.tryAcquire("bill@mail.com", "198.51.100.2"));
+		assertFalse(throttle.tryAcquire("bill@mail.com", "198.51.100.3"));
+	}
+
+	private static LoginThrottle throttle(int emailBurst, int ipBurst) {
+		LoginThrottle throttle = new LoginThrottle();
+		ReflectionTestUtils.setField(throttle, "emailBurst", emailBurst);
+		ReflectionTestUtils.setField(throttle, "emailRefill", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(throttle, "ipBurst", ipBurst);
+		ReflectionTestUtils.setField(throttle, "ipRefill", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(throttle, "maxKeys", 1000L);
+		throttle.init();
+		return throttle;
+	}
+}
@@ -0,0 +1,33 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Invalidações do cache de principais: nenhuma é esquecida por volume antes de os tokens expirarem.
+ */
+class PrincipalCacheTests {
+
+	@Test
+	void muitasInvalidacoes_nenhumaEsquecida() {
+		PrincipalCache cache = new PrincipalCache();
+		ReflectionTestUtils.setField(cache, "maxSize", 10L);
+		ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(5));
+		ReflectionTestUtils.setField(cache, "expiration", 3_600_000L);
+		cache.init();
+
+		long emitidoEm = System.currentTimeMillis() - 1;
+		cache.invalidar("bill@mail.com");
+		for (int i = 0; i < 10_000; i++) {
+			cache.invalidar("usuario" + i + "@mail.com");
+		}
+
+		assertFalse(cache.claimsConfiaveis("bill@mail.com", emitidoEm));
+		assertTrue(cache.claimsConfiaveis("linus@mail.com", emitidoEm));
+	}
+}
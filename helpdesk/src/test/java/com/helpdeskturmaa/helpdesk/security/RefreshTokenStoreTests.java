@@ -0,0 +1,62 @@
+package com.helpdeskturmaa.helpdesk.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Registro de rotações e revogações: nada sai por volume, só por expiração, e o limite
+ * recusa novas rotações em vez de esquecer as antigas.
+ */
+class RefreshTokenStoreTests {
+
+	private static final long HORA = 3_600_000;
+
+	@Test
+	void muitasEntradas_nenhumaEsquecidaAntesDeExpirar() {
+		RefreshTokenStore store = store(1_000);
+		long expiraEm = System.currentTimeMillis() + HORA;
+		assertTrue(store.rotacionar(refresh("antigo", "s0", expiraEm)));
+		store.revogarSessao("revogada", expiraEm);
+
+		// revogações em massa não tiram espaço de ninguém
+		for (int i = 0; i < 50_000; i++) {
+			store.revogarSessao("s" + i, expiraEm);
+		}
+		for (int i = 0; store.temCapacidade(); i++) {
+			assertTrue(store.rotacionar(refresh("jti" + i, "s", expiraEm)));
+		}
+
+		assertFalse(store.rotacionar(refresh("antigo", "s0", expiraEm)), "refresh token reutilizado");
+		assertTrue(store.isSessaoRevogada("revogada"));
+	}
+
+	@Test
+	void expirados_saemNaPoda() {
+		RefreshTokenStore store = store(2);
+		long expirado = System.currentTimeMillis() - 1;
+		assertTrue(store.rotacionar(refresh("a", "s", expirado)));
+		assertTrue(store.rotacionar(refresh("b", "s", System.currentTimeMillis() + HORA)));
+		store.revogarSessao("velha", expirado);
+
+		// cheio, mas com um "jti" expirado: a verificação poda e libera espaço
+		assertTrue(store.temCapacidade());
+		assertFalse(store.isSessaoRevogada("velha"));
+		assertTrue(store.rotacionar(refresh("a", "s", System.currentTimeMillis() + HORA)));
+		assertFalse(store.temCapacidade());
+	}
+
+	private static RefreshTokenStore store(long maxSize) {
+		RefreshTokenStore store = new RefreshTokenStore();
+		ReflectionTestUtils.setField(store, "maxSize", maxSize);
+		return store;
+	}
+
+	private static JWTToken refresh(String jti, String sessao, long expiraEm) {
+		return new JWTToken("bill@mail.com", 2, Collections.emptySet(), System.currentTimeMillis(), expiraEm, true, jti, sessao);
+	}
+}
@@ -0,0 +1,259 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Habilidade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Perfil;
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+import com.helpdeskturmaa.helpdesk.repositories.TecnicoRepository;
+
+/**
+ * Escolha do técnico por carga e habilidades, consistência das cargas sob criações e encerramentos
+ * concorrentes e leituras do banco (simulado) sem perder o que é registrado enquanto elas correm.
+ */
+class AtribuicaoTecnicosTests {
+
+	private AtribuicaoTecnicos atribuicao;
+
+	private final TecnicoRepository tecnicoRepository = mock(TecnicoRepository.class);
+
+	private final ChamadoRepository chamadoRepository = mock(ChamadoRepository.class);
+
+	@BeforeEach
+	void setup() {
+		atribuicao = new AtribuicaoTecnicos();
+		ReflectionTestUtils.setField(atribuicao, "tecnicoRepository", tecnicoRepository);
+		ReflectionTestUtils.setField(atribuicao, "chamadoRepository", chamadoRepository);
+		atribuicao.registrarTecnico(1, EnumSet.of(Perfil.TECNICO), EnumSet.of(Habilidade.REDE));
+		atribuicao.registrarTecnico(2, EnumSet.of(Perfil.TECNICO), EnumSet.of(Habilidade.REDE, Habilidade.HARDWARE));
+		atribuicao.registrarTecnico(3, EnumSet.of(Perfil.TECNICO), EnumSet.of(Habilidade.SOFTWARE));
+		atribuicao.registrarTecnico(9, EnumSet.of(Perfil.TECNICO, Perfil.ADMIN), EnumSet.allOf(Habilidade.class));
+	}
+
+	@Test
+	void escolheMenorCarga_entreQuemTemAsHabilidades() {
+		assertEquals(1, atribuicao.atribuir(chamado(Prioridade.ALTA)));
+		assertEquals(2, atribuicao.atribuir(chamado(Prioridade.MEDIA)));
+		assertEquals(3, atribuicao.atribuir(chamado(Prioridade.BAIXA)));
+		// cargas 4, 2, 1
+		assertEquals(3, atribuicao.atribuir(chamado(Prioridade.BAIXA)));
+		assertEquals(2, atribuicao.atribuir(chamado(Prioridade.MEDIA, Habilidade.REDE)));
+		assertEquals(2, atribuicao.atribuir(chamado(Prioridade.ALTA, Habilidade.REDE, Habilidade.HARDWARE)));
+		// ninguém tem BANCO_DE_DADOS: vai para o de menor carga geral (3, com carga 2)
+		assertEquals(3, atribuicao.atribuir(chamado(Prioridade.BAIXA, Habilidade.BANCO_DE_DADOS)));
+		assertEquals(0, atribuicao.carga(9));
+	}
+
+	@Test
+	void encerrarEReatribuir_atualizamACarga() {
+		ChamadoDTO dto = chamado(Prioridade.ALTA);
+		atribuicao.atribuir(dto);
+		assertEquals(4, atribuicao.carga(1));
+
+		dto.setStatus(Status.ENCERRADO);
+		atribuicao.registrarStatus(dto, Status.ANDAMENTO);
+		assertEquals(0, atribuicao.carga(1));
+
+		ChamadoDTO reaberto = chamado(Prioridade.ALTA);
+		reaberto.setTecnico(1);
+		atribuicao.registrarStatus(reaberto, Status.ENCERRADO);
+		ChamadoDTO reatribuido = chamado(Prioridade.MEDIA);
+		reatribuido.setTecnico(3);
+		atribuicao.registrar(reaberto, reatribuido);
+		assertEquals(0, atribuicao.carga(1));
+		assertEquals(2, atribuicao.carga(3));
+	}
+
+	@Test
+	void criacoesEEncerramentosConcorrentes_mantemCargasConsistentes() throws Exception {
+		int threads = 8;
+		int porThread = 5000;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<List<ChamadoDTO>>> futuros = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			futuros.add(pool.submit(() -> {
+				largada.await();
+				List<ChamadoDTO> abertos = new ArrayList<>();
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < porThread; i++) {
+					ChamadoDTO dto = chamado(Prioridade.values()[random.nextInt(3)]);
+					atribuicao.atribuir(dto);
+					if (random.nextBoolean()) {
+						dto.setStatus(Status.ENCERRADO);
+						atribuicao.registrarStatus(dto, Status.ABERTO);
+					} else {
+						abertos.add(dto);
+					}
+				}
+				return abertos;
+			}));
+		}
+		largada.countDown();
+		List<ChamadoDTO> abertos = new ArrayList<>();
+		for (Future<List<ChamadoDTO>> futuro : futuros) {
+			abertos.addAll(futuro.get(30, TimeUnit.SECONDS));
+		}
+		pool.shutdown();
+
+		long esperado = abertos.stream().mapToLong(x -> AtribuicaoTecnicos.peso(x.getPrioridade())).sum();
+		long c1 = atribuicao.carga(1), c2 = atribuicao.carga(2), c3 = atribuicao.carga(3);
+		assertEquals(esperado, c1 + c2 + c3);
+		// sem exigência de habilidades, a carga fica equilibrada (diferença menor que o maior peso)
+		assertTrue(Math.max(c1, Math.max(c2, c3)) - Math.min(c1, Math.min(c2, c3)) <= 4, c1 + " " + c2 + " " + c3);
+
+		for (ChamadoDTO dto : abertos) {
+			atribuicao.registrar(dto, null);
+		}
+		assertEquals(0, atribuicao.carga(1) + atribuicao.carga(2) + atribuicao.carga(3));
+	}
+
+	@Test
+	void reconstrucao_mantemOsRegistrosFeitosDuranteALeitura() {
+		when(tecnicoRepository.findHabilidades()).thenReturn(Arrays.asList(
+				tecnico(1, Habilidade.REDE), tecnico(2, Habilidade.HARDWARE)));
+		// a consulta vê um chamado BAIXA do técnico 1; enquanto ela roda, um ALTA é criado para ele
+		// e o técnico 3 é incluído
+		when(chamadoRepository.contarPorGrupo()).thenAnswer(invocation -> {
+			atribuicao.registrar(null, chamado(1, Prioridade.ALTA));
+			atribuicao.registrarTecnico(3, EnumSet.of(Perfil.TECNICO), EnumSet.of(Habilidade.SOFTWARE));
+			return Collections.singletonList(grupo(1, Status.ABERTO, Prioridade.BAIXA, 1));
+		});
+
+		atribuicao.reconstruir();
+
+		assertEquals(5, atribuicao.carga(1));
+		assertEquals(0, atribuicao.carga(2));
+		assertEquals(3, atribuicao.atribuir(chamado(Prioridade.MEDIA, Habilidade.SOFTWARE)));
+	}
+
+	@Test
+	void reconciliacao_corrigeACargaEMantemOsRegistrosFeitosDuranteALeitura() {
+		// carga em memória divergente do banco (por exemplo, uma alteração feita fora da aplicação)
+		atribuicao.registrar(null, chamado(1, Prioridade.ALTA));
+		atribuicao.registrar(null, chamado(2, Prioridade.ALTA));
+		when(chamadoRepository.contarPorGrupo()).thenAnswer(invocation -> {
+			atribuicao.registrar(null, chamado(3, Prioridade.MEDIA));
+			return Arrays.asList(
+					grupo(1, Status.ABERTO, Prioridade.BAIXA, 2),
+					grupo(2, Status.ENCERRADO, Prioridade.ALTA, 1));
+		});
+
+		atribuicao.reconciliar();
+
+		assertEquals(2, atribuicao.carga(1));
+		assertEquals(0, atribuicao.carga(2));
+		assertEquals(2, atribuicao.carga(3));
+		assertEquals(2, atribuicao.atribuir(chamado(Prioridade.BAIXA)));
+	}
+
+	@Test
+	void tecnicoReincluido_comecaComACargaDoBanco() {
+		atribuicao.registrar(null, chamado(1, Prioridade.ALTA));
+		atribuicao.registrarTecnico(1, EnumSet.of(Perfil.TECNICO, Perfil.ADMIN), EnumSet.of(Habilidade.REDE));
+		// enquanto ADMIN, recebeu mais um chamado ALTA por atribuição manual
+		atribuicao.registrar(null, chamado(1, Prioridade.ALTA));
+		when(chamadoRepository.contarPorGrupoDoTecnico(1)).thenReturn(Arrays.asList(
+				grupo(1, Status.ABERTO, Prioridade.ALTA, 2),
+				grupo(1, Status.ENCERRADO, Prioridade.MEDIA, 3)));
+
+		atribuicao.registrarTecnico(1, EnumSet.of(Perfil.TECNICO), EnumSet.of(Habilidade.REDE));
+
+		assertEquals(8, atribuicao.carga(1));
+		// as habilidades continuam valendo para a escolha: entre 1 (carga 8) e 2 (carga 12), com REDE
+		for (int i = 0; i < 3; i++) {
+			atribuicao.registrar(null, chamado(2, Prioridade.ALTA));
+		}
+		assertEquals(1, atribuicao.atribuir(chamado(Prioridade.BAIXA, Habilidade.REDE)));
+	}
+
+	private static ChamadoDTO chamado(Integer tecnico, Prioridade prioridade) {
+		ChamadoDTO dto = chamado(prioridade);
+		dto.setTecnico(tecnico);
+		return dto;
+	}
+
+	private static TecnicoRepository.HabilidadesTecnico tecnico(Integer id, Habilidade habilidade) {
+		return new TecnicoRepository.HabilidadesTecnico() {
+			@Override
+			public Integer getId() {
+				return id;
+			}
+
+			@Override
+			public Set<Perfil> getPerfis() {
+				return EnumSet.of(Perfil.TECNICO);
+			}
+
+			@Override
+			public Set<Habilidade> getHabilidades() {
+				return EnumSet.of(habilidade);
+			}
+		};
+	}
+
+	private static ChamadoRepository.ContagemChamados grupo(Integer tecnico, Status status, Prioridade prioridade,
+			long total) {
+		return new ChamadoRepository.ContagemChamados() {
+			@Override
+			public Integer getTecnico() {
+				return tecnico;
+			}
+
+			@Override
+			public Integer getCliente() {
+				return 6;
+			}
+
+			@Override
+			public Status getStatus() {
+				return status;
+			}
+
+			@Override
+			public Prioridade getPrioridade() {
+				return prioridade;
+			}
+
+			@Override
+			public Long getTotal() {
+				return total;
+			}
+		};
+	}
+
+	private static ChamadoDTO chamado(Prioridade prioridade, Habilidade... habilidades) {
+		ChamadoDTO dto = new ChamadoDTO();
+		dto.setPrioridade(prioridade);
+		dto.setStatus(Status.ABERTO);
+		EnumSet<Habilidade> exigidas = EnumSet.noneOf(Habilidade.class);
+		for (Habilidade h : habilidades) {
+			exigidas.add(h);
+		}
+		dto.setHabilidades(exigidas);
+		return dto;
+	}
+}
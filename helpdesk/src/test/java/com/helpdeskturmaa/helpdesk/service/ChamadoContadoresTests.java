@@ -0,0 +1,142 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Prioridade;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Reconciliação dos contadores no meio de uma escrita: a escrita já confirmada no banco, mas ainda
+ * não registrada, não pode ser contada duas vezes (na consulta e no registro); e as escritas não
+ * esperam a consulta agrupada, que corrige as demais células.
+ */
+class ChamadoContadoresTests {
+
+	private final AtomicReference<List<ChamadoRepository.ContagemChamados>> banco =
+			new AtomicReference<>(Collections.emptyList());
+
+	@Test
+	void reconciliacaoEsperaAEscritaEmCurso() throws Exception {
+		ChamadoContadores contadores = contadores();
+		contadores.carregar();
+
+		CountDownLatch confirmada = new CountDownLatch(1);
+		CountDownLatch registrar = new CountDownLatch(1);
+		Thread escrita = new Thread(() -> contadores.escrita(() -> {
+			// a transação confirmou o novo chamado
+			banco.set(Collections.singletonList(grupo(4, 8, Status.ABERTO, Prioridade.BAIXA, 1)));
+			confirmada.countDown();
+			try {
+				registrar.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			contadores.registrar(null, chamado(4, 8, Status.ABERTO, Prioridade.BAIXA));
+		}));
+		escrita.start();
+		assertTrue(confirmada.await(5, TimeUnit.SECONDS));
+
+		Thread reconciliacao = new Thread(contadores::reconciliar);
+		reconciliacao.start();
+		Thread.sleep(200);
+		registrar.countDown();
+		escrita.join(5_000);
+		reconciliacao.join(5_000);
+
+		assertEquals(1, contadores.estatisticas(null, null).getTotal());
+		assertEquals(1, contadores.estatisticas(4, null).getPorStatus().get(Status.ABERTO));
+	}
+
+	@Test
+	void escritaDuranteAConsulta_naoEsperaNemContaDuasVezes() throws Exception {
+		ChamadoContadores contadores = contadores();
+		banco.set(Collections.singletonList(grupo(5, 7, Status.ANDAMENTO, Prioridade.ALTA, 1)));
+		contadores.carregar();
+		// excluído fora da aplicação: a reconciliação deve corrigir
+		banco.set(Collections.emptyList());
+
+		ChamadoRepository repository = (ChamadoRepository) ReflectionTestUtils.getField(contadores, "repository");
+		when(repository.contarPorGrupo()).thenAnswer(invocation -> {
+			// durante a consulta, uma escrita confirma e registra um chamado, visto pela consulta
+			Thread escrita = new Thread(() -> contadores.escrita(() -> {
+				banco.set(Collections.singletonList(grupo(4, 8, Status.ABERTO, Prioridade.BAIXA, 1)));
+				contadores.registrar(null, chamado(4, 8, Status.ABERTO, Prioridade.BAIXA));
+			}));
+			escrita.start();
+			escrita.join(5_000);
+			assertFalse(escrita.isAlive(), "a escrita esperou a consulta");
+			return banco.get();
+		});
+
+		contadores.reconciliar();
+
+		assertEquals(1, contadores.estatisticas(null, null).getTotal());
+		assertEquals(1, contadores.estatisticas(4, null).getPorStatus().get(Status.ABERTO));
+		assertEquals(0, contadores.estatisticas(5, null).getTotal());
+		assertEquals(0, contadores.estatisticas(null, null).getPorStatus().get(Status.ANDAMENTO));
+	}
+
+	private ChamadoContadores contadores() {
+		ChamadoRepository repository = mock(ChamadoRepository.class);
+		when(repository.contarPorGrupo()).thenAnswer(invocation -> banco.get());
+		ChamadoContadores contadores = new ChamadoContadores();
+		ReflectionTestUtils.setField(contadores, "repository", repository);
+		ReflectionTestUtils.setField(contadores, "espera", Duration.ofSeconds(5));
+		return contadores;
+	}
+
+	private static ChamadoDTO chamado(Integer tecnico, Integer cliente, Status status, Prioridade prioridade) {
+		ChamadoDTO chamado = new ChamadoDTO();
+		chamado.setTecnico(tecnico);
+		chamado.setCliente(cliente);
+		chamado.setStatus(status);
+		chamado.setPrioridade(prioridade);
+		return chamado;
+	}
+
+	private static ChamadoRepository.ContagemChamados grupo(Integer tecnico, Integer cliente, Status status,
+			Prioridade prioridade, long total) {
+		return new ChamadoRepository.ContagemChamados() {
+			@Override
+			public Integer getTecnico() {
+				return tecnico;
+			}
+
+			@Override
+			public Integer getCliente() {
+				return cliente;
+			}
+
+			@Override
+			public Status getStatus() {
+				return status;
+			}
+
+			@Override
+			public Prioridade getPrioridade() {
+				return prioridade;
+			}
+
+			@Override
+			public Long getTotal() {
+				return total;
+			}
+		};
+	}
+}
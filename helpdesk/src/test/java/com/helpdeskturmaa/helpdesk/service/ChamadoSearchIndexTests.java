@@ -0,0 +1,134 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoFiltro;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Índice de busca: normalização dos termos, ordem por relevância (TF-IDF, título com peso maior),
+ * manutenção a cada alteração e exclusão (sem perder as feitas durante uma reconstrução, nem trocar
+ * uma versão nova por uma antiga) e o escopo por técnico e cliente.
+ */
+class ChamadoSearchIndexTests {
+
+	private final ChamadoSearchIndex index = new ChamadoSearchIndex();
+
+	@Test
+	void tokenizar_semAcentosCaixaStopwordsEPlural() {
+		assertEquals(Arrays.asList("impressora", "imprimem", "conexao", "papel", "servidor", "rede"),
+				ChamadoSearchIndex.tokenizar("As Impressoras NÃO imprimem: conexões e papéis dos servidores, x rede"));
+		assertEquals(Arrays.asList("acesso", "wi", "fi"), ChamadoSearchIndex.tokenizar("Acesso Wi-Fi"));
+		assertEquals(Collections.emptyList(), ChamadoSearchIndex.tokenizar("de a o"));
+		assertEquals(Collections.emptyList(), ChamadoSearchIndex.tokenizar(null));
+	}
+
+	@Test
+	void buscar_ordenaPorRelevancia() {
+		index.indexar(chamado(1, "Rede lenta", "rede ruim", 2, 6));
+		index.indexar(chamado(2, "Rede caiu", "sem acesso", 2, 6));
+		index.indexar(chamado(3, "Impressora da rede", "toner", 3, 7));
+		index.indexar(chamado(4, "Impressora sem toner", "parada", 3, 7));
+
+		// o chamado 3 tem os dois termos; "impressora" é mais rara que "rede" e vale mais que
+		// a repetição de "rede" no chamado 1, que por sua vez vale mais que a única ocorrência no 2
+		assertEquals(Arrays.asList(3, 4, 1, 2), index.buscar("redes impressoras", null, null, 10));
+		// no título pesa mais que nas observações
+		assertEquals(Arrays.asList(4, 3), index.buscar("toner", null, null, 10));
+		assertEquals(Collections.singletonList(3), index.buscar("redes impressoras", null, null, 1));
+		assertTrue(index.buscar("teclado", null, null, 10).isEmpty());
+	}
+
+	@Test
+	void alteracaoEExclusao_mantemOIndice() {
+		index.indexar(chamado(1, "Impressora não imprime", "quarto andar", 2, 6));
+		index.indexar(chamado(2, "Teclado falhando", null, 2, 6));
+
+		index.indexar(chamado(1, "Monitor piscando", "quarto andar", 2, 6));
+		assertTrue(index.buscar("impressora", null, null, 10).isEmpty());
+		assertEquals(Collections.singletonList(1), index.buscar("monitores", null, null, 10));
+		assertEquals(Collections.singletonList(1), index.buscar("andar", null, null, 10));
+
+		index.remover(1);
+		assertTrue(index.buscar("monitor", null, null, 10).isEmpty());
+		assertTrue(index.buscar("andar", null, null, 10).isEmpty());
+		assertEquals(Collections.singletonList(2), index.buscar("teclado", null, null, 10));
+	}
+
+	@Test
+	void versaoMaisAntiga_naoSubstituiAMaisNova() {
+		index.indexar(chamado(1, "Monitor piscando", null, 2, 6, 3L));
+		index.indexar(chamado(1, "Impressora não imprime", null, 2, 6, 2L));
+
+		assertTrue(index.buscar("impressora", null, null, 10).isEmpty());
+		assertEquals(Collections.singletonList(1), index.buscar("monitor", null, null, 10));
+
+		index.indexar(chamado(1, "Teclado falhando", null, 2, 6, 4L));
+		assertEquals(Collections.singletonList(1), index.buscar("teclado", null, null, 10));
+	}
+
+	@Test
+	void reconstrucao_mantemAsEscritasFeitasDuranteALeitura() {
+		ChamadoRepository repository = mock(ChamadoRepository.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		ReflectionTestUtils.setField(index, "repository", repository);
+		ReflectionTestUtils.setField(index, "transactionManager", transactionManager);
+
+		// a leitura vê o estado anterior; no meio dela, o chamado 1 muda, o 2 é excluído e o 3 é criado
+		AtomicBoolean escreveu = new AtomicBoolean();
+		when(repository.streamAll(any(ChamadoFiltro.class), anyInt())).thenAnswer(invocation -> Stream.of(
+				chamado(1, "Impressora não imprime", null, 2, 6, 0L),
+				chamado(2, "Teclado falhando", null, 2, 6, 0L))
+				.peek(obj -> {
+					if (escreveu.compareAndSet(false, true)) {
+						index.indexar(chamado(1, "Monitor piscando", null, 2, 6, 1L));
+						index.remover(2);
+						index.indexar(chamado(3, "Mouse sem fio", null, 2, 6, 0L));
+					}
+				}));
+
+		index.reconstruir();
+
+		assertTrue(index.buscar("impressora", null, null, 10).isEmpty());
+		assertEquals(Collections.singletonList(1), index.buscar("monitor", null, null, 10));
+		assertTrue(index.buscar("teclado", null, null, 10).isEmpty());
+		assertEquals(Collections.singletonList(3), index.buscar("mouse", null, null, 10));
+	}
+
+	@Test
+	void buscar_restritaAoTecnicoOuCliente() {
+		index.indexar(chamado(1, "Erro no login", null, 2, 6));
+		index.indexar(chamado(2, "Erro no backup", null, 3, 7));
+
+		assertEquals(Collections.singletonList(1), index.buscar("erro", 2, null, 10));
+		assertEquals(Collections.singletonList(2), index.buscar("erro", null, 7, 10));
+		assertTrue(index.buscar("login", null, 7, 10).isEmpty());
+		assertEquals(2, index.buscar("erro", null, null, 10).size());
+	}
+
+	private static ChamadoDTO chamado(int id, String titulo, String observacoes, Integer tecnico, Integer cliente) {
+		return chamado(id, titulo, observacoes, tecnico, cliente, null);
+	}
+
+	private static ChamadoDTO chamado(int id, String titulo, String observacoes, Integer tecnico, Integer cliente,
+			Long versao) {
+		return new ChamadoDTO(id, null, null, null, null, titulo, observacoes, tecnico, cliente, versao, null, null);
+	}
+}
@@ -0,0 +1,44 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.repositories.ConcessaoRepository;
+
+/**
+ * Concessões entre duas "instâncias" sobre o mesmo banco: só uma detém a concessão por vez,
+ * a expiração segue o relógio do banco e a devolução libera a outra na hora.
+ */
+class ConcessoesTests extends IntegracaoBase {
+
+	@Autowired
+	private Concessoes a;
+
+	@Autowired
+	private ConcessaoRepository repository;
+
+	@Test
+	void umaInstanciaPorVez_ateExpirarOuDevolver() throws Exception {
+		Concessoes b = new Concessoes();
+		ReflectionTestUtils.setField(b, "repository", repository);
+
+		assertTrue(a.adquirir("teste", Duration.ofMinutes(1)));
+		assertTrue(a.adquirir("teste", Duration.ofMinutes(1)));
+		assertFalse(b.adquirir("teste", Duration.ofMinutes(1)));
+
+		a.liberar("teste");
+		assertTrue(b.adquirir("teste", Duration.ofMillis(50)));
+		assertFalse(a.adquirir("teste", Duration.ofMinutes(1)));
+
+		Thread.sleep(100);
+		assertTrue(a.adquirir("teste", Duration.ofMinutes(1)));
+		a.liberar("teste");
+	}
+}
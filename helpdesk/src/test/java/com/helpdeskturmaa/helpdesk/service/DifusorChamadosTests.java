@@ -0,0 +1,219 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.domain.EventoChamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.TipoEventoChamado;
+import com.helpdeskturmaa.helpdesk.repositories.EventoChamadoRepository;
+
+/**
+ * Assinaturas de {@code /chamados/stream}: cada uma recebe só os eventos dos chamados que o usuário
+ * vê na listagem, e uma assinatura que não consome é desconectada sem atrasar as demais.
+ */
+// Banco e contexto próprios: buffer pequeno, e cada evento difundido deve vir destes testes.
+// O retransmissor e o heartbeat não disparam sozinhos: os testes os acionam.
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:stream", "chamados.outbox.intervalo-ms=3600000",
+		"chamados.stream.heartbeat-ms=3600000", "chamados.stream.buffer=4", "chamados.stream.threads=4",
+		"chamados.stream.escrita-timeout=200ms" })
+class DifusorChamadosTests extends IntegracaoBase {
+
+	@Autowired
+	private RetransmissorEventos retransmissor;
+
+	@Autowired
+	private DifusorChamados difusor;
+
+	@Autowired
+	private EventoChamadoRepository eventoRepository;
+
+	@Test
+	void assinaturas_recebemSoOsChamadosVisiveis() throws Exception {
+		String admin = token("admin@mail.com");
+		MockHttpServletResponse todos = assinar(admin);
+		MockHttpServletResponse tecnico = assinar(token("bill@mail.com"));
+		MockHttpServletResponse cliente = assinar(token("linus@mail.com"));
+
+		// chamado 1 (técnico 2, cliente 6) passa para o técnico 3; chamado 4 (técnico 4, cliente 7) muda de prioridade
+		mvc.perform(put("/chamados/1")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"prioridade\":\"MEDIA\",\"status\":\"ANDAMENTO\",\"titulo\":\"Erro ao acessar VPN\","
+						+ "\"observacoes\":\"primeiro chamado\",\"tecnico\":3,\"cliente\":6}"))
+				.andExpect(status().isOk());
+		mvc.perform(put("/chamados/4")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"prioridade\":\"BAIXA\",\"status\":\"ABERTO\",\"titulo\":\"Impressora não imprime\","
+						+ "\"observacoes\":\"quarto chamado\",\"tecnico\":4,\"cliente\":7}"))
+				.andExpect(status().isOk());
+		retransmissor.retransmitir();
+
+		// chamados em partições diferentes do outbox: a ordem entre eles não é garantida
+		List<String[]> recebidos = aguardar(todos, q -> q.size() >= 2);
+		assertEquals(2, recebidos.size());
+		assertTrue(todos.getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+		recebidos.sort(Comparator.comparingInt(this::chamado));
+		assertQuadro(recebidos.get(0), "ALTERADO", 1);
+		assertEquals(3, mapper.readTree(recebidos.get(0)[1]).get("tecnico").asInt());
+		assertQuadro(recebidos.get(1), "ALTERADO", 4);
+
+		// o técnico 2 deixou de ver o chamado 1
+		recebidos = aguardar(tecnico, q -> !q.isEmpty());
+		assertEquals(1, recebidos.size());
+		assertQuadro(recebidos.get(0), "EXCLUIDO", 1);
+		assertEquals(2, mapper.readTree(recebidos.get(0)[1]).size());
+
+		recebidos = aguardar(cliente, q -> !q.isEmpty());
+		assertEquals(1, recebidos.size());
+		assertQuadro(recebidos.get(0), "ALTERADO", 1);
+	}
+
+	@Test
+	void assinaturaLenta_eDesconectadaSemAtrasarAsDemais() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		DifusorChamados.Assinante lenta = difusor.registrar(new DifusorChamados.Assinante(60_000, 4, null, null) {
+			@Override
+			void enviar(String quadro) {
+				try {
+					liberar.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		MockHttpServletResponse rapida = assinar(token("admin@mail.com"));
+
+		int eventos = 20;
+		List<EventoChamado> pendentes = new ArrayList<>();
+		for (int i = 0; i < eventos; i++) {
+			pendentes.add(new EventoChamado(9, TipoEventoChamado.ALTERADO, (long) i, "{\"id\":9,\"tecnico\":5,\"cliente\":6}",
+					LocalDateTime.now()));
+		}
+		// um evento por vez, cada um consumido pela assinatura rápida antes do próximo
+		List<EventoChamado> gravados = eventoRepository.saveAll(pendentes);
+		for (int i = 0; i < eventos; i++) {
+			difusor.publicar(gravados.get(i));
+			int recebidos = i + 1;
+			assertEquals(recebidos, aguardar(rapida, q -> q.size() >= recebidos).size());
+		}
+		eventoRepository.deleteAll(gravados);
+		assertTrue(lenta.encerrado);
+		liberar.countDown();
+
+		difusor.pulsar();
+		long limite = System.currentTimeMillis() + 5_000;
+		while (!rapida.getContentAsString().endsWith(":\n\n") && System.currentTimeMillis() < limite) {
+			Thread.sleep(20);
+		}
+		assertTrue(rapida.getContentAsString().endsWith(":\n\n"));
+	}
+
+	@Test
+	void escritasPresas_naoOcupamTodasAsThreads() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		CountDownLatch presas = new CountDownLatch(4);
+		List<DifusorChamados.Assinante> lentas = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			lentas.add(difusor.registrar(new DifusorChamados.Assinante(60_000, 4, null, null) {
+				@Override
+				void enviar(String quadro) {
+					presas.countDown();
+					try {
+						liberar.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}));
+		}
+		try {
+			// as quatro threads do pool ficam presas em escritas que não terminam
+			difusor.pulsar();
+			assertTrue(presas.await(5, TimeUnit.SECONDS));
+			MockHttpServletResponse rapida = assinar(token("admin@mail.com"));
+			String antes = rapida.getContentAsString();
+
+			Thread.sleep(300);
+			difusor.pulsar();
+			lentas.forEach(lenta -> assertTrue(lenta.encerrado));
+			long limite = System.currentTimeMillis() + 5_000;
+			while (rapida.getContentAsString().equals(antes) && System.currentTimeMillis() < limite) {
+				Thread.sleep(20);
+			}
+			assertEquals(antes + ":\n\n", rapida.getContentAsString());
+		} finally {
+			liberar.countDown();
+		}
+	}
+
+	private MockHttpServletResponse assinar(String token) throws Exception {
+		return mvc.perform(get("/chamados/stream").header("Authorization", token))
+				.andExpect(request().asyncStarted())
+				.andReturn().getResponse();
+	}
+
+	// quadros recebidos, como {evento, dados}, ignorando os heartbeats
+	private List<String[]> aguardar(MockHttpServletResponse response, Predicate<List<String[]>> condicao) throws Exception {
+		long limite = System.currentTimeMillis() + 5_000;
+		List<String[]> quadros = quadros(response);
+		while (!condicao.test(quadros) && System.currentTimeMillis() < limite) {
+			Thread.sleep(20);
+			quadros = quadros(response);
+		}
+		return quadros;
+	}
+
+	private static List<String[]> quadros(MockHttpServletResponse response) throws Exception {
+		List<String[]> quadros = new ArrayList<>();
+		for (String quadro : response.getContentAsString().split("\n\n")) {
+			String evento = null;
+			String dados = null;
+			for (String linha : quadro.split("\n")) {
+				if (linha.startsWith("event:")) {
+					evento = linha.substring(6);
+				} else if (linha.startsWith("data:")) {
+					dados = linha.substring(5);
+				}
+			}
+			if (evento != null) {
+				quadros.add(new String[] { evento, dados });
+			}
+		}
+		return quadros;
+	}
+
+	private int chamado(String[] quadro) {
+		try {
+			return mapper.readTree(quadro[1]).get("id").asInt();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void assertQuadro(String[] quadro, String evento, int chamado) {
+		assertEquals(evento, quadro[0]);
+		assertEquals(chamado, chamado(quadro));
+	}
+}
@@ -0,0 +1,113 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.helpdeskturmaa.helpdesk.domain.HistoricoChamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.repositories.HistoricoChamadoRepository;
+
+/**
+ * Falhas de gravação do histórico: o lote é repetido até gravar, e nenhuma alteração se perde,
+ * nem quando a aplicação encerra com um lote ainda falhando.
+ */
+class HistoricoChamadosTests {
+
+	private final HistoricoChamadoRepository repository = mock(HistoricoChamadoRepository.class);
+
+	private final List<HistoricoChamado> gravadas = new ArrayList<>();
+
+	@Test
+	void falhaTransitoria_loteRepetidoAteGravar() throws Exception {
+		AtomicInteger falhas = new AtomicInteger(2);
+		when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+			if (falhas.getAndDecrement() > 0) {
+				throw new IllegalStateException("banco indisponível");
+			}
+			return guardar(invocation.getArgument(0));
+		});
+		HistoricoChamados historico = historico();
+
+		for (int id = 1; id <= 3; id++) {
+			historico.registrarStatus(chamado(id, Status.ANDAMENTO), Status.ABERTO);
+		}
+
+		long limite = System.currentTimeMillis() + 5_000;
+		while (tamanho() < 3 && System.currentTimeMillis() < limite) {
+			Thread.sleep(50);
+		}
+		assertEquals(3, tamanho());
+		historico.encerrar();
+		assertEquals(3, tamanho());
+	}
+
+	@Test
+	void encerramentoComLoteFalhando_gravaOLotePendente() throws Exception {
+		AtomicBoolean indisponivel = new AtomicBoolean(true);
+		AtomicInteger tentativas = new AtomicInteger();
+		when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+			tentativas.incrementAndGet();
+			if (indisponivel.get()) {
+				throw new IllegalStateException("banco indisponível");
+			}
+			return guardar(invocation.getArgument(0));
+		});
+		HistoricoChamados historico = historico();
+
+		historico.registrarStatus(chamado(1, Status.ANDAMENTO), Status.ABERTO);
+		historico.registrarStatus(chamado(2, Status.ENCERRADO), Status.ANDAMENTO);
+		long limite = System.currentTimeMillis() + 5_000;
+		while (tentativas.get() < 2 && System.currentTimeMillis() < limite) {
+			Thread.sleep(50);
+		}
+
+		indisponivel.set(false);
+		historico.encerrar();
+		assertEquals(2, tamanho());
+	}
+
+	private HistoricoChamados historico() {
+		HistoricoChamados historico = new HistoricoChamados();
+		ReflectionTestUtils.setField(historico, "repository", repository);
+		ReflectionTestUtils.setField(historico, "transactionManager", mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(historico, "capacidade", 100);
+		ReflectionTestUtils.setField(historico, "tamanhoLote", 50);
+		ReflectionTestUtils.setField(historico, "espera", Duration.ofSeconds(2));
+		ReflectionTestUtils.setField(historico, "esperaMaxima", Duration.ofSeconds(30));
+		historico.init();
+		return historico;
+	}
+
+	private List<HistoricoChamado> guardar(List<HistoricoChamado> lote) {
+		synchronized (gravadas) {
+			gravadas.addAll(lote);
+		}
+		return lote;
+	}
+
+	private int tamanho() {
+		synchronized (gravadas) {
+			return gravadas.size();
+		}
+	}
+
+	private static ChamadoDTO chamado(int id, Status status) {
+		ChamadoDTO chamado = new ChamadoDTO();
+		chamado.setId(id);
+		chamado.setStatus(status);
+		return chamado;
+	}
+}
@@ -0,0 +1,205 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.MediaType;
+
+import com.helpdeskturmaa.helpdesk.IntegracaoBase;
+import com.helpdeskturmaa.helpdesk.domain.EventoChamado;
+import com.helpdeskturmaa.helpdesk.domain.enums.TipoEventoChamado;
+import com.helpdeskturmaa.helpdesk.repositories.EventoChamadoRepository;
+
+/**
+ * Outbox de chamados: criação, alteração e exclusão gravam eventos na mesma transação, e o
+ * {@link RetransmissorEventos} os entrega a um destino em memória pelo menos uma vez, em ordem
+ * por chamado, sem que retransmissores concorrentes entreguem o mesmo evento duas vezes.
+ */
+// Banco e contexto próprios: o destino em memória e o outbox vazio ao fim de cada teste não podem ver
+// as escritas de outras classes. O ciclo agendado não roda: os testes drenam o outbox explicitamente.
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:outbox", "chamados.outbox.intervalo-ms=3600000",
+		"chamados.outbox.lote=25" })
+class RetransmissorEventosTests extends IntegracaoBase {
+
+	private static final int THREADS = 8;
+
+	@TestConfiguration
+	static class Destinos {
+
+		@Bean
+		DestinoMemoria destinoMemoria() {
+			return new DestinoMemoria();
+		}
+	}
+
+	static class DestinoMemoria implements DestinoEventos {
+
+		final List<EventoChamado> recebidos = Collections.synchronizedList(new ArrayList<>());
+
+		volatile boolean falhar;
+
+		@Override
+		public void entregar(List<EventoChamado> eventos) {
+			if (falhar) {
+				throw new IllegalStateException("destino indisponível");
+			}
+			recebidos.addAll(eventos);
+		}
+	}
+
+	private String admin;
+
+	@Autowired
+	private RetransmissorEventos retransmissor;
+
+	@Autowired
+	private EventoChamadoRepository repository;
+
+	@Autowired
+	private DestinoMemoria destino;
+
+	@BeforeEach
+	void preparar() throws Exception {
+		admin = token("admin@mail.com");
+		retransmissor.retransmitir();
+		destino.falhar = false;
+		destino.recebidos.clear();
+	}
+
+	@Test
+	void escritasDoChamado_geramEventosEmOrdem() throws Exception {
+		String criado = mvc.perform(post("/chamados")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"prioridade\":\"MEDIA\",\"status\":\"ABERTO\",\"titulo\":\"Outbox\",\"observacoes\":\"evento\","
+						+ "\"tecnico\":2,\"cliente\":6}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		int id = mapper.readTree(criado).get("id").asInt();
+
+		mvc.perform(put("/chamados/" + id)
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"prioridade\":\"ALTA\",\"status\":\"ABERTO\",\"titulo\":\"Outbox\",\"observacoes\":\"evento\","
+						+ "\"tecnico\":2,\"cliente\":6}"))
+				.andExpect(status().isOk());
+		// versão desatualizada: nada é gravado, nem o evento
+		mvc.perform(put("/chamados/" + id)
+				.header("Authorization", admin)
+				.header("If-Match", "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"prioridade\":\"BAIXA\",\"status\":\"ABERTO\",\"titulo\":\"Outbox\",\"observacoes\":\"evento\","
+						+ "\"tecnico\":2,\"cliente\":6}"))
+				.andExpect(status().isConflict());
+		mvc.perform(patch("/chamados/" + id + "/status")
+				.header("Authorization", admin)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"ANDAMENTO\"}"))
+				.andExpect(status().isOk());
+		mvc.perform(delete("/chamados/" + id).header("Authorization", admin))
+				.andExpect(status().isNoContent());
+
+		retransmissor.retransmitir();
+
+		List<EventoChamado> eventos = destino.recebidos.stream()
+				.filter(e -> e.getChamado() == id).collect(Collectors.toList());
+		assertEquals(4, eventos.size(), eventos.toString());
+		assertEquals(TipoEventoChamado.CRIADO, eventos.get(0).getTipo());
+		assertEquals(TipoEventoChamado.ALTERADO, eventos.get(1).getTipo());
+		assertEquals("ALTA", mapper.readTree(eventos.get(1).getDados()).get("prioridade").asText());
+		assertEquals(TipoEventoChamado.ALTERADO, eventos.get(2).getTipo());
+		assertEquals("ANDAMENTO", mapper.readTree(eventos.get(2).getDados()).get("status").asText());
+		assertEquals(TipoEventoChamado.EXCLUIDO, eventos.get(3).getTipo());
+		assertEquals(Long.valueOf(0), eventos.get(0).getVersao());
+		assertEquals(Long.valueOf(1), eventos.get(1).getVersao());
+		assertEquals(Long.valueOf(2), eventos.get(2).getVersao());
+		assertEquals(0, repository.count());
+	}
+
+	@Test
+	void falhaNoDestino_loteFicaParaOProximoCiclo() throws Exception {
+		repository.save(new EventoChamado(1, TipoEventoChamado.ALTERADO, 1L, "{}", LocalDateTime.now()));
+
+		destino.falhar = true;
+		retransmissor.retransmitir();
+		assertEquals(1, repository.count());
+
+		destino.falhar = false;
+		retransmissor.retransmitir();
+		assertEquals(0, repository.count());
+		assertEquals(1, destino.recebidos.size());
+	}
+
+	@Test
+	void retransmissoresConcorrentes_entregamCadaEventoUmaVezEmOrdem() throws Exception {
+		int chamados = 40;
+		int porChamado = 25;
+		List<EventoChamado> gravados = new ArrayList<>();
+		for (int versao = 1; versao <= porChamado; versao++) {
+			for (int chamado = 1; chamado <= chamados; chamado++) {
+				gravados.add(new EventoChamado(chamado, TipoEventoChamado.ALTERADO, (long) versao, "{}", LocalDateTime.now()));
+			}
+		}
+		repository.saveAll(gravados);
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futuros = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				futuros.add(pool.submit(() -> {
+					while (repository.count() > 0) {
+						for (int particao = 0; particao < retransmissor.getParticoes(); particao++) {
+							try {
+								retransmissor.drenar(particao);
+							} catch (ConcurrencyFailureException e) {
+								// partição reservada por outro retransmissor
+							}
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> futuro : futuros) {
+				futuro.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		List<EventoChamado> recebidos = new ArrayList<>(destino.recebidos);
+		Set<Long> ids = new HashSet<>();
+		recebidos.forEach(e -> assertTrue(ids.add(e.getId()), "evento entregue duas vezes: " + e.getId()));
+		assertEquals(chamados * porChamado, recebidos.size());
+
+		Map<Integer, Long> ultimaVersao = new HashMap<>();
+		for (EventoChamado evento : recebidos) {
+			Long anterior = ultimaVersao.put(evento.getChamado(), evento.getVersao());
+			assertTrue(anterior == null || anterior < evento.getVersao(), "fora de ordem no chamado " + evento.getChamado());
+		}
+	}
+}
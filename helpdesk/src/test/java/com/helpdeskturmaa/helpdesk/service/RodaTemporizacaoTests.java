@@ -0,0 +1,87 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prazos da roda de temporização hierárquica: vencem no tick certo (nem antes, nem depois),
+ * inclusive os que descem de níveis superiores, e cancelamentos e reagendamentos valem.
+ */
+class RodaTemporizacaoTests {
+
+	private static final long TICK = 1000;
+
+	private static final long INICIO = 1_700_000_000_000L;
+
+	@Test
+	void venceNoTickCerto_emTodosOsNiveis() {
+		RodaTemporizacao roda = new RodaTemporizacao(TICK, INICIO);
+		// um prazo em cada nível: 1s, ~1min, ~1h, ~3 dias, ~6 meses
+		long[] segundos = { 1, 65, 4_100, 262_200, 16_777_300 };
+		for (int i = 0; i < segundos.length; i++) {
+			roda.agendar(i, INICIO + segundos[i] * TICK);
+		}
+		for (int i = 0; i < segundos.length; i++) {
+			long prazo = INICIO + segundos[i] * TICK;
+			assertEquals(Collections.emptyList(), roda.avancar(prazo - 1), "antes do prazo " + i);
+			assertEquals(Arrays.asList(i), roda.avancar(prazo), "no prazo " + i);
+		}
+		assertEquals(0, roda.tamanho());
+	}
+
+	@Test
+	void cancelarEReagendar() {
+		RodaTemporizacao roda = new RodaTemporizacao(TICK, INICIO);
+		roda.agendar(1, INICIO + 10 * TICK);
+		roda.agendar(2, INICIO + 10 * TICK);
+		roda.agendar(3, INICIO + 5_000 * TICK);
+		roda.cancelar(2);
+		roda.agendar(3, INICIO + 20 * TICK);
+		// prazo já vencido: vence no próximo avanço
+		roda.agendar(4, INICIO - 60 * TICK);
+
+		assertEquals(Arrays.asList(4), roda.avancar(INICIO));
+		assertEquals(Arrays.asList(1), roda.avancar(INICIO + 10 * TICK));
+		assertEquals(Arrays.asList(3), roda.avancar(INICIO + 10_000 * TICK));
+		assertEquals(0, roda.tamanho());
+	}
+
+	@Test
+	void centenasDeMilharesDePrazos_vencemEmOrdem() {
+		RodaTemporizacao roda = new RodaTemporizacao(TICK, INICIO);
+		Random random = new Random(42);
+		int total = 300_000;
+		long[] prazos = new long[total];
+		for (int id = 0; id < total; id++) {
+			// até 30 dias
+			prazos[id] = INICIO + (long) random.nextInt(30 * 86_400) * TICK;
+			roda.agendar(id, prazos[id]);
+		}
+		for (int id = 0; id < total; id += 3) {
+			roda.cancelar(id);
+		}
+
+		List<Integer> vencidos = new ArrayList<>();
+		long anterior = Long.MIN_VALUE;
+		for (long agora = INICIO; agora <= INICIO + 30L * 86_400 * TICK; agora += 3_600 * TICK) {
+			for (Integer id : roda.avancar(agora)) {
+				assertTrue(prazos[id] <= agora, "venceu antes do prazo: " + id);
+				assertTrue(prazos[id] > agora - 3_600 * TICK, "venceu com atraso: " + id);
+				assertTrue(prazos[id] >= anterior, "fora de ordem: " + id);
+				anterior = prazos[id];
+				vencidos.add(id);
+			}
+		}
+		assertEquals(total - (total + 2) / 3, vencidos.size());
+		assertEquals(0, roda.tamanho());
+		assertTrue(vencidos.stream().noneMatch(id -> id % 3 == 0));
+	}
+}
@@ -0,0 +1,92 @@
+package com.helpdeskturmaa.helpdesk.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.helpdeskturmaa.helpdesk.domain.enums.Status;
+import com.helpdeskturmaa.helpdesk.dto.ChamadoDTO;
+import com.helpdeskturmaa.helpdesk.repositories.ChamadoRepository;
+
+/**
+ * Reconstrução da roda do SLA: os agendamentos e cancelamentos feitos durante a leitura do banco
+ * valem na roda nova.
+ */
+class SlaAgendadorTests {
+
+	private final SlaAgendador agendador = new SlaAgendador();
+
+	private final ChamadoRepository repository = mock(ChamadoRepository.class);
+
+	private final ChamadoService chamadoService = mock(ChamadoService.class);
+
+	@Test
+	void reconstrucao_mantemAsEscritasFeitasDuranteALeitura() {
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		ReflectionTestUtils.setField(agendador, "repository", repository);
+		ReflectionTestUtils.setField(agendador, "chamadoService", chamadoService);
+		ReflectionTestUtils.setField(agendador, "transactionManager", transactionManager);
+		ReflectionTestUtils.setField(agendador, "tickMs", 1000L);
+		ReflectionTestUtils.setField(agendador, "duracaoConcessao", Duration.ofSeconds(30));
+		// concessão já detida: o disparo não reconstrói de novo
+		ReflectionTestUtils.setField(agendador, "detem", true);
+		ReflectionTestUtils.setField(agendador, "concessaoAte", System.nanoTime() + TimeUnit.HOURS.toNanos(1));
+
+		// a leitura vê o estado anterior; no meio dela, o chamado 1 é encerrado e os 3 e 4 são criados
+		LocalDateTime vencido = LocalDateTime.now().minusMinutes(1);
+		AtomicBoolean escreveu = new AtomicBoolean();
+		when(repository.streamPrazosSla(Status.ENCERRADO)).thenAnswer(invocation -> Stream.of(
+				prazo(1, vencido),
+				prazo(2, vencido))
+				.peek(x -> {
+					if (escreveu.compareAndSet(false, true)) {
+						agendador.agendar(chamado(1, Status.ENCERRADO, vencido));
+						agendador.agendar(chamado(3, Status.ABERTO, vencido));
+						agendador.agendar(chamado(4, Status.ANDAMENTO, vencido));
+					}
+				}));
+
+		agendador.reconstruir();
+		assertEquals(3, agendador.pendentes());
+
+		agendador.disparar();
+		verify(chamadoService, never()).escalarSla(1);
+		verify(chamadoService).escalarSla(2);
+		verify(chamadoService).escalarSla(3);
+		verify(chamadoService).escalarSla(4);
+		assertEquals(0, agendador.pendentes());
+	}
+
+	private static ChamadoRepository.PrazoSla prazo(Integer id, LocalDateTime prazoSla) {
+		return new ChamadoRepository.PrazoSla() {
+			@Override
+			public Integer getId() {
+				return id;
+			}
+
+			@Override
+			public LocalDateTime getPrazoSla() {
+				return prazoSla;
+			}
+		};
+	}
+
+	private static ChamadoDTO chamado(Integer id, Status status, LocalDateTime prazoSla) {
+		return new ChamadoDTO(id, null, null, null, status, null, null, null, null, 0L, prazoSla, null);
+	}
+}